@@ -1,11 +1,46 @@
 package com.github.creme332;
 
+import java.io.IOException;
+
 import com.github.creme332.controller.Controller;
-import com.github.creme332.utils.PolydrawTheme;
+import com.github.creme332.core.CommandIngestor;
+import com.github.creme332.utils.StartupTimer;
 
 public class App {
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: App [options]",
+            "",
+            "Options:",
+            "  --stdin          Draw commands read from standard input",
+            "  --listen PORT    Draw commands received on a local port");
+
     public static void main(String[] args) {
-        PolydrawTheme.setup();
-        new Controller();
+        StartupTimer.start();
+        final Bootstrap bootstrap = Bootstrap.start();
+
+        final CommandIngestor ingestor = args.length > 0 ? new CommandIngestor() : null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--stdin":
+                        ingestor.startReading(System.in, "stdin");
+                        break;
+                    case "--listen":
+                        if (++i >= args.length) {
+                            throw new IllegalArgumentException("Missing value for --listen.");
+                        }
+                        ingestor.listen(Integer.parseInt(args[i]));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        new Controller(bootstrap, ingestor);
     }
 }
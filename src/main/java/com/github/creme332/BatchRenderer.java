@@ -0,0 +1,309 @@
+package com.github.creme332;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.imageio.ImageIO;
+
+import com.github.creme332.model.CanvasModel;
+import com.github.creme332.model.ShapeWrapper;
+import com.github.creme332.utils.BinaryShapeReader;
+import com.github.creme332.utils.ShapeJsonReader;
+import com.github.creme332.view.CanvasRenderer;
+
+/**
+ * Renders exported documents to image files without opening a window. Each
+ * document is fitted into the image and drawn with the same styling as the
+ * canvas. Documents are rendered in parallel, one per core.
+ *
+ * Usage:
+ * java -cp polydraw.jar com.github.creme332.BatchRenderer [options] FILE...
+ */
+public class BatchRenderer {
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: BatchRenderer [options] FILE...",
+            "Renders .json and .polydraw exports to images.",
+            "",
+            "Options:",
+            "  --format FORMAT   Image format such as png or jpg (default: png)",
+            "  --size WxH        Size of images in pixels (default: 1920x1080)",
+            "  --output DIR      Directory in which images are saved (default: directory of each file)",
+            "  --grid            Draw guidelines",
+            "  --axes            Draw axes and tick labels");
+
+    /**
+     * Minimum distance in pixels between the shapes of a document and the edges
+     * of its image.
+     */
+    private static final int PADDING = 20;
+
+    private String format = "png";
+    private int width = 1920;
+    private int height = 1080;
+    private Path outputDirectory = null;
+    private boolean guidelinesEnabled = false;
+    private boolean axesVisible = false;
+
+    /**
+     * Time taken to render a document.
+     */
+    public static class Result {
+        public final Path imagePath;
+        public final int shapeCount;
+        public final long readNanos;
+        public final long renderNanos;
+        public final long writeNanos;
+
+        Result(Path imagePath, int shapeCount, long readNanos, long renderNanos, long writeNanos) {
+            this.imagePath = imagePath;
+            this.shapeCount = shapeCount;
+            this.readNanos = readNanos;
+            this.renderNanos = renderNanos;
+            this.writeNanos = writeNanos;
+        }
+    }
+
+    public static void main(String[] args) {
+        // must be set before any AWT class is initialised
+        System.setProperty("java.awt.headless", "true");
+
+        final BatchRenderer renderer = new BatchRenderer();
+        final List<Path> files = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--format":
+                        renderer.setFormat(getValue(args, ++i));
+                        break;
+                    case "--size":
+                        final String[] size = getValue(args, ++i).split("x");
+                        if (size.length != 2) {
+                            throw new IllegalArgumentException("Size must be of the form WIDTHxHEIGHT.");
+                        }
+                        renderer.setSize(Integer.parseInt(size[0]), Integer.parseInt(size[1]));
+                        break;
+                    case "--output":
+                        renderer.setOutputDirectory(Paths.get(getValue(args, ++i)));
+                        break;
+                    case "--grid":
+                        renderer.setGuidelinesEnabled(true);
+                        break;
+                    case "--axes":
+                        renderer.setAxesVisible(true);
+                        break;
+                    case "--help":
+                        System.out.println(USAGE);
+                        return;
+                    default:
+                        files.add(Paths.get(args[i]));
+                }
+            }
+            if (files.isEmpty()) {
+                throw new IllegalArgumentException("No file given.");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        System.exit(renderer.renderAll(files) ? 0 : 1);
+    }
+
+    private static String getValue(String[] args, int i) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[i - 1] + ".");
+        }
+        return args[i];
+    }
+
+    /**
+     *
+     * @param format Informal name of an image format supported by ImageIO
+     */
+    public void setFormat(String format) {
+        if (!ImageIO.getImageWritersByFormatName(format).hasNext()) {
+            throw new IllegalArgumentException("Unsupported image format: " + format);
+        }
+        this.format = format;
+    }
+
+    public void setSize(int width, int height) {
+        if (width <= 2 * PADDING || height <= 2 * PADDING) {
+            throw new IllegalArgumentException("Image must be larger than " + 2 * PADDING + " pixels.");
+        }
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     *
+     * @param outputDirectory Directory in which images are saved. If null, each
+     *                        image is saved next to its document.
+     */
+    public void setOutputDirectory(Path outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    public void setGuidelinesEnabled(boolean guidelinesEnabled) {
+        this.guidelinesEnabled = guidelinesEnabled;
+    }
+
+    public void setAxesVisible(boolean axesVisible) {
+        this.axesVisible = axesVisible;
+    }
+
+    /**
+     * Renders documents in parallel and prints the time taken by each of them.
+     *
+     * @param files Documents to render
+     * @return True if all documents were rendered
+     */
+    public boolean renderAll(List<Path> files) {
+        final long start = System.nanoTime();
+        final ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(files.size(), Runtime.getRuntime().availableProcessors()));
+        final List<Future<Result>> futures = new ArrayList<>();
+        for (Path file : files) {
+            futures.add(executor.submit(() -> render(file)));
+        }
+        executor.shutdown();
+
+        int renderedCount = 0;
+        for (int i = 0; i < files.size(); i++) {
+            try {
+                final Result result = futures.get(i).get();
+                System.out.printf("%s -> %s: %d shapes, read %.1f ms, render %.1f ms, write %.1f ms%n",
+                        files.get(i), result.imagePath, result.shapeCount, result.readNanos / 1e6,
+                        result.renderNanos / 1e6, result.writeNanos / 1e6);
+                renderedCount++;
+            } catch (ExecutionException e) {
+                System.err.printf("%s: %s%n", files.get(i), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        System.out.printf("Rendered %d of %d files in %.1f ms%n", renderedCount, files.size(),
+                (System.nanoTime() - start) / 1e6);
+        return renderedCount == files.size();
+    }
+
+    /**
+     * Renders a document to an image file.
+     *
+     * @param file A .json or .polydraw document
+     * @return Timings of each step
+     * @throws IOException if the document cannot be read or the image cannot be
+     *                     written
+     */
+    public Result render(Path file) throws IOException {
+        long time = System.nanoTime();
+        final List<ShapeWrapper> shapes = read(file);
+        final long readNanos = System.nanoTime() - time;
+
+        time = System.nanoTime();
+        final BufferedImage image = render(shapes);
+        final long renderNanos = System.nanoTime() - time;
+
+        time = System.nanoTime();
+        final Path imagePath = getImagePath(file);
+        if (!ImageIO.write(image, format, imagePath.toFile())) {
+            throw new IOException("No writer for image format " + format);
+        }
+        final long writeNanos = System.nanoTime() - time;
+
+        return new Result(imagePath, shapes.size(), readNanos, renderNanos, writeNanos);
+    }
+
+    private static List<ShapeWrapper> read(Path file) throws IOException {
+        if (file.getFileName().toString().endsWith(".polydraw")) {
+            return Arrays.asList(BinaryShapeReader.readAll(file));
+        }
+
+        final List<ShapeWrapper> shapes = new ArrayList<>();
+        try (ShapeJsonReader reader = new ShapeJsonReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            while (reader.hasNext()) {
+                shapes.add(reader.next());
+            }
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            // thrown by ShapeJsonReader for unknown enum constants or a malformed document
+            throw new IOException("Invalid JSON document: " + e.getMessage(), e);
+        }
+        return shapes;
+    }
+
+    private Path getImagePath(Path file) {
+        String name = file.getFileName().toString();
+        final int extensionStart = name.lastIndexOf('.');
+        if (extensionStart > 0) {
+            name = name.substring(0, extensionStart);
+        }
+        name += "." + format;
+
+        final Path directory = outputDirectory != null ? outputDirectory : file.toAbsolutePath().getParent();
+        return directory.resolve(name);
+    }
+
+    /**
+     * Draws shapes on a white image. The origin and cell size are chosen so that
+     * all shapes fit in the image. A document without shapes is shown in the
+     * standard view.
+     *
+     * @param shapes Shapes to draw
+     * @return Image of the size of this renderer
+     */
+    public BufferedImage render(List<ShapeWrapper> shapes) {
+        Rectangle2D bounds = null;
+        for (ShapeWrapper wrapper : shapes) {
+            final Rectangle2D shapeBounds = wrapper.getBounds();
+            if (shapeBounds != null) {
+                bounds = bounds == null ? shapeBounds : bounds.createUnion(shapeBounds);
+            }
+        }
+
+        int cellSize = CanvasModel.DEFAULT_CELL_SIZE;
+        double centerX = 0;
+        double centerY = 0;
+        if (bounds != null) {
+            final double scale = Math.min((width - 2 * PADDING) / Math.max(1, bounds.getWidth()),
+                    (height - 2 * PADDING) / Math.max(1, bounds.getHeight()));
+            cellSize = Math.max(CanvasModel.MIN_CELL_SIZE, Math.min(CanvasModel.MAX_CELL_SIZE, (int) scale));
+            centerX = bounds.getCenterX();
+            centerY = bounds.getCenterY();
+        }
+
+        final CanvasRenderer renderer = new CanvasRenderer(width, height,
+                (int) Math.round(width / 2.0 - centerX * cellSize), (int) Math.round(height / 2.0 + centerY * cellSize),
+                cellSize);
+        renderer.setGuidelinesEnabled(guidelinesEnabled);
+        renderer.setAxesVisible(axesVisible);
+
+        // without an alpha channel the image can be saved in any format
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        final Graphics2D g2 = image.createGraphics();
+        try {
+            g2.setColor(Color.WHITE);
+            g2.fillRect(0, 0, width, height);
+            renderer.render(g2, shapes, -1, null);
+        } finally {
+            g2.dispose();
+        }
+        return image;
+    }
+}
@@ -0,0 +1,159 @@
+package com.github.creme332;
+
+import java.awt.Color;
+import java.awt.geom.Point2D;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.github.creme332.core.ShapeFactory;
+import com.github.creme332.model.CanvasModel;
+import com.github.creme332.model.LineType;
+import com.github.creme332.model.Mode;
+import com.github.creme332.model.ShapeWrapper;
+import com.github.creme332.utils.IconLoader;
+import com.github.creme332.utils.IconRegistry;
+import com.github.creme332.utils.PolydrawTheme;
+import com.github.creme332.utils.ShapeJsonReader;
+import com.github.creme332.utils.ShapeJsonV2Writer;
+import com.github.creme332.utils.exception.InvalidPathException;
+import com.github.creme332.view.tutorial.TutorialCenter;
+
+/**
+ * Initializes the application concurrently while the splash screen is shown.
+ *
+ * Initialization is a graph of independent tasks:
+ * <ul>
+ * <li>theme: setup of the look and feel</li>
+ * <li>preferences: first read of the preferences of the canvas</li>
+ * <li>json: creation of the Gson adapters used to import and export
+ * shapes</li>
+ * <li>icons: decoding of all icons, after the theme is set up because icons
+ * are painted with the colors of the theme</li>
+ * <li>tutorials: loading of the catalogue of tutorials, after the theme is set
+ * up</li>
+ * </ul>
+ * Each task runs on its own daemon thread. Everything that is initialized is
+ * also loaded on demand, so the application works even if it does not wait
+ * for a task to complete.
+ */
+public class Bootstrap {
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "bootstrap");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Duration of each completed task in milliseconds, in order of completion.
+     */
+    private final Map<String, Long> durations = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private final CompletableFuture<Void> theme;
+    private final CompletableFuture<Void> initialization;
+
+    private Bootstrap() {
+        theme = run("theme", PolydrawTheme::setup, null);
+        final CompletableFuture<Void> preferences = run("preferences", CanvasModel::preloadPreferences, null);
+        final CompletableFuture<Void> json = run("json", Bootstrap::warmUpJson, null);
+        final CompletableFuture<Void> icons = run("icons", Bootstrap::preloadIcons, theme);
+        final CompletableFuture<Void> tutorials = run("tutorials", TutorialCenter::loadCatalogue, theme);
+
+        initialization = CompletableFuture.allOf(theme, preferences, json, icons, tutorials);
+        initialization.whenComplete((result, exception) -> executor.shutdown());
+    }
+
+    /**
+     * Starts initialization of the application.
+     */
+    public static Bootstrap start() {
+        return new Bootstrap();
+    }
+
+    /**
+     * Runs a task once its dependency, if any, has completed. The duration of the
+     * task is recorded.
+     */
+    private CompletableFuture<Void> run(String name, Runnable task, CompletableFuture<Void> dependency) {
+        final Runnable timedTask = () -> {
+            final long start = System.nanoTime();
+            task.run();
+            durations.put(name, (System.nanoTime() - start) / 1_000_000);
+        };
+        if (dependency == null) {
+            return CompletableFuture.runAsync(timedTask, executor);
+        }
+        return dependency.thenRunAsync(timedTask, executor);
+    }
+
+    private static void preloadIcons() {
+        // register icons of modes and line types before preloading all icons
+        Mode.values();
+        for (LineType type : LineType.values()) {
+            IconRegistry.svg(type.getIconPath());
+        }
+        try {
+            IconLoader.loadIcon("/icons/icosahedron.png");
+        } catch (InvalidPathException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        IconRegistry.preloadAll().join();
+    }
+
+    /**
+     * Writes and reads a shape so that the classes and Gson adapters used to
+     * import and export shapes are loaded.
+     */
+    private static void warmUpJson() {
+        final ShapeWrapper shape = new ShapeWrapper(Color.RED, LineType.SOLID, 1);
+        shape.setShape(ShapeFactory.createLine(0, 0, 1, 1));
+        shape.getPlottedPoints().add(new Point2D.Double(0, 0));
+
+        final StringWriter out = new StringWriter();
+        try {
+            // the version 2 format is the one written by the application
+            ShapeJsonV2Writer.write(Collections.singletonList(shape), out);
+            try (ShapeJsonReader reader = new ShapeJsonReader(new StringReader(out.toString()))) {
+                while (reader.hasNext()) {
+                    reader.next();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Waits until the look and feel is set up. Components must not be created
+     * before.
+     */
+    public void awaitTheme() {
+        theme.join();
+    }
+
+    /**
+     *
+     * @return A future completed once all tasks are complete. It completes
+     *         exceptionally if a task failed.
+     */
+    public CompletableFuture<Void> getInitialization() {
+        return initialization;
+    }
+
+    /**
+     *
+     * @return Duration of each completed task in milliseconds
+     */
+    public Map<String, Long> getDurations() {
+        synchronized (durations) {
+            return new LinkedHashMap<>(durations);
+        }
+    }
+}
@@ -1,8 +1,21 @@
 package com.github.creme332.controller;
 
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import com.github.creme332.Bootstrap;
 import com.github.creme332.controller.canvas.CanvasController;
+import com.github.creme332.controller.canvas.CommandIngestionController;
 import com.github.creme332.controller.console.CanvasConsoleController;
+import com.github.creme332.core.CommandIngestor;
 import com.github.creme332.model.AppState;
+import com.github.creme332.model.ShapeManager;
+import com.github.creme332.model.ShapeWrapper;
+import com.github.creme332.utils.ShapeJournal;
 import com.github.creme332.utils.exception.InvalidPathException;
 import com.github.creme332.view.*;
 
@@ -11,25 +24,82 @@ import com.github.creme332.view.*;
  * and controllers of screens.
  */
 public class Controller {
+    /**
+     * Directory where the shapes journal is kept until the application exits
+     * normally.
+     */
+    private static final Path RECOVERY_DIRECTORY = Paths.get(System.getProperty("user.home"), ".polydraw",
+            "recovery");
 
     public Controller() {
+        this(Bootstrap.start(), null);
+    }
+
+    /**
+     *
+     * @param bootstrap Initialization of the application, which continues while
+     *                  the splash screen is shown
+     * @param ingestor  Ingestor whose commands are drawn on the canvas, or null
+     */
+    public Controller(Bootstrap bootstrap, CommandIngestor ingestor) {
+        // components must be created with the look and feel of the application
+        bootstrap.awaitTheme();
+
         AppState app = new AppState();
         FrameController frameController;
         try {
             Frame frame = new Frame(app);
             frameController = new FrameController(app, frame);
 
-            // play start animation
-            frameController.playStartAnimation();
-            
+            // show splash screen until initialization is complete
+            frameController.playStartAnimation(bootstrap);
+
             // create controllers for main screens
             new CanvasController(app, frame.getMyCanvas());
             new CanvasConsoleController(app, frame.getCanvasConsole());
             new TutorialScreenController(app, frame.getTutorialCenter());
 
+            startJournal(app.getCanvasModel().getShapeManager(), frame);
+
+            if (ingestor != null) {
+                new CommandIngestionController(app.getCanvasModel().getShapeManager(), ingestor);
+            }
+
         } catch (InvalidPathException e) {
             System.err.println("Error: " + e.getMessage());
             System.exit(1);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Restores the shapes of a previous session which did not exit normally and
+     * starts recording changes to shapes.
+     */
+    private void startJournal(ShapeManager shapeManager, Frame frame) {
+        final ShapeJournal journal;
+        try {
+            journal = ShapeJournal.open(RECOVERY_DIRECTORY);
+        } catch (IOException e) {
+            System.err.println("Crash recovery is disabled: " + e.getMessage());
+            return;
+        }
+
+        final List<ShapeWrapper> recoveredShapes = journal.getRecoveredShapes();
+        if (!recoveredShapes.isEmpty()) {
+            shapeManager.importShapes(recoveredShapes.toArray(new ShapeWrapper[0]));
+        }
+        journal.attach(shapeManager);
+
+        // frame is disposed once user has chosen whether to save the drawing
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                try {
+                    journal.discard();
+                } catch (IOException ex) {
+                    System.err.println("Error: " + ex.getMessage());
+                }
+            }
+        });
+    }
+}
@@ -12,15 +12,19 @@ import java.awt.event.ActionEvent;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.*;
 
+import com.github.creme332.Bootstrap;
 import com.github.creme332.controller.canvas.MenuBarController;
 import com.github.creme332.model.AppState;
 import com.github.creme332.model.MenuModel;
 import com.github.creme332.model.Screen;
 import com.github.creme332.utils.DesktopApi;
 import com.github.creme332.utils.DesktopApi.EnumOS;
+import com.github.creme332.utils.StartupTimer;
 import com.github.creme332.view.Canvas;
 import com.github.creme332.view.Frame;
 import com.github.creme332.view.MenuBar;
@@ -160,10 +164,10 @@ public class FrameController implements PropertyChangeListener {
             }
         });
 
-        // Select move menu
+        // Select boolean operations menu
         rootPane.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_7, 0),
-                "selectMoveMenu");
-        rootPane.getActionMap().put("selectMoveMenu", new AbstractAction() {
+                "selectBooleanOperationsMenu");
+        rootPane.getActionMap().put("selectBooleanOperationsMenu", new AbstractAction() {
             @Override
             public void actionPerformed(ActionEvent e) {
                 if (app.getCurrentScreen() == Screen.MAIN_SCREEN) {
@@ -280,14 +284,23 @@ public class FrameController implements PropertyChangeListener {
     }
 
     private class Task extends SwingWorker<Void, Integer> {
-        static final long ANIMATION_DURATION = 800; // ms
+        private final Bootstrap bootstrap;
+
+        Task(Bootstrap bootstrap) {
+            this.bootstrap = bootstrap;
+        }
 
         @Override
         protected Void doInBackground() throws Exception {
-            // Display the splash screen for some time
+            // Display the splash screen until the application is initialized
             frame.setMenuBarVisibility(false);
             frame.showScreen(Screen.SPLASH_SCREEN);
-            Thread.sleep(ANIMATION_DURATION);
+
+            bootstrap.getInitialization().join();
+            if (StartupTimer.isEnabled()) {
+                System.out.println("Startup: initialized after " + StartupTimer.getElapsedMillis() + " ms "
+                        + bootstrap.getDurations());
+            }
             return null;
         }
 
@@ -298,14 +311,30 @@ public class FrameController implements PropertyChangeListener {
 
         @Override
         protected void done() {
+            try {
+                get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                // a task of the bootstrap failed
+                final Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause()
+                        : e.getCause();
+                System.err.println("Error: " + cause.getMessage());
+                System.exit(1);
+            }
+
             // Close splash screen and proceed to main application
             frame.showScreen(app.getCurrentScreen());
         }
     }
 
-    public void playStartAnimation() {
+    /**
+     * Shows the splash screen until initialization of the application is
+     * complete.
+     */
+    public void playStartAnimation(Bootstrap bootstrap) {
         // Perform background loading task
-        Task task = new Task();
+        Task task = new Task(bootstrap);
         task.execute();
     }
 
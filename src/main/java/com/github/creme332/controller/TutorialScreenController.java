@@ -5,7 +5,10 @@ import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 import javax.swing.AbstractAction;
 import javax.swing.JComponent;
@@ -15,7 +18,9 @@ import javax.swing.event.DocumentListener;
 
 import com.github.creme332.model.AppState;
 import com.github.creme332.model.Screen;
-import com.github.creme332.utils.FuzzySearching;
+import com.github.creme332.model.TutorialModel;
+import com.github.creme332.utils.AnimationScheduler;
+import com.github.creme332.utils.SearchIndex;
 import com.github.creme332.view.tutorial.TutorialCard;
 import com.github.creme332.view.tutorial.TutorialCenter;
 import com.github.creme332.view.tutorial.AbstractTutorial;
@@ -24,12 +29,39 @@ import com.github.creme332.view.tutorial.AbstractTutorial;
  * Main controller for TutorialScreen.
  */
 public class TutorialScreenController {
+    /**
+     * Delay in milliseconds between the last change to the search query and the
+     * search, so that a search is not run for every key typed.
+     */
+    private static final int SEARCH_DELAY = 150;
+
     private TutorialCenter view;
     private String currentView = "tutorialCenter";
 
+    /**
+     * Tutorial screens whose back button has a listener. Released screens are
+     * removed automatically.
+     */
+    private Set<AbstractTutorial> initializedScreens = Collections.newSetFromMap(new WeakHashMap<>());
+
+    /**
+     * Index of tutorials by their position in the tutorial center.
+     */
+    private final SearchIndex<Integer> searchIndex = new SearchIndex<>();
+
+    /**
+     * Search scheduled after the last change to the search query, or null.
+     */
+    private AnimationScheduler.Animation pendingSearch;
+
     public TutorialScreenController(AppState appState, TutorialCenter view) {
         this.view = view;
 
+        final List<TutorialModel> tutorialModels = view.getTutorialModels();
+        for (int i = 0; i < tutorialModels.size(); i++) {
+            searchIndex.add(i, tutorialModels.get(i).getKeywords());
+        }
+
         // Add action listener for the back button
         view.getBackButton().addActionListener(e -> appState.switchScreen(Screen.MAIN_SCREEN));
 
@@ -37,22 +69,21 @@ public class TutorialScreenController {
         view.getSearchField().getDocument().addDocumentListener(new DocumentListener() {
             @Override
             public void changedUpdate(DocumentEvent e) {
-                handleSearch();
+                scheduleSearch();
             }
 
             @Override
             public void insertUpdate(DocumentEvent e) {
-                handleSearch();
+                scheduleSearch();
             }
 
             @Override
             public void removeUpdate(DocumentEvent e) {
-                handleSearch();
+                scheduleSearch();
             }
         });
 
         List<TutorialCard> tutorialCards = view.getTutorialCards();
-        List<AbstractTutorial> tutorialScreens = view.getTutorialScreens();
 
         for (int i = 0; i < tutorialCards.size(); i++) {
             TutorialCard tutorialCard = tutorialCards.get(i);
@@ -61,25 +92,32 @@ public class TutorialScreenController {
             tutorialCard.addMouseListener(new MouseAdapter() {
                 @Override
                 public void mousePressed(MouseEvent e) {
-                    AbstractTutorial tutorialPanel = tutorialScreens.get(index);
-                    view.showTutorial(tutorialPanel.getTitle());
+                    AbstractTutorial tutorialPanel = view.openTutorial(index);
                     currentView = tutorialPanel.getTitle();
-                }
-            });
 
-            AbstractTutorial tutorialPanel = tutorialScreens.get(index);
-            tutorialPanel.getBackButton().addMouseListener(new MouseAdapter() {
-                @Override
-                public void mousePressed(MouseEvent e) {
-                    view.showTutorial("tutorialCenter");
+                    // screens are created when first opened and again after being released
+                    if (initializedScreens.add(tutorialPanel)) {
+                        tutorialPanel.getBackButton().addMouseListener(new MouseAdapter() {
+                            @Override
+                            public void mousePressed(MouseEvent e) {
+                                view.showTutorial("tutorialCenter");
+                            }
+                        });
+                    }
                 }
             });
-
         }
 
         initializeKeyBindings(appState);
     }
 
+    private void scheduleSearch() {
+        if (pendingSearch != null) {
+            pendingSearch.cancel();
+        }
+        pendingSearch = AnimationScheduler.getInstance().schedule(SEARCH_DELAY, this::handleSearch);
+    }
+
     private void initializeKeyBindings(AppState appState) {
         JComponent rootPane = (JComponent) view.getRootPane();
 
@@ -125,13 +163,8 @@ public class TutorialScreenController {
         }
 
         final ArrayList<TutorialCard> visibleTutorialCards = new ArrayList<>();
-
-        for (int i = 0; i < view.getTutorialScreens().size(); i++) {
-            AbstractTutorial tutorial = view.getTutorialScreens().get(i);
-
-            if (FuzzySearching.match(searchQuery, tutorial.getModel().getKeywords())) {
-                visibleTutorialCards.add(view.getTutorialCards().get(i));
-            }
+        for (int index : searchIndex.search(searchQuery)) {
+            visibleTutorialCards.add(view.getTutorialCards().get(index));
         }
 
         view.refreshGrid(visibleTutorialCards);
@@ -25,6 +25,7 @@ import javax.swing.JOptionPane;
 
 import java.awt.Dimension;
 import java.awt.Point;
+import java.awt.Toolkit;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.awt.event.MouseAdapter;
@@ -36,10 +37,12 @@ import com.github.creme332.controller.canvas.drawing.DrawEllipse;
 import com.github.creme332.controller.canvas.drawing.DrawIrregularPolygon;
 import com.github.creme332.controller.canvas.drawing.DrawLine;
 import com.github.creme332.controller.canvas.drawing.DrawRegularPolygon;
+import com.github.creme332.controller.canvas.transform.AbstractTransformer;
 import com.github.creme332.controller.canvas.transform.Clipper;
 import com.github.creme332.controller.canvas.transform.Reflector;
 import com.github.creme332.controller.canvas.transform.Rotator;
 import com.github.creme332.controller.canvas.transform.Scaler;
+import com.github.creme332.controller.canvas.transform.ShapeCombiner;
 import com.github.creme332.controller.canvas.transform.Shearer;
 import com.github.creme332.controller.canvas.transform.Translator;
 import com.github.creme332.controller.console.SideMenuController;
@@ -47,7 +50,6 @@ import com.github.creme332.model.AppState;
 import com.github.creme332.model.CanvasModel;
 import com.github.creme332.model.Mode;
 import com.github.creme332.model.ShapeManager;
-import com.github.creme332.model.ShapeWrapper;
 import com.github.creme332.view.Canvas;
 
 /**
@@ -61,10 +63,17 @@ public class CanvasController implements PropertyChangeListener {
      * translation of canvas.
      */
     private Point mouseDragStart;
+
+    /**
+     * Drag of the selected shape in progress, or null.
+     */
+    private ShapeDragSession dragSession;
+
     private AppState app;
     private CanvasModel model;
 
     private List<AbstractDrawer> drawControllers = new ArrayList<>();
+    private List<AbstractTransformer> transformControllers = new ArrayList<>();
 
     int copiedShapeIndex = -1;
 
@@ -89,12 +98,13 @@ public class CanvasController implements PropertyChangeListener {
         drawControllers.add(new DrawIrregularPolygon(app, canvas));
 
         // initialize other canvas sub-controllers
-        new Translator(app, canvas);
-        new Rotator(app, canvas);
-        new Scaler(app, canvas);
-        new Shearer(app, canvas);
-        new Reflector(app, canvas);
-        new Clipper(app, canvas);
+        transformControllers.add(new Translator(app, canvas));
+        transformControllers.add(new Rotator(app, canvas));
+        transformControllers.add(new Scaler(app, canvas));
+        transformControllers.add(new Shearer(app, canvas));
+        transformControllers.add(new Reflector(app, canvas));
+        transformControllers.add(new Clipper(app, canvas));
+        transformControllers.add(new ShapeCombiner(app, canvas));
 
         // when canvas is resized, update dimensions and reset zoom
         canvas.addComponentListener(new ComponentAdapter() {
@@ -113,18 +123,14 @@ public class CanvasController implements PropertyChangeListener {
 
             @Override
             public void mouseReleased(MouseEvent arg0) {
-                ShapeManager manager = model.getShapeManager();
-
                 // check if a shape was being dragged previously
-                if (app.getMode() == Mode.MOVE_CANVAS &&
-                        model.getSelectedShapeIndex() > -1 &&
-                        manager.getShapePreview() != null) {
-                    // edit previous shape with shape preview
-                    manager.editShape(model.getSelectedShapeIndex(), manager.getShapePreview());
-                    manager.setShapePreview(null);
+                if (dragSession != null && app.getMode() == Mode.MOVE_CANVAS) {
+                    // translate shape once for the whole drag
+                    dragSession.finish();
                     model.setSelectedShape(-1);
                     canvas.repaint();
                 }
+                dragSession = null;
             }
         });
 
@@ -271,28 +277,24 @@ public class CanvasController implements PropertyChangeListener {
     }
 
     /**
-     * Applies a translation on a shape.
+     * Moves the preview of the dragged shape such that its center is at the
+     * mouse position.
      * 
-     * @param destination Current mouse position
-     * @param shapeIndex  Index of shape in as given in shapes array from
-     *                    ShapeManager
+     * @param e Drag event
      */
-    private void dragShapeTo(final Point destination) {
-        final int shapeIndex = model.getSelectedShapeIndex();
-
-        final ShapeWrapper shapeWrapperCopy = model.getShapeManager().getShapeByIndex(shapeIndex);
-
-        // calculate translation vector from shape center to current mouse position
-        Point2D polyspaceMousePosition = model.toPolySpace(destination);
-        Point2D start = shapeWrapperCopy.findShapeCenter();
-        final int deltaX = (int) (polyspaceMousePosition.getX() - start.getX());
-        final int deltaY = (int) (polyspaceMousePosition.getY() - start.getY());
-        final Point2D translationVector = new Point2D.Double(deltaX, deltaY);
+    private void dragShapeTo(final MouseEvent e) {
+        // only the latest position matters, so skip this event if the event
+        // dispatch thread is behind and a newer drag event is already queued
+        if (Toolkit.getDefaultToolkit().getSystemEventQueue().peekEvent(MouseEvent.MOUSE_DRAGGED) != null) {
+            return;
+        }
 
-        shapeWrapperCopy.translate(translationVector);
+        final int shapeIndex = model.getSelectedShapeIndex();
+        if (dragSession == null || dragSession.getShapeIndex() != shapeIndex) {
+            dragSession = new ShapeDragSession(model.getShapeManager(), shapeIndex);
+        }
 
-        // update shape preview on screen
-        model.getShapeManager().setShapePreview(shapeWrapperCopy);
+        dragSession.dragTo(model.toPolySpace(e.getPoint()));
         canvas.repaint();
     }
 
@@ -309,7 +311,7 @@ public class CanvasController implements PropertyChangeListener {
 
         if (app.getMode() == Mode.MOVE_CANVAS) {
             if (model.getSelectedShapeIndex() > -1) {
-                dragShapeTo(e.getPoint());
+                dragShapeTo(e);
             } else {
                 dragCanvas(e.getPoint());
             }
@@ -406,6 +408,9 @@ public class CanvasController implements PropertyChangeListener {
             for (AbstractDrawer controller : drawControllers) {
                 controller.disposePreview();
             }
+            for (AbstractTransformer controller : transformControllers) {
+                controller.disposePreview();
+            }
             // update canvas to erase any possible incomplete shape
             canvas.repaint();
             return;
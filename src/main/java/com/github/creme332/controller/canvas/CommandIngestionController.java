@@ -0,0 +1,85 @@
+package com.github.creme332.controller.canvas;
+
+import javax.swing.SwingUtilities;
+
+import com.github.creme332.core.CommandIngestor;
+import com.github.creme332.core.Document;
+import com.github.creme332.model.ShapeManager;
+import com.github.creme332.utils.AnimationScheduler;
+
+/**
+ * Applies commands received by a command ingestor to the shapes of the canvas.
+ *
+ * Commands are applied in batches on the event dispatch thread at most once
+ * per frame. Each batch is a single change of the shape manager, so the canvas
+ * is repainted once per batch and the batch is undone as a whole. Each batch
+ * is limited in time so that the user interface stays responsive while a
+ * stream is being received. Commands which cannot be applied in time stay in the queue of the
+ * ingestor, which eventually blocks the producer. Batches are scheduled on the
+ * frame clock of the AnimationScheduler.
+ */
+public class CommandIngestionController {
+    /**
+     * Delay in milliseconds between two batches, which bounds the repaint rate to
+     * about 30 frames per second.
+     */
+    private static final int FRAME_DELAY = 33;
+
+    /**
+     * Maximum time in nanoseconds spent applying commands per frame.
+     */
+    private static final long FRAME_BUDGET = 12_000_000;
+
+    /**
+     * Number of commands applied between two checks of the time budget.
+     */
+    private static final int CHUNK_SIZE = 1024;
+
+    private final CommandIngestor ingestor;
+    private final ShapeManager shapeManager;
+    private final Document document;
+
+    /**
+     * Next batch, or null if ingestion is stopped.
+     */
+    private AnimationScheduler.Animation nextBatch;
+    private boolean isStopped = false;
+
+    public CommandIngestionController(ShapeManager shapeManager, CommandIngestor ingestor) {
+        this.ingestor = ingestor;
+        this.shapeManager = shapeManager;
+        this.document = new Document(shapeManager);
+        SwingUtilities.invokeLater(this::scheduleBatch);
+    }
+
+    private void scheduleBatch() {
+        if (isStopped) {
+            return;
+        }
+        nextBatch = AnimationScheduler.getInstance().schedule(FRAME_DELAY, () -> {
+            applyBatch();
+            scheduleBatch();
+        });
+    }
+
+    private void applyBatch() {
+        final long deadline = System.nanoTime() + FRAME_BUDGET;
+        // the canvas controller repaints the canvas when the batch ends
+        shapeManager.runBatch(() -> {
+            int chunkCount;
+            do {
+                chunkCount = ingestor.drain(document, CHUNK_SIZE);
+            } while (chunkCount == CHUNK_SIZE && System.nanoTime() < deadline);
+        });
+    }
+
+    /**
+     * Stops applying commands. It must be called on the event dispatch thread.
+     */
+    public void stop() {
+        isStopped = true;
+        if (nextBatch != null) {
+            nextBatch.cancel();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.creme332.controller.canvas;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+
+import com.github.creme332.model.ShapeManager;
+import com.github.creme332.model.ShapeWrapper;
+
+/**
+ * Drag of a shape with the mouse, from the press to the release of the mouse
+ * button. The shape is copied once when the drag starts. While dragging, the
+ * copy is displayed as the shape preview with a translation applied at render
+ * time, so its geometry is left untouched. The translation is applied to the
+ * shape once when the drag ends.
+ *
+ * As before, the shape follows the mouse such that its center is at the mouse
+ * position.
+ */
+public class ShapeDragSession {
+    private final ShapeManager shapeManager;
+    private final int shapeIndex;
+
+    /**
+     * Dragged shape of the shape manager. It is found again by identity when the
+     * drag ends since shapes may be changed during the drag, for example by an
+     * animation.
+     */
+    private final ShapeWrapper target;
+
+    /**
+     * Copy of dragged shape. Its geometry is not modified until the drag ends.
+     */
+    private final ShapeWrapper shape;
+
+    /**
+     * Center of the shape at the start of the drag.
+     */
+    private final Point2D center;
+
+    private int deltaX = 0;
+    private int deltaY = 0;
+
+    /**
+     *
+     * @param shapeManager Shape manager containing the shape
+     * @param shapeIndex   Index of dragged shape
+     */
+    public ShapeDragSession(ShapeManager shapeManager, int shapeIndex) {
+        this.shapeManager = shapeManager;
+        this.shapeIndex = shapeIndex;
+        target = shapeManager.getShapesView().get(shapeIndex);
+        shape = shapeManager.getShapeByIndex(shapeIndex);
+        center = shape.findShapeCenter();
+    }
+
+    /**
+     * Moves the center of the shape preview to a point.
+     *
+     * @param polySpacePosition Mouse position in polydraw space
+     */
+    public void dragTo(Point2D polySpacePosition) {
+        deltaX = (int) (polySpacePosition.getX() - center.getX());
+        deltaY = (int) (polySpacePosition.getY() - center.getY());
+        shapeManager.setShapePreview(shape, AffineTransform.getTranslateInstance(deltaX, deltaY));
+    }
+
+    /**
+     * Removes the shape preview and translates the shape. Nothing is edited if
+     * the shape was not moved, or if it was deleted or replaced during the drag.
+     */
+    public void finish() {
+        shapeManager.setShapePreview(null);
+        final int index = shapeManager.indexOf(target);
+        if ((deltaX == 0 && deltaY == 0) || index == -1) {
+            return;
+        }
+        shape.translate(new Point2D.Double(deltaX, deltaY));
+        shapeManager.editShape(index, shape);
+    }
+
+    public int getShapeIndex() {
+        return shapeIndex;
+    }
+}
@@ -4,10 +4,10 @@ import java.awt.Shape;
 import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
 
+import com.github.creme332.core.ShapeFactory;
 import com.github.creme332.model.AppState;
 import com.github.creme332.model.Mode;
 import com.github.creme332.model.ShapeWrapper;
-import com.github.creme332.model.calculator.LineCalculator;
 import com.github.creme332.view.Canvas;
 
 public class DrawLine extends AbstractDrawer {
@@ -26,23 +26,11 @@ public class DrawLine extends AbstractDrawer {
      * Uses Bresenham algorithm to create a polyline
      */
     public static Path2D.Double createPolyline(int x0, int y0, int x1, int y1) {
-        int[][] coordinates = LineCalculator.bresenham(x0, y0, x1, y1);
-        return createPolyline(coordinates[0], coordinates[1], coordinates[0].length);
+        return ShapeFactory.createLine(x0, y0, x1, y1);
     }
 
     public static Path2D.Double createPolyline(int[] xPoints, int[] yPoints, int length) {
-        if (xPoints == null || yPoints == null || xPoints.length != yPoints.length || length <= 0
-                || length > xPoints.length) {
-            throw new IllegalArgumentException("Invalid input parameters");
-        }
-
-        Path2D.Double polyline = new Path2D.Double();
-        polyline.moveTo(xPoints[0], yPoints[0]);
-        for (int i = 1; i < length; i++) {
-            polyline.lineTo(xPoints[i], yPoints[i]);
-        }
-
-        return polyline;
+        return ShapeFactory.createPolyline(xPoints, yPoints, length);
     }
 
     @Override
@@ -50,19 +38,12 @@ public class DrawLine extends AbstractDrawer {
         if (preview != null && preview.getPlottedPoints().size() == 1) {
             // number of plotted points is 1
             Point2D lineStart = preview.getPlottedPoints().get(0);
-            Shape shape;
-            int[][] coordinates;
-
-            if (getCanvasMode() == Mode.DRAW_LINE_DDA) {
-                coordinates = LineCalculator.dda((int) lineStart.getX(), (int) lineStart.getY(),
-                        (int) polySpaceMousePosition.getX(),
-                        (int) polySpaceMousePosition.getY());
-            } else {
-                coordinates = LineCalculator.bresenham((int) lineStart.getX(), (int) lineStart.getY(),
-                        (int) polySpaceMousePosition.getX(),
-                        (int) polySpaceMousePosition.getY());
-            }
-            shape = createPolyline(coordinates[0], coordinates[1], coordinates[0].length);
+            final int x0 = (int) lineStart.getX();
+            final int y0 = (int) lineStart.getY();
+            final int x1 = (int) polySpaceMousePosition.getX();
+            final int y1 = (int) polySpaceMousePosition.getY();
+            final Shape shape = getCanvasMode() == Mode.DRAW_LINE_DDA ? ShapeFactory.createDdaLine(x0, y0, x1, y1)
+                    : ShapeFactory.createLine(x0, y0, x1, y1);
             preview.setShape(shape);
             canvas.repaint();
         }
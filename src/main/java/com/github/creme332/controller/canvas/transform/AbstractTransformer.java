@@ -7,6 +7,7 @@ import java.awt.geom.Point2D;
 import com.github.creme332.model.AppState;
 import com.github.creme332.model.CanvasModel;
 import com.github.creme332.model.Mode;
+import com.github.creme332.model.ShapeWrapper;
 import com.github.creme332.view.Canvas;
 
 /**
@@ -31,6 +32,14 @@ public abstract class AbstractTransformer {
                 int selectedShapeIndex = canvasModel.getShapeManager().getSelectedShapeIndex(polyspaceMousePosition);
                 if (selectedShapeIndex < 0)
                     return;
+
+                // a transformation started now would copy the shape before the animated
+                // transformation is applied
+                final ShapeWrapper selectedShape = canvasModel.getShapeManager().getShapesView()
+                        .get(selectedShapeIndex);
+                if (TransformAnimator.isAnimating(selectedShape))
+                    return;
+
                 handleShapeSelection(selectedShapeIndex);
             }
         });
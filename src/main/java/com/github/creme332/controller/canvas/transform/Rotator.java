@@ -1,7 +1,6 @@
 package com.github.creme332.controller.canvas.transform;
 
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
 import javax.swing.ButtonGroup;
 import javax.swing.JLabel;
@@ -9,7 +8,6 @@ import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JRadioButton;
 import javax.swing.JTextField;
-import javax.swing.Timer;
 
 import com.github.creme332.model.AppState;
 import com.github.creme332.model.Mode;
@@ -18,6 +16,10 @@ import com.github.creme332.utils.RequestFocusListener;
 import com.github.creme332.view.Canvas;
 
 public class Rotator extends AbstractTransformer {
+    /**
+     * Duration of the animation for each degree of rotation.
+     */
+    private static final int MILLIS_PER_DEGREE = 10;
 
     public Rotator(AppState app, Canvas canvas) {
         super(app, canvas);
@@ -25,8 +27,7 @@ public class Rotator extends AbstractTransformer {
 
     @Override
     public void handleShapeSelection(int shapeIndex) {
-        // Get copy of selected shape
-        ShapeWrapper selectedWrapperCopy = canvasModel.getShapeManager().getShapeByIndex(shapeIndex);
+        final ShapeWrapper target = canvasModel.getShapeManager().getShapesView().get(shapeIndex);
 
         // Request rotation details from the user
         RotationDetails rotationDetails = requestRotationDetails();
@@ -37,52 +38,32 @@ public class Rotator extends AbstractTransformer {
         // Calculate rotation angle in radians
         double radAngle = Math.toRadians(rotationDetails.angle * (rotationDetails.isClockwise ? -1 : 1));
 
-        startRotationAnimation(selectedWrapperCopy, shapeIndex, radAngle, rotationDetails.pivot);
+        startRotationAnimation(target, radAngle, rotationDetails.pivot);
     }
 
     /**
-     * Animates rotation of a given shape
+     * Animates rotation of a given shape. Nothing happens if the shape is already
+     * being animated.
      * 
-     * @param selectedWrapperCopy Shape to be rotated
-     * @param shapeIndex          ID of shape in canvas
-     * @param radAngle            Rotation angle
-     * @param pivot               Rotation pivot
+     * @param target   Shape of the shape manager to rotate
+     * @param radAngle Rotation angle
+     * @param pivot    Rotation pivot
      */
-    public void startRotationAnimation(final ShapeWrapper selectedWrapperCopy, final int shapeIndex,
-            final double radAngle,
+    public void startRotationAnimation(final ShapeWrapper target, final double radAngle,
             final Point2D pivot) {
-        if (radAngle == 0)
+        if (radAngle == 0 || TransformAnimator.isAnimating(target))
             return;
 
-        final int animationDelay = 10; // Delay in milliseconds between updates
-        final double stepAngle = Math.toRadians(1.0) * Math.signum(radAngle); // Step size for each update (1 degree)
-        final double totalSteps = Math.abs(radAngle) / Math.abs(stepAngle); // Total number of steps
-
-        // Timer to handle the animation
-        Timer timer = new Timer(animationDelay, new ActionListener() {
-            private int stepCount = 0;
-            ShapeWrapper copyPreview;
-
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                if (stepCount < totalSteps) {
-                    copyPreview = new ShapeWrapper(selectedWrapperCopy);
-                    copyPreview.rotate(stepAngle * stepCount, pivot); // Rotate by the step angle
-                    canvasModel.getShapeManager().setShapePreview(copyPreview);
-                    canvas.repaint();
-
-                    stepCount++;
-                } else {
-                    ((Timer) e.getSource()).stop(); // Stop the timer when done
-                    canvasModel.getShapeManager().setShapePreview(null);
-                    // Replace old shape with new one so that transformation can be undo-ed
-                    canvasModel.getShapeManager().editShape(shapeIndex, copyPreview);
-                    canvas.repaint();
-                }
-            }
-        });
+        final long animationDuration = Math.round(Math.toDegrees(Math.abs(radAngle)) * MILLIS_PER_DEGREE);
 
-        timer.start();
+        final ShapeWrapper selectedWrapperCopy = new ShapeWrapper(target);
+        new TransformAnimator(canvasModel.getShapeManager(), canvas, target, selectedWrapperCopy, animationDuration,
+                progress -> AffineTransform.getRotateInstance(radAngle * progress, pivot.getX(), pivot.getY()),
+                shapeIndex -> {
+                    selectedWrapperCopy.rotate(radAngle, pivot);
+                    // Replace old shape with new one so that transformation can be undo-ed
+                    canvasModel.getShapeManager().editShape(shapeIndex, selectedWrapperCopy);
+                }).start();
     }
 
     @Override
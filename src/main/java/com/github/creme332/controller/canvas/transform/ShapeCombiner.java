@@ -0,0 +1,122 @@
+package com.github.creme332.controller.canvas.transform;
+
+import java.awt.Polygon;
+import java.awt.geom.Point2D;
+import java.util.List;
+
+import javax.swing.JOptionPane;
+
+import com.github.creme332.model.AppState;
+import com.github.creme332.model.LineType;
+import com.github.creme332.model.Mode;
+import com.github.creme332.model.ShapeManager;
+import com.github.creme332.model.ShapeWrapper;
+import com.github.creme332.model.calculator.BooleanOperationCalculator;
+import com.github.creme332.model.calculator.BooleanOperationCalculator.Operation;
+import com.github.creme332.view.Canvas;
+
+/**
+ * Controller responsible for union, intersection, difference and exclusive or
+ * modes. The user selects two polygons and they are replaced by the result of
+ * the boolean operation, which is undone in a single step. Results with holes
+ * are refused since a polygon cannot have holes.
+ */
+public class ShapeCombiner extends AbstractTransformer {
+    /**
+     * First polygon selected, as stored in the shape manager. Null if no polygon
+     * has been selected yet. The shape is tracked by identity because its index
+     * changes whenever shapes are added, deleted, edited or undone.
+     */
+    private ShapeWrapper firstShape = null;
+
+    public ShapeCombiner(AppState app, Canvas canvas) {
+        super(app, canvas);
+    }
+
+    @Override
+    public void handleShapeSelection(int shapeIndex) {
+        final ShapeManager shapeManager = canvasModel.getShapeManager();
+        final ShapeWrapper selectedWrapperCopy = shapeManager.getShapeByIndex(shapeIndex);
+
+        // boolean operations are only defined for polygons
+        if (!(selectedWrapperCopy.getShape() instanceof Polygon)) {
+            return;
+        }
+
+        // first shape may have been deleted or replaced since it was selected
+        final int firstShapeIndex = shapeManager.indexOf(firstShape);
+        if (firstShapeIndex == -1) {
+            firstShape = shapeManager.getShapesView().get(shapeIndex);
+
+            // highlight selected shape
+            selectedWrapperCopy.setLineType(LineType.DASHED);
+            shapeManager.setShapePreview(selectedWrapperCopy);
+            canvas.repaint();
+            return;
+        }
+
+        if (firstShapeIndex == shapeIndex) {
+            return;
+        }
+
+        final ShapeWrapper firstWrapperCopy = shapeManager.getShapeByIndex(firstShapeIndex);
+        final List<Polygon> result = BooleanOperationCalculator.compute((Polygon) firstWrapperCopy.getShape(),
+                (Polygon) selectedWrapperCopy.getShape(), getOperation());
+
+        // a polygon cannot have holes, and holes drawn as separate polygons would
+        // be filled
+        if (BooleanOperationCalculator.hasHoles(result)) {
+            disposePreview();
+            canvas.repaint();
+            JOptionPane.showMessageDialog(canvas, "The result of this operation has holes, which are not supported.",
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        // the operation is undone in a single step
+        shapeManager.runBatch(() -> {
+            // delete shape with larger index first so that the other index stays valid
+            shapeManager.deleteShape(Math.max(firstShapeIndex, shapeIndex));
+            shapeManager.deleteShape(Math.min(firstShapeIndex, shapeIndex));
+
+            // result inherits the style of the first shape selected
+            for (Polygon polygon : result) {
+                ShapeWrapper wrapper = new ShapeWrapper(firstWrapperCopy.getLineColor(),
+                        firstWrapperCopy.getLineType(), firstWrapperCopy.getLineThickness());
+                wrapper.setShape(polygon);
+                for (int i = 0; i < polygon.npoints; i++) {
+                    wrapper.getPlottedPoints().add(new Point2D.Double(polygon.xpoints[i], polygon.ypoints[i]));
+                }
+                shapeManager.addShape(wrapper);
+            }
+        });
+
+        disposePreview();
+        canvas.repaint();
+    }
+
+    private Operation getOperation() {
+        switch (getCanvasMode()) {
+            case UNION:
+                return Operation.UNION;
+            case INTERSECTION:
+                return Operation.INTERSECTION;
+            case DIFFERENCE:
+                return Operation.DIFFERENCE;
+            default:
+                return Operation.XOR;
+        }
+    }
+
+    @Override
+    public boolean shouldDraw() {
+        final Mode mode = getCanvasMode();
+        return mode == Mode.UNION || mode == Mode.INTERSECTION || mode == Mode.DIFFERENCE || mode == Mode.XOR;
+    }
+
+    @Override
+    public void disposePreview() {
+        super.disposePreview();
+        firstShape = null;
+    }
+}
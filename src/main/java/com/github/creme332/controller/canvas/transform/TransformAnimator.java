@@ -0,0 +1,126 @@
+package com.github.creme332.controller.canvas.transform;
+
+import java.awt.geom.AffineTransform;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+import com.github.creme332.model.ShapeManager;
+import com.github.creme332.model.ShapeWrapper;
+import com.github.creme332.utils.AnimationScheduler;
+import com.github.creme332.utils.AnimationScheduler.Easing;
+import com.github.creme332.view.Canvas;
+
+/**
+ * Animates a transformation of a shape by drawing the shape preview with an
+ * interpolated transformation. The geometry of the shape is not modified during
+ * the animation: it is transformed once, by the callback run at the end.
+ *
+ * The animation is driven by the AnimationScheduler of the application, so
+ * late frames are skipped and the animation still ends on time.
+ *
+ * The shape being transformed is found again by identity when the animation
+ * ends, since shapes may be added, deleted or undone in the meantime. Only one
+ * animation may run for a given shape: a second transformation started during
+ * the animation would copy the shape before the first one is applied.
+ */
+public class TransformAnimator {
+    /**
+     * Gives the transformation of the preview for a given progress.
+     */
+    @FunctionalInterface
+    public interface Interpolator {
+        /**
+         *
+         * @param progress Fraction of the animation completed, between 0 and 1
+         * @return Transformation in polydraw space
+         */
+        AffineTransform interpolate(double progress);
+    }
+
+    /**
+     * Shapes of shape managers which are being animated. It is only accessed from
+     * the event dispatch thread.
+     */
+    private static final Set<ShapeWrapper> animatedShapes = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private final ShapeManager shapeManager;
+    private final Canvas canvas;
+    private final ShapeWrapper target;
+    private final ShapeWrapper preview;
+    private final long durationMillis;
+    private final Interpolator interpolator;
+    private final IntConsumer onFinish;
+
+    private AnimationScheduler.Animation animation;
+
+    /**
+     *
+     * @param shapeManager   Shape manager displaying the preview
+     * @param canvas         Canvas to repaint, or null
+     * @param target         Shape of the shape manager which is transformed
+     * @param preview        Copy of target to animate. It must not be modified
+     *                       during the animation.
+     * @param durationMillis Duration of the animation
+     * @param interpolator   Transformation of the preview for each progress
+     * @param onFinish       Called once at the end of the animation, after the
+     *                       preview is removed, with the current index of target
+     *                       to transform the shape. It is not called if target
+     *                       was deleted or replaced during the animation.
+     */
+    public TransformAnimator(ShapeManager shapeManager, Canvas canvas, ShapeWrapper target, ShapeWrapper preview,
+            long durationMillis, Interpolator interpolator, IntConsumer onFinish) {
+        this.shapeManager = shapeManager;
+        this.canvas = canvas;
+        this.target = target;
+        this.preview = preview;
+        this.durationMillis = durationMillis;
+        this.interpolator = interpolator;
+        this.onFinish = onFinish;
+    }
+
+    /**
+     *
+     * @return True if an animation started for shape has not finished yet
+     */
+    public static boolean isAnimating(ShapeWrapper shape) {
+        return animatedShapes.contains(shape);
+    }
+
+    /**
+     * Starts the animation on the frame clock of the application. The preview is
+     * displayed immediately.
+     *
+     * @throws IllegalStateException If target is already being animated
+     */
+    public void start() {
+        if (!animatedShapes.add(target)) {
+            throw new IllegalStateException("Shape is already being animated.");
+        }
+        animation = AnimationScheduler.getInstance().animate(durationMillis, Easing.LINEAR, progress -> {
+            if (progress < 1) {
+                shapeManager.setShapePreview(preview, interpolator.interpolate(progress));
+            }
+            repaint();
+        }, () -> {
+            animatedShapes.remove(target);
+            shapeManager.setShapePreview(null);
+            final int index = shapeManager.indexOf(target);
+            if (index != -1) {
+                onFinish.accept(index);
+            }
+            repaint();
+        });
+    }
+
+    private void repaint() {
+        if (canvas != null) {
+            canvas.repaint();
+        }
+    }
+
+    public boolean isFinished() {
+        return animation != null && animation.isFinished();
+    }
+}
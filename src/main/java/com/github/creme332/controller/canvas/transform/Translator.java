@@ -1,14 +1,12 @@
 package com.github.creme332.controller.canvas.transform;
 
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
 
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
-import javax.swing.Timer;
 
 import com.github.creme332.model.AppState;
 import com.github.creme332.model.Mode;
@@ -27,53 +25,35 @@ public class Translator extends AbstractTransformer {
 
     @Override
     public void handleShapeSelection(int shapeIndex) {
-        /**
-         * A copy of the shape selected
-         */
-        final ShapeWrapper selectedWrapperCopy = canvasModel.getShapeManager().getShapeByIndex(shapeIndex);
+        final ShapeWrapper target = canvasModel.getShapeManager().getShapesView().get(shapeIndex);
 
         // request user for translation vector
         final Point2D translationVector = requestTranslationVector();
 
-        startTranslationAnimation(selectedWrapperCopy, shapeIndex, translationVector);
+        startTranslationAnimation(target, translationVector);
     }
 
     /**
-     * Animates the translation of a given shape using linear interpolation.
+     * Animates the translation of a given shape using linear interpolation. Nothing
+     * happens if the shape is already being animated.
+     *
+     * @param target Shape of the shape manager to translate
      */
-    public void startTranslationAnimation(final ShapeWrapper selectedWrapperCopy, final int shapeIndex,
-            Point2D translationVector) {
-        final int totalSteps = 60; // 60 frames
+    public void startTranslationAnimation(final ShapeWrapper target, Point2D translationVector) {
+        if (TransformAnimator.isAnimating(target))
+            return;
+
         final int animationDuration = 1000; // 1 second
-        final int animationDelay = animationDuration / totalSteps; // Delay in milliseconds between updates
-
-        // Timer to handle the animation
-        Timer timer = new Timer(animationDelay, new ActionListener() {
-            private int stepCount = 0;
-            ShapeWrapper copyPreview;
-
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                if (stepCount <= totalSteps) {
-                    copyPreview = new ShapeWrapper(selectedWrapperCopy);
-                    Point2D newTranslationVector = new Point2D.Double(translationVector.getX() * stepCount / totalSteps,
-                            translationVector.getY() * stepCount / totalSteps);
-                    copyPreview.translate(newTranslationVector);
-                    canvasModel.getShapeManager().setShapePreview(copyPreview);
-                    canvas.repaint();
-
-                    stepCount++;
-                } else {
-                    ((Timer) e.getSource()).stop(); // Stop the timer when done
-                    canvasModel.getShapeManager().setShapePreview(null);
-                    // Replace old shape with new one so that transformation can be undo-ed
-                    canvasModel.getShapeManager().editShape(shapeIndex, copyPreview);
-                    canvas.repaint();
-                }
-            }
-        });
 
-        timer.start();
+        final ShapeWrapper selectedWrapperCopy = new ShapeWrapper(target);
+        new TransformAnimator(canvasModel.getShapeManager(), canvas, target, selectedWrapperCopy, animationDuration,
+                progress -> AffineTransform.getTranslateInstance(translationVector.getX() * progress,
+                        translationVector.getY() * progress),
+                shapeIndex -> {
+                    selectedWrapperCopy.translate(translationVector);
+                    // Replace old shape with new one so that transformation can be undo-ed
+                    canvasModel.getShapeManager().editShape(shapeIndex, selectedWrapperCopy);
+                }).start();
     }
 
     @Override
@@ -1,17 +1,17 @@
 package com.github.creme332.controller.console;
 
 import java.awt.Dimension;
-import java.awt.Toolkit;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
-import java.util.Timer;
-import java.util.TimerTask;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantLock;
+
+import javax.swing.SwingUtilities;
 
 import com.github.creme332.model.AppState;
 import com.github.creme332.model.CanvasModel;
 import com.github.creme332.model.Mode;
+import com.github.creme332.utils.AnimationScheduler;
+import com.github.creme332.utils.AnimationScheduler.Animation;
+import com.github.creme332.utils.AnimationScheduler.Easing;
 import com.github.creme332.view.console.CanvasConsole;
 import com.github.creme332.view.console.SideMenuPanel;
 import com.github.creme332.view.console.Toast;
@@ -20,16 +20,24 @@ import com.github.creme332.view.console.Toast;
  * Main controller for CanvasConsole which is layered on top of canvas.
  */
 public class CanvasConsoleController implements PropertyChangeListener {
-    private Timer timer;
+    /**
+     * Duration in milliseconds of the animations of the sidebar.
+     */
+    private static final long SIDEBAR_ANIMATION_DURATION = 250;
+
+    /**
+     * Hides the toast when it expires, or null if toast is hidden.
+     */
+    private Animation toastTimeout;
     private Toast toast;
     private CanvasConsole console;
     private CanvasModel model;
 
     /**
-     * A lock that ensures that the animations for opening and closing the sidebar
-     * do not occur simultaneously if sidebar button is spammed.
+     * Animation of the sidebar, or null. Opening and closing animations never
+     * run simultaneously if sidebar button is spammed.
      */
-    private ReentrantLock sidebarAnimating = new ReentrantLock();
+    private Animation sidebarAnimation;
 
     public CanvasConsoleController(AppState app, CanvasConsole console) {
         this.console = console;
@@ -45,7 +53,8 @@ public class CanvasConsoleController implements PropertyChangeListener {
             console.setPreferredSize(console.getPreferredSize());
         }
 
-        showTemporaryToast();
+        // animations are scheduled on the event dispatch thread
+        SwingUtilities.invokeLater(this::showTemporaryToast);
     }
 
     @Override
@@ -72,10 +81,6 @@ public class CanvasConsoleController implements PropertyChangeListener {
      * that the sidebar which was initially out of frame becomes visible.
      */
     private void animateSidebarOpen() {
-        /**
-         * Speed at which sidebar opens in pixels per nanosecond.
-         */
-        final int openingSpeed = 5;
         /**
          * Initial width of canvas console such that sidebar is hidden.
          */
@@ -86,36 +91,7 @@ public class CanvasConsoleController implements PropertyChangeListener {
          */
         final int finalWidth = model.getCanvasDimension().width;
 
-        Thread th = new Thread() {
-            @Override
-            public void run() {
-                sidebarAnimating.lock();
-                for (int i = initialWidth; i >= finalWidth; i -= openingSpeed) {
-                    try {
-                        TimeUnit.NANOSECONDS.sleep(1);
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
-                    }
-                    int newWidth = Math.max(finalWidth, i);
-                    console.setSize(new Dimension(newWidth, console.getHeight()));
-                    console.revalidate();
-                    console.repaint();
-
-                    /**
-                     * sync toolkit to prevent frame rate issues on linux.
-                     * 
-                     * Reference:
-                     * https://stackoverflow.com/questions/46626715/how-do-i-properly-render-at-a-high-frame-rate-in-pure-java
-                     */
-                    Toolkit.getDefaultToolkit().sync();
-                }
-                sidebarAnimating.unlock();
-
-                // request focus again otherwise keyboard shortcuts will stop working after
-                console.getTopLevelAncestor().requestFocus();
-            }
-        };
-        th.start();
+        animateConsoleWidth(initialWidth, finalWidth);
     }
 
     /**
@@ -123,11 +99,6 @@ public class CanvasConsoleController implements PropertyChangeListener {
      * that the sidebar becomes hidden (since sidebar moves out of frame).
      */
     private void animateSidebarClose() {
-        /**
-         * Speed at which sidebar closes in pixels per nanosecond.
-         */
-        final int closingSpeed = 6;
-
         /**
          * Initial width of canvas console such that sidebar is visible.
          */
@@ -138,62 +109,44 @@ public class CanvasConsoleController implements PropertyChangeListener {
          */
         final int finalWidth = initialWidth + SideMenuPanel.PREFERRED_WIDTH;
 
-        Thread th = new Thread() {
-            @Override
-            public void run() {
-                sidebarAnimating.lock();
-                for (int i = initialWidth; i <= finalWidth; i += closingSpeed) {
-                    try {
-                        TimeUnit.NANOSECONDS.sleep(1);
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
-                    }
-                    int newWidth = Math.min(finalWidth, i);
-                    console.setSize(new Dimension(newWidth, console.getHeight()));
-                    console.revalidate();
-                    console.repaint();
-
-                    /**
-                     * sync toolkit to prevent frame rate issues on linux.
-                     * 
-                     * Reference:
-                     * https://stackoverflow.com/questions/46626715/how-do-i-properly-render-at-a-high-frame-rate-in-pure-java
-                     */
-                    Toolkit.getDefaultToolkit().sync();
-                }
-                sidebarAnimating.unlock();
-
-                // request focus again otherwise keyboard shortcuts will stop working after
-                console.getTopLevelAncestor().requestFocus();
-            }
+        animateConsoleWidth(initialWidth, finalWidth);
+    }
 
-        };
-        th.start();
+    /**
+     * Animates the width of the canvas console. If the sidebar is still moving,
+     * the animation continues from the current width so that the sidebar does
+     * not jump when its button is spammed.
+     */
+    private void animateConsoleWidth(int initialWidth, final int finalWidth) {
+        if (sidebarAnimation != null && !sidebarAnimation.isFinished()) {
+            sidebarAnimation.cancel();
+            initialWidth = console.getWidth();
+        }
+        final int startWidth = initialWidth;
+
+        final AnimationScheduler scheduler = AnimationScheduler.getInstance();
+        sidebarAnimation = scheduler.animate(SIDEBAR_ANIMATION_DURATION, Easing.EASE_OUT, progress -> {
+            final int newWidth = (int) Math.round(startWidth + (finalWidth - startWidth) * progress);
+            console.setSize(new Dimension(newWidth, console.getHeight()));
+            scheduler.requestLayout(console);
+        }, () -> {
+            // request focus again otherwise keyboard shortcuts will stop working after
+            console.getTopLevelAncestor().requestFocus();
+        });
     }
 
     private void showTemporaryToast() {
-        final long TOAST_VISIBILITY_DURATION_SECONDS = 5;
-        if (timer != null) {
-            // if a previous timer is still running, cancel it.
-            timer.cancel();
-            timer.purge();
+        final long TOAST_VISIBILITY_DURATION_MILLIS = 5000;
+        if (toastTimeout != null) {
+            // if the toast of a previous mode is still visible, restart its timeout.
+            toastTimeout.cancel();
         }
 
-        // create a new timer
-        timer = new Timer();
-
         console.toggleToastVisibility(true);
 
-        timer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                console.toggleToastVisibility(false);
-
-                // cancel timer
-                timer.cancel();
-                timer.purge();
-                timer = null;
-            }
-        }, TOAST_VISIBILITY_DURATION_SECONDS * 1000);
+        toastTimeout = AnimationScheduler.getInstance().schedule(TOAST_VISIBILITY_DURATION_MILLIS, () -> {
+            console.toggleToastVisibility(false);
+            toastTimeout = null;
+        });
     }
 }
@@ -0,0 +1,216 @@
+package com.github.creme332.controller.console;
+
+import java.awt.Component;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+import javax.swing.JOptionPane;
+import javax.swing.ProgressMonitor;
+import javax.swing.SwingWorker;
+
+import com.github.creme332.model.ShapeManager;
+import com.github.creme332.model.ShapeWrapper;
+import com.github.creme332.utils.PagedDocument;
+import com.github.creme332.utils.ParallelShapeJsonReader;
+import com.github.creme332.utils.ShapeFileConverter;
+import com.github.creme332.utils.ShapeJsonReader;
+
+/**
+ * Imports shapes from a JSON or .polydraw file on a background thread. Shapes
+ * of a JSON file are displayed on the canvas in batches as they are read, while
+ * a progress dialog lets the user cancel the import. Large JSON files are
+ * instead parsed on all cores and displayed once fully read. A .polydraw file
+ * is opened as a PagedDocument whose shapes are all displayed at once since
+ * only their bounds and styles are read. If the import is cancelled or fails,
+ * the shapes which were on the canvas before the import are restored together
+ * with their undo and redo history.
+ */
+public class ShapeImportWorker extends SwingWorker<Integer, ShapeWrapper> {
+    /**
+     * JSON files larger than this are parsed in parallel on multi-core machines.
+     */
+    private static final long PARALLEL_IMPORT_THRESHOLD = 8L << 20;
+
+    private final ShapeManager shapeManager;
+    private final File file;
+    private final Component parent;
+    private final ProgressMonitor progressMonitor;
+
+    /**
+     * Shapes on canvas and save history before import started.
+     */
+    private final ShapeManager.Snapshot previousState;
+
+    /**
+     * Document opened when importing a .polydraw file.
+     */
+    private PagedDocument pagedDocument;
+
+    /**
+     * Shapes read from a JSON file in parallel.
+     */
+    private ShapeWrapper[] parsedShapes;
+
+    public ShapeImportWorker(ShapeManager shapeManager, File file, Component parent) {
+        this.shapeManager = shapeManager;
+        this.file = file;
+        this.parent = parent;
+
+        previousState = shapeManager.takeSnapshot();
+
+        progressMonitor = new ProgressMonitor(parent, "Importing " + file.getName(), null, 0, 100);
+        progressMonitor.setMillisToDecideToPopup(200);
+
+        addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName())) {
+                progressMonitor.setProgress((Integer) e.getNewValue());
+                if (progressMonitor.isCanceled()) {
+                    cancel(true);
+                }
+            }
+        });
+    }
+
+    /**
+     * Clears the canvas and starts the import.
+     */
+    public void start() {
+        shapeManager.importShapes(new ShapeWrapper[0]);
+        execute();
+    }
+
+    @Override
+    protected Integer doInBackground() throws IOException {
+        if (ShapeFileConverter.isBinaryFile(file.toPath())) {
+            return importBinaryFile();
+        }
+        return importJsonFile();
+    }
+
+    private int importBinaryFile() throws IOException {
+        pagedDocument = PagedDocument.open(file.toPath());
+        return pagedDocument.getShapes().size();
+    }
+
+    private int importJsonFile() throws IOException {
+        final long fileSize = Math.max(1, file.length());
+        if (fileSize > PARALLEL_IMPORT_THRESHOLD && fileSize < Integer.MAX_VALUE
+                && Runtime.getRuntime().availableProcessors() > 1) {
+            parsedShapes = ParallelShapeJsonReader.readAll(file.toPath(),
+                    percentage -> setProgress(Math.min(99, percentage)), this::isCancelled);
+            return parsedShapes.length;
+        }
+
+        int shapeCount = 0;
+
+        try (CountingInputStream in = new CountingInputStream(
+                new BufferedInputStream(Files.newInputStream(file.toPath())));
+                ShapeJsonReader reader = new ShapeJsonReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            while (!isCancelled() && reader.hasNext()) {
+                publish(reader.next());
+                shapeCount++;
+                setProgress((int) Math.min(99, in.getCount() * 100 / fileSize));
+            }
+        }
+        return shapeCount;
+    }
+
+    @Override
+    protected void process(List<ShapeWrapper> chunks) {
+        // chunks published after cancellation must not be displayed
+        if (isCancelled()) {
+            return;
+        }
+        shapeManager.appendImportedShapes(new ArrayList<>(chunks));
+    }
+
+    @Override
+    protected void done() {
+        progressMonitor.close();
+
+        try {
+            get();
+            if (pagedDocument != null) {
+                shapeManager.importShapes(pagedDocument.getShapes().toArray(new ShapeWrapper[0]));
+            }
+            if (parsedShapes != null) {
+                shapeManager.importShapes(parsedShapes);
+            }
+        } catch (CancellationException e) {
+            restorePreviousState();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            restorePreviousState();
+        } catch (ExecutionException e) {
+            restorePreviousState();
+            JOptionPane.showMessageDialog(parent,
+                    "An error occurred while reading the file: " + e.getCause().getMessage(), "Error",
+                    JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Restores the shapes and history which were there before the import and
+     * releases the document opened by the import, if any.
+     */
+    private void restorePreviousState() {
+        shapeManager.restoreSnapshot(previousState);
+        if (pagedDocument != null) {
+            try {
+                pagedDocument.close();
+            } catch (IOException e) {
+                // document is released when garbage collected
+            }
+        }
+    }
+
+    /**
+     * An input stream which keeps track of the number of bytes read from it.
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private long count = 0;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.github.creme332.controller.console;
 
 import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
+import javax.swing.filechooser.FileNameExtensionFilter;
 
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
@@ -9,23 +10,20 @@ import java.awt.event.MouseMotionAdapter;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 
 import com.github.creme332.model.AppState;
 import com.github.creme332.model.CanvasModel;
 import com.github.creme332.model.Screen;
-import com.github.creme332.model.ShapeWrapper;
+import com.github.creme332.utils.BinaryShapeWriter;
 import com.github.creme332.utils.DesktopApi;
+import com.github.creme332.utils.ShapeJsonV2Writer;
+import com.github.creme332.utils.VectorShapeWriter;
 import com.github.creme332.view.console.SideMenuPanel;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 
 /**
  * Controller responsible for managing sidebar in CanvasConsole.
@@ -166,52 +164,38 @@ public class SideMenuController implements PropertyChangeListener {
     }
 
     /**
-     * Let user choose a JSON file and return the file path as a string.
+     * Let user choose a JSON or .polydraw file.
      * 
      * @return null if no file was selected
      */
-    public static String chooseFileAndReadToString() {
+    public static File chooseJsonFile() {
         JFileChooser fileChooser = new JFileChooser();
 
         // Set the file selection mode to files only
         fileChooser.setFileSelectionMode(JFileChooser.FILES_ONLY);
 
-        // Set a filter to only allow JSON files
-        fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("JSON Files", "json"));
+        // Set a filter to only allow JSON and .polydraw files
+        fileChooser.setFileFilter(new FileNameExtensionFilter("PolyDraw Files", "json", "polydraw"));
 
         // Open the file chooser dialog and capture the result
         int result = fileChooser.showOpenDialog(null);
 
         // Check if the user selected a file
         if (result == JFileChooser.APPROVE_OPTION) {
-            // Get the selected file
-            File selectedFile = fileChooser.getSelectedFile();
-            // Convert the file to a string
-            try {
-                Path filePath = selectedFile.toPath();
-                return new String(Files.readAllBytes(filePath));
-            } catch (IOException e) {
-                e.printStackTrace();
-                JOptionPane.showMessageDialog(null, "An error occurred while reading the file: " + e.getMessage());
-            }
-        } else {
-            JOptionPane.showMessageDialog(null, "No file selected.");
+            return fileChooser.getSelectedFile();
         }
+        JOptionPane.showMessageDialog(null, "No file selected.");
         return null;
     }
 
     private void handleCanvasImport() {
-        // get json from a file of user's choice
-        String json = chooseFileAndReadToString();
-        if (json == null)
+        // get json file of user's choice
+        File file = chooseJsonFile();
+        if (file == null)
             return;
 
-        // convert json to array
-        Gson gson = new Gson();
-        ShapeWrapper[] newShapes = gson.fromJson(json, ShapeWrapper[].class);
-
-        // replace current shapes with new shapes
-        app.getCanvasModel().getShapeManager().importShapes(newShapes);
+        // replace current shapes with shapes from file without blocking the UI
+        new ShapeImportWorker(app.getCanvasModel().getShapeManager(), file, sidebar.getTopLevelAncestor()).start();
     }
 
     /**
@@ -230,46 +214,50 @@ public class SideMenuController implements PropertyChangeListener {
         return formattedDate + "-" + str;
     }
 
-    public static boolean saveJsonToFile(String jsonString, String filePath) {
-        try (FileWriter fileWriter = new FileWriter(filePath)) {
-            // Write the JSON string to the file
-            fileWriter.write(jsonString);
-            // Flush to ensure all data is written out
-            fileWriter.flush();
-            return true;
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-        return false;
-    }
-
     private void handleCanvasToJSON() {
-        // convert list of shapes on canvas to json
-        GsonBuilder gsonBuilder = new GsonBuilder();
-        List<ShapeWrapper> shapes = app.getCanvasModel().getShapeManager().getShapes();
-        Gson gson = gsonBuilder.create();
-        String json = gson.toJson(shapes);
-
         // let user choose folder location
         JFileChooser fileChooser = new JFileChooser();
         fileChooser.setDialogTitle("Choose folder to save canvas");
         fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
         fileChooser.setAcceptAllFileFilterUsed(false); // disable the "All files" option.
 
+        // let user choose file format
+        final FileNameExtensionFilter jsonFilter = new FileNameExtensionFilter("JSON File", "json");
+        fileChooser.addChoosableFileFilter(jsonFilter);
+        final FileNameExtensionFilter binaryFilter = new FileNameExtensionFilter("Binary PolyDraw File", "polydraw");
+        fileChooser.addChoosableFileFilter(binaryFilter);
+        fileChooser.addChoosableFileFilter(new FileNameExtensionFilter("SVG Image", "svg"));
+        fileChooser.addChoosableFileFilter(new FileNameExtensionFilter("PDF Document", "pdf"));
+        fileChooser.setFileFilter(jsonFilter);
+
         // if user cancels export, return
         int returnValue = fileChooser.showDialog(sidebar.getTopLevelAncestor(), "Save");
         if (returnValue != JFileChooser.APPROVE_OPTION)
             return;
 
         final String folderLocation = fileChooser.getSelectedFile().toString();
-        final String fileName = addTimePrefix("polydraw-export.json");
+        final FileNameExtensionFilter selectedFilter = (FileNameExtensionFilter) fileChooser.getFileFilter();
+        final String extension = selectedFilter.getExtensions()[0];
+        final String fileName = addTimePrefix("polydraw-export." + extension);
         Path filePath = Paths.get(folderLocation, fileName);
 
-        boolean success = saveJsonToFile(json, filePath.toString());
-        if (success) {
+        // write shapes on canvas to file without copying them
+        try {
+            if (selectedFilter == jsonFilter) {
+                ShapeJsonV2Writer.export(app.getCanvasModel().getShapeManager().getShapesView(), filePath);
+            } else if (selectedFilter == binaryFilter) {
+                BinaryShapeWriter.write(app.getCanvasModel().getShapeManager().getShapesView(), filePath);
+            } else {
+                VectorShapeWriter.export(app.getCanvasModel().getShapeManager().getShapesView(), filePath);
+            }
+
             // show success message
             JOptionPane.showMessageDialog(sidebar.getTopLevelAncestor(),
                     fileName + " was successfully saved at " + folderLocation);
+        } catch (IOException e) {
+            e.printStackTrace();
+            JOptionPane.showMessageDialog(sidebar.getTopLevelAncestor(),
+                    "An error occurred while saving the file: " + e.getMessage());
         }
         sidebar.getTopLevelAncestor().requestFocus();
     }
@@ -0,0 +1,165 @@
+package com.github.creme332.core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads command streams on background threads and queues parsed commands until
+ * they are applied to a document, usually on the event dispatch thread.
+ *
+ * The queue is bounded. When it is full, reading threads wait before reading
+ * more input, so a producer writing faster than commands are applied is
+ * blocked by the pipe or socket instead of filling up memory.
+ *
+ * Invalid commands are reported on standard error and skipped.
+ *
+ * @see DrawCommandParser
+ */
+public class CommandIngestor {
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final BlockingQueue<DrawCommand> queue;
+
+    /**
+     * Commands removed from queue and waiting to be applied. Only used by the
+     * thread applying commands.
+     */
+    private final List<DrawCommand> batch = new ArrayList<>();
+
+    public CommandIngestor() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     *
+     * @param capacity Maximum number of commands waiting to be applied
+     */
+    public CommandIngestor(int capacity) {
+        queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Parses every line of a stream and queues the commands. This blocks until the
+     * end of the stream is reached.
+     *
+     * @param reader Command stream
+     * @param source Name of stream used in error messages
+     * @throws InterruptedException if thread is interrupted while waiting for space
+     *                              in the queue
+     */
+    public void read(Reader reader, String source) throws IOException, InterruptedException {
+        final DrawCommandParser parser = new DrawCommandParser();
+        final BufferedReader bufferedReader = new BufferedReader(reader, BUFFER_SIZE);
+        String line;
+        long lineNumber = 0;
+
+        while ((line = bufferedReader.readLine()) != null) {
+            lineNumber++;
+            final DrawCommand command;
+            try {
+                command = parser.parse(line);
+            } catch (IllegalArgumentException e) {
+                System.err.printf("%s:%d: %s%n", source, lineNumber, e.getMessage());
+                continue;
+            }
+            if (command != null) {
+                queue.put(command);
+            }
+        }
+    }
+
+    /**
+     * Reads a stream such as standard input on a daemon thread.
+     *
+     * @return Thread reading stream
+     */
+    public Thread startReading(InputStream in, String source) {
+        return startDaemon(() -> {
+            try {
+                read(new InputStreamReader(in, StandardCharsets.UTF_8), source);
+            } catch (IOException e) {
+                System.err.println("Error reading " + source + ": " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "command-reader");
+    }
+
+    /**
+     * Accepts connections on a port of the loopback interface on a daemon thread.
+     * Connections are read one after the other, so the commands of different
+     * clients are never interleaved.
+     *
+     * @param port Port number, or 0 to use any free port
+     * @return Server socket. Closing it stops the thread.
+     * @throws IOException if socket cannot be bound
+     */
+    public ServerSocket listen(int port) throws IOException {
+        final ServerSocket serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        startDaemon(() -> {
+            while (!serverSocket.isClosed()) {
+                try (Socket socket = serverSocket.accept()) {
+                    final String source = "socket " + socket.getRemoteSocketAddress();
+                    read(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8), source);
+                } catch (IOException e) {
+                    if (!serverSocket.isClosed()) {
+                        System.err.println("Error reading command stream: " + e.getMessage());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }, "command-listener");
+        return serverSocket;
+    }
+
+    private static Thread startDaemon(Runnable task, String name) {
+        final Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Applies queued commands to a document in the order in which they were read.
+     *
+     * @param document    Document to which commands are applied
+     * @param maxCommands Maximum number of commands to apply
+     * @return Number of commands applied
+     */
+    public int drain(Document document, int maxCommands) {
+        queue.drainTo(batch, maxCommands);
+        final int count = batch.size();
+        for (DrawCommand command : batch) {
+            try {
+                command.apply(document);
+            } catch (RuntimeException e) {
+                System.err.println("Error applying command: " + e.getMessage());
+            }
+        }
+        batch.clear();
+        return count;
+    }
+
+    /**
+     *
+     * @return Number of commands waiting to be applied
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+}
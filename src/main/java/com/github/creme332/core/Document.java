@@ -0,0 +1,301 @@
+package com.github.creme332.core;
+
+import java.awt.Color;
+import java.awt.Polygon;
+import java.awt.Shape;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.github.creme332.model.LineType;
+import com.github.creme332.model.ShapeManager;
+import com.github.creme332.model.ShapeWrapper;
+
+/**
+ * Programmatic API for drawing and transforming shapes without a user
+ * interface. Shapes are drawn and transformed exactly as they would be with
+ * the mouse, and every change goes through a ShapeManager so that it can be
+ * undone, journaled or displayed on a canvas.
+ *
+ * Methods return the document so that calls can be chained:
+ *
+ * <pre>
+ * Document document = new Document()
+ *         .style(Color.BLUE, LineType.DASHED, 2)
+ *         .circle(0, 0, 50)
+ *         .line(-60, 0, 60, 0)
+ *         .selectAll()
+ *         .rotate(Math.PI / 4, new Point2D.Double(0, 0))
+ *         .clip(new Rectangle2D.Double(-40, -40, 80, 80));
+ * </pre>
+ *
+ * Each drawn shape becomes the selection. Transformations apply to every
+ * selected shape and are undone in one step.
+ */
+public class Document {
+    private final ShapeManager shapeManager;
+    private final ShapeFactory shapeFactory = new ShapeFactory();
+
+    // style of shapes drawn next, which defaults to the style used by the canvas
+    private Color lineColor = Color.RED;
+    private LineType lineType = LineType.SOLID;
+    private int lineThickness = 3;
+
+    /**
+     * Indices of selected shapes in the shape manager.
+     */
+    private int[] selection = new int[0];
+
+    /**
+     * Creates an empty document.
+     */
+    public Document() {
+        this(new ShapeManager());
+    }
+
+    /**
+     * Creates a document whose shapes are those of a shape manager, such as the
+     * shape manager of the canvas.
+     */
+    public Document(ShapeManager shapeManager) {
+        this.shapeManager = shapeManager;
+    }
+
+    public ShapeManager getShapeManager() {
+        return shapeManager;
+    }
+
+    /**
+     *
+     * @return Read-only view of shapes. Shapes must not be modified.
+     */
+    public List<ShapeWrapper> getShapes() {
+        return shapeManager.getShapesView();
+    }
+
+    public int getShapeCount() {
+        return shapeManager.getShapeCount();
+    }
+
+    /**
+     * Sets the style of shapes drawn next.
+     */
+    public Document style(Color lineColor, LineType lineType, int lineThickness) {
+        this.lineColor = lineColor;
+        this.lineType = lineType;
+        this.lineThickness = lineThickness;
+        return this;
+    }
+
+    /**
+     * Draws a line with the Bresenham algorithm.
+     */
+    public Document line(int x0, int y0, int x1, int y1) {
+        return shape(ShapeFactory.createLine(x0, y0, x1, y1), new Point2D.Double(x0, y0),
+                new Point2D.Double(x1, y1));
+    }
+
+    /**
+     * Draws a line with the DDA algorithm.
+     */
+    public Document ddaLine(int x0, int y0, int x1, int y1) {
+        return shape(ShapeFactory.createDdaLine(x0, y0, x1, y1), new Point2D.Double(x0, y0),
+                new Point2D.Double(x1, y1));
+    }
+
+    /**
+     *
+     * @param radius A positive radius
+     */
+    public Document circle(int centerX, int centerY, int radius) {
+        return shape(shapeFactory.createCircle(centerX, centerY, radius), new Point2D.Double(centerX, centerY));
+    }
+
+    /**
+     * Draws an ellipse given its foci and a point on it.
+     */
+    public Document ellipse(Point2D firstFocus, Point2D secondFocus, Point2D point) {
+        return shape(shapeFactory.createEllipse(firstFocus, secondFocus, point), firstFocus, secondFocus, point);
+    }
+
+    /**
+     * Draws an ellipse given its foci and radii.
+     */
+    public Document ellipse(Point2D firstFocus, Point2D secondFocus, int rx, int ry) {
+        return shape(shapeFactory.createEllipse(firstFocus, secondFocus, rx, ry), firstFocus, secondFocus);
+    }
+
+    /**
+     * Draws a regular polygon given two adjacent vertices.
+     *
+     * @param sidesCount Number of sides, at least 3
+     */
+    public Document regularPolygon(Point2D firstVertex, Point2D secondVertex, int sidesCount) {
+        return shape(shapeFactory.createRegularPolygon(firstVertex, secondVertex, sidesCount), firstVertex,
+                secondVertex);
+    }
+
+    /**
+     * Draws a polygon through the given vertices.
+     */
+    public Document polygon(Point2D... vertices) {
+        if (vertices.length < 3) {
+            throw new IllegalArgumentException("A polygon must have at least 3 vertices.");
+        }
+        final Polygon polygon = new Polygon();
+        for (Point2D vertex : vertices) {
+            polygon.addPoint((int) vertex.getX(), (int) vertex.getY());
+        }
+        return shape(polygon, vertices);
+    }
+
+    /**
+     * Draws a shape whose geometry has already been created, for example by a
+     * ShapeFactory on another thread.
+     *
+     * @param shape         Geometry of shape
+     * @param plottedPoints Points displayed on the shape
+     */
+    public Document shape(Shape shape, Point2D... plottedPoints) {
+        final ShapeWrapper wrapper = new ShapeWrapper(lineColor, lineType, lineThickness);
+        wrapper.setShape(shape);
+        for (Point2D point : plottedPoints) {
+            wrapper.getPlottedPoints().add(new Point2D.Double(point.getX(), point.getY()));
+        }
+        shapeManager.addShape(wrapper);
+        selection = new int[] { shapeManager.getShapeCount() - 1 };
+        return this;
+    }
+
+    /**
+     * Selects shapes by index.
+     */
+    public Document select(int... indices) {
+        for (int index : indices) {
+            if (index < 0 || index >= shapeManager.getShapeCount()) {
+                throw new IndexOutOfBoundsException("No shape at index " + index);
+            }
+        }
+        selection = indices.clone();
+        return this;
+    }
+
+    public Document selectAll() {
+        selection = new int[shapeManager.getShapeCount()];
+        for (int i = 0; i < selection.length; i++) {
+            selection[i] = i;
+        }
+        return this;
+    }
+
+    /**
+     *
+     * @return Indices of selected shapes
+     */
+    public int[] getSelection() {
+        return selection.clone();
+    }
+
+    /**
+     * Rotates selected shapes anticlockwise.
+     *
+     * @param radAngle Angle in radians
+     * @param pivot    Center of rotation
+     */
+    public Document rotate(double radAngle, Point2D pivot) {
+        return transform(wrapper -> wrapper.rotate(radAngle, pivot));
+    }
+
+    /**
+     * Scales selected shapes with respect to a point.
+     */
+    public Document scale(Point2D scalingPoint, double sx, double sy) {
+        return transform(wrapper -> wrapper.scale(scalingPoint, sx, sy));
+    }
+
+    public Document shear(double shx, double shy) {
+        return transform(wrapper -> wrapper.shear(new double[] { shx, shy }));
+    }
+
+    /**
+     * Reflects selected shapes about the line y = gradient * x + yIntercept.
+     */
+    public Document reflect(double gradient, double yIntercept) {
+        return transform(wrapper -> wrapper.reflect(gradient, yIntercept));
+    }
+
+    public Document translate(double dx, double dy) {
+        return transform(wrapper -> wrapper.translate(new Point2D.Double(dx, dy)));
+    }
+
+    /**
+     * Clips selected lines and polygons to a rectangle.
+     */
+    public Document clip(Rectangle2D clipRect) {
+        ShapeClipper.clip(shapeManager, clipRect, selection);
+        return this;
+    }
+
+    /**
+     * Replaces each selected shape with a transformed copy. Shapes keep their
+     * index so the selection is unchanged.
+     */
+    private Document transform(Consumer<ShapeWrapper> transformation) {
+        shapeManager.runBatch(() -> {
+            for (int index : selection) {
+                final ShapeWrapper copy = shapeManager.getShapeByIndex(index);
+                transformation.accept(copy);
+                shapeManager.editShape(index, copy);
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Deletes selected shapes in one undoable step. The selection is cleared.
+     */
+    public Document delete() {
+        final int[] indices = selection.clone();
+        Arrays.sort(indices);
+        shapeManager.runBatch(() -> {
+            for (int i = indices.length - 1; i >= 0; i--) {
+                // skip duplicate indices
+                if (i == indices.length - 1 || indices[i] != indices[i + 1]) {
+                    shapeManager.deleteShape(indices[i]);
+                }
+            }
+        });
+        selection = new int[0];
+        return this;
+    }
+
+    /**
+     * Deletes all shapes together with the undo history.
+     */
+    public Document clear() {
+        shapeManager.reset();
+        selection = new int[0];
+        return this;
+    }
+
+    /**
+     * Undoes the last change. Undoing may move shapes to the end of the document,
+     * so the selection is cleared.
+     */
+    public Document undo() {
+        shapeManager.undo();
+        selection = new int[0];
+        return this;
+    }
+
+    /**
+     * Redoes the last undone change. The selection is cleared.
+     */
+    public Document redo() {
+        shapeManager.redo();
+        selection = new int[0];
+        return this;
+    }
+}
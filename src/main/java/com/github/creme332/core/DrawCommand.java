@@ -0,0 +1,11 @@
+package com.github.creme332.core;
+
+/**
+ * A parsed command of a command stream.
+ *
+ * @see DrawCommandParser
+ */
+@FunctionalInterface
+public interface DrawCommand {
+    void apply(Document document);
+}
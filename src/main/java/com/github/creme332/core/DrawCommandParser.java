@@ -0,0 +1,230 @@
+package com.github.creme332.core;
+
+import java.awt.Color;
+import java.awt.Polygon;
+import java.awt.Shape;
+import java.awt.geom.Point2D;
+import java.util.Locale;
+
+import com.github.creme332.model.LineType;
+
+/**
+ * Parses the line-oriented command language used to draw from other programs.
+ * Each line holds one command made of space-separated words. Coordinates are
+ * in polyspace units. Empty lines and lines starting with # are ignored.
+ *
+ * <pre>
+ * style COLOR LINETYPE THICKNESS   e.g. style #0000ff dashed 2
+ * line X0 Y0 X1 Y1
+ * dda X0 Y0 X1 Y1
+ * circle CX CY RADIUS
+ * ellipse F1X F1Y F2X F2Y RX RY
+ * polygon X1 Y1 X2 Y2 X3 Y3 ...
+ * select all | INDEX...
+ * translate DX DY
+ * rotate DEGREES PX PY
+ * scale PX PY SX SY
+ * shear SHX SHY
+ * reflect GRADIENT Y_INTERCEPT
+ * delete
+ * clear
+ * undo
+ * redo
+ * </pre>
+ *
+ * Drawing commands select the drawn shape. Other commands behave as the
+ * methods of the same name in Document.
+ *
+ * The geometry of drawn shapes is created by the parser so that the thread
+ * applying commands only has to add them. A parser must therefore only be used
+ * by a single thread.
+ */
+public class DrawCommandParser {
+    private final ShapeFactory shapeFactory = new ShapeFactory();
+
+    /**
+     *
+     * @param line A line of a command stream
+     * @return Command, or null if line is empty or a comment
+     * @throws IllegalArgumentException if line is not a valid command
+     */
+    public DrawCommand parse(String line) {
+        final String trimmedLine = line.trim();
+        if (trimmedLine.isEmpty() || trimmedLine.charAt(0) == '#') {
+            return null;
+        }
+
+        final String[] words = trimmedLine.split("\\s+");
+        final String name = words[0].toLowerCase(Locale.ROOT);
+
+        switch (name) {
+            case "style": {
+                checkArgumentCount(words, 3);
+                final Color color = parseColor(words[1]);
+                final LineType lineType = parseLineType(words[2]);
+                final int thickness = parseInt(words[3]);
+                if (thickness <= 0) {
+                    throw new IllegalArgumentException("Thickness must be positive.");
+                }
+                return document -> document.style(color, lineType, thickness);
+            }
+            case "line":
+            case "dda": {
+                checkArgumentCount(words, 4);
+                final int[] values = parseInts(words);
+                final Shape shape = "line".equals(name)
+                        ? ShapeFactory.createLine(values[0], values[1], values[2], values[3])
+                        : ShapeFactory.createDdaLine(values[0], values[1], values[2], values[3]);
+                return draw(shape, new Point2D.Double(values[0], values[1]),
+                        new Point2D.Double(values[2], values[3]));
+            }
+            case "circle": {
+                checkArgumentCount(words, 3);
+                final int[] values = parseInts(words);
+                return draw(shapeFactory.createCircle(values[0], values[1], values[2]),
+                        new Point2D.Double(values[0], values[1]));
+            }
+            case "ellipse": {
+                checkArgumentCount(words, 6);
+                final int[] values = parseInts(words);
+                final Point2D firstFocus = new Point2D.Double(values[0], values[1]);
+                final Point2D secondFocus = new Point2D.Double(values[2], values[3]);
+                return draw(shapeFactory.createEllipse(firstFocus, secondFocus, values[4], values[5]),
+                        firstFocus, secondFocus);
+            }
+            case "polygon": {
+                if (words.length < 7 || words.length % 2 == 0) {
+                    throw new IllegalArgumentException("polygon expects at least 3 pairs of coordinates.");
+                }
+                final int[] values = parseInts(words);
+                final Polygon polygon = new Polygon();
+                final Point2D[] vertices = new Point2D[values.length / 2];
+                for (int i = 0; i < vertices.length; i++) {
+                    polygon.addPoint(values[2 * i], values[2 * i + 1]);
+                    vertices[i] = new Point2D.Double(values[2 * i], values[2 * i + 1]);
+                }
+                return draw(polygon, vertices);
+            }
+            case "select": {
+                if (words.length == 2 && "all".equalsIgnoreCase(words[1])) {
+                    return Document::selectAll;
+                }
+                final int[] indices = parseInts(words);
+                return document -> document.select(indices);
+            }
+            case "translate": {
+                checkArgumentCount(words, 2);
+                final double[] values = parseDoubles(words);
+                return document -> document.translate(values[0], values[1]);
+            }
+            case "rotate": {
+                checkArgumentCount(words, 3);
+                final double[] values = parseDoubles(words);
+                final Point2D pivot = new Point2D.Double(values[1], values[2]);
+                return document -> document.rotate(Math.toRadians(values[0]), pivot);
+            }
+            case "scale": {
+                checkArgumentCount(words, 4);
+                final double[] values = parseDoubles(words);
+                final Point2D scalingPoint = new Point2D.Double(values[0], values[1]);
+                return document -> document.scale(scalingPoint, values[2], values[3]);
+            }
+            case "shear": {
+                checkArgumentCount(words, 2);
+                final double[] values = parseDoubles(words);
+                return document -> document.shear(values[0], values[1]);
+            }
+            case "reflect": {
+                checkArgumentCount(words, 2);
+                final double[] values = parseDoubles(words);
+                return document -> document.reflect(values[0], values[1]);
+            }
+            case "delete":
+                checkArgumentCount(words, 0);
+                return Document::delete;
+            case "clear":
+                checkArgumentCount(words, 0);
+                return Document::clear;
+            case "undo":
+                checkArgumentCount(words, 0);
+                return Document::undo;
+            case "redo":
+                checkArgumentCount(words, 0);
+                return Document::redo;
+            default:
+                throw new IllegalArgumentException("Unknown command: " + words[0]);
+        }
+    }
+
+    private static DrawCommand draw(Shape shape, Point2D... plottedPoints) {
+        return document -> document.shape(shape, plottedPoints);
+    }
+
+    private static void checkArgumentCount(String[] words, int count) {
+        if (words.length - 1 != count) {
+            throw new IllegalArgumentException(
+                    String.format("%s expects %d arguments but got %d.", words[0], count, words.length - 1));
+        }
+    }
+
+    private static int parseInt(String word) {
+        try {
+            return Integer.parseInt(word);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not an integer: " + word);
+        }
+    }
+
+    /**
+     *
+     * @return Integer values of all words except the first one
+     */
+    private static int[] parseInts(String[] words) {
+        final int[] values = new int[words.length - 1];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = parseInt(words[i + 1]);
+        }
+        return values;
+    }
+
+    /**
+     *
+     * @return Values of all words except the first one
+     */
+    private static double[] parseDoubles(String[] words) {
+        final double[] values = new double[words.length - 1];
+        for (int i = 0; i < values.length; i++) {
+            try {
+                values[i] = Double.parseDouble(words[i + 1]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Not a number: " + words[i + 1]);
+            }
+        }
+        return values;
+    }
+
+    /**
+     *
+     * @param word Color in the form #rrggbb or #rrggbbaa
+     */
+    private static Color parseColor(String word) {
+        if (word.charAt(0) != '#' || (word.length() != 7 && word.length() != 9)) {
+            throw new IllegalArgumentException("Color must be of the form #rrggbb or #rrggbbaa: " + word);
+        }
+        try {
+            final int rgb = Integer.parseInt(word.substring(1, 7), 16);
+            final int alpha = word.length() == 9 ? Integer.parseInt(word.substring(7), 16) : 255;
+            return new Color((alpha << 24) | rgb, true);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid color: " + word);
+        }
+    }
+
+    private static LineType parseLineType(String word) {
+        try {
+            return LineType.valueOf(word.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown line type: " + word);
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.github.creme332.core;
+
+import java.awt.Polygon;
+import java.awt.Shape;
+import java.awt.geom.Area;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.List;
+
+import com.github.creme332.model.ShapeManager;
+import com.github.creme332.model.ShapeWrapper;
+import com.github.creme332.model.calculator.LineClipperCalculator;
+import com.github.creme332.model.calculator.PolygonClipperCalculator;
+
+/**
+ * Clips shapes of a shape manager to a rectangle. Every clipped shape is
+ * replaced with editShape in a single batch so that a clip is undone in one
+ * step.
+ */
+public class ShapeClipper {
+    private ShapeClipper() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Clips all shapes.
+     *
+     * @param shapeManager Shape manager
+     * @param clipRect     Clipping rectangle
+     */
+    public static void clip(ShapeManager shapeManager, Rectangle2D clipRect) {
+        clip(shapeManager, clipRect, null);
+    }
+
+    /**
+     * Clips some shapes. Shapes which are completely inside or completely outside
+     * the clipping rectangle are not edited.
+     *
+     * @param shapeManager Shape manager
+     * @param clipRect     Clipping rectangle
+     * @param indices      Indices of shapes to clip, or null to clip all shapes
+     */
+    public static void clip(ShapeManager shapeManager, Rectangle2D clipRect, int[] indices) {
+        final int[] clippedIndices;
+        if (indices == null) {
+            clippedIndices = new int[shapeManager.getShapeCount()];
+            for (int i = 0; i < clippedIndices.length; i++) {
+                clippedIndices[i] = i;
+            }
+        } else {
+            clippedIndices = indices;
+        }
+
+        // a clip is undone in one step
+        shapeManager.runBatch(() -> {
+            clipLines(shapeManager, clipRect, clippedIndices);
+            clipPolygons(shapeManager, clipRect, clippedIndices);
+        });
+    }
+
+    /**
+     * Clips lines in a single batch. Only lines which are modified by the clip are
+     * edited.
+     */
+    private static void clipLines(ShapeManager shapeManager, final Rectangle2D clipRect, int[] indices) {
+        final List<ShapeWrapper> shapes = shapeManager.getShapesView();
+
+        // pack endpoints of all lines
+        final int[] lineIndices = new int[indices.length];
+        final double[] segments = new double[4 * indices.length];
+        int lineCount = 0;
+        for (int i : indices) {
+            final ShapeWrapper wrapper = shapes.get(i);
+            if (!wrapper.isLine())
+                continue;
+            getEndPoints((Path2D) wrapper.getShape(), segments, 4 * lineCount);
+            lineIndices[lineCount++] = i;
+        }
+
+        final double[] clippedSegments = new double[4 * lineCount];
+        final boolean[] accepted = new boolean[lineCount];
+        LineClipperCalculator.clipBatch(segments, lineCount, clipRect.getMinX(), clipRect.getMinY(),
+                clipRect.getMaxX(), clipRect.getMaxY(), LineClipperCalculator.Algorithm.LIANG_BARSKY,
+                clippedSegments, accepted);
+
+        for (int j = 0; j < lineCount; j++) {
+            if (!accepted[j])
+                continue;
+
+            // skip lines which are completely inside the clipping rectangle
+            final int offset = 4 * j;
+            boolean isUnchanged = true;
+            for (int k = offset; k < offset + 4; k++) {
+                if ((int) clippedSegments[k] != (int) segments[k]) {
+                    isUnchanged = false;
+                    break;
+                }
+            }
+            if (isUnchanged)
+                continue;
+
+            final ShapeWrapper wrapper = shapeManager.getShapeByIndex(lineIndices[j]);
+            setLineEndPoints(wrapper, clippedSegments[offset], clippedSegments[offset + 1],
+                    clippedSegments[offset + 2], clippedSegments[offset + 3]);
+            shapeManager.editShape(lineIndices[j], wrapper);
+        }
+    }
+
+    /**
+     * Clips polygons, circles and ellipses.
+     */
+    private static void clipPolygons(ShapeManager shapeManager, final Rectangle2D clipRect, int[] indices) {
+        final List<ShapeWrapper> shapes = shapeManager.getShapesView();
+
+        for (int i : indices) {
+            final Shape shape = shapes.get(i).getShape();
+            if (!(shape instanceof Polygon))
+                continue;
+
+            final Rectangle2D bounds = shape.getBounds2D();
+            if (!bounds.intersects(clipRect) || clipRect.contains(bounds))
+                continue;
+
+            final Polygon clippedPolygon = (Polygon) clipShape(shape, clipRect);
+            if (clippedPolygon.npoints == 0)
+                continue;
+
+            final ShapeWrapper wrapper = shapeManager.getShapeByIndex(i);
+
+            // plotted points of circles and ellipses, such as their center, are kept
+            // since the shape is still defined by them. Only vertices of polygons
+            // which were clipped away are removed.
+            if (arePlottedPointsVertices(wrapper.getPlottedPoints(), (Polygon) shape)) {
+                wrapper.getPlottedPoints().removeIf(point -> !clipRect.contains(point));
+            }
+            wrapper.setShape(clippedPolygon);
+
+            shapeManager.editShape(i, wrapper);
+        }
+    }
+
+    /**
+     *
+     * @return True if every plotted point is a vertex of the polygon, as is the
+     *         case for polygons but not for circles and ellipses.
+     */
+    private static boolean arePlottedPointsVertices(List<Point2D> plottedPoints, Polygon polygon) {
+        if (plottedPoints.isEmpty())
+            return false;
+
+        for (Point2D point : plottedPoints) {
+            boolean isVertex = false;
+            for (int k = 0; k < polygon.npoints && !isVertex; k++) {
+                isVertex = polygon.xpoints[k] == point.getX() && polygon.ypoints[k] == point.getY();
+            }
+            if (!isVertex)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Updates shape and plotted points of a line.
+     *
+     * @param wrapper  A line
+     * @param clipRect Clipping rectangle
+     */
+    public static void clipLine(final ShapeWrapper wrapper, final Rectangle2D clipRect) {
+        if (!wrapper.isLine())
+            return;
+
+        final double xmin = clipRect.getMinX();
+        final double ymin = clipRect.getMinY();
+        final double xmax = clipRect.getMaxX();
+        final double ymax = clipRect.getMaxY();
+
+        final double[] endpoints = getEndPoints((Path2D.Double) wrapper.getShape());
+
+        double[][] clippedLineEndpoints = LineClipperCalculator.clip(endpoints[0], endpoints[1],
+                endpoints[2], endpoints[3], xmin, ymin, xmax, ymax);
+
+        if (clippedLineEndpoints.length == 0 || clippedLineEndpoints[0].length == 0) {
+            return;
+        }
+
+        setLineEndPoints(wrapper, clippedLineEndpoints[0][0], clippedLineEndpoints[0][1],
+                clippedLineEndpoints[1][0], clippedLineEndpoints[1][1]);
+    }
+
+    /**
+     * Replaces a line by a new line between the given endpoints.
+     */
+    private static void setLineEndPoints(final ShapeWrapper wrapper, double x0, double y0, double x1,
+            double y1) {
+        // create a new polyline using clipped endpoints
+        Shape clippedShape = ShapeFactory.createLine((int) x0, (int) y0, (int) x1, (int) y1);
+        wrapper.setShape(clippedShape);
+
+        // update plotted points of clipped line
+        List<Point2D> plottedPoints = wrapper.getPlottedPoints();
+        plottedPoints.clear();
+        plottedPoints.add(new Point2D.Double((int) x0, (int) y0));
+        plottedPoints.add(new Point2D.Double((int) x1, (int) y1));
+    }
+
+    public static double[] getEndPoints(Path2D.Double line) {
+        final double[] endpoints = new double[4];
+        getEndPoints(line, endpoints, 0);
+        return endpoints;
+    }
+
+    /**
+     * Finds the endpoints of a line without walking through all its pixels. The
+     * start point is the first segment of the path and the end point is the
+     * current point of the path.
+     *
+     * @param line   A line
+     * @param out    Array where x0, y0, x1, y1 are written
+     * @param offset Index in out where x0 is written
+     */
+    private static void getEndPoints(Path2D line, double[] out, int offset) {
+        final PathIterator iterator = line.getPathIterator(null);
+        if (iterator.isDone()) {
+            Arrays.fill(out, offset, offset + 4, 0);
+            return;
+        }
+
+        final double[] coords = new double[6];
+        iterator.currentSegment(coords);
+        final Point2D end = line.getCurrentPoint();
+
+        out[offset] = coords[0];
+        out[offset + 1] = coords[1];
+        out[offset + 2] = end.getX();
+        out[offset + 3] = end.getY();
+    }
+
+    /**
+     * Checks if a given shape is affected by the clipping rectangle.
+     *
+     * @param shape    the shape to check
+     * @param clipRect the clipping rectangle
+     * @return true if the shape is affected, false otherwise
+     */
+    public static boolean isShapeAffectedByClip(Shape shape, Rectangle2D clipRect) {
+        if (!shape.getBounds2D().intersects(clipRect)) {
+            return false;
+        }
+
+        if (shape instanceof Polygon) {
+            return ((Polygon) shape).npoints > 0 && PolygonClipperCalculator.clip((Polygon) shape,
+                    clipRect.getMinX(), clipRect.getMinY(), clipRect.getMaxX(), clipRect.getMaxY()).npoints > 0;
+        }
+
+        if (ShapeWrapper.isLine(shape)) {
+            final double[] endpoints = new double[4];
+            getEndPoints((Path2D) shape, endpoints, 0);
+            return LineClipperCalculator.clip(endpoints[0], endpoints[1], endpoints[2], endpoints[3],
+                    clipRect.getMinX(), clipRect.getMinY(), clipRect.getMaxX(), clipRect.getMaxY()).length != 0;
+        }
+
+        Area shapeArea = new Area(shape);
+        shapeArea.intersect(new Area(clipRect));
+        return !shapeArea.isEmpty();
+    }
+
+    /**
+     * Clips a given shape to the specified rectangular clipping region.
+     *
+     * @param shape    the shape to be clipped
+     * @param clipRect the clipping rectangle
+     * @return a new Shape representing the clipped area. A Polygon is returned if
+     *         shape is a Polygon.
+     */
+    public static Shape clipShape(Shape shape, Rectangle2D clipRect) {
+        if (shape instanceof Polygon) {
+            return PolygonClipperCalculator.clip((Polygon) shape, clipRect.getMinX(), clipRect.getMinY(),
+                    clipRect.getMaxX(), clipRect.getMaxY());
+        }
+
+        if (ShapeWrapper.isLine(shape)) {
+            final double[] endpoints = new double[4];
+            getEndPoints((Path2D) shape, endpoints, 0);
+            final double[][] clippedEndpoints = LineClipperCalculator.clip(endpoints[0], endpoints[1],
+                    endpoints[2], endpoints[3], clipRect.getMinX(), clipRect.getMinY(), clipRect.getMaxX(),
+                    clipRect.getMaxY());
+            if (clippedEndpoints.length == 0) {
+                return new Path2D.Double();
+            }
+            return ShapeFactory.createLine((int) clippedEndpoints[0][0], (int) clippedEndpoints[0][1],
+                    (int) clippedEndpoints[1][0], (int) clippedEndpoints[1][1]);
+        }
+
+        // For other shapes, return the intersection of the shape with the clipping
+        // rectangle
+        Area shapeArea = new Area(shape);
+        shapeArea.intersect(new Area(clipRect));
+        return shapeArea;
+    }
+
+    /**
+     * Creates a Rectangle2D shape from two diagonally opposite corners.
+     *
+     * @param p1 the first corner point
+     * @param p2 the second corner point
+     * @return a Rectangle2D representing the rectangle
+     */
+    public static Rectangle2D createRectangle(Point2D p1, Point2D p2) {
+        double x = Math.min(p1.getX(), p2.getX());
+        double y = Math.min(p1.getY(), p2.getY());
+        double width = Math.abs(p2.getX() - p1.getX());
+        double height = Math.abs(p2.getY() - p1.getY());
+        return new Rectangle2D.Double(x, y, width, height);
+    }
+}
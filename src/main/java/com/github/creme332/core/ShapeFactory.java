@@ -0,0 +1,161 @@
+package com.github.creme332.core;
+
+import java.awt.Polygon;
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
+
+import com.github.creme332.model.calculator.CircleCalculator;
+import com.github.creme332.model.calculator.EllipseCalculator;
+import com.github.creme332.model.calculator.LineCalculator;
+import com.github.creme332.model.calculator.PolygonCalculator;
+
+/**
+ * Creates the geometry of shapes from their drawing parameters, exactly as the
+ * drawing controllers do. Calculators cache intermediate results, so an
+ * instance should be reused when many shapes are created.
+ */
+public class ShapeFactory {
+    private final CircleCalculator circleCalculator = new CircleCalculator();
+    private final EllipseCalculator ellipseCalculator = new EllipseCalculator();
+    private final PolygonCalculator polygonCalculator = new PolygonCalculator();
+
+    /**
+     * Creates a polyline passing through the given vertices. Polylines are the
+     * geometry of lines.
+     *
+     * @param xPoints x-coordinates of vertices
+     * @param yPoints y-coordinates of vertices
+     * @param length  Number of vertices
+     */
+    public static Path2D.Double createPolyline(int[] xPoints, int[] yPoints, int length) {
+        if (xPoints == null || yPoints == null || xPoints.length != yPoints.length || length <= 0
+                || length > xPoints.length) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        Path2D.Double polyline = new Path2D.Double();
+        polyline.moveTo(xPoints[0], yPoints[0]);
+        for (int i = 1; i < length; i++) {
+            polyline.lineTo(xPoints[i], yPoints[i]);
+        }
+
+        return polyline;
+    }
+
+    /**
+     * Creates a polyline passing through vertices which may have fractional
+     * coordinates, such as the vertices of a rotated line.
+     *
+     * @param xPoints x-coordinates of vertices
+     * @param yPoints y-coordinates of vertices
+     * @param length  Number of vertices
+     */
+    public static Path2D.Double createPolyline(double[] xPoints, double[] yPoints, int length) {
+        if (xPoints == null || yPoints == null || xPoints.length != yPoints.length || length <= 0
+                || length > xPoints.length) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        Path2D.Double polyline = new Path2D.Double();
+        polyline.moveTo(xPoints[0], yPoints[0]);
+        for (int i = 1; i < length; i++) {
+            polyline.lineTo(xPoints[i], yPoints[i]);
+        }
+
+        return polyline;
+    }
+
+    /**
+     * Creates a closed path through vertices which may have fractional
+     * coordinates. It is the geometry of a polygon which cannot be stored as a
+     * Polygon, whose vertices are integers.
+     *
+     * @param xPoints x-coordinates of vertices
+     * @param yPoints y-coordinates of vertices
+     * @param length  Number of vertices
+     */
+    public static Path2D.Float createClosedPath(double[] xPoints, double[] yPoints, int length) {
+        if (xPoints == null || yPoints == null || xPoints.length != yPoints.length || length <= 0
+                || length > xPoints.length) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        Path2D.Float path = new Path2D.Float();
+        path.moveTo(xPoints[0], yPoints[0]);
+        for (int i = 1; i < length; i++) {
+            path.lineTo(xPoints[i], yPoints[i]);
+        }
+        path.closePath();
+
+        return path;
+    }
+
+    /**
+     * Uses Bresenham algorithm to create a line.
+     */
+    public static Path2D.Double createLine(int x0, int y0, int x1, int y1) {
+        int[][] coordinates = LineCalculator.bresenham(x0, y0, x1, y1);
+        return createPolyline(coordinates[0], coordinates[1], coordinates[0].length);
+    }
+
+    /**
+     * Uses DDA algorithm to create a line.
+     */
+    public static Path2D.Double createDdaLine(int x0, int y0, int x1, int y1) {
+        int[][] coordinates = LineCalculator.dda(x0, y0, x1, y1);
+        return createPolyline(coordinates[0], coordinates[1], coordinates[0].length);
+    }
+
+    /**
+     *
+     * @param radius A positive radius
+     */
+    public Polygon createCircle(int centerX, int centerY, int radius) {
+        if (radius <= 0) {
+            throw new IllegalArgumentException("Radius must be positive.");
+        }
+        int[][] coordinates = circleCalculator.getOrderedPoints(centerX, centerY, radius);
+        return new Polygon(coordinates[0], coordinates[1], coordinates[0].length);
+    }
+
+    /**
+     *
+     * @param firstFocus  First focus of ellipse
+     * @param secondFocus Second focus of ellipse
+     * @param point       A point on the ellipse
+     */
+    public Polygon createEllipse(Point2D firstFocus, Point2D secondFocus, Point2D point) {
+        return toPolygon(ellipseCalculator.getOrderedPoints(firstFocus, secondFocus, point));
+    }
+
+    /**
+     *
+     * @param firstFocus  First focus of ellipse
+     * @param secondFocus Second focus of ellipse
+     * @param rx          Positive horizontal radius
+     * @param ry          Positive vertical radius
+     */
+    public Polygon createEllipse(Point2D firstFocus, Point2D secondFocus, int rx, int ry) {
+        return toPolygon(ellipseCalculator.getOrderedPointsWithRadius(firstFocus, secondFocus, rx, ry));
+    }
+
+    private static Polygon toPolygon(int[][] coordinates) {
+        if (coordinates.length != 2) {
+            throw new IllegalArgumentException("Ellipse is not defined by the given points.");
+        }
+        return new Polygon(coordinates[0], coordinates[1], coordinates[0].length);
+    }
+
+    /**
+     *
+     * @param firstVertex  First vertex
+     * @param secondVertex Vertex adjacent to the first one
+     * @param sidesCount   Number of sides, at least 3
+     */
+    public Polygon createRegularPolygon(Point2D firstVertex, Point2D secondVertex, int sidesCount) {
+        if (sidesCount < 3) {
+            throw new IllegalArgumentException("Number of sides must be at least 3.");
+        }
+        return polygonCalculator.getRegularPolygon(firstVertex, secondVertex, sidesCount);
+    }
+}
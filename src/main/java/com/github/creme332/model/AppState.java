@@ -69,6 +69,13 @@ public class AppState {
                 Mode.DELETE, Mode.CLIP
         });
 
+        MenuModel booleanOperationsModel = new MenuModel(new Mode[] {
+                Mode.UNION,
+                Mode.INTERSECTION,
+                Mode.DIFFERENCE,
+                Mode.XOR
+        });
+
         return new MenuModel[] {
                 cursorMenuModel,
                 lineMenuModel,
@@ -76,6 +83,7 @@ public class AppState {
                 ellipseMenuModel,
                 polygonMenuModel,
                 transformationsMenuModel,
+                booleanOperationsModel,
                 deletionModel
         };
     }
@@ -97,6 +97,14 @@ public class CanvasModel {
 
     private Preferences canvasPreferences;
 
+    /**
+     * Loads the preferences of the canvas from the backing store, which can be
+     * slow the first time. Later reads of the preferences are served from memory.
+     */
+    public static void preloadPreferences() {
+        Preferences.userNodeForPackage(CanvasModel.class).getInt("labelFontSize", DEFAULT_LABEL_FONT_SIZE);
+    }
+
     public CanvasModel() {
         canvasPreferences = Preferences.userNodeForPackage(CanvasModel.class);
 
@@ -159,6 +167,19 @@ public class CanvasModel {
      *         yAxisOrigin.
      */
     public AffineTransform getUserSpaceTransform() {
+        return createUserSpaceTransform(xZero, yZero, cellSize);
+    }
+
+    /**
+     * 
+     * @param xZero    Horizontal distance between left border of canvas and the
+     *                 polydraw origin.
+     * @param yZero    Vertical distance between top border of canvas and the
+     *                 polydraw origin.
+     * @param cellSize Distance in pixels between each unit on axes.
+     * @return Transformation from polydraw space to user space for the given view.
+     */
+    public static AffineTransform createUserSpaceTransform(int xZero, int yZero, int cellSize) {
         AffineTransform transform = new AffineTransform();
         transform.translate(xZero, yZero); // applied second
 
@@ -1,9 +1,5 @@
 package com.github.creme332.model;
 
-import javax.swing.Icon;
-
-import com.github.creme332.utils.IconLoader;
-
 public enum LineType {
     SOLID("Solid Line", "/icons/solid-line.svg"),
     DOTTED("Dotted Line", "/icons/dotted-line.svg"),
@@ -21,7 +17,12 @@ public enum LineType {
         return description;
     }
 
-    public Icon getIcon() {
-        return IconLoader.loadSVGIcon(iconPath);
+    /**
+     * 
+     * @return Path of SVG icon in resources. The icon is loaded by the view so
+     *         that the model does not depend on Swing.
+     */
+    public String getIconPath() {
+        return iconPath;
     }
 }
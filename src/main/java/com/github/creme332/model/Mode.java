@@ -3,57 +3,68 @@ package com.github.creme332.model;
 import javax.swing.Icon;
 
 import org.kordamp.ikonli.bootstrapicons.BootstrapIcons;
-import org.kordamp.ikonli.swing.FontIcon;
 
-import static com.github.creme332.utils.IconLoader.loadSVGIcon;
+import static com.github.creme332.utils.IconRegistry.font;
+import static com.github.creme332.utils.IconRegistry.svg;
 
 public enum Mode {
-    MOVE_CANVAS("Move", "Drag or select object", loadSVGIcon("/icons/cursor.svg")),
+    MOVE_CANVAS("Move", "Drag or select object", svg("/icons/cursor.svg")),
 
-    DRAW_LINE_DDA("Line: DDA", "Select two points or positions", loadSVGIcon("/icons/red-line.svg")),
-    DRAW_LINE_BRESENHAM("Line: Bresenham", "Select two points or positions", loadSVGIcon("/icons/blue-line.svg")),
+    DRAW_LINE_DDA("Line: DDA", "Select two points or positions", svg("/icons/red-line.svg")),
+    DRAW_LINE_BRESENHAM("Line: Bresenham", "Select two points or positions", svg("/icons/blue-line.svg")),
 
     DRAW_CIRCLE_DYNAMIC("Circle with Center through Point", "Select center point, then point on circle",
-            loadSVGIcon("/icons/circle.svg")),
+            svg("/icons/circle.svg")),
     DRAW_CIRCLE_FIXED("Circle: Center & Radius", "Select center point, then enter radius",
-            loadSVGIcon("/icons/circle-radius.svg")),
+            svg("/icons/circle-radius.svg")),
 
     DRAW_ELLIPSE("Ellipse with Foci through Point", "Select two foci, then point on ellipse",
-            loadSVGIcon("/icons/ellipse.svg")),
+            svg("/icons/ellipse.svg")),
     DRAW_ELLIPSE_FIXED("Ellipse: Foci & Radius", "Select two foci, then enter radii",
-            loadSVGIcon("/icons/ellipse-foci.svg")),
+            svg("/icons/ellipse-foci.svg")),
 
     DRAW_POLYGON_DYNAMIC("Polygon", "Select all vertices, then first vertex again",
-            loadSVGIcon("/icons/triangle.svg")),
+            svg("/icons/triangle.svg")),
     DRAW_REGULAR_POLYGON("Regular Polygon", "Select two points, then enter number of vertices",
-            loadSVGIcon("/icons/regular-polygon.svg")),
+            svg("/icons/regular-polygon.svg")),
 
     REFLECT_ABOUT_LINE("Reflect about Line", "Select object to reflect, then line of reflection",
-            loadSVGIcon("/icons/reflect-about-line.svg")),
+            svg("/icons/reflect-about-line.svg")),
     REFLECT_ABOUT_POINT("Reflect about Point", "Select object to reflect, then center point",
-            loadSVGIcon("/icons/reflect-about-point.svg")),
+            svg("/icons/reflect-about-point.svg")),
 
     ROTATE_ABOUT_POINT("Rotate about Point", "Select object to rotate and center point, then enter angle",
-            loadSVGIcon("/icons/rotate-about-point.svg")),
+            svg("/icons/rotate-about-point.svg")),
 
-    ZOOM_IN("Zoom In", "Click/tap to zoom (or Mouse Wheel)", FontIcon.of(BootstrapIcons.ZOOM_IN, 35)),
-    ZOOM_OUT("Zoom Out", "Click/tap to zoom (or Mouse Wheel)", FontIcon.of(BootstrapIcons.ZOOM_OUT, 35)),
-    DELETE("Delete", "Select object which should be deleted", FontIcon.of(BootstrapIcons.ERASER, 40)),
+    ZOOM_IN("Zoom In", "Click/tap to zoom (or Mouse Wheel)", font(BootstrapIcons.ZOOM_IN, 35)),
+    ZOOM_OUT("Zoom Out", "Click/tap to zoom (or Mouse Wheel)", font(BootstrapIcons.ZOOM_OUT, 35)),
+    DELETE("Delete", "Select object which should be deleted", font(BootstrapIcons.ERASER, 40)),
     MOVE_GRAPHICS_VIEW("Move Graphics View", "Drag white background or axis",
-            FontIcon.of(BootstrapIcons.ARROWS_MOVE, 35)),
+            font(BootstrapIcons.ARROWS_MOVE, 35)),
 
     TRANSLATION("Translate by Vector", "Select object to translate, then enter vector",
-            loadSVGIcon("/icons/translate-vector.svg")),
+            svg("/icons/translate-vector.svg")),
     SCALING("Scaling", "Select object to scale then enter scale factor",
-            FontIcon.of(BootstrapIcons.ARROWS_ANGLE_EXPAND, 35)),
+            font(BootstrapIcons.ARROWS_ANGLE_EXPAND, 35)),
     SHEAR("Shear", "Select object then enter shear factor",
-            FontIcon.of(BootstrapIcons.BOX_ARROW_DOWN_LEFT, 35)),
-    CLIP("Clip", "Draw clipping region with mouse drag", FontIcon.of(BootstrapIcons.SCISSORS, 35));
+            font(BootstrapIcons.BOX_ARROW_DOWN_LEFT, 35)),
+    CLIP("Clip", "Draw clipping region with mouse drag", font(BootstrapIcons.SCISSORS, 35)),
+
+    UNION("Union", "Select two objects to combine", font(BootstrapIcons.UNION, 35)),
+    INTERSECTION("Intersection", "Select two objects to intersect", font(BootstrapIcons.INTERSECT, 35)),
+    DIFFERENCE("Difference", "Select object, then object to subtract from it",
+            font(BootstrapIcons.SUBTRACT, 35)),
+    XOR("Exclusive Or", "Select two objects to keep their non-overlapping parts",
+            font(BootstrapIcons.EXCLUDE, 35));
 
     private final String title;
     private final String instructions;
     private Icon icon;
 
+    /**
+     * 
+     * @param icon Icon which is only loaded when first painted
+     */
     Mode(String title, String instructions, Icon icon) {
         this.title = title;
         this.instructions = instructions;
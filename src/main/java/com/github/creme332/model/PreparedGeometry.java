@@ -0,0 +1,292 @@
+package com.github.creme332.model;
+
+import java.awt.Polygon;
+import java.awt.Rectangle;
+
+/**
+ * Read-only spatial index of a polygon used to answer repeated point queries
+ * without walking every edge of the polygon. It must be rebuilt whenever the
+ * polygon changes.
+ *
+ * Edges are indexed twice:
+ * <ul>
+ * <li>by horizontal slabs (y-buckets) for point-in-polygon tests. A ray cast
+ * from a point only needs to be tested against the edges of the slab
+ * containing the point.</li>
+ * <li>by a uniform grid for border tests. Only the edges in the cells
+ * overlapping the tolerance square around a point are tested.</li>
+ * </ul>
+ */
+class PreparedGeometry {
+    private static final int MAX_BUCKETS = 4096;
+    private static final int MAX_GRID_SIZE = 256;
+
+    // Bounding box of polygon
+    private final int minX;
+    private final int minY;
+    private final int maxX;
+    private final int maxY;
+
+    /**
+     * Edge i goes from (x1[i], y1[i]) to (x2[i], y2[i]). The first edge connects
+     * the last vertex of the polygon to the first one, as in Polygon.contains().
+     */
+    private final int[] x1;
+    private final int[] y1;
+    private final int[] x2;
+    private final int[] y2;
+
+    /**
+     * Edges overlapping bucket b are bucketEdges[bucketStart[b]] to
+     * bucketEdges[bucketStart[b + 1] - 1].
+     */
+    private final int bucketCount;
+    private final double bucketScale;
+    private final int[] bucketStart;
+    private final int[] bucketEdges;
+
+    /**
+     * Edges overlapping cell (col, row) are stored in the same layout as
+     * buckets, using cell index row * gridSize + col.
+     */
+    private final int gridSize;
+    private final double cellScaleX;
+    private final double cellScaleY;
+    private final int[] cellStart;
+    private final int[] cellEdges;
+
+    PreparedGeometry(Polygon polygon) {
+        final int n = polygon.npoints;
+
+        x1 = new int[n];
+        y1 = new int[n];
+        x2 = new int[n];
+        y2 = new int[n];
+
+        int lastX = n > 0 ? polygon.xpoints[n - 1] : 0;
+        int lastY = n > 0 ? polygon.ypoints[n - 1] : 0;
+        for (int i = 0; i < n; i++) {
+            x1[i] = lastX;
+            y1[i] = lastY;
+            x2[i] = lastX = polygon.xpoints[i];
+            y2[i] = lastY = polygon.ypoints[i];
+        }
+
+        final Rectangle bounds = polygon.getBounds();
+        minX = bounds.x;
+        minY = bounds.y;
+        maxX = bounds.x + bounds.width;
+        maxY = bounds.y + bounds.height;
+
+        // build y-buckets
+        bucketCount = Math.max(1, Math.min(MAX_BUCKETS, n / 2));
+        bucketScale = bucketCount / Math.max(1.0, (double) maxY - minY);
+        bucketStart = new int[bucketCount + 1];
+        for (int i = 0; i < n; i++) {
+            for (int b = toBucket(Math.min(y1[i], y2[i])); b <= toBucket(Math.max(y1[i], y2[i])); b++) {
+                bucketStart[b + 1]++;
+            }
+        }
+        bucketEdges = new int[prefixSum(bucketStart)];
+        final int[] bucketFill = bucketStart.clone();
+        for (int i = 0; i < n; i++) {
+            for (int b = toBucket(Math.min(y1[i], y2[i])); b <= toBucket(Math.max(y1[i], y2[i])); b++) {
+                bucketEdges[bucketFill[b]++] = i;
+            }
+        }
+
+        // build grid
+        gridSize = Math.max(1, Math.min(MAX_GRID_SIZE, (int) Math.ceil(Math.sqrt(n))));
+        cellScaleX = gridSize / Math.max(1.0, (double) maxX - minX);
+        cellScaleY = gridSize / Math.max(1.0, (double) maxY - minY);
+        cellStart = new int[gridSize * gridSize + 1];
+        for (int i = 0; i < n; i++) {
+            forEachCell(i, cell -> cellStart[cell + 1]++);
+        }
+        cellEdges = new int[prefixSum(cellStart)];
+        final int[] cellFill = cellStart.clone();
+        for (int i = 0; i < n; i++) {
+            final int edge = i;
+            forEachCell(i, cell -> cellEdges[cellFill[cell]++] = edge);
+        }
+    }
+
+    private interface CellVisitor {
+        void visit(int cell);
+    }
+
+    /**
+     * Visits every grid cell overlapping the bounding box of an edge.
+     */
+    private void forEachCell(int edge, CellVisitor visitor) {
+        final int colStart = toColumn(Math.min(x1[edge], x2[edge]));
+        final int colEnd = toColumn(Math.max(x1[edge], x2[edge]));
+        final int rowStart = toRow(Math.min(y1[edge], y2[edge]));
+        final int rowEnd = toRow(Math.max(y1[edge], y2[edge]));
+
+        for (int row = rowStart; row <= rowEnd; row++) {
+            for (int col = colStart; col <= colEnd; col++) {
+                visitor.visit(row * gridSize + col);
+            }
+        }
+    }
+
+    /**
+     * Converts counts stored at index i + 1 into start offsets.
+     *
+     * @return Total count
+     */
+    private static int prefixSum(int[] start) {
+        for (int i = 1; i < start.length; i++) {
+            start[i] += start[i - 1];
+        }
+        return start[start.length - 1];
+    }
+
+    private int toBucket(double y) {
+        return clamp((int) ((y - minY) * bucketScale), bucketCount);
+    }
+
+    private int toColumn(double x) {
+        return clamp((int) ((x - minX) * cellScaleX), gridSize);
+    }
+
+    private int toRow(double y) {
+        return clamp((int) ((y - minY) * cellScaleY), gridSize);
+    }
+
+    private static int clamp(int index, int size) {
+        return Math.max(0, Math.min(size - 1, index));
+    }
+
+    /**
+     * Equivalent to Polygon.contains(x, y) but only the edges in the y-bucket
+     * containing the point are tested.
+     *
+     * @return True if point is inside polygon.
+     */
+    boolean contains(double x, double y) {
+        if (x1.length <= 2 || x < minX || y < minY || x >= maxX || y >= maxY) {
+            return false;
+        }
+
+        final int bucket = toBucket(y);
+        int hits = 0;
+
+        for (int k = bucketStart[bucket]; k < bucketStart[bucket + 1]; k++) {
+            final int i = bucketEdges[k];
+            final int lastx = x1[i];
+            final int lasty = y1[i];
+            final int curx = x2[i];
+            final int cury = y2[i];
+
+            if (cury == lasty) {
+                continue;
+            }
+
+            int leftx;
+            if (curx < lastx) {
+                if (x >= lastx) {
+                    continue;
+                }
+                leftx = curx;
+            } else {
+                if (x >= curx) {
+                    continue;
+                }
+                leftx = lastx;
+            }
+
+            double test1;
+            double test2;
+            if (cury < lasty) {
+                if (y < cury || y >= lasty) {
+                    continue;
+                }
+                if (x < leftx) {
+                    hits++;
+                    continue;
+                }
+                test1 = x - curx;
+                test2 = y - cury;
+            } else {
+                if (y < lasty || y >= cury) {
+                    continue;
+                }
+                if (x < leftx) {
+                    hits++;
+                    continue;
+                }
+                test1 = x - lastx;
+                test2 = y - lasty;
+            }
+
+            if (test1 < (test2 / (lasty - cury) * (lastx - curx))) {
+                hits++;
+            }
+        }
+
+        return (hits & 1) != 0;
+    }
+
+    /**
+     *
+     * @param x         x-coordinate of point
+     * @param y         y-coordinate of point
+     * @param tolerance Half the side length of the square centered at the point
+     * @return True if an edge of the polygon intersects the square centered at
+     *         the point.
+     */
+    boolean isNearBorder(double x, double y, double tolerance) {
+        final double left = x - tolerance;
+        final double right = x + tolerance;
+        final double top = y - tolerance;
+        final double bottom = y + tolerance;
+
+        if (x1.length == 0 || right < minX || left > maxX || bottom < minY || top > maxY) {
+            return false;
+        }
+
+        final int colEnd = toColumn(right);
+        final int rowEnd = toRow(bottom);
+
+        // an edge may be tested more than once if it spans several cells
+        for (int row = toRow(top); row <= rowEnd; row++) {
+            for (int col = toColumn(left); col <= colEnd; col++) {
+                final int cell = row * gridSize + col;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    final int i = cellEdges[k];
+                    if (intersectsRectangle(x1[i], y1[i], x2[i], y2[i], left, top, right, bottom)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     *
+     * @return True if line segment (ax, ay)-(bx, by) intersects the closed
+     *         rectangle.
+     */
+    private static boolean intersectsRectangle(double ax, double ay, double bx, double by, double left, double top,
+            double right, double bottom) {
+        // reject if bounding boxes do not overlap
+        if (Math.max(ax, bx) < left || Math.min(ax, bx) > right || Math.max(ay, by) < top
+                || Math.min(ay, by) > bottom) {
+            return false;
+        }
+
+        // segment intersects rectangle if the corners are not all on the same side of
+        // the line through the segment
+        final double dx = bx - ax;
+        final double dy = by - ay;
+        final double c1 = dx * (top - ay) - dy * (left - ax);
+        final double c2 = dx * (top - ay) - dy * (right - ax);
+        final double c3 = dx * (bottom - ay) - dy * (left - ax);
+        final double c4 = dx * (bottom - ay) - dy * (right - ax);
+
+        return !((c1 > 0 && c2 > 0 && c3 > 0 && c4 > 0) || (c1 < 0 && c2 < 0 && c3 < 0 && c4 < 0));
+    }
+}
@@ -1,10 +1,12 @@
 package com.github.creme332.model;
 
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Stack;
 
@@ -25,6 +27,13 @@ public class ShapeManager {
      */
     private ShapeWrapper shapePreview;
 
+    /**
+     * Transformation in polydraw space applied to the shape preview when it is
+     * drawn, or null. It lets a preview be animated without transforming its
+     * geometry on every frame.
+     */
+    private AffineTransform previewTransform;
+
     /**
      * Stack containing the actions for undo functionality.
      */
@@ -37,6 +46,22 @@ public class ShapeManager {
 
     private PropertyChangeSupport support;
 
+    /**
+     * Listener notified of every change to the shapes array. It may be null.
+     */
+    private ShapeMutationListener mutationListener;
+
+    /**
+     * Actions performed since the current batch started, or null if no batch is
+     * running.
+     */
+    private List<ShapeAction> batchActions;
+
+    /**
+     * True if listeners must be notified at the end of the current batch.
+     */
+    private boolean isBatchChanged;
+
     public static final String STATE_CHANGE_PROPERTY_NAME = "shapeManagerStateChanged";
 
     public ShapeManager() {
@@ -54,14 +79,98 @@ public class ShapeManager {
         undoStack = new Stack<>();
         redoStack = new Stack<>();
         shapePreview = null;
+        previewTransform = null;
+        if (mutationListener != null) {
+            mutationListener.shapesReplaced(getShapesView());
+        }
+        discardBatchActions();
+        fireStateChange();
+    }
+
+    /**
+     * Shapes and save history of a shape manager at some point in time.
+     */
+    public static final class Snapshot {
+        private final ShapeWrapper[] shapes;
+        private final List<ShapeAction> undoActions;
+        private final List<ShapeAction> redoActions;
+
+        private Snapshot(ShapeManager shapeManager) {
+            shapes = shapeManager.shapes.toArray(new ShapeWrapper[0]);
+            undoActions = new ArrayList<>(shapeManager.undoStack);
+            redoActions = new ArrayList<>(shapeManager.redoStack);
+        }
+    }
+
+    /**
+     * 
+     * @return Current shapes and undo and redo stacks. They can be restored with
+     *         restoreSnapshot().
+     */
+    public Snapshot takeSnapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * Replaces all current shapes and the undo and redo stacks with those of a
+     * snapshot. Unlike importShapes(), the save history is kept.
+     */
+    public void restoreSnapshot(Snapshot snapshot) {
+        shapes = new ArrayList<>(Arrays.asList(snapshot.shapes));
+        undoStack = new Stack<>();
+        undoStack.addAll(snapshot.undoActions);
+        redoStack = new Stack<>();
+        redoStack.addAll(snapshot.redoActions);
+        shapePreview = null;
+        previewTransform = null;
+        if (mutationListener != null) {
+            mutationListener.shapesReplaced(getShapesView());
+        }
+        discardBatchActions();
+        fireStateChange();
+    }
+
+    /**
+     * Adds shapes at the end of the shapes array without recording any undo
+     * action. This is used to display imported shapes as they are loaded.
+     */
+    public void appendImportedShapes(List<ShapeWrapper> newShapes) {
+        for (ShapeWrapper shape : newShapes) {
+            appendShape(shape);
+        }
+        support.firePropertyChange(STATE_CHANGE_PROPERTY_NAME, false, true);
     }
 
     public void addPropertyChangeListener(PropertyChangeListener listener) {
         support.addPropertyChangeListener(STATE_CHANGE_PROPERTY_NAME, listener);
     }
 
+    /**
+     * 
+     * @param listener Listener to notify of every change to the shapes array, or
+     *                 null to remove the current listener.
+     */
+    public void setMutationListener(ShapeMutationListener listener) {
+        mutationListener = listener;
+    }
+
     public void setShapePreview(ShapeWrapper newPreview) {
+        setShapePreview(newPreview, null);
+    }
+
+    /**
+     *
+     * @param newPreview Shape preview, or null
+     * @param transform  Transformation applied to the preview when it is drawn,
+     *                   or null
+     */
+    public void setShapePreview(ShapeWrapper newPreview, AffineTransform transform) {
         shapePreview = newPreview;
+        previewTransform = transform;
+    }
+
+    public AffineTransform getPreviewTransform() {
+        return previewTransform;
     }
 
     public ShapeWrapper getShapePreview() {
@@ -108,6 +217,21 @@ public class ShapeManager {
             this.oldShape = oldShape;
             this.newShape = newShape;
         }
+
+        /**
+         * Actions of a batch, in the order in which they were performed.
+         */
+        List<ShapeAction> actions;
+
+        /**
+         * Use this constructor for the actions of a batch.
+         * 
+         * @param actions
+         */
+        ShapeAction(List<ShapeAction> actions) {
+            this.action = Action.BATCH;
+            this.actions = actions;
+        }
     }
 
     /**
@@ -128,6 +252,11 @@ public class ShapeManager {
          * User edited an existing shape.
          */
         EDIT,
+
+        /**
+         * Several actions performed in a single batch.
+         */
+        BATCH,
     }
 
     /**
@@ -137,14 +266,71 @@ public class ShapeManager {
         shapes.clear();
         undoStack.clear();
         redoStack.clear();
-        support.firePropertyChange(STATE_CHANGE_PROPERTY_NAME, false, true);
+        if (mutationListener != null) {
+            mutationListener.shapesReplaced(getShapesView());
+        }
+        discardBatchActions();
+        fireStateChange();
     }
 
-    public void addShape(ShapeWrapper shape) {
-        shapes.add(shape);
-        undoStack.push(new ShapeAction(shape, Action.ADD));
+    /**
+     * Performs several changes as a single one. Listeners are notified once at
+     * the end if any shape changed, and the changes are recorded as a single action which is undone
+     * and redone as a whole. A batch started inside another batch is part of the
+     * outer batch. Undo and redo may be called during a batch: the changes made
+     * so far are then recorded as one action before the undo or redo. Changes
+     * made before the history is reset are not recorded.
+     *
+     * @param changes Changes to perform with addShape(), deleteShape() and
+     *                editShape()
+     */
+    public void runBatch(Runnable changes) {
+        if (batchActions != null) {
+            changes.run();
+            return;
+        }
+
+        batchActions = new ArrayList<>();
+        isBatchChanged = false;
+        try {
+            changes.run();
+        } finally {
+            commitBatch();
+            batchActions = null;
+            if (isBatchChanged) {
+                fireStateChange();
+            }
+        }
+    }
+
+    /**
+     * Forgets the changes made so far in the current batch, once the save history
+     * has been replaced.
+     */
+    private void discardBatchActions() {
+        if (batchActions != null) {
+            batchActions.clear();
+        }
+    }
+
+    /**
+     * Records the changes made so far in the current batch as a single action.
+     */
+    private void commitBatch() {
+        if (batchActions == null || batchActions.isEmpty()) {
+            return;
+        }
+        final List<ShapeAction> actions = batchActions;
+        batchActions = new ArrayList<>();
+        undoStack.push(actions.size() == 1 ? actions.get(0) : new ShapeAction(actions));
         redoStack.clear(); // Clear redo stack after a new action
-        support.firePropertyChange(STATE_CHANGE_PROPERTY_NAME, false, true);
+        isBatchChanged = true;
+    }
+
+    public void addShape(ShapeWrapper shape) {
+        appendShape(shape);
+        pushAction(new ShapeAction(shape, Action.ADD));
+        fireStateChange();
     }
 
     /**
@@ -159,82 +345,170 @@ public class ShapeManager {
 
         final ShapeWrapper shape = shapes.get(shapeIndex);
 
-        if (shapes.remove(shape)) {
-            undoStack.push(new ShapeAction(shape, Action.DELETE));
-            redoStack.clear(); // Clear redo stack after a new action
-            support.firePropertyChange(STATE_CHANGE_PROPERTY_NAME, false, true);
+        if (removeShape(shape)) {
+            pushAction(new ShapeAction(shape, Action.DELETE));
+            fireStateChange();
         }
     }
 
+    /**
+     * Replaces a shape so that the change can be undone.
+     *
+     * @param oldShapeIndex Index of shape to be replaced
+     * @param newShape      New shape
+     * @throws IndexOutOfBoundsException If there is no shape at oldShapeIndex.
+     *                                   Callers holding an index across changes
+     *                                   should find the shape again with
+     *                                   indexOf().
+     */
     public void editShape(final int oldShapeIndex, final ShapeWrapper newShape) {
         if (newShape == null) {
             throw new NullPointerException("Edit shape failed: Cannot replace a shape with null.");
         }
-        
+
+        if (oldShapeIndex < 0 || oldShapeIndex >= shapes.size()) {
+            throw new IndexOutOfBoundsException("Cannot edit shape at index " + oldShapeIndex);
+        }
+
         final ShapeWrapper oldShape = shapes.get(oldShapeIndex);
-        if (oldShapeIndex != -1) {
-            shapes.set(oldShapeIndex, newShape);
-            undoStack.push(new ShapeAction(oldShape, newShape, Action.EDIT));
-            redoStack.clear();
+        shapes.set(oldShapeIndex, newShape);
+        if (mutationListener != null) {
+            mutationListener.shapeReplaced(oldShapeIndex, newShape);
+        }
+        pushAction(new ShapeAction(oldShape, newShape, Action.EDIT));
+    }
+
+    /**
+     * Records a new action, or adds it to the current batch.
+     */
+    private void pushAction(ShapeAction shapeAction) {
+        if (batchActions != null) {
+            batchActions.add(shapeAction);
+            return;
+        }
+        undoStack.push(shapeAction);
+        redoStack.clear(); // Clear redo stack after a new action
+    }
+
+    /**
+     * Notifies listeners of a change, or at the end of the current batch.
+     */
+    private void fireStateChange() {
+        if (batchActions != null) {
+            isBatchChanged = true;
+            return;
         }
+        support.firePropertyChange(STATE_CHANGE_PROPERTY_NAME, false, true);
     }
 
     public void undo() {
+        commitBatch();
         if (undoStack.isEmpty())
             return;
 
         ShapeAction shapeAction = undoStack.pop();
+        undoAction(shapeAction);
+        redoStack.push(shapeAction);
+        fireStateChange();
+    }
+
+    private void undoAction(ShapeAction shapeAction) {
         Action actionToUndo = shapeAction.action;
         ShapeWrapper shapeToUndo = shapeAction.shape;
 
         if (actionToUndo == Action.ADD) {
-            shapes.remove(shapeToUndo);
+            removeShape(shapeToUndo);
         }
 
         if (actionToUndo == Action.DELETE) {
-            shapes.add(shapeToUndo);
+            appendShape(shapeToUndo);
         }
 
         if (actionToUndo == Action.EDIT) {
-            shapes.remove(shapeAction.newShape);
-            shapes.add(shapeAction.oldShape);
+            removeShape(shapeAction.newShape);
+            appendShape(shapeAction.oldShape);
         }
 
-        redoStack.push(shapeAction);
-        support.firePropertyChange(STATE_CHANGE_PROPERTY_NAME, false, true);
+        if (actionToUndo == Action.BATCH) {
+            for (int i = shapeAction.actions.size() - 1; i >= 0; i--) {
+                undoAction(shapeAction.actions.get(i));
+            }
+        }
     }
 
     public boolean isRedoPossible() {
-        return !redoStack.empty();
+        return !redoStack.empty() && !hasBatchActions();
     }
 
     public boolean isUndoPossible() {
-        return !undoStack.empty();
+        return !undoStack.empty() || hasBatchActions();
+    }
+
+    /**
+     *
+     * @return True if changes have been made in the current batch and are not
+     *         yet recorded
+     */
+    private boolean hasBatchActions() {
+        return batchActions != null && !batchActions.isEmpty();
     }
 
     public void redo() {
+        commitBatch();
         if (redoStack.isEmpty())
             return;
 
         final ShapeAction shapeAction = redoStack.pop();
+        redoAction(shapeAction);
+        undoStack.push(shapeAction);
+        fireStateChange();
+    }
+
+    private void redoAction(ShapeAction shapeAction) {
         final Action actionToRedo = shapeAction.action;
         ShapeWrapper shapeToRedo = shapeAction.shape;
 
         if (actionToRedo == Action.ADD) {
-            shapes.add(shapeToRedo);
+            appendShape(shapeToRedo);
         }
 
         if (actionToRedo == Action.DELETE) {
-            shapes.remove(shapeToRedo);
+            removeShape(shapeToRedo);
         }
 
         if (actionToRedo == Action.EDIT) {
-            shapes.remove(shapeAction.oldShape);
-            shapes.add(shapeAction.newShape);
+            removeShape(shapeAction.oldShape);
+            appendShape(shapeAction.newShape);
         }
 
-        undoStack.push(shapeAction);
-        support.firePropertyChange(STATE_CHANGE_PROPERTY_NAME, false, true);
+        if (actionToRedo == Action.BATCH) {
+            for (ShapeAction action : shapeAction.actions) {
+                redoAction(action);
+            }
+        }
+    }
+
+    private void appendShape(ShapeWrapper shape) {
+        shapes.add(shape);
+        if (mutationListener != null) {
+            mutationListener.shapeAdded(shape);
+        }
+    }
+
+    /**
+     * 
+     * @return True if shape was found and removed.
+     */
+    private boolean removeShape(ShapeWrapper shape) {
+        final int index = shapes.indexOf(shape);
+        if (index == -1) {
+            return false;
+        }
+        shapes.remove(index);
+        if (mutationListener != null) {
+            mutationListener.shapeRemoved(index);
+        }
+        return true;
     }
 
     /**
@@ -253,6 +527,21 @@ public class ShapeManager {
         return -1;
     }
 
+    /**
+     * Finds a shape by identity. Unlike an index, the shape stays valid when other
+     * shapes are added, deleted or undone.
+     *
+     * @return Index of shape in shape array, or -1 if it is absent or null.
+     */
+    public int indexOf(ShapeWrapper shape) {
+        for (int i = 0; shape != null && i < shapes.size(); i++) {
+            if (shapes.get(i) == shape) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
      * 
      * @param i Index of shape in shape array
@@ -262,6 +551,24 @@ public class ShapeManager {
         return new ShapeWrapper(shapes.get(i));
     }
 
+    /**
+     * 
+     * @return Number of shapes on the canvas, excluding the shape preview.
+     */
+    public int getShapeCount() {
+        return shapes.size();
+    }
+
+    /**
+     * Unlike getShapes(), shapes are not copied and the shape preview is not
+     * included. The returned shapes must not be modified.
+     * 
+     * @return A read-only view of the shapes array.
+     */
+    public List<ShapeWrapper> getShapesView() {
+        return Collections.unmodifiableList(shapes);
+    }
+
     /**
      * 
      * @return A copy of the the shapes array that should be displayed on the
@@ -0,0 +1,33 @@
+package com.github.creme332.model;
+
+import java.util.List;
+
+/**
+ * Receives every change made to the shapes array of a ShapeManager. Undo and
+ * redo are reported as the additions and removals they perform, so that
+ * replaying the notifications in order rebuilds the shapes array.
+ */
+public interface ShapeMutationListener {
+    /**
+     * Called after a shape is added at the end of the shapes array.
+     */
+    void shapeAdded(ShapeWrapper shape);
+
+    /**
+     * Called after the shape at the given index is removed.
+     */
+    void shapeRemoved(int index);
+
+    /**
+     * Called after the shape at the given index is replaced.
+     */
+    void shapeReplaced(int index, ShapeWrapper newShape);
+
+    /**
+     * Called after the whole shapes array is replaced, for example when a file is
+     * imported or the canvas is reset.
+     *
+     * @param shapes Read-only view of the new shapes array
+     */
+    void shapesReplaced(List<ShapeWrapper> shapes);
+}
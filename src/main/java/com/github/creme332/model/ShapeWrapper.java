@@ -24,6 +24,12 @@ import java.awt.geom.PathIterator;
  * 
  */
 public class ShapeWrapper {
+    /**
+     * Maximum distance between a point and the border of a shape for the point to
+     * be considered on the border.
+     */
+    private static final double BORDER_TOLERANCE = 1.0;
+
     /**
      * All shapes drawn on canvas, except lines, are stored as a Polygon. Lines are
      * stored as a Path2D.
@@ -55,6 +61,12 @@ public class ShapeWrapper {
     @JsonAdapter(Point2DListAdapter.class)
     private List<Point2D> plottedPoints = new ArrayList<>();
 
+    /**
+     * Spatial index of shape used for point queries. It is built on first use and
+     * discarded whenever the shape changes.
+     */
+    private transient PreparedGeometry preparedGeometry;
+
     /**
      * 
      * @return Original list of plotted points.
@@ -85,14 +97,15 @@ public class ShapeWrapper {
         lineThickness = wrapper.lineThickness;
 
         // create a new shape object
-        if (wrapper.shape != null) {
-            if (wrapper.shape instanceof Polygon) {
-                Polygon original = (Polygon) wrapper.shape;
+        final Shape originalShape = wrapper.getShape();
+        if (originalShape != null) {
+            if (originalShape instanceof Polygon) {
+                Polygon original = (Polygon) originalShape;
                 Polygon copy = new Polygon(original.xpoints, original.ypoints, original.npoints);
                 shape = copy;
             }
-            if (wrapper.shape instanceof Path2D.Double) {
-                Path2D.Double original = (Path2D.Double) wrapper.shape;
+            if (originalShape instanceof Path2D.Double) {
+                Path2D.Double original = (Path2D.Double) originalShape;
                 shape = (Path2D.Double) original.clone();
             }
         }
@@ -110,6 +123,7 @@ public class ShapeWrapper {
      * @return a Point2D representing the center of the shape
      */
     public Point2D findShapeCenter() {
+        final Shape shape = getShape();
         if (shape == null) {
             return null;
         }
@@ -162,7 +176,7 @@ public class ShapeWrapper {
     }
 
     public boolean isLine() {
-        return isLine(shape);
+        return isLine(getShape());
     }
 
     /**
@@ -254,10 +268,46 @@ public class ShapeWrapper {
      *         tolerance.
      */
     public boolean isPointOnShape(Point2D point) {
+        // reject distant points without looking at the shape
+        final Rectangle2D bounds = getBounds();
+        if (bounds == null || point.getX() < bounds.getMinX() - BORDER_TOLERANCE
+                || point.getX() > bounds.getMaxX() + BORDER_TOLERANCE
+                || point.getY() < bounds.getMinY() - BORDER_TOLERANCE
+                || point.getY() > bounds.getMaxY() + BORDER_TOLERANCE) {
+            return false;
+        }
+
+        final Shape shape = getShape();
         if (shape == null) {
             return false;
         }
-        return shape.contains(point) || isPointOnShapeBorder(shape, point);
+        if (!(shape instanceof Polygon) || !isGeometryCacheable()) {
+            return shape.contains(point) || isPointOnShapeBorder(shape, point);
+        }
+
+        final PreparedGeometry geometry = getPreparedGeometry();
+        return geometry.contains(point.getX(), point.getY())
+                || geometry.isNearBorder(point.getX(), point.getY(), BORDER_TOLERANCE);
+    }
+
+    /**
+     * 
+     * @return True if a spatial index of the shape may be kept in this wrapper to
+     *         speed up point queries.
+     */
+    protected boolean isGeometryCacheable() {
+        return true;
+    }
+
+    /**
+     * 
+     * @return Spatial index of polygon. Shape must be a polygon.
+     */
+    private PreparedGeometry getPreparedGeometry() {
+        if (preparedGeometry == null) {
+            preparedGeometry = new PreparedGeometry((Polygon) getShape());
+        }
+        return preparedGeometry;
     }
 
     /**
@@ -271,15 +321,13 @@ public class ShapeWrapper {
      * @return true if the point is on the shape's border, false otherwise
      */
     public static boolean isPointOnShapeBorder(Shape shape, Point2D point) {
-        final double TOLERANCE = 1.0;
-
         if (shape == null) {
             return false;
         }
         // Create a small rectangle around the clicked point
         Rectangle2D.Double clickArea = new Rectangle2D.Double(
-                point.getX() - TOLERANCE, point.getY() - TOLERANCE,
-                2 * TOLERANCE, 2 * TOLERANCE);
+                point.getX() - BORDER_TOLERANCE, point.getY() - BORDER_TOLERANCE,
+                2 * BORDER_TOLERANCE, 2 * BORDER_TOLERANCE);
         // Check if the clickArea intersects with the shape's outline
         return shape.intersects(clickArea);
     }
@@ -288,8 +336,31 @@ public class ShapeWrapper {
         return shape;
     }
 
+    /**
+     * 
+     * @return Smallest rectangle containing the shape and the plotted points, or
+     *         null if there are neither. The rectangle may have a zero width or
+     *         height.
+     */
+    public Rectangle2D getBounds() {
+        final Shape currentShape = getShape();
+        Rectangle2D bounds = null;
+        if (currentShape != null) {
+            bounds = currentShape.getBounds2D();
+        }
+        for (Point2D point : getPlottedPoints()) {
+            if (bounds == null) {
+                bounds = new Rectangle2D.Double(point.getX(), point.getY(), 0, 0);
+            } else {
+                bounds.add(point);
+            }
+        }
+        return bounds;
+    }
+
     public void setShape(Shape shape) {
         this.shape = shape;
+        preparedGeometry = null;
     }
 
     public Color getLineColor() {
@@ -377,7 +448,7 @@ public class ShapeWrapper {
         // create a list of plotted point coordinates
         StringBuilder plottedPointString = new StringBuilder();
         plottedPointString.append("[");
-        for (Point2D point2d : plottedPoints) {
+        for (Point2D point2d : getPlottedPoints()) {
             plottedPointString.append(String.format("[%.3f, %.3f], ", point2d.getX(), point2d.getY()));
         }
         plottedPointString.append("]");
@@ -390,7 +461,7 @@ public class ShapeWrapper {
                     lineType: %s
                     lineThickness: %d
                 }
-                """, plottedPointString, Arrays.deepToString(getCoordinates(shape)),
+                """, plottedPointString, Arrays.deepToString(getCoordinates(getShape())),
                 lineColor, lineType, lineThickness);
     }
 
@@ -460,7 +531,7 @@ public class ShapeWrapper {
                 yPoints[i] = (int) reflectedPoint.getY();
             }
 
-            shape = new Polygon(xPoints, yPoints, polygon.npoints);
+            setShape(new Polygon(xPoints, yPoints, polygon.npoints));
         } else if (shape instanceof Path2D.Double) {
             Path2D.Double path = (Path2D.Double) shape;
             Path2D.Double newPath = new Path2D.Double();
@@ -493,7 +564,7 @@ public class ShapeWrapper {
                 }
             }
 
-            shape = newPath;
+            setShape(newPath);
         }
     }
 
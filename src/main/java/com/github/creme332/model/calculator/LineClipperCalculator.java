@@ -1,7 +1,10 @@
 package com.github.creme332.model.calculator;
 
+import java.util.stream.IntStream;
+
 /**
- * The Clipper class implements the Cohen-Sutherland line clipping algorithm.
+ * The Clipper class implements the Cohen-Sutherland and Liang-Barsky line
+ * clipping algorithms.
  */
 public class LineClipperCalculator {
     
@@ -16,6 +19,20 @@ public class LineClipperCalculator {
     private static final int BOTTOM = 4; // 0100
     private static final int TOP = 8;    // 1000
 
+    /**
+     * Number of lines in a batch above which lines are clipped in parallel. It is
+     * also the number of lines clipped by each parallel task.
+     */
+    public static final int PARALLEL_THRESHOLD = 4096;
+
+    /**
+     * Line clipping algorithms supported by clipBatch().
+     */
+    public enum Algorithm {
+        COHEN_SUTHERLAND,
+        LIANG_BARSKY
+    }
+
     /**
      * Computes the region code for a point (x, y) using the given clipping rectangle.
      * 
@@ -54,16 +71,36 @@ public class LineClipperCalculator {
      */
     public static double[][] clip(double x0, double y0, double x1, double y1,
                                   double xmin, double ymin, double xmax, double ymax) {
+        double[] endpoints = new double[4];
+        if (cohenSutherland(x0, y0, x1, y1, xmin, ymin, xmax, ymax, endpoints, 0)) {
+            return new double[][]{{endpoints[0], endpoints[1]}, {endpoints[2], endpoints[3]}};
+        } else {
+            return new double[0][0]; // Line is completely outside
+        }
+    }
+
+    /**
+     * Clips a line using the Cohen-Sutherland algorithm and writes the clipped
+     * endpoints into out[offset..offset+3] as x0, y0, x1, y1.
+     * 
+     * @return True if some part of the line is inside the clipping area. out is
+     *         left untouched otherwise.
+     */
+    private static boolean cohenSutherland(double x0, double y0, double x1, double y1,
+                                           double xmin, double ymin, double xmax, double ymax,
+                                           double[] out, int offset) {
         int code0 = computeCode(x0, y0, xmin, ymin, xmax, ymax);
         int code1 = computeCode(x1, y1, xmin, ymin, xmax, ymax);
-        boolean accept = false;
 
         while (true) {
             if ((code0 | code1) == 0) {
-                accept = true;
-                break;
+                out[offset] = x0;
+                out[offset + 1] = y0;
+                out[offset + 2] = x1;
+                out[offset + 3] = y1;
+                return true;
             } else if ((code0 & code1) != 0) {
-                break;
+                return false;
             } else {
                 double x = 0, y = 0;
                 int outcode = (code0 != 0) ? code0 : code1;
@@ -93,11 +130,138 @@ public class LineClipperCalculator {
                 }
             }
         }
+    }
 
-        if (accept) {
-            return new double[][]{{x0, y0}, {x1, y1}};
-        } else {
-            return new double[0][0]; // Line is completely outside
+    /**
+     * Clips a line using the Liang-Barsky algorithm and writes the clipped
+     * endpoints into out[offset..offset+3] as x0, y0, x1, y1.
+     * 
+     * @return True if some part of the line is inside the clipping area. out is
+     *         left untouched otherwise.
+     */
+    private static boolean liangBarsky(double x0, double y0, double x1, double y1,
+                                       double xmin, double ymin, double xmax, double ymax,
+                                       double[] out, int offset) {
+        final double dx = x1 - x0;
+        final double dy = y1 - y0;
+
+        // parametric range [t0, t1] of the line which lies inside the clipping area
+        double t0 = 0;
+        double t1 = 1;
+
+        // for each boundary, p is the component of the direction towards the boundary
+        // and q is the distance between the start point and the boundary
+        final double[] p = { -dx, dx, -dy, dy };
+        final double[] q = { x0 - xmin, xmax - x0, y0 - ymin, ymax - y0 };
+
+        for (int i = 0; i < 4; i++) {
+            if (p[i] == 0) {
+                // line is parallel to boundary
+                if (q[i] < 0) {
+                    return false;
+                }
+                continue;
+            }
+
+            final double r = q[i] / p[i];
+            if (p[i] < 0) {
+                // line enters the clipping area through this boundary
+                if (r > t1) {
+                    return false;
+                }
+                t0 = Math.max(t0, r);
+            } else {
+                // line leaves the clipping area through this boundary
+                if (r < t0) {
+                    return false;
+                }
+                t1 = Math.min(t1, r);
+            }
+        }
+
+        out[offset] = x0 + t0 * dx;
+        out[offset + 1] = y0 + t0 * dy;
+        out[offset + 2] = x0 + t1 * dx;
+        out[offset + 3] = y0 + t1 * dy;
+        return true;
+    }
+
+    /**
+     * Clips a batch of lines against a rectangular clipping area. Lines whose
+     * bounding box does not overlap the clipping area are rejected before running
+     * the clipping algorithm. Large batches are clipped in parallel.
+     * 
+     * @param segments  Packed endpoints of lines. Line i is stored as x0, y0, x1,
+     *                  y1 starting at index 4 * i.
+     * @param count     Number of lines in segments.
+     * @param xmin      x-coordinate of the rectangle's minimum boundary
+     * @param ymin      y-coordinate of the rectangle's minimum boundary
+     * @param xmax      x-coordinate of the rectangle's maximum boundary
+     * @param ymax      y-coordinate of the rectangle's maximum boundary
+     * @param algorithm Clipping algorithm to use.
+     * @param out       Preallocated array of length at least 4 * count where the
+     *                  clipped endpoints are written, using the same layout as
+     *                  segments. Entries of rejected lines are not modified.
+     * @param accepted  Preallocated array of length at least count. accepted[i]
+     *                  is set to true if some part of line i is inside the
+     *                  clipping area.
+     * @return Number of accepted lines.
+     */
+    public static int clipBatch(double[] segments, int count,
+                                double xmin, double ymin, double xmax, double ymax,
+                                Algorithm algorithm, double[] out, boolean[] accepted) {
+        if (segments.length < 4 * count || out.length < 4 * count || accepted.length < count) {
+            throw new IllegalArgumentException("Arrays are too small for the number of lines.");
+        }
+
+        if (count < PARALLEL_THRESHOLD) {
+            return clipRange(segments, 0, count, xmin, ymin, xmax, ymax, algorithm, out, accepted);
+        }
+
+        // split batch into chunks which are clipped in parallel
+        final int chunkCount = (count + PARALLEL_THRESHOLD - 1) / PARALLEL_THRESHOLD;
+        return IntStream.range(0, chunkCount).parallel().map(chunk -> {
+            final int start = chunk * PARALLEL_THRESHOLD;
+            final int end = Math.min(count, start + PARALLEL_THRESHOLD);
+            return clipRange(segments, start, end, xmin, ymin, xmax, ymax, algorithm, out, accepted);
+        }).sum();
+    }
+
+    /**
+     * Clips lines with index in [start, end).
+     * 
+     * @return Number of accepted lines in range.
+     */
+    private static int clipRange(double[] segments, int start, int end,
+                                 double xmin, double ymin, double xmax, double ymax,
+                                 Algorithm algorithm, double[] out, boolean[] accepted) {
+        int acceptedCount = 0;
+
+        for (int i = start; i < end; i++) {
+            final int offset = 4 * i;
+            final double x0 = segments[offset];
+            final double y0 = segments[offset + 1];
+            final double x1 = segments[offset + 2];
+            final double y1 = segments[offset + 3];
+
+            // reject lines whose bounding box is outside the clipping area
+            if (Math.max(x0, x1) < xmin || Math.min(x0, x1) > xmax
+                    || Math.max(y0, y1) < ymin || Math.min(y0, y1) > ymax) {
+                accepted[i] = false;
+                continue;
+            }
+
+            if (algorithm == Algorithm.LIANG_BARSKY) {
+                accepted[i] = liangBarsky(x0, y0, x1, y1, xmin, ymin, xmax, ymax, out, offset);
+            } else {
+                accepted[i] = cohenSutherland(x0, y0, x1, y1, xmin, ymin, xmax, ymax, out, offset);
+            }
+
+            if (accepted[i]) {
+                acceptedCount++;
+            }
         }
+
+        return acceptedCount;
     }
 }
@@ -0,0 +1,176 @@
+package com.github.creme332.model.calculator;
+
+import java.awt.Polygon;
+import java.awt.Rectangle;
+
+/**
+ * Clips polygons against a rectangular clipping area using the
+ * Sutherland-Hodgman algorithm. The polygon is clipped against each of the 4
+ * boundaries of the rectangle in turn, so the running time is linear in the
+ * number of vertices.
+ *
+ * Concave polygons which are split into several pieces by the clipping area
+ * are returned as a single polygon where the pieces are joined by edges lying
+ * on the boundary of the clipping area.
+ */
+public class PolygonClipperCalculator {
+    // Boundaries of clipping area
+    private static final int MIN_X = 0;
+    private static final int MAX_X = 1;
+    private static final int MIN_Y = 2;
+    private static final int MAX_Y = 3;
+
+    private PolygonClipperCalculator() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Clips a polygon against a rectangular clipping area defined by (xmin, ymin)
+     * and (xmax, ymax).
+     *
+     * @param polygon A polygon. It is not modified.
+     * @param xmin    x-coordinate of the rectangle's minimum boundary
+     * @param ymin    y-coordinate of the rectangle's minimum boundary
+     * @param xmax    x-coordinate of the rectangle's maximum boundary
+     * @param ymax    y-coordinate of the rectangle's maximum boundary
+     * @return The part of the polygon inside the clipping area. The polygon has no
+     *         vertices if the polygon is completely outside the clipping area.
+     */
+    public static Polygon clip(Polygon polygon, double xmin, double ymin, double xmax, double ymax) {
+        final int n = polygon.npoints;
+        if (n == 0) {
+            return new Polygon();
+        }
+
+        // reject or accept polygon using its bounding box
+        final Rectangle bounds = polygon.getBounds();
+        if (bounds.getMaxX() < xmin || bounds.getMinX() > xmax || bounds.getMaxY() < ymin
+                || bounds.getMinY() > ymax) {
+            return new Polygon();
+        }
+        if (bounds.getMinX() >= xmin && bounds.getMaxX() <= xmax && bounds.getMinY() >= ymin
+                && bounds.getMaxY() <= ymax) {
+            return new Polygon(polygon.xpoints, polygon.ypoints, n);
+        }
+
+        // each pass outputs at most 2 vertices per input vertex
+        double[] inX = new double[2 * n];
+        double[] inY = new double[2 * n];
+        for (int i = 0; i < n; i++) {
+            inX[i] = polygon.xpoints[i];
+            inY[i] = polygon.ypoints[i];
+        }
+        double[] outX = new double[2 * n];
+        double[] outY = new double[2 * n];
+
+        final double[] boundaryValues = { xmin, xmax, ymin, ymax };
+        int count = n;
+
+        for (int boundary = MIN_X; boundary <= MAX_Y && count > 0; boundary++) {
+            if (outX.length < 2 * count) {
+                outX = new double[2 * count];
+                outY = new double[2 * count];
+            }
+
+            count = clipAgainstBoundary(inX, inY, count, outX, outY, boundary, boundaryValues[boundary]);
+
+            // swap input and output buffers
+            double[] temp = inX;
+            inX = outX;
+            outX = temp;
+            temp = inY;
+            inY = outY;
+            outY = temp;
+        }
+
+        return toPolygon(inX, inY, count);
+    }
+
+    /**
+     * Clips a closed polygon against a single boundary of the clipping area.
+     *
+     * @return Number of vertices written in outX and outY.
+     */
+    private static int clipAgainstBoundary(double[] inX, double[] inY, int n, double[] outX, double[] outY,
+            int boundary, double value) {
+        int count = 0;
+
+        double prevX = inX[n - 1];
+        double prevY = inY[n - 1];
+        boolean isPrevInside = isInside(prevX, prevY, boundary, value);
+
+        for (int i = 0; i < n; i++) {
+            final double x = inX[i];
+            final double y = inY[i];
+            final boolean isInside = isInside(x, y, boundary, value);
+
+            if (isInside != isPrevInside) {
+                // edge crosses boundary
+                if (boundary == MIN_X || boundary == MAX_X) {
+                    outX[count] = value;
+                    outY[count] = prevY + (y - prevY) * (value - prevX) / (x - prevX);
+                } else {
+                    outX[count] = prevX + (x - prevX) * (value - prevY) / (y - prevY);
+                    outY[count] = value;
+                }
+                count++;
+            }
+
+            if (isInside) {
+                outX[count] = x;
+                outY[count] = y;
+                count++;
+            }
+
+            prevX = x;
+            prevY = y;
+            isPrevInside = isInside;
+        }
+
+        return count;
+    }
+
+    private static boolean isInside(double x, double y, int boundary, double value) {
+        switch (boundary) {
+            case MIN_X:
+                return x >= value;
+            case MAX_X:
+                return x <= value;
+            case MIN_Y:
+                return y >= value;
+            default:
+                return y <= value;
+        }
+    }
+
+    /**
+     * Rounds vertices to integer coordinates and removes consecutive duplicate
+     * vertices.
+     */
+    private static Polygon toPolygon(double[] xs, double[] ys, int n) {
+        final int[] xPoints = new int[n];
+        final int[] yPoints = new int[n];
+        int count = 0;
+
+        for (int i = 0; i < n; i++) {
+            final int x = (int) Math.round(xs[i]);
+            final int y = (int) Math.round(ys[i]);
+            if (count > 0 && xPoints[count - 1] == x && yPoints[count - 1] == y) {
+                continue;
+            }
+            xPoints[count] = x;
+            yPoints[count] = y;
+            count++;
+        }
+
+        // last vertex is connected to the first one
+        while (count > 1 && xPoints[count - 1] == xPoints[0] && yPoints[count - 1] == yPoints[0]) {
+            count--;
+        }
+
+        if (count < 3) {
+            return new Polygon();
+        }
+        return new Polygon(xPoints, yPoints, count);
+    }
+}
@@ -0,0 +1,184 @@
+package com.github.creme332.model.calculator;
+
+import java.awt.Polygon;
+import java.awt.geom.AffineTransform;
+
+/**
+ * Applies affine transformations directly to packed integer coordinate arrays.
+ *
+ * A transformation is described by a 2x3 matrix stored in the same order as
+ * AffineTransform.getMatrix(): { m00, m10, m01, m11, m02, m12 }. A point (x, y)
+ * is mapped to (m00 * x + m01 * y + m02, m10 * x + m11 * y + m12) and the result
+ * is truncated to an integer, exactly like the previous PathIterator based
+ * implementation.
+ *
+ * The kernel has a scalar path and a SIMD path built on the incubating Vector
+ * API. The SIMD path is opt-in: it is only compiled with the vector profile of
+ * the build ({@code mvn -Pvector}) and only used when the JVM was started with
+ * {@code --add-modules jdk.incubator.vector}. It can be disabled with the
+ * system property {@code polydraw.vector=false}.
+ */
+public class TransformCalculator {
+    /**
+     * Minimum number of points for which the SIMD path is worth using.
+     */
+    private static final int VECTOR_THRESHOLD = 64;
+
+    /**
+     * Name of the SIMD kernel, which is absent from the default build.
+     */
+    private static final String VECTOR_KERNEL_CLASS = "com.github.creme332.model.calculator.VectorTransformKernel";
+
+    /**
+     * SIMD kernel, or null if it cannot be used on the current JVM.
+     */
+    private static final TransformKernel VECTOR_KERNEL = loadVectorKernel();
+
+    private TransformCalculator() {
+    }
+
+    private static TransformKernel loadVectorKernel() {
+        if (!Boolean.parseBoolean(System.getProperty("polydraw.vector", "true"))) {
+            return null;
+        }
+
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+
+        try {
+            // initialize the kernel to make sure that it can be linked
+            final TransformKernel kernel = (TransformKernel) Class.forName(VECTOR_KERNEL_CLASS)
+                    .getDeclaredConstructor().newInstance();
+            return kernel.lanes() > 1 ? kernel : null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // kernel was not compiled into this build
+            return null;
+        }
+    }
+
+    /**
+     *
+     * @return True if the SIMD kernel is used for large inputs.
+     */
+    public static boolean isVectorized() {
+        return VECTOR_KERNEL != null;
+    }
+
+    /**
+     * Converts an affine transform to a 2x3 matrix understood by this class.
+     *
+     * @param transform An affine transform
+     * @return { m00, m10, m01, m11, m02, m12 }
+     */
+    public static double[] toMatrix(AffineTransform transform) {
+        double[] matrix = new double[6];
+        transform.getMatrix(matrix);
+        return matrix;
+    }
+
+    /**
+     * Transforms {@code length} points starting at {@code offset}. The source and
+     * destination arrays may be the same.
+     *
+     * @param matrix 2x3 matrix { m00, m10, m01, m11, m02, m12 }
+     * @param srcX   x-coordinates of points
+     * @param srcY   y-coordinates of points
+     * @param dstX   array where transformed x-coordinates are written
+     * @param dstY   array where transformed y-coordinates are written
+     * @param offset index of first point to transform
+     * @param length number of points to transform
+     */
+    public static void transform(double[] matrix, int[] srcX, int[] srcY, int[] dstX, int[] dstY,
+            int offset, int length) {
+        if (matrix.length != 6) {
+            throw new IllegalArgumentException("Transformation matrix must have 6 elements.");
+        }
+
+        if (VECTOR_KERNEL != null && length >= VECTOR_THRESHOLD) {
+            VECTOR_KERNEL.transform(matrix, srcX, srcY, dstX, dstY, offset, length);
+        } else {
+            transformScalar(matrix, srcX, srcY, dstX, dstY, offset, length);
+        }
+    }
+
+    /**
+     * Scalar version of transform(). It is also used by the SIMD kernel to process
+     * the points which do not fill a complete vector.
+     */
+    static void transformScalar(double[] matrix, int[] srcX, int[] srcY, int[] dstX, int[] dstY,
+            int offset, int length) {
+        final double m00 = matrix[0];
+        final double m10 = matrix[1];
+        final double m01 = matrix[2];
+        final double m11 = matrix[3];
+        final double m02 = matrix[4];
+        final double m12 = matrix[5];
+
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            final double x = srcX[i];
+            final double y = srcY[i];
+            dstX[i] = (int) (x * m00 + y * m01 + m02);
+            dstY[i] = (int) (x * m10 + y * m11 + m12);
+        }
+    }
+
+    /**
+     * Transforms a polygon using the given affine transformation.
+     *
+     * @param polygon   The polygon to be transformed.
+     * @param transform The affine transformation to apply.
+     * @return A new transformed polygon.
+     */
+    public static Polygon transformPolygon(Polygon polygon, AffineTransform transform) {
+        final int n = polygon.npoints;
+        int[] xPoints = new int[n];
+        int[] yPoints = new int[n];
+        transform(toMatrix(transform), polygon.xpoints, polygon.ypoints, xPoints, yPoints, 0, n);
+        return new Polygon(xPoints, yPoints, n);
+    }
+
+    /**
+     * Transforms many polygons with the same transformation in a single pass. The
+     * vertices of all polygons are packed into one pair of arrays so that the
+     * kernel runs once over all of them.
+     *
+     * @param polygons  Polygons to be transformed. They are not modified.
+     * @param transform The affine transformation to apply.
+     * @return New transformed polygons, in the same order as the input.
+     */
+    public static Polygon[] transformPolygons(Polygon[] polygons, AffineTransform transform) {
+        int totalPoints = 0;
+        for (Polygon polygon : polygons) {
+            totalPoints += polygon.npoints;
+        }
+
+        // pack vertices of all polygons
+        final int[] packedX = new int[totalPoints];
+        final int[] packedY = new int[totalPoints];
+        int offset = 0;
+        for (Polygon polygon : polygons) {
+            System.arraycopy(polygon.xpoints, 0, packedX, offset, polygon.npoints);
+            System.arraycopy(polygon.ypoints, 0, packedY, offset, polygon.npoints);
+            offset += polygon.npoints;
+        }
+
+        transform(toMatrix(transform), packedX, packedY, packedX, packedY, 0, totalPoints);
+
+        // unpack transformed vertices
+        Polygon[] result = new Polygon[polygons.length];
+        offset = 0;
+        for (int i = 0; i < polygons.length; i++) {
+            final int n = polygons[i].npoints;
+            int[] xPoints = new int[n];
+            int[] yPoints = new int[n];
+            System.arraycopy(packedX, offset, xPoints, 0, n);
+            System.arraycopy(packedY, offset, yPoints, 0, n);
+            result[i] = new Polygon(xPoints, yPoints, n);
+            offset += n;
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.creme332.model.calculator;
+
+/**
+ * Optional implementation of the transformation kernel of TransformCalculator.
+ * Implementations are loaded by name so that the default build does not depend
+ * on them.
+ */
+interface TransformKernel {
+    /**
+     *
+     * @return Number of points transformed per iteration.
+     */
+    int lanes();
+
+    /**
+     * Same contract as TransformCalculator.transform().
+     */
+    void transform(double[] matrix, int[] srcX, int[] srcY, int[] dstX, int[] dstY, int offset, int length);
+}
@@ -0,0 +1,66 @@
+package com.github.creme332.model.calculator;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD version of the transformation kernel in TransformCalculator. This class
+ * must only be loaded when the jdk.incubator.vector module is present.
+ *
+ * It is only compiled with the vector profile of the build, and is loaded by
+ * name by TransformCalculator.
+ */
+final class VectorTransformKernel implements TransformKernel {
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * Integer species with the same number of lanes as DOUBLES.
+     */
+    private static final VectorSpecies<Integer> INTS = VectorSpecies.of(int.class,
+            VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+
+    VectorTransformKernel() {
+    }
+
+    @Override
+    public int lanes() {
+        return DOUBLES.length();
+    }
+
+    @Override
+    public void transform(double[] matrix, int[] srcX, int[] srcY, int[] dstX, int[] dstY,
+            int offset, int length) {
+        final double m00 = matrix[0];
+        final double m10 = matrix[1];
+        final double m01 = matrix[2];
+        final double m11 = matrix[3];
+        final double m02 = matrix[4];
+        final double m12 = matrix[5];
+
+        final int step = INTS.length();
+        final int upperBound = offset + INTS.loopBound(length);
+
+        int i = offset;
+        for (; i < upperBound; i += step) {
+            // load both coordinates before writing as source and destination may overlap
+            DoubleVector x = (DoubleVector) IntVector.fromArray(INTS, srcX, i)
+                    .convertShape(VectorOperators.I2D, DOUBLES, 0);
+            DoubleVector y = (DoubleVector) IntVector.fromArray(INTS, srcY, i)
+                    .convertShape(VectorOperators.I2D, DOUBLES, 0);
+
+            // same order of operations as the scalar kernel to get identical rounding
+            DoubleVector newX = x.mul(m00).add(y.mul(m01)).add(m02);
+            DoubleVector newY = x.mul(m10).add(y.mul(m11)).add(m12);
+
+            // D2I truncates towards zero like an (int) cast
+            ((IntVector) newX.convertShape(VectorOperators.D2I, INTS, 0)).intoArray(dstX, i);
+            ((IntVector) newY.convertShape(VectorOperators.D2I, INTS, 0)).intoArray(dstY, i);
+        }
+
+        // process remaining points which do not fill a vector
+        TransformCalculator.transformScalar(matrix, srcX, srcY, dstX, dstY, i, offset + length - i);
+    }
+}
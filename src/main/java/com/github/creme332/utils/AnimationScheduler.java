@@ -0,0 +1,265 @@
+package com.github.creme332.utils;
+
+import java.awt.Toolkit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.DoubleConsumer;
+
+import javax.swing.JComponent;
+import javax.swing.Timer;
+
+/**
+ * Runs all animations and delayed tasks of the application from a single frame
+ * clock on the event dispatch thread. Callbacks are therefore free to modify
+ * Swing components.
+ *
+ * The clock only ticks while an animation or task is scheduled. Components
+ * whose layout is requested during a frame are revalidated and repainted once
+ * at the end of the frame, however many animations changed them.
+ *
+ * An animation whose callback throws an exception is stopped, and the other
+ * animations keep running.
+ *
+ * Methods must be called on the event dispatch thread.
+ */
+public class AnimationScheduler {
+    /**
+     * Delay in milliseconds between frames.
+     */
+    public static final int FRAME_DELAY = 16;
+
+    private static final AnimationScheduler INSTANCE = new AnimationScheduler();
+
+    /**
+     * Maps the fraction of time elapsed to the fraction of the animation
+     * completed. Both are between 0 and 1.
+     */
+    @FunctionalInterface
+    public interface Easing {
+        Easing LINEAR = t -> t;
+
+        /**
+         * Starts fast and slows down at the end.
+         */
+        Easing EASE_OUT = t -> 1 - Math.pow(1 - t, 3);
+
+        Easing EASE_IN_OUT = t -> t < 0.5 ? 4 * t * t * t : 1 - Math.pow(-2 * t + 2, 3) / 2;
+
+        double apply(double t);
+    }
+
+    /**
+     * An animation or task which has been scheduled.
+     */
+    public abstract static class Animation {
+        boolean isFinished = false;
+
+        /**
+         * Stops the animation. Its callback for the end of the animation is not
+         * called.
+         */
+        public void cancel() {
+            isFinished = true;
+        }
+
+        public boolean isFinished() {
+            return isFinished;
+        }
+
+        /**
+         *
+         * @param nanoTime Time of the frame
+         * @return True if the animation is complete
+         */
+        abstract boolean update(long nanoTime);
+    }
+
+    private static class Tween extends Animation {
+        final long startTime;
+        final long durationNanos;
+        final Easing easing;
+        final DoubleConsumer onFrame;
+        final Runnable onFinish;
+
+        Tween(long startTime, long durationNanos, Easing easing, DoubleConsumer onFrame, Runnable onFinish) {
+            this.startTime = startTime;
+            this.durationNanos = durationNanos;
+            this.easing = easing;
+            this.onFrame = onFrame;
+            this.onFinish = onFinish;
+        }
+
+        @Override
+        boolean update(long nanoTime) {
+            // frames which are late are skipped since progress depends on time only
+            final double t = durationNanos <= 0 ? 1
+                    : Math.min(1, Math.max(0, (double) (nanoTime - startTime) / durationNanos));
+            onFrame.accept(easing.apply(t));
+            if (t < 1) {
+                return false;
+            }
+            if (onFinish != null) {
+                onFinish.run();
+            }
+            return true;
+        }
+    }
+
+    private static class DelayedTask extends Animation {
+        final long dueTime;
+        final Runnable task;
+
+        DelayedTask(long dueTime, Runnable task) {
+            this.dueTime = dueTime;
+            this.task = task;
+        }
+
+        @Override
+        boolean update(long nanoTime) {
+            if (nanoTime - dueTime < 0) {
+                return false;
+            }
+            task.run();
+            return true;
+        }
+    }
+
+    private final List<Animation> animations = new ArrayList<>();
+    private final Set<JComponent> invalidComponents = new LinkedHashSet<>();
+    private final Timer timer;
+
+    private AnimationScheduler() {
+        timer = new Timer(FRAME_DELAY, e -> update(System.nanoTime()));
+        timer.setCoalesce(true);
+    }
+
+    public static AnimationScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts an animation. Its first frame is displayed immediately.
+     *
+     * @param durationMillis Duration of animation
+     * @param easing         Easing of animation
+     * @param onFrame        Called on every frame with the fraction of the
+     *                       animation completed. It is called with 1 on the last
+     *                       frame.
+     * @param onFinish       Called after the last frame, or null
+     * @return Handle to cancel the animation
+     */
+    public Animation animate(long durationMillis, Easing easing, DoubleConsumer onFrame, Runnable onFinish) {
+        final long now = System.nanoTime();
+        final Tween tween = new Tween(now, durationMillis * 1_000_000, easing, onFrame, onFinish);
+        updateAnimation(tween, now);
+        if (!tween.isFinished) {
+            add(tween);
+        }
+        flushLayout();
+        return tween;
+    }
+
+    /**
+     * Runs a task after a delay. The task runs on the first frame after the
+     * delay has elapsed.
+     *
+     * @param delayMillis Delay
+     * @param task        Task
+     * @return Handle to cancel the task
+     */
+    public Animation schedule(long delayMillis, Runnable task) {
+        final DelayedTask delayedTask = new DelayedTask(System.nanoTime() + delayMillis * 1_000_000, task);
+        add(delayedTask);
+        return delayedTask;
+    }
+
+    /**
+     * Revalidates and repaints a component at the end of the current frame.
+     * Requests made outside of a frame are handled at the end of the next
+     * frame.
+     */
+    public void requestLayout(JComponent component) {
+        if (invalidComponents.add(component)) {
+            timer.start();
+        }
+    }
+
+    private void add(Animation animation) {
+        animations.add(animation);
+        timer.start();
+    }
+
+    /**
+     * Displays the frame at a given time. It is called by the frame clock.
+     *
+     * @param nanoTime Time of the frame, as given by System.nanoTime()
+     */
+    public void update(long nanoTime) {
+        // animations scheduled by callbacks start on the next frame
+        for (Animation animation : new ArrayList<>(animations)) {
+            if (!animation.isFinished) {
+                updateAnimation(animation, nanoTime);
+            }
+        }
+        animations.removeIf(Animation::isFinished);
+
+        flushLayout();
+
+        if (animations.isEmpty() && invalidComponents.isEmpty()) {
+            timer.stop();
+        }
+    }
+
+    /**
+     * Displays a frame of an animation. The animation is stopped if it throws an
+     * exception, so that it does not fail again on every frame.
+     */
+    private static void updateAnimation(Animation animation, long nanoTime) {
+        boolean isComplete = true;
+        try {
+            isComplete = animation.update(nanoTime);
+        } catch (RuntimeException e) {
+            System.err.println("Error running animation:");
+            e.printStackTrace();
+        } finally {
+            if (isComplete) {
+                animation.isFinished = true;
+            }
+        }
+    }
+
+    private void flushLayout() {
+        if (invalidComponents.isEmpty()) {
+            return;
+        }
+        for (JComponent component : invalidComponents) {
+            component.revalidate();
+            component.repaint();
+        }
+        invalidComponents.clear();
+
+        /**
+         * sync toolkit to prevent frame rate issues on linux.
+         *
+         * Reference:
+         * https://stackoverflow.com/questions/46626715/how-do-i-properly-render-at-a-high-frame-rate-in-pure-java
+         */
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    /**
+     *
+     * @return Number of animations and tasks which have not completed
+     */
+    public int getActiveCount() {
+        int count = 0;
+        for (Animation animation : animations) {
+            if (!animation.isFinished) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,252 @@
+package com.github.creme332.utils;
+
+import java.awt.Polygon;
+import java.awt.Shape;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.github.creme332.core.ShapeFactory;
+import com.github.creme332.model.ShapeWrapper;
+
+/**
+ * Constants and encoding helpers shared by BinaryShapeWriter,
+ * BinaryShapeReader and ShapeJournal.
+ *
+ * A .polydraw file is laid out as follows (big-endian):
+ *
+ * <pre>
+ * header     magic (int), version (short), flags (short),
+ *            style count (int), shape count (int)
+ * styles     style count x [ARGB color (int), line type ordinal (byte),
+ *            line thickness (int)]
+ * index      shape count x [file offset of shape record (long),
+ *            style index (int), bounds as minX, minY, maxX, maxY (ints)]
+ * records    shape count x [style index (varint), flags (byte),
+ *            vertex count (varint), vertex count x [dx, dy (zig-zag varints)],
+ *            plotted point count (varint), plotted point count x [x, y (double)]]
+ * </pre>
+ *
+ * Vertices are stored as differences from the previous vertex of the same
+ * shape, the first vertex being relative to the origin. Since consecutive
+ * pixels of a rasterized shape are neighbours, most vertices take 2 bytes.
+ * Shapes having a vertex with fractional coordinates, such as rotated lines,
+ * have the HAS_FRACTIONAL_VERTICES flag and store each vertex as x, y
+ * (doubles) instead.
+ *
+ * The bounds in the index cover the vertices and the plotted points of a shape.
+ * They let a document be displayed without decoding shapes that are not
+ * visible. A shape with neither vertices nor plotted points has bounds with
+ * minX greater than maxX. Version 1 files have no style index and no bounds in
+ * their index. Version 2 files have no shapes with fractional vertices.
+ */
+final class BinaryShapeFormat {
+    static final String FILE_EXTENSION = "polydraw";
+
+    static final int MAGIC = 0x50445257; // "PDRW"
+    static final short VERSION = 3;
+
+    static final int HEADER_SIZE = 16;
+    static final int STYLE_SIZE = 9;
+    static final int INDEX_ENTRY_SIZE = 28;
+    static final int VERSION_1_INDEX_ENTRY_SIZE = 8;
+
+    // Flags of a shape record
+    static final byte IS_LINE = 1;
+    static final byte HAS_SHAPE = 2;
+    static final byte HAS_FRACTIONAL_VERTICES = 4;
+
+    /**
+     * Minimum size of an encoded vertex: two varints of one byte each.
+     */
+    private static final int MIN_VERTEX_SIZE = 2;
+
+    /**
+     * Size of a vertex with fractional coordinates: two doubles.
+     */
+    private static final int FRACTIONAL_VERTEX_SIZE = 16;
+
+    /**
+     * Destination of encoded bytes.
+     */
+    @FunctionalInterface
+    interface ByteSink {
+        /**
+         *
+         * @param bytes Number of bytes about to be written
+         * @return Buffer with at least the given number of bytes remaining
+         */
+        ByteBuffer reserve(int bytes) throws IOException;
+    }
+
+    /**
+     * Maximum number of bytes in an encoded int.
+     */
+    static final int MAX_VARINT_SIZE = 5;
+
+    private BinaryShapeFormat() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     *
+     * @return Maximum number of bytes used by putGeometry() to encode a shape
+     */
+    static int getMaxGeometrySize(Shape shape) {
+        if (shape instanceof Polygon) {
+            return 1 + MAX_VARINT_SIZE + 2 * MAX_VARINT_SIZE * ((Polygon) shape).npoints;
+        }
+        if (shape == null) {
+            return 1;
+        }
+        return 1 + MAX_VARINT_SIZE + FRACTIONAL_VERTEX_SIZE * ShapeWrapper.getCoordinates(shape).length;
+    }
+
+    /**
+     * Encodes the flags and the vertices of a shape record.
+     *
+     * @param out   Destination of encoded shape
+     * @param shape Shape, or null
+     * @return Number of vertices written
+     */
+    static int putGeometry(ByteSink out, Shape shape) throws IOException {
+        if (shape == null) {
+            out.reserve(1).put((byte) 0);
+            return 0;
+        }
+
+        byte flags = HAS_SHAPE;
+        if (ShapeWrapper.isLine(shape)) {
+            flags |= IS_LINE;
+        }
+
+        if (shape instanceof Polygon) {
+            final Polygon polygon = (Polygon) shape;
+            out.reserve(1).put(flags);
+            putVertices(out, polygon.xpoints, polygon.ypoints, polygon.npoints);
+            return polygon.npoints;
+        }
+
+        final double[][] coordinates = ShapeWrapper.getCoordinates(shape);
+        final int count = coordinates.length;
+        final int[] xPoints = new int[count];
+        final int[] yPoints = new int[count];
+        for (int i = 0; i < count; i++) {
+            xPoints[i] = (int) coordinates[i][0];
+            yPoints[i] = (int) coordinates[i][1];
+            if (xPoints[i] != coordinates[i][0] || yPoints[i] != coordinates[i][1]) {
+                out.reserve(1).put((byte) (flags | HAS_FRACTIONAL_VERTICES));
+                putFractionalVertices(out, coordinates);
+                return count;
+            }
+        }
+        out.reserve(1).put(flags);
+        putVertices(out, xPoints, yPoints, count);
+        return count;
+    }
+
+    private static void putVertices(ByteSink out, int[] xPoints, int[] yPoints, int count) throws IOException {
+        putVarint(out.reserve(MAX_VARINT_SIZE), count);
+        int prevX = 0;
+        int prevY = 0;
+        for (int i = 0; i < count; i++) {
+            final ByteBuffer buffer = out.reserve(2 * MAX_VARINT_SIZE);
+            putVarint(buffer, zigZagEncode(xPoints[i] - prevX));
+            putVarint(buffer, zigZagEncode(yPoints[i] - prevY));
+            prevX = xPoints[i];
+            prevY = yPoints[i];
+        }
+    }
+
+    private static void putFractionalVertices(ByteSink out, double[][] coordinates) throws IOException {
+        putVarint(out.reserve(MAX_VARINT_SIZE), coordinates.length);
+        for (double[] vertex : coordinates) {
+            out.reserve(FRACTIONAL_VERTEX_SIZE).putDouble(vertex[0]).putDouble(vertex[1]);
+        }
+    }
+
+    /**
+     * Decodes the flags and the vertices of a shape record written by
+     * putGeometry().
+     *
+     * @return Shape, or null if the record has no shape
+     * @throws IOException if the vertex count is larger than the record
+     */
+    static Shape getGeometry(ByteBuffer record) throws IOException {
+        final byte flags = record.get();
+        if ((flags & HAS_SHAPE) == 0) {
+            return null;
+        }
+
+        final boolean isFractional = (flags & HAS_FRACTIONAL_VERTICES) != 0;
+        final int count = getVarint(record);
+        if (count < 0 || count > record.remaining() / (isFractional ? FRACTIONAL_VERTEX_SIZE : MIN_VERTEX_SIZE)) {
+            throw new IOException("Invalid vertex count in .polydraw shape record.");
+        }
+
+        if (isFractional) {
+            final double[] xPoints = new double[count];
+            final double[] yPoints = new double[count];
+            for (int i = 0; i < count; i++) {
+                xPoints[i] = record.getDouble();
+                yPoints[i] = record.getDouble();
+            }
+            if ((flags & IS_LINE) != 0) {
+                return ShapeFactory.createPolyline(xPoints, yPoints, count);
+            }
+            return ShapeFactory.createClosedPath(xPoints, yPoints, count);
+        }
+
+        final int[] xPoints = new int[count];
+        final int[] yPoints = new int[count];
+        int x = 0;
+        int y = 0;
+        for (int i = 0; i < count; i++) {
+            x += zigZagDecode(getVarint(record));
+            y += zigZagDecode(getVarint(record));
+            xPoints[i] = x;
+            yPoints[i] = y;
+        }
+
+        if ((flags & IS_LINE) != 0) {
+            return ShapeFactory.createPolyline(xPoints, yPoints, count);
+        }
+        return new Polygon(xPoints, yPoints, count);
+    }
+
+    /**
+     * Maps signed integers to unsigned integers so that numbers with a small
+     * absolute value have a small encoding: 0, -1, 1, -2, ... become 0, 1, 2, 3,
+     * ...
+     */
+    static int zigZagEncode(int n) {
+        return (n << 1) ^ (n >> 31);
+    }
+
+    static int zigZagDecode(int n) {
+        return (n >>> 1) ^ -(n & 1);
+    }
+
+    /**
+     * Writes an unsigned integer using 7 bits per byte. The most significant bit
+     * of each byte is set if more bytes follow.
+     */
+    static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static int getVarint(ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 7 * MAX_VARINT_SIZE; shift += 7) {
+            final byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in .polydraw file.");
+    }
+}
@@ -0,0 +1,299 @@
+package com.github.creme332.utils;
+
+import static com.github.creme332.utils.BinaryShapeFormat.HEADER_SIZE;
+import static com.github.creme332.utils.BinaryShapeFormat.INDEX_ENTRY_SIZE;
+import static com.github.creme332.utils.BinaryShapeFormat.MAGIC;
+import static com.github.creme332.utils.BinaryShapeFormat.STYLE_SIZE;
+import static com.github.creme332.utils.BinaryShapeFormat.VERSION;
+import static com.github.creme332.utils.BinaryShapeFormat.VERSION_1_INDEX_ENTRY_SIZE;
+import static com.github.creme332.utils.BinaryShapeFormat.getGeometry;
+import static com.github.creme332.utils.BinaryShapeFormat.getVarint;
+
+import java.awt.Color;
+import java.awt.Shape;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.github.creme332.model.LineType;
+import com.github.creme332.model.ShapeWrapper;
+
+/**
+ * Reads shapes from a binary .polydraw file. The file is memory-mapped and
+ * shapes are decoded on demand, in any order, using the shape index. See
+ * BinaryShapeFormat for a description of the format.
+ *
+ * Counts read from the file are checked against the size of the file before
+ * anything is allocated, so a corrupted file raises an IOException. The file
+ * is unmapped when the reader is closed.
+ */
+public class BinaryShapeReader implements Closeable {
+    /**
+     * Size of an encoded plotted point: two doubles.
+     */
+    private static final int PLOTTED_POINT_SIZE = 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    /**
+     * Shapes are read under the read lock and the file is unmapped under the
+     * write lock, so that the mapped memory is never accessed once released.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private boolean isClosed = false;
+
+    private final short version;
+    private final int shapeCount;
+    private final int indexPosition;
+    private final int indexEntrySize;
+
+    // Style table
+    private final Color[] colors;
+    private final LineType[] lineTypes;
+    private final int[] lineThicknesses;
+
+    private BinaryShapeReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+
+        final long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException(".polydraw files larger than 2 GB are not supported.");
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a .polydraw file.");
+            }
+            version = buffer.getShort();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Unsupported .polydraw version: " + version);
+            }
+            indexEntrySize = version == 1 ? VERSION_1_INDEX_ENTRY_SIZE : INDEX_ENTRY_SIZE;
+            buffer.getShort(); // flags are unused
+
+            final int styleCount = buffer.getInt();
+            shapeCount = buffer.getInt();
+            if (styleCount < 0 || shapeCount < 0
+                    || HEADER_SIZE + (long) styleCount * STYLE_SIZE + (long) shapeCount * indexEntrySize > size) {
+                throw new IOException("Corrupted .polydraw header.");
+            }
+
+            colors = new Color[styleCount];
+            lineTypes = new LineType[styleCount];
+            lineThicknesses = new int[styleCount];
+            for (int i = 0; i < styleCount; i++) {
+                colors[i] = new Color(buffer.getInt(), true);
+                lineTypes[i] = LineType.values()[buffer.get()];
+                lineThicknesses[i] = buffer.getInt();
+            }
+
+            indexPosition = buffer.position();
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Corrupted .polydraw header.", e);
+        }
+    }
+
+    /**
+     * Opens a .polydraw file for reading.
+     *
+     * @throws IOException if file cannot be read or is not a valid .polydraw file
+     */
+    public static BinaryShapeReader open(Path filePath) throws IOException {
+        final FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ);
+        try {
+            return new BinaryShapeReader(channel);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads all shapes of a .polydraw file.
+     */
+    public static ShapeWrapper[] readAll(Path filePath) throws IOException {
+        try (BinaryShapeReader reader = open(filePath)) {
+            final ShapeWrapper[] shapes = new ShapeWrapper[reader.getShapeCount()];
+            for (int i = 0; i < shapes.length; i++) {
+                shapes[i] = reader.readShape(i);
+            }
+            return shapes;
+        }
+    }
+
+    public int getShapeCount() {
+        return shapeCount;
+    }
+
+    ShapeStyle getStyle(int styleIndex) {
+        return new ShapeStyle(colors[styleIndex], lineTypes[styleIndex], lineThicknesses[styleIndex]);
+    }
+
+    int getStyleCount() {
+        return colors.length;
+    }
+
+    /**
+     *
+     * @param index Index of shape in file
+     * @return Index of the style of the shape in the style table
+     * @throws IOException if shape record is corrupted
+     */
+    int getStyleIndex(int index) throws IOException {
+        checkIndex(index);
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            if (version == 1) {
+                final ByteBuffer record = buffer.duplicate();
+                record.position((int) buffer.getLong(getIndexEntryPosition(index)));
+                return getVarint(record);
+            }
+            return buffer.getInt(getIndexEntryPosition(index) + 8);
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Corrupted index entry for shape " + index + " in .polydraw file.", e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the bounds of a shape. Bounds are read from the shape index without
+     * decoding the shape, except for version 1 files.
+     *
+     * @param index Index of shape in file
+     * @return Smallest rectangle containing the vertices and plotted points of the
+     *         shape, or null if the shape has neither.
+     * @throws IOException if shape record is corrupted
+     */
+    public Rectangle2D getBounds(int index) throws IOException {
+        checkIndex(index);
+        if (version == 1) {
+            return readShape(index).getBounds();
+        }
+
+        final int position = getIndexEntryPosition(index) + 12;
+        final int minX;
+        final int minY;
+        final int maxX;
+        final int maxY;
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            minX = buffer.getInt(position);
+            minY = buffer.getInt(position + 4);
+            maxX = buffer.getInt(position + 8);
+            maxY = buffer.getInt(position + 12);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (minX > maxX || minY > maxY) {
+            return null;
+        }
+        return new Rectangle2D.Double(minX, minY, (double) maxX - minX, (double) maxY - minY);
+    }
+
+    /**
+     *
+     * @param index Index of shape in file
+     * @return A new ShapeWrapper
+     * @throws IOException if shape record is corrupted
+     */
+    public ShapeWrapper readShape(int index) throws IOException {
+        checkIndex(index);
+
+        // buffer is duplicated so that shapes can be read from several threads
+        final ByteBuffer record = buffer.duplicate();
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            record.position((int) buffer.getLong(getIndexEntryPosition(index)));
+
+            final int style = getVarint(record);
+            final ShapeWrapper wrapper = new ShapeWrapper(colors[style], lineTypes[style], lineThicknesses[style]);
+
+            final Shape shape = getGeometry(record);
+            if (shape != null) {
+                wrapper.setShape(shape);
+            }
+
+            final int plottedPointsCount = getVarint(record);
+            if (plottedPointsCount < 0 || plottedPointsCount > record.remaining() / PLOTTED_POINT_SIZE) {
+                throw new IOException("Invalid plotted point count for shape " + index + " in .polydraw file.");
+            }
+            for (int i = 0; i < plottedPointsCount; i++) {
+                wrapper.getPlottedPoints().add(new Point2D.Double(record.getDouble(), record.getDouble()));
+            }
+
+            return wrapper;
+        } catch (BufferUnderflowException | IllegalArgumentException | ArrayIndexOutOfBoundsException
+                | NegativeArraySizeException e) {
+            throw new IOException("Corrupted record for shape " + index + " in .polydraw file.", e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= shapeCount) {
+            throw new IndexOutOfBoundsException("Invalid shape index: " + index);
+        }
+    }
+
+    private void checkOpen() throws IOException {
+        if (isClosed) {
+            throw new IOException("The .polydraw file has been closed.");
+        }
+    }
+
+    private int getIndexEntryPosition(int index) {
+        return indexPosition + index * indexEntrySize;
+    }
+
+    /**
+     * Closes and unmaps the file. Shapes can no longer be read afterwards.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+            channel.close();
+            unmap(buffer);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Releases a mapped buffer immediately instead of when it is garbage
+     * collected. There is no public API for this, so the buffer is left to the
+     * garbage collector if sun.misc.Unsafe is not available.
+     */
+    private static void unmap(ByteBuffer mappedBuffer) {
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            invokeCleaner.invoke(field.get(null), mappedBuffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // buffer is released when garbage collected
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.github.creme332.utils;
+
+import static com.github.creme332.utils.BinaryShapeFormat.HEADER_SIZE;
+import static com.github.creme332.utils.BinaryShapeFormat.INDEX_ENTRY_SIZE;
+import static com.github.creme332.utils.BinaryShapeFormat.MAGIC;
+import static com.github.creme332.utils.BinaryShapeFormat.MAX_VARINT_SIZE;
+import static com.github.creme332.utils.BinaryShapeFormat.STYLE_SIZE;
+import static com.github.creme332.utils.BinaryShapeFormat.VERSION;
+import static com.github.creme332.utils.BinaryShapeFormat.putGeometry;
+import static com.github.creme332.utils.BinaryShapeFormat.putVarint;
+
+import java.awt.Shape;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.creme332.model.ShapeWrapper;
+
+/**
+ * Writes shapes to a binary .polydraw file. See BinaryShapeFormat for a
+ * description of the format.
+ */
+public class BinaryShapeWriter {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /**
+     * Position in file of next byte written to buffer.
+     */
+    private long position = 0;
+
+    // Bounds of last shape written
+    private int minX;
+    private int minY;
+    private int maxX;
+    private int maxY;
+
+    private BinaryShapeWriter(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Writes shapes to a file. The file is created if it does not exist, and
+     * replaced otherwise.
+     *
+     * The shapes are first written to a temporary file which then replaces the
+     * file once it is on disk. A crash therefore never leaves a partially written
+     * file, and an existing file is never truncated, which matters when it is
+     * memory-mapped by a PagedDocument whose shapes are being saved.
+     *
+     * @param shapes   Shapes to save
+     * @param filePath Path of .polydraw file
+     * @throws IOException if file cannot be written
+     */
+    public static void write(List<ShapeWrapper> shapes, Path filePath) throws IOException {
+        final Path temporaryPath = filePath.resolveSibling(filePath.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                new BinaryShapeWriter(channel).writeDocument(shapes);
+                channel.force(true);
+            }
+            Files.move(temporaryPath, filePath, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryPath);
+        }
+    }
+
+    private void writeDocument(List<ShapeWrapper> shapes) throws IOException {
+        // build style table
+        final Map<ShapeStyle, Integer> styleIndices = new HashMap<>();
+        final List<ShapeStyle> styles = new ArrayList<>();
+        for (ShapeWrapper wrapper : shapes) {
+            styleIndices.computeIfAbsent(new ShapeStyle(wrapper), style -> {
+                styles.add(style);
+                return styles.size() - 1;
+            });
+        }
+
+        // header
+        ensureCapacity(HEADER_SIZE);
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putShort((short) 0);
+        buffer.putInt(styles.size());
+        buffer.putInt(shapes.size());
+
+        for (ShapeStyle style : styles) {
+            ensureCapacity(STYLE_SIZE);
+            buffer.putInt(style.lineColor.getRGB());
+            buffer.put((byte) style.lineType.ordinal());
+            buffer.putInt(style.lineThickness);
+        }
+
+        // leave space for index which is written once record offsets are known
+        final long indexPosition = position + buffer.position();
+        final ByteBuffer index = ByteBuffer.allocate(shapes.size() * INDEX_ENTRY_SIZE);
+        flush();
+        position += index.capacity();
+
+        for (ShapeWrapper wrapper : shapes) {
+            final int styleIndex = styleIndices.get(new ShapeStyle(wrapper));
+            index.putLong(position + buffer.position());
+            writeShape(wrapper, styleIndex);
+            index.putInt(styleIndex);
+            index.putInt(minX);
+            index.putInt(minY);
+            index.putInt(maxX);
+            index.putInt(maxY);
+        }
+        flush();
+
+        index.flip();
+        while (index.hasRemaining()) {
+            channel.write(index, indexPosition + index.position());
+        }
+    }
+
+    private void writeShape(ShapeWrapper wrapper, int styleIndex) throws IOException {
+        final Shape shape = wrapper.getShape();
+        minX = Integer.MAX_VALUE;
+        minY = Integer.MAX_VALUE;
+        maxX = Integer.MIN_VALUE;
+        maxY = Integer.MIN_VALUE;
+
+        ensureCapacity(MAX_VARINT_SIZE);
+        putVarint(buffer, styleIndex);
+
+        if (putGeometry(this::reserve, shape) > 0) {
+            final Rectangle2D bounds = shape.getBounds2D();
+            minX = (int) Math.floor(bounds.getMinX());
+            minY = (int) Math.floor(bounds.getMinY());
+            maxX = (int) Math.ceil(bounds.getMaxX());
+            maxY = (int) Math.ceil(bounds.getMaxY());
+        }
+
+        final List<Point2D> plottedPoints = wrapper.getPlottedPoints();
+        ensureCapacity(MAX_VARINT_SIZE);
+        putVarint(buffer, plottedPoints.size());
+        for (Point2D point : plottedPoints) {
+            ensureCapacity(16);
+            buffer.putDouble(point.getX());
+            buffer.putDouble(point.getY());
+            minX = Math.min(minX, (int) Math.floor(point.getX()));
+            minY = Math.min(minY, (int) Math.floor(point.getY()));
+            maxX = Math.max(maxX, (int) Math.ceil(point.getX()));
+            maxY = Math.max(maxY, (int) Math.ceil(point.getY()));
+        }
+    }
+
+    private ByteBuffer reserve(int bytes) throws IOException {
+        ensureCapacity(bytes);
+        return buffer;
+    }
+
+    /**
+     * Flushes buffer if it has less than the given number of bytes left.
+     */
+    private void ensureCapacity(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        buffer.clear();
+    }
+}
@@ -1,35 +1,63 @@
 package com.github.creme332.utils;
 
 import java.awt.Color;
+import java.io.IOException;
 
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonSerializationContext;
-import com.google.gson.JsonSerializer;
-import java.lang.reflect.Type;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
-public class ColorAdapter implements JsonSerializer<Color>, JsonDeserializer<Color> {
+public class ColorAdapter extends TypeAdapter<Color> {
 
     @Override
-    public JsonElement serialize(Color color, Type typeOfSrc, JsonSerializationContext context) {
-        JsonObject jsonColor = new JsonObject();
-        jsonColor.addProperty("r", color.getRed());
-        jsonColor.addProperty("g", color.getGreen());
-        jsonColor.addProperty("b", color.getBlue());
-        jsonColor.addProperty("a", color.getAlpha()); // include alpha if needed
-        return jsonColor;
+    public void write(JsonWriter out, Color color) throws IOException {
+        if (color == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("r").value(color.getRed());
+        out.name("g").value(color.getGreen());
+        out.name("b").value(color.getBlue());
+        out.name("a").value(color.getAlpha()); // include alpha if needed
+        out.endObject();
     }
 
     @Override
-    public Color deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) {
-        JsonObject jsonObject = json.getAsJsonObject();
-        int r = jsonObject.get("r").getAsInt();
-        int g = jsonObject.get("g").getAsInt();
-        int b = jsonObject.get("b").getAsInt();
-        int a = jsonObject.has("a") ? jsonObject.get("a").getAsInt() : 255; // default to fully opaque if alpha not
-                                                                            // specified
+    public Color read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        int r = 0;
+        int g = 0;
+        int b = 0;
+        int a = 255; // default to fully opaque if alpha not specified
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "r":
+                    r = in.nextInt();
+                    break;
+                case "g":
+                    g = in.nextInt();
+                    break;
+                case "b":
+                    b = in.nextInt();
+                    break;
+                case "a":
+                    a = in.nextInt();
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+
         return new Color(r, g, b, a);
     }
 }
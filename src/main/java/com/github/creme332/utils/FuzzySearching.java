@@ -1,6 +1,15 @@
 package com.github.creme332.utils;
 
 public class FuzzySearching {
+    /**
+     * Maximum Levenshtein distance between similar strings.
+     */
+    public static final int MAX_DISTANCE = 3;
+
+    /**
+     * Rows of the table of distances reused by each thread.
+     */
+    private static final ThreadLocal<int[][]> ROW_BUFFERS = ThreadLocal.withInitial(() -> new int[2][16]);
 
     private FuzzySearching() {
 
@@ -40,6 +49,71 @@ public class FuzzySearching {
         return dp[m][n];
     }
 
+    /**
+     * Calculates the Levenshtein distance between two strings if it is at most
+     * maxDistance. Only cells of the table at most maxDistance away from its
+     * diagonal are computed, and computation stops as soon as a row has no
+     * distance within maxDistance.
+     *
+     * @param str1        The first string.
+     * @param str2        The second string.
+     * @param maxDistance A non-negative distance
+     * @return The Levenshtein distance between the two strings, or maxDistance +
+     *         1 if it is greater than maxDistance.
+     */
+    public static int levenshteinDistance(String str1, String str2, int maxDistance) {
+        final int m = str1.length();
+        final int n = str2.length();
+        final int outside = maxDistance + 1;
+
+        if (Math.abs(m - n) > maxDistance) {
+            return outside;
+        }
+
+        int[][] rows = ROW_BUFFERS.get();
+        if (rows[0].length < n + 1) {
+            rows = new int[][] { new int[n + 1], new int[n + 1] };
+            ROW_BUFFERS.set(rows);
+        }
+        int[] previous = rows[0];
+        int[] current = rows[1];
+
+        for (int j = 0; j <= n; j++) {
+            previous[j] = Math.min(j, outside);
+        }
+
+        for (int i = 1; i <= m; i++) {
+            final int from = Math.max(1, i - maxDistance);
+            final int to = Math.min(n, i + maxDistance);
+
+            // cells left of the band are too far from the diagonal
+            current[from - 1] = from == 1 ? Math.min(i, outside) : outside;
+            int rowMin = current[from - 1];
+
+            final char c = str1.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                final int cost = c == str2.charAt(j - 1) ? 0 : 1;
+                int distance = Math.min(previous[j] + 1, Math.min(current[j - 1] + 1, previous[j - 1] + cost));
+                distance = Math.min(distance, outside);
+                current[j] = distance;
+                rowMin = Math.min(rowMin, distance);
+            }
+            if (to < n) {
+                current[to + 1] = outside;
+            }
+
+            if (rowMin > maxDistance) {
+                return outside;
+            }
+
+            final int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return previous[n];
+    }
+
     /**
      * Checks if the Levenshtein distance between two strings is 3 or less.
      *
@@ -49,7 +123,7 @@ public class FuzzySearching {
      *         false.
      */
     public static boolean isSimilar(String str1, String str2) {
-        return levenshteinDistance(str1, str2) <= 3;
+        return levenshteinDistance(str1, str2, MAX_DISTANCE) <= MAX_DISTANCE;
     }
 
     /**
@@ -62,10 +136,11 @@ public class FuzzySearching {
      * @return
      */
     public static boolean match(String searchQuery, String[] keywords) {
-        String[] criteria = searchQuery.split(" ");
+        String[] criteria = searchQuery.toLowerCase().split(" ");
         for (String keyword : keywords) {
+            final String lowerCaseKeyword = keyword.toLowerCase();
             for (String criterion : criteria) {
-                if (isSimilar(keyword.toLowerCase(), criterion.toLowerCase())) {
+                if (isSimilar(lowerCaseKeyword, criterion)) {
                     return true;
                 }
             }
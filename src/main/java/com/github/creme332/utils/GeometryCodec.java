@@ -0,0 +1,506 @@
+package com.github.creme332.utils;
+
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.geom.Point2D;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import com.github.creme332.core.ShapeFactory;
+import com.github.creme332.model.ShapeWrapper;
+import com.github.creme332.model.calculator.CircleCalculator;
+import com.github.creme332.model.calculator.EllipseCalculator;
+import com.github.creme332.model.calculator.LineCalculator;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Encodes the geometry of a shape in version 2 of the JSON format. Instead of
+ * storing every pixel of a shape, the parameters used to draw the shape are
+ * stored whenever the calculators regenerate exactly the same pixels from them:
+ *
+ * <pre>
+ * {"type": "line", "algorithm": "BRESENHAM" | "DDA", "start": [x, y], "end": [x, y]}
+ * {"type": "circle", "center": [x, y], "radius": r}
+ * {"type": "ellipse", "center": [x, y], "radii": [rx, ry]}
+ * {"type": "ellipse", "foci": [x1, y1, x2, y2], "radii": [rx, ry]}
+ * {"type": "ellipse", "foci": [x1, y1, x2, y2], "through": [x, y]}
+ * </pre>
+ *
+ * Other shapes, such as polygons or transformed circles, store their vertices
+ * either as a flat list or, when consecutive vertices mostly differ by the same
+ * step, as runs of steps from a starting vertex:
+ *
+ * <pre>
+ * {"type": "polygon" | "line", "vertices": [x0, y0, x1, y1, ...]}
+ * {"type": "polygon" | "line", "start": [x, y], "runs": [dx, dy, count, ...]}
+ * </pre>
+ *
+ * Vertices with fractional coordinates, such as those of a rotated line, are
+ * stored as a flat list of doubles so that they are not truncated.
+ *
+ * A codec caches the calculations of its calculators and must not be shared
+ * between threads.
+ */
+public class GeometryCodec {
+    /**
+     * Polygons with fewer vertices are never rasterized circles or ellipses.
+     */
+    private static final int MIN_CURVE_VERTICES = 4;
+
+    private final CircleCalculator circleCalculator = new CircleCalculator();
+    private final EllipseCalculator ellipseCalculator = new EllipseCalculator();
+
+    /**
+     * Writes the geometry of a shape.
+     *
+     * @param out           JSON writer
+     * @param shape         A polygon or a line
+     * @param plottedPoints Points plotted by the user to draw the shape. They are
+     *                      used to guess the parameters of an ellipse.
+     */
+    public void write(JsonWriter out, Shape shape, List<Point2D> plottedPoints) throws IOException {
+        final boolean isLine = ShapeWrapper.isLine(shape);
+        final int[][] points = getVertices(shape);
+
+        out.beginObject();
+        if (points == null) {
+            out.name("type").value(isLine ? "line" : "polygon");
+            writeDoubleVertices(out, ShapeWrapper.getCoordinates(shape));
+        } else if (isLine) {
+            writeLine(out, points);
+        } else if (points[0].length < MIN_CURVE_VERTICES || (!writeCircle(out, points)
+                && !writeEllipse(out, points, plottedPoints))) {
+            out.name("type").value("polygon");
+            writeVertices(out, points);
+        }
+        out.endObject();
+    }
+
+    /**
+     *
+     * @return Vertices of shape, or null if some coordinates are not integers
+     */
+    private static int[][] getVertices(Shape shape) {
+        if (shape instanceof Polygon) {
+            final Polygon polygon = (Polygon) shape;
+            return new int[][] { Arrays.copyOf(polygon.xpoints, polygon.npoints),
+                    Arrays.copyOf(polygon.ypoints, polygon.npoints) };
+        }
+
+        final double[][] coordinates = ShapeWrapper.getCoordinates(shape);
+        final int[][] points = new int[2][coordinates.length];
+        for (int i = 0; i < coordinates.length; i++) {
+            points[0][i] = (int) coordinates[i][0];
+            points[1][i] = (int) coordinates[i][1];
+            if (points[0][i] != coordinates[i][0] || points[1][i] != coordinates[i][1]) {
+                return null;
+            }
+        }
+        return points;
+    }
+
+    private static void writeDoubleVertices(JsonWriter out, double[][] coordinates) throws IOException {
+        out.name("vertices").beginArray();
+        for (double[] vertex : coordinates) {
+            out.value(vertex[0]).value(vertex[1]);
+        }
+        out.endArray();
+    }
+
+    private static boolean matches(int[][] points, int[][] candidate) {
+        return candidate.length == 2 && Arrays.equals(points[0], candidate[0])
+                && Arrays.equals(points[1], candidate[1]);
+    }
+
+    private static void writeLine(JsonWriter out, int[][] points) throws IOException {
+        out.name("type").value("line");
+
+        final int n = points[0].length;
+        if (n > 0) {
+            final int x0 = points[0][0];
+            final int y0 = points[1][0];
+            final int x1 = points[0][n - 1];
+            final int y1 = points[1][n - 1];
+
+            String algorithm = null;
+            if (matches(points, LineCalculator.bresenham(x0, y0, x1, y1))) {
+                algorithm = "BRESENHAM";
+            } else if (matches(points, LineCalculator.dda(x0, y0, x1, y1))) {
+                algorithm = "DDA";
+            }
+
+            if (algorithm != null) {
+                out.name("algorithm").value(algorithm);
+                writeIntegers(out.name("start"), x0, y0);
+                writeIntegers(out.name("end"), x1, y1);
+                return;
+            }
+        }
+        writeVertices(out, points);
+    }
+
+    /**
+     * 
+     * @return True if there are too few vertices for the polygon to be a
+     *         rasterized curve with the given bounds. Such a curve has at least
+     *         one pixel in each column and each row of its bounds.
+     */
+    private static boolean isTooSparse(int[][] points, Rectangle bounds) {
+        return points[0].length < Math.max(bounds.width, bounds.height);
+    }
+
+    private boolean writeCircle(JsonWriter out, int[][] points) throws IOException {
+        final Rectangle bounds = new Polygon(points[0], points[1], points[0].length).getBounds();
+        if (bounds.width != bounds.height || bounds.width % 2 != 0 || bounds.width == 0
+                || isTooSparse(points, bounds)) {
+            return false;
+        }
+
+        final int radius = bounds.width / 2;
+        final int centerX = bounds.x + radius;
+        final int centerY = bounds.y + radius;
+        if (!matches(points, circleCalculator.getOrderedPoints(centerX, centerY, radius))) {
+            return false;
+        }
+
+        out.name("type").value("circle");
+        writeIntegers(out.name("center"), centerX, centerY);
+        out.name("radius").value(radius);
+        return true;
+    }
+
+    private boolean writeEllipse(JsonWriter out, int[][] points, List<Point2D> plottedPoints) throws IOException {
+        // axis-aligned ellipse
+        final Rectangle bounds = new Polygon(points[0], points[1], points[0].length).getBounds();
+        if (bounds.width % 2 == 0 && bounds.height % 2 == 0 && bounds.width > 0 && bounds.height > 0
+                && !isTooSparse(points, bounds)) {
+            final int rx = bounds.width / 2;
+            final int ry = bounds.height / 2;
+            final int centerX = bounds.x + rx;
+            final int centerY = bounds.y + ry;
+            if (matches(points, ellipseCalculator.getOrderedPoints(centerX, centerY, rx, ry))) {
+                out.name("type").value("ellipse");
+                writeIntegers(out.name("center"), centerX, centerY);
+                writeIntegers(out.name("radii"), rx, ry);
+                return true;
+            }
+        }
+
+        // inclined ellipses are drawn from 2 foci
+        if (plottedPoints.size() < 2) {
+            return false;
+        }
+        final Point2D firstFocus = plottedPoints.get(0);
+        final Point2D secondFocus = plottedPoints.get(1);
+
+        // estimate radii from distances to center
+        final double centerX = (firstFocus.getX() + secondFocus.getX()) / 2;
+        final double centerY = (firstFocus.getY() + secondFocus.getY()) / 2;
+        double minDistance = Double.MAX_VALUE;
+        double maxDistance = 0;
+        for (int i = 0; i < points[0].length; i++) {
+            final double distance = Point2D.distance(centerX, centerY, points[0][i], points[1][i]);
+            minDistance = Math.min(minDistance, distance);
+            maxDistance = Math.max(maxDistance, distance);
+        }
+
+        // the perimeter of a rasterized ellipse has at least one vertex per pixel
+        if (points[0].length < 2 * maxDistance) {
+            return false;
+        }
+
+        // ellipse passing through a third point
+        if (plottedPoints.size() >= 3
+                && matches(points, ellipseCalculator.getOrderedPoints(firstFocus, secondFocus, plottedPoints.get(2)))) {
+            out.name("type").value("ellipse");
+            writeFoci(out, firstFocus, secondFocus);
+            writeDoubles(out.name("through"), plottedPoints.get(2).getX(), plottedPoints.get(2).getY());
+            return true;
+        }
+
+        // ellipse with integer radii. The radius along the axis through the foci may
+        // be the smaller one.
+        for (int a = (int) maxDistance - 1; a <= (int) maxDistance + 1; a++) {
+            for (int b = (int) minDistance - 1; b <= (int) minDistance + 1; b++) {
+                if (a <= 0 || b <= 0) {
+                    continue;
+                }
+                for (int[] radii : new int[][] { { a, b }, { b, a } }) {
+                    if (matches(points, ellipseCalculator.getOrderedPointsWithRadius(firstFocus, secondFocus,
+                            radii[0], radii[1]))) {
+                        out.name("type").value("ellipse");
+                        writeFoci(out, firstFocus, secondFocus);
+                        writeIntegers(out.name("radii"), radii[0], radii[1]);
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void writeFoci(JsonWriter out, Point2D firstFocus, Point2D secondFocus) throws IOException {
+        writeDoubles(out.name("foci"), firstFocus.getX(), firstFocus.getY(), secondFocus.getX(), secondFocus.getY());
+    }
+
+    /**
+     * Writes vertices as runs of identical steps if this is shorter than a flat
+     * list of coordinates.
+     */
+    private static void writeVertices(JsonWriter out, int[][] points) throws IOException {
+        final int n = points[0].length;
+
+        int runCount = 0;
+        for (int i = 1; i < n; i++) {
+            if (i == 1 || !isSameStep(points, i - 1, i)) {
+                runCount++;
+            }
+        }
+
+        if (n == 0 || 3 * runCount >= 2 * (n - 1)) {
+            out.name("vertices").beginArray();
+            for (int i = 0; i < n; i++) {
+                out.value(points[0][i]).value(points[1][i]);
+            }
+            out.endArray();
+            return;
+        }
+
+        writeIntegers(out.name("start"), points[0][0], points[1][0]);
+        out.name("runs").beginArray();
+        int i = 1;
+        while (i < n) {
+            int count = 1;
+            while (i + count < n && isSameStep(points, i, i + count)) {
+                count++;
+            }
+            out.value(points[0][i] - points[0][i - 1]).value(points[1][i] - points[1][i - 1]).value(count);
+            i += count;
+        }
+        out.endArray();
+    }
+
+    /**
+     *
+     * @return True if the steps leading to vertices i and j are the same.
+     */
+    private static boolean isSameStep(int[][] points, int i, int j) {
+        return points[0][i] - points[0][i - 1] == points[0][j] - points[0][j - 1]
+                && points[1][i] - points[1][i - 1] == points[1][j] - points[1][j - 1];
+    }
+
+    private static void writeIntegers(JsonWriter out, int... values) throws IOException {
+        out.beginArray();
+        for (int value : values) {
+            out.value(value);
+        }
+        out.endArray();
+    }
+
+    private static void writeDoubles(JsonWriter out, double... values) throws IOException {
+        out.beginArray();
+        for (double value : values) {
+            out.value(value);
+        }
+        out.endArray();
+    }
+
+    /**
+     * Reads the geometry of a shape and regenerates its pixels.
+     *
+     * @return A polygon or a line
+     * @throws IOException if geometry is malformed
+     */
+    public Shape read(JsonReader in) throws IOException {
+        String type = null;
+        String algorithm = null;
+        int[] start = null;
+        int[] end = null;
+        int[] center = null;
+        int[] radii = null;
+        int radius = 0;
+        double[] foci = null;
+        double[] through = null;
+        double[] vertices = null;
+        int[] runs = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "type":
+                    type = in.nextString();
+                    break;
+                case "algorithm":
+                    algorithm = in.nextString();
+                    break;
+                case "start":
+                    start = readIntegers(in);
+                    break;
+                case "end":
+                    end = readIntegers(in);
+                    break;
+                case "center":
+                    center = readIntegers(in);
+                    break;
+                case "radius":
+                    radius = in.nextInt();
+                    break;
+                case "radii":
+                    radii = readIntegers(in);
+                    break;
+                case "foci":
+                    foci = readDoubles(in);
+                    break;
+                case "through":
+                    through = readDoubles(in);
+                    break;
+                case "vertices":
+                    vertices = readDoubles(in);
+                    break;
+                case "runs":
+                    runs = readIntegers(in);
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+
+        try {
+            int[][] points;
+            if ("circle".equals(type)) {
+                points = circleCalculator.getOrderedPoints(center[0], center[1], radius);
+            } else if ("ellipse".equals(type)) {
+                points = readEllipse(center, radii, foci, through);
+            } else if (algorithm != null) {
+                points = "DDA".equals(algorithm) ? LineCalculator.dda(start[0], start[1], end[0], end[1])
+                        : LineCalculator.bresenham(start[0], start[1], end[0], end[1]);
+            } else if (vertices != null) {
+                points = toIntegers(vertices);
+                if (points == null) {
+                    return createShape(type, vertices);
+                }
+            } else {
+                points = decodeRuns(start, runs);
+            }
+
+            if ("line".equals(type)) {
+                return ShapeFactory.createPolyline(points[0], points[1], points[0].length);
+            }
+            if (type == null) {
+                throw new IOException("Shape geometry has no type.");
+            }
+            return new Polygon(points[0], points[1], points[0].length);
+        } catch (NullPointerException | ArrayIndexOutOfBoundsException | NegativeArraySizeException
+                | IllegalArgumentException e) {
+            throw new IOException("Invalid geometry for shape of type " + type + ".", e);
+        }
+    }
+
+    /**
+     *
+     * @param vertices Flat list of coordinates
+     * @return Vertices, or null if some coordinates are not integers
+     */
+    private static int[][] toIntegers(double[] vertices) {
+        final int[][] points = new int[2][vertices.length / 2];
+        for (int i = 0; i < points[0].length; i++) {
+            points[0][i] = (int) vertices[2 * i];
+            points[1][i] = (int) vertices[2 * i + 1];
+            if (points[0][i] != vertices[2 * i] || points[1][i] != vertices[2 * i + 1]) {
+                return null;
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Creates a shape whose vertices have fractional coordinates.
+     */
+    private static Shape createShape(String type, double[] vertices) throws IOException {
+        final double[] xPoints = new double[vertices.length / 2];
+        final double[] yPoints = new double[vertices.length / 2];
+        for (int i = 0; i < xPoints.length; i++) {
+            xPoints[i] = vertices[2 * i];
+            yPoints[i] = vertices[2 * i + 1];
+        }
+
+        if ("line".equals(type)) {
+            return ShapeFactory.createPolyline(xPoints, yPoints, xPoints.length);
+        }
+        if (type == null) {
+            throw new IOException("Shape geometry has no type.");
+        }
+        return ShapeFactory.createClosedPath(xPoints, yPoints, xPoints.length);
+    }
+
+    private int[][] readEllipse(int[] center, int[] radii, double[] foci, double[] through) {
+        if (center != null) {
+            return ellipseCalculator.getOrderedPoints(center[0], center[1], radii[0], radii[1]);
+        }
+
+        final Point2D firstFocus = new Point2D.Double(foci[0], foci[1]);
+        final Point2D secondFocus = new Point2D.Double(foci[2], foci[3]);
+        if (through != null) {
+            return ellipseCalculator.getOrderedPoints(firstFocus, secondFocus,
+                    new Point2D.Double(through[0], through[1]));
+        }
+        return ellipseCalculator.getOrderedPointsWithRadius(firstFocus, secondFocus, radii[0], radii[1]);
+    }
+
+    private static int[][] decodeRuns(int[] start, int[] runs) {
+        int n = 1;
+        for (int i = 2; i < runs.length; i += 3) {
+            n += runs[i];
+        }
+
+        final int[][] points = new int[2][n];
+        points[0][0] = start[0];
+        points[1][0] = start[1];
+
+        int k = 1;
+        for (int i = 0; i + 2 < runs.length; i += 3) {
+            for (int j = 0; j < runs[i + 2]; j++, k++) {
+                points[0][k] = points[0][k - 1] + runs[i];
+                points[1][k] = points[1][k - 1] + runs[i + 1];
+            }
+        }
+        return points;
+    }
+
+    private static int[] readIntegers(JsonReader in) throws IOException {
+        int[] values = new int[16];
+        int count = 0;
+
+        in.beginArray();
+        while (in.hasNext()) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, 2 * count);
+            }
+            values[count++] = in.nextInt();
+        }
+        in.endArray();
+
+        return Arrays.copyOf(values, count);
+    }
+
+    private static double[] readDoubles(JsonReader in) throws IOException {
+        double[] values = new double[4];
+        int count = 0;
+
+        in.beginArray();
+        while (in.hasNext()) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, 2 * count);
+            }
+            values[count++] = in.nextDouble();
+        }
+        in.endArray();
+
+        return Arrays.copyOf(values, count);
+    }
+}
@@ -4,8 +4,6 @@ import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
 
-import org.kordamp.ikonli.swing.FontIcon;
-
 /**
  * Used to render an icon inside a table.
  */
@@ -15,10 +13,8 @@ public class IconCellRenderer extends DefaultTableCellRenderer {
             int row, int column) {
         // Use JLabel to handle the icon rendering
         JLabel label = new JLabel();
-        if (value instanceof ImageIcon) {
-            label.setIcon((ImageIcon) value);
-        } else if (value instanceof FontIcon) {
-            label.setIcon((FontIcon) value);
+        if (value instanceof Icon) {
+            label.setIcon((Icon) value);
         }
         // Center the icon
         label.setHorizontalAlignment(CENTER);
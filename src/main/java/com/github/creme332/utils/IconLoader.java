@@ -1,19 +1,68 @@
 package com.github.creme332.utils;
 
 import java.awt.Dimension;
+import java.awt.Graphics2D;
 import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BaseMultiResolutionImage;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import javax.swing.Icon;
 import javax.swing.ImageIcon;
 
 import com.github.creme332.utils.exception.InvalidIconSizeException;
 import com.github.creme332.utils.exception.InvalidPathException;
+import com.github.creme332.view.common.AsyncIcon;
 import com.github.creme332.view.common.SVGIcon;
 import com.github.weisj.jsvg.SVGDocument;
 import com.github.weisj.jsvg.parser.SVGLoader;
 
 public class IconLoader {
+    /**
+     * Largest scale factor of screens for which icons have a resolution variant.
+     */
+    private static final int MAX_RESOLUTION_FACTOR = 2;
+
+    /**
+     * Icons loaded from resources, keyed by path or by path and size. Icons are
+     * softly referenced so that images of tutorials which are no longer displayed
+     * can be released when memory is low.
+     */
+    private static final Map<String, SoftReference<ImageIcon>> iconCache = new ConcurrentHashMap<>();
+
+    /**
+     * jsvg initializes some of its classes lazily, and threads loading their
+     * first SVG at the same time can deadlock on class initialization. The
+     * initializer of this class loads a small SVG, so jsvg is initialized by a
+     * single thread before any SVG icon is loaded.
+     */
+    private static final class SVGLoaderInitializer {
+        static {
+            new SVGLoader().load(new ByteArrayInputStream(
+                    "<svg xmlns=\"http://www.w3.org/2000/svg\"><rect width=\"1\" height=\"1\" fill=\"red\"/></svg>"
+                            .getBytes(StandardCharsets.UTF_8)));
+        }
+
+        static void ensureInitialized() {
+            // initializer has run
+        }
+    }
+
     private IconLoader() {
 
     }
@@ -39,7 +88,8 @@ public class IconLoader {
     }
 
     /**
-     * Returns a resized icon from the resources folder.
+     * Returns a resized icon from the resources folder. Icons are cached so an
+     * image is only decoded and scaled once for each size.
      * 
      * @param path   Path to image. Must start with a forward slash (/). Path is
      *               relative to the resources folder.
@@ -55,12 +105,14 @@ public class IconLoader {
             throw new InvalidIconSizeException("Icon size must be a positive integer");
         }
 
+        final ImageIcon cachedIcon = getCachedIcon(getCacheKey(path, dimension));
+        if (cachedIcon != null) {
+            return cachedIcon;
+        }
+
         try {
-            ImageIcon icon = loadIcon(path);
-            return new ImageIcon(
-                    icon.getImage().getScaledInstance(dimension.width,
-                            dimension.height,
-                            Image.SCALE_DEFAULT));
+            final ImageIcon icon = createScaledIcon(path, dimension);
+            return cacheIcon(getCacheKey(path, dimension), icon);
         } catch (Exception e) {
             throw new InvalidPathException("Failed to load icon from path: " + path, e);
         }
@@ -77,35 +129,217 @@ public class IconLoader {
      * @throws InvalidPathException     if path is invalid
      */
     public static ImageIcon loadIcon(String path, int iconSize) throws InvalidIconSizeException, InvalidPathException {
-        if (iconSize < 1) {
-            throw new InvalidIconSizeException("Icon size must be a positive integer");
+        return loadIcon(path, new Dimension(iconSize, iconSize));
+    }
+
+    /**
+     * Returns an icon from the resources folder. Icons are cached so an image is
+     * only decoded once.
+     * 
+     * @param path Path to image. Must start with a forward slash (/). Path is
+     *             relative to the resources folder.
+     * @return
+     * @throws InvalidPathException if path is invalid
+     */
+    public static ImageIcon loadIcon(String path) throws InvalidPathException {
+        final ImageIcon cachedIcon = getCachedIcon(path);
+        if (cachedIcon != null) {
+            return cachedIcon;
         }
 
-        try {
-            ImageIcon icon = loadIcon(path);
-            return new ImageIcon(
-                    icon.getImage().getScaledInstance(iconSize,
-                            iconSize,
-                            Image.SCALE_DEFAULT));
-        } catch (Exception e) {
-            throw new InvalidPathException("Failed to load icon from path: " + path, e);
+        final URL url = getResource(path);
+        final ImageIcon icon;
+        if (path.endsWith(".gif")) {
+            // ImageIO only decodes the first frame of an animation
+            icon = new ImageIcon(url);
+        } else {
+            icon = new ImageIcon(readImage(url));
         }
+        return cacheIcon(path, icon);
     }
 
     /**
-     * Returns an icon from the resources folder.
+     * Returns an icon which is decoded on a background thread. Only the header of
+     * the image is read on the calling thread to find the size of the icon.
      * 
      * @param path Path to image. Must start with a forward slash (/). Path is
      *             relative to the resources folder.
-     * @return
      * @throws InvalidPathException if path is invalid
      */
-    public static ImageIcon loadIcon(String path) throws InvalidPathException {
+    public static Icon loadIconAsync(String path) throws InvalidPathException {
+        final ImageIcon cachedIcon = getCachedIcon(path);
+        if (cachedIcon != null) {
+            return cachedIcon;
+        }
+
+        final Dimension size = readImageSize(getResource(path));
+        return new AsyncIcon(size.width, size.height, CompletableFuture.supplyAsync(() -> {
+            try {
+                return loadIcon(path);
+            } catch (InvalidPathException e) {
+                throw new CompletionException(e);
+            }
+        }));
+    }
+
+    /**
+     * Returns a resized icon which is decoded and scaled on a background thread.
+     * 
+     * @param path      Path to image. Must start with a forward slash (/). Path is
+     *                  relative to the resources folder.
+     * @param dimension Size of icon in pixels
+     * @throws InvalidIconSizeException if a dimension is less than 1
+     */
+    public static Icon loadIconAsync(String path, Dimension dimension) throws InvalidIconSizeException {
+        if (dimension.height < 1 || dimension.width < 1) {
+            throw new InvalidIconSizeException("Icon size must be a positive integer");
+        }
+
+        final ImageIcon cachedIcon = getCachedIcon(getCacheKey(path, dimension));
+        if (cachedIcon != null) {
+            return cachedIcon;
+        }
+
+        return new AsyncIcon(dimension.width, dimension.height, CompletableFuture.supplyAsync(() -> {
+            try {
+                return loadIcon(path, dimension);
+            } catch (InvalidPathException | InvalidIconSizeException e) {
+                throw new CompletionException(e);
+            }
+        }));
+    }
+
+    private static ImageIcon getCachedIcon(String key) {
+        final SoftReference<ImageIcon> reference = iconCache.get(key);
+        return reference == null ? null : reference.get();
+    }
+
+    /**
+     * Adds an icon to the cache unless another thread has cached the same icon in
+     * the meantime.
+     * 
+     * @return Cached icon
+     */
+    private static ImageIcon cacheIcon(String key, ImageIcon icon) {
+        final ImageIcon[] result = { icon };
+        iconCache.compute(key, (k, reference) -> {
+            final ImageIcon cachedIcon = reference == null ? null : reference.get();
+            if (cachedIcon != null) {
+                result[0] = cachedIcon;
+                return reference;
+            }
+            return new SoftReference<>(icon);
+        });
+        return result[0];
+    }
+
+    private static String getCacheKey(String path, Dimension dimension) {
+        return path + "@" + dimension.width + "x" + dimension.height;
+    }
+
+    private static URL getResource(String path) throws InvalidPathException {
         if (path.length() < 1 || path.charAt(0) != '/') {
             throw new InvalidPathException("Path should start with /");
         }
 
-        return new ImageIcon(IconLoader.class.getResource(path));
+        final URL url = IconLoader.class.getResource(path);
+        if (url == null) {
+            throw new InvalidPathException("Image not found: " + path);
+        }
+        return url;
+    }
+
+    private static BufferedImage readImage(URL url) throws InvalidPathException {
+        try {
+            final BufferedImage image = ImageIO.read(url);
+            if (image == null) {
+                throw new InvalidPathException("Unsupported image format: " + url);
+            }
+            return image;
+        } catch (IOException e) {
+            throw new InvalidPathException("Failed to read image: " + url, e);
+        }
+    }
+
+    /**
+     * Reads the size of an image from its header without decoding it.
+     */
+    private static Dimension readImageSize(URL url) throws InvalidPathException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(url.openStream())) {
+            final Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new InvalidPathException("Unsupported image format: " + url);
+            }
+            final ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                return new Dimension(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new InvalidPathException("Failed to read image: " + url, e);
+        }
+    }
+
+    private static ImageIcon createScaledIcon(String path, Dimension dimension) throws InvalidPathException {
+        if (path.endsWith(".gif")) {
+            // scaling frames of an animation one by one would stop the animation. Frames
+            // are scaled as they are decoded, so SCALE_DEFAULT is kept: the area
+            // averaging filter of SCALE_SMOOTH waits for complete frames and makes the
+            // animation stutter.
+            return new ImageIcon(loadIcon(path).getImage().getScaledInstance(dimension.width, dimension.height,
+                    Image.SCALE_DEFAULT));
+        }
+
+        final BufferedImage source = readImage(getResource(path));
+
+        // keep a variant with twice as many pixels for HiDPI screens if the source
+        // image is large enough
+        final List<Image> variants = new ArrayList<>();
+        variants.add(scaleImage(source, dimension.width, dimension.height));
+        for (int factor = 2; factor <= MAX_RESOLUTION_FACTOR; factor++) {
+            if (source.getWidth() < factor * dimension.width || source.getHeight() < factor * dimension.height) {
+                break;
+            }
+            variants.add(scaleImage(source, factor * dimension.width, factor * dimension.height));
+        }
+
+        if (variants.size() == 1) {
+            return new ImageIcon(variants.get(0));
+        }
+        return new ImageIcon(new BaseMultiResolutionImage(variants.toArray(new Image[0])));
+    }
+
+    /**
+     * Scales an image with bilinear interpolation. Images are downscaled by
+     * halving their size in several steps, since a single step skips most pixels
+     * of the source image and gives poor results.
+     * 
+     * @param source Image to scale
+     * @param width  Width of scaled image
+     * @param height Height of scaled image
+     * @return Scaled image
+     */
+    public static BufferedImage scaleImage(BufferedImage source, int width, int height) {
+        BufferedImage result = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+
+        do {
+            currentWidth = currentWidth / 2 >= width ? currentWidth / 2 : width;
+            currentHeight = currentHeight / 2 >= height ? currentHeight / 2 : height;
+
+            final BufferedImage step = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_ARGB);
+            final Graphics2D g2d = step.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2d.drawImage(result, 0, 0, currentWidth, currentHeight, null);
+            g2d.dispose();
+            result = step;
+        } while (currentWidth != width || currentHeight != height);
+
+        return result;
     }
 
     /**
@@ -133,6 +367,7 @@ public class IconLoader {
             System.exit(0);
         }
 
+        SVGLoaderInitializer.ensureInitialized();
         SVGLoader loader = new SVGLoader();
         SVGDocument svgDocument = loader.load(url);
         return new SVGIcon(svgDocument, dimension.width, dimension.height);
@@ -0,0 +1,70 @@
+package com.github.creme332.utils;
+
+import java.awt.Dimension;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.kordamp.ikonli.Ikon;
+import org.kordamp.ikonli.swing.FontIcon;
+
+import com.github.creme332.view.common.LazyIcon;
+
+/**
+ * Shares icons between components and defers loading them until they are
+ * first painted. This keeps SVG parsing and font loading off the startup path.
+ * Icons can also be loaded ahead of time with preloadAll().
+ */
+public class IconRegistry {
+    private static final Dimension DEFAULT_SVG_DIMENSION = new Dimension(50, 50);
+
+    private static final Map<String, LazyIcon> icons = new ConcurrentHashMap<>();
+
+    private IconRegistry() {
+
+    }
+
+    /**
+     * Returns a 50x50 SVG icon.
+     *
+     * @param path Path to SVG icon relative to the resources folder
+     */
+    public static LazyIcon svg(String path) {
+        return svg(path, DEFAULT_SVG_DIMENSION);
+    }
+
+    /**
+     *
+     * @param path      Path to SVG icon relative to the resources folder
+     * @param dimension Size of icon in pixels
+     */
+    public static LazyIcon svg(String path, Dimension dimension) {
+        final int width = dimension.width;
+        final int height = dimension.height;
+        return icons.computeIfAbsent(path + "@" + width + "x" + height,
+                key -> new LazyIcon(width, height,
+                        () -> IconLoader.loadSVGIcon(path, new Dimension(width, height))));
+    }
+
+    /**
+     *
+     * @param ikon     Font icon
+     * @param iconSize Size of icon in pixels
+     */
+    public static LazyIcon font(Ikon ikon, int iconSize) {
+        return icons.computeIfAbsent(ikon.getDescription() + "@" + iconSize,
+                key -> new LazyIcon(iconSize, iconSize, () -> FontIcon.of(ikon, iconSize)));
+    }
+
+    /**
+     * Loads all icons requested so far in parallel on the common pool.
+     *
+     * @return Future completed once all icons are loaded
+     */
+    public static CompletableFuture<Void> preloadAll() {
+        return CompletableFuture.allOf(icons.values().stream()
+                .filter(icon -> !icon.isLoaded())
+                .map(icon -> CompletableFuture.runAsync(icon::load))
+                .toArray(CompletableFuture[]::new));
+    }
+}
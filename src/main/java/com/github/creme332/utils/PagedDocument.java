@@ -0,0 +1,201 @@
+package com.github.creme332.utils;
+
+import java.awt.Polygon;
+import java.awt.Shape;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Rectangle2D;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.creme332.model.ShapeWrapper;
+
+/**
+ * A .polydraw document whose shapes are loaded on demand. Opening a document
+ * only reads its style table and the bounds of its shapes from the shape index.
+ * The geometry of a shape is decoded from the memory-mapped file the first time
+ * it is needed, for example when the shape becomes visible on the canvas, is
+ * hit-tested or is copied to be edited.
+ *
+ * Decoded shapes form a resident set which is limited to a number of vertices.
+ * When the limit is exceeded, the least recently used shapes are evicted and
+ * will be decoded again if needed.
+ *
+ * The file stays mapped in memory until the document is closed. Shapes of a
+ * closed document can no longer be loaded.
+ */
+public class PagedDocument implements Closeable {
+    /**
+     * Default maximum number of vertices in resident shapes, which amounts to
+     * roughly 32 MB of coordinates.
+     */
+    public static final long DEFAULT_MAX_RESIDENT_VERTICES = 1 << 22;
+
+    private final BinaryShapeReader reader;
+    private final List<ShapeWrapper> shapes;
+    private final long maxResidentVertices;
+
+    /**
+     * Bounds of shapes stored as [minX, minY, maxX, maxY] for each shape. minX is
+     * greater than maxX for shapes with no bounds.
+     */
+    private final int[] bounds;
+
+    /**
+     * Decoded shapes, from least to most recently used.
+     */
+    private final LinkedHashMap<PagedShapeWrapper, ShapeWrapper> residentShapes = new LinkedHashMap<>(16, 0.75f,
+            true);
+    private long residentVertices = 0;
+
+    private PagedDocument(BinaryShapeReader reader, long maxResidentVertices) throws IOException {
+        this.reader = reader;
+        this.maxResidentVertices = maxResidentVertices;
+
+        final ShapeStyle[] styles = new ShapeStyle[reader.getStyleCount()];
+        for (int i = 0; i < styles.length; i++) {
+            styles[i] = reader.getStyle(i);
+        }
+
+        final int shapeCount = reader.getShapeCount();
+        bounds = new int[4 * shapeCount];
+        final List<ShapeWrapper> pagedShapes = new ArrayList<>(shapeCount);
+        for (int i = 0; i < shapeCount; i++) {
+            final int styleIndex = reader.getStyleIndex(i);
+            if (styleIndex < 0 || styleIndex >= styles.length) {
+                throw new IOException("Corrupted index entry for shape " + i + " in .polydraw file.");
+            }
+            pagedShapes.add(new PagedShapeWrapper(this, i, styles[styleIndex]));
+
+            final Rectangle2D shapeBounds = reader.getBounds(i);
+            if (shapeBounds == null) {
+                bounds[4 * i] = 1;
+                bounds[4 * i + 2] = 0;
+            } else {
+                bounds[4 * i] = (int) Math.floor(shapeBounds.getMinX());
+                bounds[4 * i + 1] = (int) Math.floor(shapeBounds.getMinY());
+                bounds[4 * i + 2] = (int) Math.ceil(shapeBounds.getMaxX());
+                bounds[4 * i + 3] = (int) Math.ceil(shapeBounds.getMaxY());
+            }
+        }
+        shapes = Collections.unmodifiableList(pagedShapes);
+    }
+
+    /**
+     * Opens a .polydraw file with the default resident set size.
+     *
+     * @throws IOException if file cannot be read or is not a valid .polydraw file
+     */
+    public static PagedDocument open(Path filePath) throws IOException {
+        return open(filePath, DEFAULT_MAX_RESIDENT_VERTICES);
+    }
+
+    /**
+     * Opens a .polydraw file.
+     *
+     * @param filePath            Path of .polydraw file
+     * @param maxResidentVertices Maximum number of vertices kept in memory
+     * @throws IOException if file cannot be read or is not a valid .polydraw file
+     */
+    public static PagedDocument open(Path filePath, long maxResidentVertices) throws IOException {
+        final BinaryShapeReader reader = BinaryShapeReader.open(filePath);
+        try {
+            return new PagedDocument(reader, maxResidentVertices);
+        } catch (IOException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes and unmaps the file, and evicts all resident shapes.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        residentShapes.clear();
+        residentVertices = 0;
+        reader.close();
+    }
+
+    /**
+     *
+     * @return Read-only list of shapes in document. A shape stops being paged
+     *         once it is modified.
+     */
+    public List<ShapeWrapper> getShapes() {
+        return shapes;
+    }
+
+    /**
+     *
+     * @return Number of shapes whose geometry is currently in memory.
+     */
+    public synchronized int getResidentShapeCount() {
+        return residentShapes.size();
+    }
+
+    Rectangle2D getBounds(int index) {
+        final int minX = bounds[4 * index];
+        final int minY = bounds[4 * index + 1];
+        final int maxX = bounds[4 * index + 2];
+        final int maxY = bounds[4 * index + 3];
+        if (minX > maxX) {
+            return null;
+        }
+        return new Rectangle2D.Double(minX, minY, (double) maxX - minX, (double) maxY - minY);
+    }
+
+    /**
+     * Decodes a shape unless it is resident, and marks it as most recently used.
+     *
+     * @return A shape wrapper holding the geometry and plotted points of the shape
+     */
+    synchronized ShapeWrapper load(PagedShapeWrapper pagedShape) {
+        ShapeWrapper geometry = residentShapes.get(pagedShape);
+        if (geometry != null) {
+            return geometry;
+        }
+
+        try {
+            geometry = reader.readShape(pagedShape.getIndex());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        residentShapes.put(pagedShape, geometry);
+        residentVertices += getVertexCount(geometry.getShape());
+
+        // evict least recently used shapes, except the one just loaded
+        final Iterator<Map.Entry<PagedShapeWrapper, ShapeWrapper>> iterator = residentShapes.entrySet().iterator();
+        while (residentVertices > maxResidentVertices && residentShapes.size() > 1) {
+            final ShapeWrapper evicted = iterator.next().getValue();
+            residentVertices -= getVertexCount(evicted.getShape());
+            iterator.remove();
+        }
+        return geometry;
+    }
+
+    private static int getVertexCount(Shape shape) {
+        if (shape == null) {
+            return 0;
+        }
+        if (shape instanceof Polygon) {
+            return ((Polygon) shape).npoints;
+        }
+
+        int count = 0;
+        final double[] coordinates = new double[6];
+        for (PathIterator iterator = shape.getPathIterator(null); !iterator.isDone(); iterator.next()) {
+            if (iterator.currentSegment(coordinates) != PathIterator.SEG_CLOSE) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,164 @@
+package com.github.creme332.utils;
+
+import java.awt.Shape;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.AbstractList;
+import java.util.List;
+
+import com.github.creme332.model.ShapeWrapper;
+
+/**
+ * A shape of a PagedDocument. Only the style of the shape is kept in memory;
+ * its geometry and plotted points are loaded from the document whenever they
+ * are requested, and may be evicted again afterwards.
+ *
+ * The shape is copied on write: the first time its geometry or plotted points
+ * are modified, they are copied from the document into this wrapper, which
+ * then behaves like a regular ShapeWrapper and is no longer paged. The Shape
+ * object returned by getShape() must still not be modified in place.
+ */
+final class PagedShapeWrapper extends ShapeWrapper {
+    private final PagedDocument document;
+    private final int index;
+
+    /**
+     * True once the geometry and plotted points have been copied into this
+     * wrapper.
+     */
+    private boolean isDetached = false;
+
+    /**
+     * Plotted points of the document until they are modified.
+     */
+    private final List<Point2D> plottedPoints = new PlottedPointsView();
+
+    PagedShapeWrapper(PagedDocument document, int index, ShapeStyle style) {
+        super(style.lineColor, style.lineType, style.lineThickness);
+        this.document = document;
+        this.index = index;
+    }
+
+    /**
+     *
+     * @return Index of shape in document file
+     */
+    int getIndex() {
+        return index;
+    }
+
+    /**
+     * Copies the geometry and plotted points of the document into this wrapper
+     * unless they have already been copied.
+     */
+    private void detach() {
+        if (isDetached) {
+            return;
+        }
+        final ShapeWrapper copy = new ShapeWrapper(document.load(this));
+        super.setShape(copy.getShape());
+        super.getPlottedPoints().addAll(copy.getPlottedPoints());
+        isDetached = true;
+    }
+
+    @Override
+    public Shape getShape() {
+        return isDetached ? super.getShape() : document.load(this).getShape();
+    }
+
+    @Override
+    public List<Point2D> getPlottedPoints() {
+        return plottedPoints;
+    }
+
+    @Override
+    public Rectangle2D getBounds() {
+        return isDetached ? super.getBounds() : document.getBounds(index);
+    }
+
+    /**
+     * The spatial index of a paged shape is not cached since it would keep the
+     * geometry of the shape in memory after it is evicted.
+     */
+    @Override
+    protected boolean isGeometryCacheable() {
+        return isDetached;
+    }
+
+    @Override
+    public void setShape(Shape shape) {
+        detach();
+        super.setShape(shape);
+    }
+
+    @Override
+    public void shear(double[] shearFactors) {
+        detach();
+        super.shear(shearFactors);
+    }
+
+    @Override
+    public void translate(Point2D translationVector) {
+        detach();
+        super.translate(translationVector);
+    }
+
+    @Override
+    public void rotate(double radAngle, Point2D pivot) {
+        detach();
+        super.rotate(radAngle, pivot);
+    }
+
+    @Override
+    public void scale(Point2D scalingPoint, double sx, double sy) {
+        detach();
+        super.scale(scalingPoint, sx, sy);
+    }
+
+    @Override
+    public void reflect(double gradient, double yIntercept) {
+        detach();
+        super.reflect(gradient, yIntercept);
+    }
+
+    /**
+     * Reads the plotted points of the document, and copies them into the wrapper
+     * before the first modification.
+     */
+    private class PlottedPointsView extends AbstractList<Point2D> {
+        private List<Point2D> current() {
+            return isDetached ? PagedShapeWrapper.super.getPlottedPoints()
+                    : document.load(PagedShapeWrapper.this).getPlottedPoints();
+        }
+
+        @Override
+        public Point2D get(int i) {
+            return current().get(i);
+        }
+
+        @Override
+        public int size() {
+            return current().size();
+        }
+
+        @Override
+        public Point2D set(int i, Point2D point) {
+            detach();
+            return current().set(i, point);
+        }
+
+        @Override
+        public void add(int i, Point2D point) {
+            detach();
+            modCount++;
+            current().add(i, point);
+        }
+
+        @Override
+        public Point2D remove(int i) {
+            detach();
+            modCount++;
+            return current().remove(i);
+        }
+    }
+}
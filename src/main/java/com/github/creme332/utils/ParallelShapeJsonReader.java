@@ -0,0 +1,430 @@
+package com.github.creme332.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+
+import com.github.creme332.model.ShapeWrapper;
+
+/**
+ * Reads all shapes of a JSON document using several threads.
+ *
+ * The document is first scanned byte by byte to find where each shape object
+ * of the shapes array starts and ends. The scan only tracks nesting and
+ * strings, which is much cheaper than parsing. Consecutive shapes are then
+ * grouped into chunks which are parsed by ShapeJsonReader on a ForkJoin pool,
+ * each chunk being presented to the reader as a JSON array of its own. Shapes
+ * are stored in the result array at their original positions.
+ *
+ * Both versions of the format are supported. The style table of a version 2
+ * document is read before the chunks are parsed.
+ */
+public class ParallelShapeJsonReader {
+    /**
+     * Chunks smaller than this are not split further.
+     */
+    private static final int MIN_CHUNK_SIZE = 1 << 16;
+
+    /**
+     * Number of chunks per thread of the pool, so that threads which finish
+     * early can take over work from slower ones.
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private static final byte[] ARRAY_START = { '[' };
+    private static final byte[] ARRAY_END = { ']' };
+
+    private final byte[] json;
+
+    /**
+     * Start and end offsets in json of each shape object. The end offset is
+     * exclusive.
+     */
+    private int[] shapeStarts = new int[1024];
+    private int[] shapeEnds = new int[1024];
+    private int shapeCount = 0;
+
+    /**
+     * Offsets of the opening and closing brackets of the shapes array.
+     */
+    private int arrayStart = -1;
+    private int arrayEnd = -1;
+
+    /**
+     * True if the document is a version 2 document object.
+     */
+    private boolean hasHeader = false;
+
+    private ParallelShapeJsonReader(byte[] json) {
+        this.json = json;
+    }
+
+    /**
+     * Reads all shapes of a JSON document on a pool with one thread per core,
+     * which is created for this document.
+     *
+     * @param filePath         Path of JSON document
+     * @param progressListener Receives the percentage of shapes parsed. It may be
+     *                         called from any thread. It may be null.
+     * @return Shapes in the order in which they appear in the document
+     * @throws IOException if the file cannot be read or is not a valid document
+     */
+    public static ShapeWrapper[] readAll(Path filePath, IntConsumer progressListener) throws IOException {
+        return readAll(filePath, progressListener, () -> false);
+    }
+
+    /**
+     * Reads all shapes of a JSON document on a pool with one thread per core,
+     * which is created for this document.
+     *
+     * @param filePath         Path of JSON document
+     * @param progressListener Receives the percentage of shapes parsed. It may be
+     *                         called from any thread. It may be null.
+     * @param isCancelled      Polled from any thread while shapes are parsed.
+     *                         Parsing stops once it returns true.
+     * @return Shapes in the order in which they appear in the document
+     * @throws IOException           if the file cannot be read or is not a valid
+     *                               document
+     * @throws CancellationException if parsing was cancelled
+     */
+    public static ShapeWrapper[] readAll(Path filePath, IntConsumer progressListener, BooleanSupplier isCancelled)
+            throws IOException {
+        final byte[] json = Files.readAllBytes(filePath);
+        final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            return readAll(json, pool, progressListener, isCancelled);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Reads all shapes of a JSON document.
+     *
+     * @param json             UTF-8 encoded document
+     * @param pool             Pool on which chunks are parsed
+     * @param progressListener Receives the percentage of shapes parsed. It may be
+     *                         null.
+     * @throws IOException if the document is not valid
+     */
+    public static ShapeWrapper[] readAll(byte[] json, ForkJoinPool pool, IntConsumer progressListener)
+            throws IOException {
+        return readAll(json, pool, progressListener, () -> false);
+    }
+
+    /**
+     * Reads all shapes of a JSON document.
+     *
+     * @param json             UTF-8 encoded document
+     * @param pool             Pool on which chunks are parsed
+     * @param progressListener Receives the percentage of shapes parsed. It may be
+     *                         null.
+     * @param isCancelled      Polled from any thread while shapes are parsed.
+     *                         Parsing stops once it returns true.
+     * @throws IOException           if the document is not valid
+     * @throws CancellationException if parsing was cancelled
+     */
+    public static ShapeWrapper[] readAll(byte[] json, ForkJoinPool pool, IntConsumer progressListener,
+            BooleanSupplier isCancelled) throws IOException {
+        final ParallelShapeJsonReader reader = new ParallelShapeJsonReader(json);
+        reader.scan();
+        if (reader.arrayStart == -1) {
+            return new ShapeWrapper[0];
+        }
+
+        final List<ShapeStyle> styles = reader.readStyles();
+        final ShapeWrapper[] shapes = new ShapeWrapper[reader.shapeCount];
+        final int targetChunkSize = Math.max(MIN_CHUNK_SIZE,
+                json.length / (CHUNKS_PER_THREAD * pool.getParallelism()));
+
+        // group consecutive shapes into chunks of roughly equal size in bytes
+        final List<ChunkParser> chunks = new ArrayList<>();
+        final AtomicInteger parsedCount = new AtomicInteger();
+        int first = 0;
+        while (first < reader.shapeCount) {
+            int last = first;
+            while (last + 1 < reader.shapeCount
+                    && reader.shapeEnds[last + 1] - reader.shapeStarts[first] <= targetChunkSize) {
+                last++;
+            }
+            chunks.add(reader.new ChunkParser(first, last, styles, shapes, parsedCount, progressListener,
+                    isCancelled));
+            first = last + 1;
+        }
+
+        try {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(chunks);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (CancellationException e) {
+            // not a malformed document although it is an IllegalStateException
+            throw e;
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            // thrown by ShapeJsonReader for unknown enum constants or a malformed document
+            throw new IOException("Invalid shape in JSON document: " + e.getMessage(), e);
+        }
+        return shapes;
+    }
+
+    /**
+     * Parses a range of consecutive shapes.
+     */
+    private class ChunkParser extends RecursiveAction {
+        private final int first;
+        private final int last;
+        private final List<ShapeStyle> styles;
+        private final ShapeWrapper[] shapes;
+        private final AtomicInteger parsedCount;
+        private final IntConsumer progressListener;
+        private final BooleanSupplier isCancelled;
+
+        ChunkParser(int first, int last, List<ShapeStyle> styles, ShapeWrapper[] shapes, AtomicInteger parsedCount,
+                IntConsumer progressListener, BooleanSupplier isCancelled) {
+            this.first = first;
+            this.last = last;
+            this.styles = styles;
+            this.shapes = shapes;
+            this.parsedCount = parsedCount;
+            this.progressListener = progressListener;
+            this.isCancelled = isCancelled;
+        }
+
+        @Override
+        protected void compute() {
+            // shapes and the commas between them form a valid array once enclosed in brackets
+            final InputStream chunk = new SequenceInputStream(
+                    new SequenceInputStream(new ByteArrayInputStream(ARRAY_START),
+                            new ByteArrayInputStream(json, shapeStarts[first], shapeEnds[last] - shapeStarts[first])),
+                    new ByteArrayInputStream(ARRAY_END));
+            final Reader in = new InputStreamReader(chunk, StandardCharsets.UTF_8);
+
+            try (ShapeJsonReader reader = styles == null ? new ShapeJsonReader(in)
+                    : new ShapeJsonReader(in, styles)) {
+                for (int i = first; i <= last; i++) {
+                    if (isCancelled.getAsBoolean()) {
+                        throw new CancellationException("Parsing of JSON document was cancelled.");
+                    }
+                    shapes[i] = reader.next();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            final int count = parsedCount.addAndGet(last - first + 1);
+            if (progressListener != null) {
+                progressListener.accept((int) (count * 100L / shapes.length));
+            }
+        }
+    }
+
+    /**
+     * Reads the style table of a version 2 document by parsing the document
+     * without the content of its shapes array.
+     *
+     * @return Style table, or null for a version 1 document
+     */
+    private List<ShapeStyle> readStyles() throws IOException {
+        if (!hasHeader) {
+            return null;
+        }
+
+        final InputStream document = new SequenceInputStream(new ByteArrayInputStream(json, 0, arrayStart + 1),
+                new ByteArrayInputStream(json, arrayEnd, json.length - arrayEnd));
+        try (ShapeJsonReader reader = new ShapeJsonReader(new InputStreamReader(document, StandardCharsets.UTF_8))) {
+            reader.hasNext();
+            return reader.getStyles();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new IOException("Invalid JSON document header: " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    /**
+     * Finds the shapes array and the offsets of its elements. The shapes array is
+     * the document itself for version 1, and the value of the "shapes" property
+     * for version 2.
+     */
+    private void scan() throws IOException {
+        int i = 0;
+        while (i < json.length && isWhitespace(json[i])) {
+            i++;
+        }
+        if (i == json.length) {
+            throw new IOException("JSON document is empty.");
+        }
+
+        if (json[i] == '[') {
+            scanArray(i);
+            return;
+        }
+        if (json[i] != '{') {
+            throw new IOException("JSON document must be an array or an object.");
+        }
+        hasHeader = true;
+
+        // find "shapes" property among the properties of the document object
+        i++;
+        while (true) {
+            i = skipWhitespace(i);
+            if (json[i] == '}') {
+                return;
+            }
+            if (json[i] == ',') {
+                i = skipWhitespace(i + 1);
+            }
+            if (json[i] != '"') {
+                throw new IOException("Expected property name at offset " + i + ".");
+            }
+            final int nameEnd = skipString(i);
+            final String name = new String(json, i + 1, nameEnd - i - 2, StandardCharsets.UTF_8);
+
+            i = skipWhitespace(nameEnd);
+            if (json[i] != ':') {
+                throw new IOException("Expected ':' at offset " + i + ".");
+            }
+            i = skipWhitespace(i + 1);
+
+            if ("shapes".equals(name) && json[i] == '[') {
+                scanArray(i);
+                return;
+            }
+            i = skipValue(i);
+        }
+    }
+
+    /**
+     * Records the offsets of the elements of an array.
+     *
+     * @param start Offset of opening bracket
+     */
+    private void scanArray(int start) throws IOException {
+        arrayStart = start;
+        int i = skipWhitespace(start + 1);
+        if (json[i] == ']') {
+            arrayEnd = i;
+            return;
+        }
+
+        while (true) {
+            final int end = skipValue(i);
+            addShape(i, end);
+
+            i = skipWhitespace(end);
+            if (json[i] == ']') {
+                arrayEnd = i;
+                return;
+            }
+            if (json[i] != ',') {
+                throw new IOException("Expected ',' or ']' at offset " + i + ".");
+            }
+            i = skipWhitespace(i + 1);
+        }
+    }
+
+    private void addShape(int start, int end) {
+        if (shapeCount == shapeStarts.length) {
+            shapeStarts = Arrays.copyOf(shapeStarts, 2 * shapeCount);
+            shapeEnds = Arrays.copyOf(shapeEnds, 2 * shapeCount);
+        }
+        shapeStarts[shapeCount] = start;
+        shapeEnds[shapeCount] = end;
+        shapeCount++;
+    }
+
+    /**
+     *
+     * @return Offset of first non-whitespace byte at or after i.
+     * @throws IOException if the end of the document is reached
+     */
+    private int skipWhitespace(int i) throws IOException {
+        while (i < json.length && isWhitespace(json[i])) {
+            i++;
+        }
+        if (i == json.length) {
+            throw new IOException("Unexpected end of JSON document.");
+        }
+        return i;
+    }
+
+    /**
+     *
+     * @param start Offset of opening quote
+     * @return Offset after closing quote
+     */
+    private int skipString(int start) throws IOException {
+        for (int i = start + 1; i < json.length; i++) {
+            if (json[i] == '\\') {
+                i++;
+            } else if (json[i] == '"') {
+                return i + 1;
+            }
+        }
+        throw new IOException("Unterminated string at offset " + start + ".");
+    }
+
+    /**
+     * Skips a value without validating it. Bytes of multi-byte UTF-8 characters
+     * never match the ASCII delimiters looked for.
+     *
+     * @param start Offset of first byte of value
+     * @return Offset after value
+     */
+    private int skipValue(int start) throws IOException {
+        int depth = 0;
+        int i = start;
+        while (i < json.length) {
+            final byte b = json[i];
+            if (b == '"') {
+                i = skipString(i);
+                if (depth == 0) {
+                    return i;
+                }
+                continue;
+            }
+            if (b == '[' || b == '{') {
+                depth++;
+            } else if (b == ']' || b == '}') {
+                if (depth == 0) {
+                    // end of enclosing container after a literal
+                    return i;
+                }
+                depth--;
+                if (depth == 0) {
+                    return i + 1;
+                }
+            } else if (depth == 0 && (b == ',' || isWhitespace(b))) {
+                // end of a literal
+                return i;
+            }
+            i++;
+        }
+        if (depth == 0) {
+            return i;
+        }
+        throw new IOException("Unexpected end of JSON document.");
+    }
+}
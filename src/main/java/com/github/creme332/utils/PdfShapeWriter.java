@@ -0,0 +1,245 @@
+package com.github.creme332.utils;
+
+import java.awt.Color;
+import java.awt.geom.Rectangle2D;
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import com.github.creme332.model.LineType;
+
+/**
+ * Writes shapes to a single page PDF document. One document unit is one point.
+ *
+ * The page content is written as a compressed stream while shapes are
+ * written. Objects whose content is only known at the end, such as the length
+ * of the stream and the graphics states used for transparency, are written
+ * after it:
+ *
+ * <pre>
+ * 1 Catalog, 2 Pages, 3 Page, 4 Content stream, 5 Length of stream,
+ * 6 Resources, cross-reference table, trailer
+ * </pre>
+ */
+class PdfShapeWriter extends VectorShapeWriter {
+    private static final int OBJECT_COUNT = 6;
+
+    /**
+     * Distance between the control points and the ends of a cubic Bezier curve
+     * approximating a quarter circle, relative to the radius.
+     */
+    private static final double KAPPA = 0.5522847498;
+
+    private final CountingOutputStream file;
+    private final long[] objectOffsets = new long[OBJECT_COUNT + 1];
+
+    /**
+     * Page content which has not been compressed yet. Content is collected here
+     * since deflating many short writes is slow.
+     */
+    private final StringBuilder content = new StringBuilder();
+    private final DeflaterOutputStream contentStream;
+    private final long contentStart;
+
+    /**
+     * Names of graphics states for each combination of stroke and fill alpha.
+     */
+    private final Map<String, String> graphicsStates = new LinkedHashMap<>();
+
+    PdfShapeWriter(OutputStream out, Rectangle2D bounds) throws IOException {
+        super(bounds, false);
+        file = new CountingOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+
+        // binary comment tells tools that the file contains binary data
+        write("%PDF-1.4\n%\u00e2\u00e3\u00cf\u00d3\n");
+        beginObject(1);
+        write("<< /Type /Catalog /Pages 2 0 R >>\nendobj\n");
+        beginObject(2);
+        write("<< /Type /Pages /Kids [3 0 R] /Count 1 >>\nendobj\n");
+        beginObject(3);
+        write("<< /Type /Page /Parent 2 0 R /MediaBox [0 0 " + getWidth() + " " + getHeight()
+                + "] /Contents 4 0 R /Resources 6 0 R >>\nendobj\n");
+        beginObject(4);
+        write("<< /Length 5 0 R /Filter /FlateDecode >>\nstream\n");
+        contentStart = file.count;
+
+        contentStream = new DeflaterOutputStream(new FilterOutputStream(file) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                // keep file open once stream is finished
+                flush();
+            }
+        }, new Deflater(Deflater.BEST_SPEED), BUFFER_SIZE);
+
+        // butt caps and bevel joins as on the canvas
+        content.append("0 J 2 j\n");
+    }
+
+    private void write(String text) throws IOException {
+        file.write(text.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private void beginObject(int number) throws IOException {
+        objectOffsets[number] = file.count;
+        write(number + " 0 obj\n");
+    }
+
+    /**
+     * Compresses buffered content once it is large enough.
+     */
+    private void flushContent(boolean force) throws IOException {
+        if (force || content.length() >= BUFFER_SIZE) {
+            contentStream.write(content.toString().getBytes(StandardCharsets.ISO_8859_1));
+            content.setLength(0);
+        }
+    }
+
+    @Override
+    void writePath(int count, boolean closed, Color lineColor, LineType lineType, int thickness, Color fillColor)
+            throws IOException {
+        if (count == 0) {
+            return;
+        }
+
+        setGraphicsState(lineColor, fillColor);
+        appendColor(lineColor, "RG");
+        if (fillColor != null) {
+            appendColor(fillColor, "rg");
+        }
+        content.append(thickness).append(" w [");
+        final float[] dashArray = getDashArray(lineType);
+        if (dashArray != null) {
+            for (int i = 0; i < dashArray.length; i++) {
+                if (i > 0) {
+                    content.append(' ');
+                }
+                content.append(format(dashArray[i]));
+            }
+        }
+        content.append("] 0 d\n");
+
+        content.append(xPoints[0]).append(' ').append(yPoints[0]).append(" m\n");
+        for (int i = 1; i < count; i++) {
+            content.append(xPoints[i]).append(' ').append(yPoints[i]).append(" l\n");
+        }
+
+        if (fillColor != null) {
+            // close, fill using even-odd rule and stroke
+            content.append("b*\n");
+        } else {
+            content.append(closed ? "s\n" : "S\n");
+        }
+        flushContent(false);
+    }
+
+    @Override
+    void writePoint(double x, double y, Color color) throws IOException {
+        setGraphicsState(color, color);
+        appendColor(color, "RG");
+        appendColor(color, "rg");
+        content.append("1 w [] 0 d\n");
+
+        // approximate circle by 4 cubic Bezier curves
+        final double r = POINT_RADIUS;
+        final double k = KAPPA * r;
+        content.append(format(x + r)).append(' ').append(format(y)).append(" m\n");
+        appendCurve(x + r, y + k, x + k, y + r, x, y + r);
+        appendCurve(x - k, y + r, x - r, y + k, x - r, y);
+        appendCurve(x - r, y - k, x - k, y - r, x, y - r);
+        appendCurve(x + k, y - r, x + r, y - k, x + r, y);
+        content.append("b\n");
+        flushContent(false);
+    }
+
+    private void appendCurve(double x1, double y1, double x2, double y2, double x3, double y3) {
+        content.append(format(x1)).append(' ').append(format(y1)).append(' ')
+                .append(format(x2)).append(' ').append(format(y2)).append(' ')
+                .append(format(x3)).append(' ').append(format(y3)).append(" c\n");
+    }
+
+    private void appendColor(Color color, String operator) {
+        content.append(format(color.getRed() / 255.0)).append(' ')
+                .append(format(color.getGreen() / 255.0)).append(' ')
+                .append(format(color.getBlue() / 255.0)).append(' ').append(operator).append('\n');
+    }
+
+    /**
+     * Selects a graphics state with the alpha of the given colors. Graphics states
+     * are created as new combinations are encountered.
+     *
+     * @param fillColor Fill color, or null if the path is not filled
+     */
+    private void setGraphicsState(Color lineColor, Color fillColor) {
+        final String key = "/CA " + format(lineColor.getAlpha() / 255.0) + " /ca "
+                + format(fillColor == null ? 1 : fillColor.getAlpha() / 255.0);
+        final String name = graphicsStates.computeIfAbsent(key, k -> "GS" + graphicsStates.size());
+        content.append('/').append(name).append(" gs\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        flushContent(true);
+        contentStream.close();
+        final long contentLength = file.count - contentStart;
+        write("\nendstream\nendobj\n");
+
+        beginObject(5);
+        write(contentLength + "\nendobj\n");
+
+        beginObject(6);
+        final StringBuilder resources = new StringBuilder("<< /ExtGState <<");
+        for (Map.Entry<String, String> entry : graphicsStates.entrySet()) {
+            resources.append(" /").append(entry.getValue()).append(" << /Type /ExtGState ")
+                    .append(entry.getKey()).append(" >>");
+        }
+        resources.append(" >> >>\nendobj\n");
+        write(resources.toString());
+
+        // cross-reference table entries are exactly 20 bytes long
+        final long xrefOffset = file.count;
+        final StringBuilder xref = new StringBuilder("xref\n0 " + (OBJECT_COUNT + 1) + "\n");
+        xref.append("0000000000 65535 f \n");
+        for (int i = 1; i <= OBJECT_COUNT; i++) {
+            xref.append(String.format("%010d 00000 n \n", objectOffsets[i]));
+        }
+        xref.append("trailer\n<< /Size ").append(OBJECT_COUNT + 1).append(" /Root 1 0 R >>\nstartxref\n")
+                .append(xrefOffset).append("\n%%EOF\n");
+        write(xref.toString());
+        file.close();
+    }
+
+    /**
+     * Keeps track of the number of bytes written, which is needed for the
+     * cross-reference table.
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+        long count = 0;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
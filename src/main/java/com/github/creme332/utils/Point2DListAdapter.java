@@ -1,50 +1,69 @@
 package com.github.creme332.utils;
 
 import java.awt.geom.Point2D;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonSerializationContext;
-import com.google.gson.JsonSerializer;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
-import java.lang.reflect.Type;
-
-public class Point2DListAdapter implements JsonSerializer<List<Point2D>>, JsonDeserializer<List<Point2D>> {
+public class Point2DListAdapter extends TypeAdapter<List<Point2D>> {
 
     @Override
-    public JsonElement serialize(List<Point2D> points, Type typeOfSrc, JsonSerializationContext context) {
-        JsonArray jsonArray = new JsonArray();
+    public void write(JsonWriter out, List<Point2D> points) throws IOException {
+        if (points == null) {
+            out.nullValue();
+            return;
+        }
 
         // Serialize each Point2D object in the list
+        out.beginArray();
         for (Point2D point : points) {
-            JsonObject jsonPoint = new JsonObject();
-            jsonPoint.addProperty("x", point.getX());
-            jsonPoint.addProperty("y", point.getY());
-            jsonArray.add(jsonPoint);
+            out.beginObject();
+            out.name("x").value(point.getX());
+            out.name("y").value(point.getY());
+            out.endObject();
         }
-
-        return jsonArray;
+        out.endArray();
     }
 
     @Override
-    public List<Point2D> deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
-            throws JsonParseException {
-        JsonArray jsonArray = json.getAsJsonArray();
+    public List<Point2D> read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
         List<Point2D> points = new ArrayList<>();
 
         // Deserialize each JSON object into a Point2D object
-        for (JsonElement element : jsonArray) {
-            JsonObject jsonPoint = element.getAsJsonObject();
-            double x = jsonPoint.get("x").getAsDouble();
-            double y = jsonPoint.get("y").getAsDouble();
-            points.add(new Point2D.Double(x, y)); // Assuming you use Point2D.Double
+        in.beginArray();
+        while (in.hasNext()) {
+            double x = 0;
+            double y = 0;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "x":
+                        x = in.nextDouble();
+                        break;
+                    case "y":
+                        y = in.nextDouble();
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+
+            points.add(new Point2D.Double(x, y));
         }
+        in.endArray();
 
         return points;
     }
@@ -0,0 +1,114 @@
+package com.github.creme332.utils;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds items, such as tutorials, whose keywords are similar to a search query.
+ * An item matches if some word of the query is within
+ * FuzzySearching.MAX_DISTANCE of some keyword of the item, exactly as with
+ * FuzzySearching.match().
+ *
+ * Each distinct keyword is stored once together with the items having it, and
+ * keywords are grouped by length. Strings whose lengths differ by more than
+ * MAX_DISTANCE cannot be similar, so a query word is only compared to keywords
+ * of nearby lengths, and never to a keyword whose items already match.
+ *
+ * @param <T> Type of items
+ */
+public class SearchIndex<T> {
+    private final List<T> items = new ArrayList<>();
+
+    /**
+     * Indices of items having each keyword.
+     */
+    private final Map<String, List<Integer>> keywordItems = new HashMap<>();
+
+    /**
+     * Keywords grouped by length. The list at index i holds keywords of length i.
+     */
+    private final List<List<String>> keywordsByLength = new ArrayList<>();
+
+    /**
+     * Adds an item to the index.
+     *
+     * @param item     Item
+     * @param keywords Keywords of item
+     */
+    public void add(T item, String... keywords) {
+        final int index = items.size();
+        items.add(item);
+        for (String keyword : keywords) {
+            final List<Integer> itemsOfKeyword = keywordItems.computeIfAbsent(keyword.toLowerCase(),
+                    this::addKeyword);
+            if (itemsOfKeyword.isEmpty() || itemsOfKeyword.get(itemsOfKeyword.size() - 1) != index) {
+                itemsOfKeyword.add(index);
+            }
+        }
+    }
+
+    private List<Integer> addKeyword(String keyword) {
+        while (keywordsByLength.size() <= keyword.length()) {
+            keywordsByLength.add(new ArrayList<>());
+        }
+        keywordsByLength.get(keyword.length()).add(keyword);
+        return new ArrayList<>(1);
+    }
+
+    /**
+     *
+     * @param searchQuery Words separated by spaces
+     * @return Items matching the query, in the order in which they were added.
+     */
+    public List<T> search(String searchQuery) {
+        final int maxDistance = FuzzySearching.MAX_DISTANCE;
+        final BitSet matches = new BitSet();
+
+        for (String word : searchQuery.toLowerCase().split(" ")) {
+            final int minLength = Math.max(0, word.length() - maxDistance);
+            final int maxLength = Math.min(keywordsByLength.size() - 1, word.length() + maxDistance);
+
+            for (int length = minLength; length <= maxLength; length++) {
+                for (String keyword : keywordsByLength.get(length)) {
+                    final List<Integer> itemsOfKeyword = keywordItems.get(keyword);
+                    if (isMatched(itemsOfKeyword, matches)) {
+                        continue;
+                    }
+
+                    if (FuzzySearching.levenshteinDistance(word, keyword, maxDistance) <= maxDistance) {
+                        for (int index : itemsOfKeyword) {
+                            matches.set(index);
+                        }
+                    }
+                }
+            }
+        }
+
+        final List<T> result = new ArrayList<>();
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            result.add(items.get(i));
+        }
+        return result;
+    }
+
+    /**
+     *
+     * @return True if all items of a keyword already match, in which case the
+     *         keyword does not need to be compared to the query.
+     */
+    private static boolean isMatched(List<Integer> itemsOfKeyword, BitSet matches) {
+        for (int index : itemsOfKeyword) {
+            if (!matches.get(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        return items.size();
+    }
+}
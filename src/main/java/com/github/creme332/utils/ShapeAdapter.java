@@ -2,75 +2,138 @@ package com.github.creme332.utils;
 
 import java.awt.Polygon;
 import java.awt.Shape;
-import java.lang.reflect.Type;
+import java.awt.geom.PathIterator;
+import java.io.IOException;
+import java.util.Arrays;
 
-import com.github.creme332.controller.canvas.drawing.DrawLine;
+import com.github.creme332.core.ShapeFactory;
 import com.github.creme332.model.ShapeWrapper;
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonSerializationContext;
-import com.google.gson.JsonSerializer;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * Class for GSON to help in serializing/deserializing a Shape from ShapeWrapper.
  * Such a shape can only be a Polygon or a Path2D.
+ *
+ * Coordinates are streamed directly to and from the JSON document without
+ * building an intermediate JSON tree.
  */
-public class ShapeAdapter implements JsonSerializer<Shape>, JsonDeserializer<Shape> {
+public class ShapeAdapter extends TypeAdapter<Shape> {
 
     @Override
-    public JsonElement serialize(Shape shape, Type typeOfSrc, JsonSerializationContext context) {
-        JsonObject jsonShape = new JsonObject();
-        Gson gson = new Gson();
-
-        // create a list of x and y coordinates
-        double[][] coords = ShapeWrapper.getCoordinates(shape);
-        JsonArray xcoordinatesArray = new JsonArray();
-        JsonArray ycoordinatesArray = new JsonArray();
-
-        // Iterate through the 2D array and convert the coordinates to integers
-        for (int i = 0; i < coords.length; i++) {
-            xcoordinatesArray.add((int) coords[i][0]); // Convert and store the x-coordinate
-            ycoordinatesArray.add((int) coords[i][1]); // Convert and store the y-coordinate
+    public void write(JsonWriter out, Shape shape) throws IOException {
+        if (shape == null) {
+            out.nullValue();
+            return;
         }
 
-        jsonShape.add("xCoordinates", xcoordinatesArray);
-        jsonShape.add("yCoordinates", ycoordinatesArray);
-        jsonShape.addProperty("isLine", gson.toJson(ShapeWrapper.isLine(shape)));
+        out.beginObject();
 
-        return jsonShape;
+        out.name("xCoordinates");
+        writeCoordinates(out, shape, 0);
+
+        out.name("yCoordinates");
+        writeCoordinates(out, shape, 1);
+
+        // isLine is stored as a string for compatibility with older exports
+        out.name("isLine").value(Boolean.toString(ShapeWrapper.isLine(shape)));
+
+        out.endObject();
+    }
+
+    /**
+     * Writes x-coordinates (axis = 0) or y-coordinates (axis = 1) of a shape as
+     * an array of integers. The points written are the same as the ones returned
+     * by ShapeWrapper.getCoordinates().
+     */
+    private static void writeCoordinates(JsonWriter out, Shape shape, int axis) throws IOException {
+        out.beginArray();
+
+        if (shape instanceof Polygon) {
+            final Polygon polygon = (Polygon) shape;
+            final int[] points = axis == 0 ? polygon.xpoints : polygon.ypoints;
+            for (int i = 0; i < polygon.npoints; i++) {
+                out.value(points[i]);
+            }
+        } else {
+            final double[] coords = new double[6];
+            for (PathIterator it = shape.getPathIterator(null); !it.isDone(); it.next()) {
+                switch (it.currentSegment(coords)) {
+                    case PathIterator.SEG_MOVETO:
+                    case PathIterator.SEG_LINETO:
+                        out.value((int) coords[axis]);
+                        break;
+                    case PathIterator.SEG_QUADTO:
+                        out.value((int) coords[axis]);
+                        out.value((int) coords[2 + axis]);
+                        break;
+                    case PathIterator.SEG_CUBICTO:
+                        out.value((int) coords[axis]);
+                        out.value((int) coords[2 + axis]);
+                        out.value((int) coords[4 + axis]);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        out.endArray();
     }
 
     @Override
-    public Shape deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) {
-        JsonObject jsonObject = json.getAsJsonObject();
-        final boolean isLine = jsonObject.get("isLine").getAsBoolean();
-
-        // get array of x-coordinates
-        final JsonArray xCoordinatesObj = jsonObject.get("xCoordinates").getAsJsonArray();
-        int[] xCoordinates = new int[xCoordinatesObj.size()];
-        for (int i = 0; i < xCoordinatesObj.size(); i++) {
-            xCoordinates[i] = xCoordinatesObj.get(i).getAsInt();
+    public Shape read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
         }
 
-        // get array of y-coordinates
-        final JsonArray yCoordinatesObj = jsonObject.get("yCoordinates").getAsJsonArray();
-        int[] yCoordinates = new int[yCoordinatesObj.size()];
-        for (int i = 0; i < yCoordinatesObj.size(); i++) {
-            yCoordinates[i] = yCoordinatesObj.get(i).getAsInt();
+        boolean isLine = false;
+        int[] xCoordinates = new int[0];
+        int[] yCoordinates = new int[0];
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "xCoordinates":
+                    xCoordinates = readIntegers(in);
+                    break;
+                case "yCoordinates":
+                    yCoordinates = readIntegers(in);
+                    break;
+                case "isLine":
+                    isLine = in.peek() == JsonToken.STRING ? Boolean.parseBoolean(in.nextString())
+                            : in.nextBoolean();
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
         }
+        in.endObject();
 
         // reconstruct shape
-        Shape shape;
         if (isLine) {
-            shape = DrawLine.createPolyline(xCoordinates, yCoordinates, xCoordinates.length);
-        } else {
-            shape = new Polygon(xCoordinates, yCoordinates, xCoordinates.length);
+            return ShapeFactory.createPolyline(xCoordinates, yCoordinates, xCoordinates.length);
+        }
+        return new Polygon(xCoordinates, yCoordinates, xCoordinates.length);
+    }
+
+    private static int[] readIntegers(JsonReader in) throws IOException {
+        int[] values = new int[16];
+        int count = 0;
+
+        in.beginArray();
+        while (in.hasNext()) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, 2 * count);
+            }
+            values[count++] = in.nextInt();
         }
+        in.endArray();
 
-        return shape;
+        return Arrays.copyOf(values, count);
     }
 }
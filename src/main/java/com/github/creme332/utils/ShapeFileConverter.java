@@ -0,0 +1,51 @@
+package com.github.creme332.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.creme332.model.ShapeWrapper;
+
+/**
+ * Converts documents between the JSON format and the binary .polydraw format.
+ */
+public class ShapeFileConverter {
+
+    private ShapeFileConverter() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     *
+     * @param filePath Path of a document
+     * @return True if the file uses the binary format, based on its extension.
+     */
+    public static boolean isBinaryFile(Path filePath) {
+        return filePath.getFileName().toString().toLowerCase().endsWith("." + BinaryShapeFormat.FILE_EXTENSION);
+    }
+
+    public static void jsonToBinary(Path jsonPath, Path binaryPath) throws IOException {
+        // the style table of the binary format requires all shapes to be known
+        final List<ShapeWrapper> shapes = new ArrayList<>();
+        try (ShapeJsonReader reader = new ShapeJsonReader(Files.newBufferedReader(jsonPath, StandardCharsets.UTF_8))) {
+            while (reader.hasNext()) {
+                shapes.add(reader.next());
+            }
+        }
+        BinaryShapeWriter.write(shapes, binaryPath);
+    }
+
+    public static void binaryToJson(Path binaryPath, Path jsonPath) throws IOException {
+        try (BinaryShapeReader reader = BinaryShapeReader.open(binaryPath);
+                Writer out = Files.newBufferedWriter(jsonPath, StandardCharsets.UTF_8);
+                ShapeJsonWriter writer = new ShapeJsonWriter(out)) {
+            for (int i = 0; i < reader.getShapeCount(); i++) {
+                writer.write(reader.readShape(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,579 @@
+package com.github.creme332.utils;
+
+import static com.github.creme332.utils.BinaryShapeFormat.MAX_VARINT_SIZE;
+import static com.github.creme332.utils.BinaryShapeFormat.getGeometry;
+import static com.github.creme332.utils.BinaryShapeFormat.getMaxGeometrySize;
+import static com.github.creme332.utils.BinaryShapeFormat.getVarint;
+import static com.github.creme332.utils.BinaryShapeFormat.putGeometry;
+import static com.github.creme332.utils.BinaryShapeFormat.putVarint;
+
+import java.awt.Color;
+import java.awt.Shape;
+import java.awt.geom.Point2D;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import com.github.creme332.model.LineType;
+import com.github.creme332.model.ShapeManager;
+import com.github.creme332.model.ShapeMutationListener;
+import com.github.creme332.model.ShapeWrapper;
+
+/**
+ * Append-only journal of the changes made to the shapes of a ShapeManager,
+ * used to recover a drawing after a crash.
+ *
+ * The recovery directory holds at most one generation of files:
+ *
+ * <pre>
+ * snapshot-N.polydraw   shapes at the start of generation N (binary format)
+ * journal-N.log         changes made since snapshot N
+ * </pre>
+ *
+ * Each journal record is framed as [payload length (int), CRC32 of payload
+ * (int), payload] so that a record torn by a crash is detected and ignored.
+ *
+ * Changes are encoded on the thread modifying the shapes and written by a
+ * background thread. The writer drains all pending records before calling
+ * fsync once, so bursts of changes share a single disk flush. Once the journal
+ * grows larger than the last snapshot, a new snapshot is written and a new
+ * generation begins, which keeps the time needed to recover proportional to
+ * the size of the drawing rather than the length of its history.
+ */
+public class ShapeJournal implements ShapeMutationListener, Closeable {
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String JOURNAL_PREFIX = "journal-";
+    private static final String JOURNAL_EXTENSION = ".log";
+    private static final Pattern SNAPSHOT_NAME = Pattern
+            .compile(SNAPSHOT_PREFIX + "(\\d+)\\." + BinaryShapeFormat.FILE_EXTENSION);
+
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    private static final long FLUSH_POLL_INTERVAL_MS = 100;
+
+    /**
+     * Journals smaller than this are never compacted, however small the
+     * snapshot.
+     */
+    private static final long MIN_COMPACTION_SIZE = 1 << 20;
+
+    // Record types
+    private static final byte ADD = 1;
+    private static final byte REMOVE = 2;
+    private static final byte REPLACE = 3;
+
+    /**
+     * An entry of the queue processed by the writer thread. Exactly one field is
+     * not null.
+     */
+    private static final class Entry {
+        final byte[] record;
+        final List<ShapeWrapper> snapshot;
+        final CountDownLatch flushed;
+
+        Entry(byte[] record, List<ShapeWrapper> snapshot, CountDownLatch flushed) {
+            this.record = record;
+            this.snapshot = snapshot;
+            this.flushed = flushed;
+        }
+    }
+
+    private static final Entry STOP = new Entry(null, null, null);
+
+    private final Path directory;
+    private final List<ShapeWrapper> recoveredShapes;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+
+    /**
+     * Shape manager whose changes are recorded. It is used to take snapshots.
+     */
+    private ShapeManager shapeManager;
+
+    // Accessed by writer thread only
+    private long generation;
+    private FileChannel journal;
+
+    /**
+     * Size of last snapshot written.
+     */
+    private volatile long snapshotSize;
+
+    /**
+     * Set by writer thread when a write fails. The journal then stops recording.
+     */
+    private volatile IOException failure;
+
+    /**
+     * Number of bytes queued since the last snapshot was requested. Accessed by
+     * the thread modifying the shapes only.
+     */
+    private long journalSize;
+
+    private ShapeJournal(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+
+        // find latest generation
+        generation = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                final Matcher matcher = SNAPSHOT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    generation = Math.max(generation, Long.parseLong(matcher.group(1)));
+                }
+            }
+        }
+
+        recoveredShapes = new ArrayList<>();
+        final Path snapshotPath = getSnapshotPath(generation);
+        if (Files.exists(snapshotPath)) {
+            recoveredShapes.addAll(Arrays.asList(BinaryShapeReader.readAll(snapshotPath)));
+            snapshotSize = Files.size(snapshotPath);
+        }
+
+        final Path journalPath = getJournalPath(generation);
+        final boolean replayed = Files.exists(journalPath) && replay(journalPath, recoveredShapes) > 0;
+
+        if (replayed) {
+            // start afresh so that history is not replayed again on next recovery
+            writeSnapshot(recoveredShapes);
+        } else {
+            journal = openJournal(journalPath);
+            deleteOldGenerations();
+        }
+
+        writerThread = new Thread(this::writeEntries, "shape-journal");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Opens the journal stored in a directory, recovering the shapes saved by a
+     * previous session. The directory is created if it does not exist.
+     *
+     * @param directory Recovery directory
+     * @throws IOException if the directory cannot be read or written
+     */
+    public static ShapeJournal open(Path directory) throws IOException {
+        return new ShapeJournal(directory);
+    }
+
+    /**
+     *
+     * @return Shapes saved by the previous session. The list is empty if the
+     *         previous session ended normally.
+     */
+    public List<ShapeWrapper> getRecoveredShapes() {
+        return recoveredShapes;
+    }
+
+    /**
+     * Starts recording the changes made to the shapes of a shape manager.
+     */
+    public void attach(ShapeManager manager) {
+        shapeManager = manager;
+        manager.setMutationListener(this);
+    }
+
+    @Override
+    public void shapeAdded(ShapeWrapper shape) {
+        final ByteBuffer buffer = ByteBuffer.allocate(1 + getMaxShapeSize(shape));
+        buffer.put(ADD);
+        putShape(buffer, shape);
+        append(buffer);
+    }
+
+    @Override
+    public void shapeRemoved(int index) {
+        final ByteBuffer buffer = ByteBuffer.allocate(1 + MAX_VARINT_SIZE);
+        buffer.put(REMOVE);
+        putVarint(buffer, index);
+        append(buffer);
+    }
+
+    @Override
+    public void shapeReplaced(int index, ShapeWrapper newShape) {
+        final ByteBuffer buffer = ByteBuffer.allocate(1 + MAX_VARINT_SIZE + getMaxShapeSize(newShape));
+        buffer.put(REPLACE);
+        putVarint(buffer, index);
+        putShape(buffer, newShape);
+        append(buffer);
+    }
+
+    @Override
+    public void shapesReplaced(List<ShapeWrapper> shapes) {
+        requestSnapshot(new ArrayList<>(shapes));
+    }
+
+    /**
+     * Blocks until all changes recorded so far are on disk.
+     *
+     * @throws IOException if the journal could not be written
+     */
+    public void flush() throws IOException {
+        final CountDownLatch flushed = new CountDownLatch(1);
+        queue.add(new Entry(null, null, flushed));
+        try {
+            while (!flushed.await(FLUSH_POLL_INTERVAL_MS, TimeUnit.MILLISECONDS) && writerThread.isAlive()) {
+                // keep waiting while writer is running
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while flushing shape journal.", e);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Stops recording changes. The recovery files are kept so that the shapes are
+     * recovered by the next session.
+     */
+    @Override
+    public void close() throws IOException {
+        if (shapeManager != null) {
+            shapeManager.setMutationListener(null);
+        }
+        queue.add(STOP);
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while closing shape journal.", e);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Stops recording changes and deletes the recovery files. This should be
+     * called when the application exits normally.
+     */
+    public void discard() throws IOException {
+        try {
+            close();
+        } finally {
+            deleteGenerationsBefore(Long.MAX_VALUE);
+        }
+    }
+
+    private void append(ByteBuffer payload) {
+        if (failure != null) {
+            return;
+        }
+
+        final byte[] record = new byte[RECORD_HEADER_SIZE + payload.position()];
+        final CRC32 crc = new CRC32();
+        crc.update(payload.array(), 0, payload.position());
+
+        final ByteBuffer recordBuffer = ByteBuffer.wrap(record);
+        recordBuffer.putInt(payload.position());
+        recordBuffer.putInt((int) crc.getValue());
+        recordBuffer.put(payload.array(), 0, payload.position());
+        queue.add(new Entry(record, null, null));
+
+        journalSize += record.length;
+        if (journalSize > Math.max(MIN_COMPACTION_SIZE, snapshotSize) && shapeManager != null) {
+            requestSnapshot(new ArrayList<>(shapeManager.getShapesView()));
+        }
+    }
+
+    /**
+     *
+     * @param shapes A copy of the shapes array. Shapes in the array are never
+     *               modified after being added to a shape manager so they need not
+     *               be copied.
+     */
+    private void requestSnapshot(List<ShapeWrapper> shapes) {
+        if (failure != null) {
+            return;
+        }
+        journalSize = 0;
+        queue.add(new Entry(null, shapes, null));
+    }
+
+    /**
+     * Main loop of the writer thread.
+     */
+    private void writeEntries() {
+        final List<Entry> batch = new ArrayList<>();
+        final List<CountDownLatch> latches = new ArrayList<>();
+        boolean running = true;
+
+        while (running) {
+            batch.clear();
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            queue.drainTo(batch);
+
+            final List<ByteBuffer> records = new ArrayList<>();
+            try {
+                for (Entry entry : batch) {
+                    if (entry == STOP) {
+                        running = false;
+                        break;
+                    }
+                    if (entry.record != null) {
+                        records.add(ByteBuffer.wrap(entry.record));
+                    } else if (entry.snapshot != null) {
+                        // records queued before the snapshot belong to the old generation
+                        writeRecords(records);
+                        records.clear();
+                        writeSnapshot(entry.snapshot);
+                    } else {
+                        latches.add(entry.flushed);
+                    }
+                }
+                writeRecords(records);
+            } catch (IOException e) {
+                failure = e;
+                running = false;
+            }
+
+            for (CountDownLatch latch : latches) {
+                latch.countDown();
+            }
+            latches.clear();
+        }
+
+        // release threads waiting for a flush that will never happen
+        batch.addAll(queue);
+        for (Entry entry : batch) {
+            if (entry.flushed != null) {
+                entry.flushed.countDown();
+            }
+        }
+
+        try {
+            if (journal != null) {
+                journal.close();
+            }
+        } catch (IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+    }
+
+    /**
+     * Appends records to the journal file and forces them to disk.
+     */
+    private void writeRecords(List<ByteBuffer> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        final ByteBuffer[] buffers = records.toArray(new ByteBuffer[0]);
+        long remaining = 0;
+        for (ByteBuffer buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+        while (remaining > 0) {
+            remaining -= journal.write(buffers);
+        }
+        journal.force(false);
+    }
+
+    /**
+     * Writes a snapshot and starts a new generation. BinaryShapeWriter only
+     * creates the snapshot file once its content is on disk, so that a crash
+     * leaves either the old or the new generation intact.
+     */
+    private void writeSnapshot(List<ShapeWrapper> shapes) throws IOException {
+        final long newGeneration = generation + 1;
+        final Path snapshotPath = getSnapshotPath(newGeneration);
+        BinaryShapeWriter.write(shapes, snapshotPath);
+
+        if (journal != null) {
+            journal.close();
+        }
+        journal = openJournal(getJournalPath(newGeneration));
+        generation = newGeneration;
+        snapshotSize = Files.size(snapshotPath);
+
+        deleteOldGenerations();
+    }
+
+    private static FileChannel openJournal(Path journalPath) throws IOException {
+        return FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private void deleteOldGenerations() throws IOException {
+        deleteGenerationsBefore(generation);
+    }
+
+    /**
+     * Deletes all recovery files of generations older than the given generation,
+     * including unfinished snapshots.
+     */
+    private void deleteGenerationsBefore(long newestGeneration) throws IOException {
+        final List<Path> oldFiles = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                final String name = file.getFileName().toString();
+                final long fileGeneration = getGeneration(name);
+                if (fileGeneration >= 0 && (fileGeneration < newestGeneration || name.endsWith(".tmp"))) {
+                    oldFiles.add(file);
+                }
+            }
+        }
+        for (Path file : oldFiles) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     *
+     * @return Generation of a recovery file, or -1 if the name is not that of a
+     *         recovery file.
+     */
+    private static long getGeneration(String fileName) {
+        String prefix;
+        if (fileName.startsWith(SNAPSHOT_PREFIX)) {
+            prefix = SNAPSHOT_PREFIX;
+        } else if (fileName.startsWith(JOURNAL_PREFIX)) {
+            prefix = JOURNAL_PREFIX;
+        } else {
+            return -1;
+        }
+
+        int end = prefix.length();
+        while (end < fileName.length() && Character.isDigit(fileName.charAt(end))) {
+            end++;
+        }
+        if (end == prefix.length()) {
+            return -1;
+        }
+        return Long.parseLong(fileName.substring(prefix.length(), end));
+    }
+
+    private Path getSnapshotPath(long snapshotGeneration) {
+        return directory.resolve(SNAPSHOT_PREFIX + snapshotGeneration + "." + BinaryShapeFormat.FILE_EXTENSION);
+    }
+
+    private Path getJournalPath(long journalGeneration) {
+        return directory.resolve(JOURNAL_PREFIX + journalGeneration + JOURNAL_EXTENSION);
+    }
+
+    /**
+     * Applies the records of a journal file to a shapes array. Replay stops at the
+     * first incomplete or corrupted record, which is expected at the end of the
+     * journal if the application crashed while writing it.
+     *
+     * @return Number of records applied
+     */
+    private static int replay(Path journalPath, List<ShapeWrapper> shapes) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(journalPath));
+        final CRC32 crc = new CRC32();
+        int recordCount = 0;
+
+        while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+            final int length = buffer.getInt();
+            final int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                break;
+            }
+
+            crc.reset();
+            crc.update(buffer.array(), buffer.position(), length);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+
+            final ByteBuffer payload = buffer.slice();
+            payload.limit(length);
+            buffer.position(buffer.position() + length);
+
+            try {
+                final byte type = payload.get();
+                if (type == ADD) {
+                    shapes.add(getShape(payload));
+                } else if (type == REMOVE) {
+                    shapes.remove(getVarint(payload));
+                } else if (type == REPLACE) {
+                    final int index = getVarint(payload);
+                    shapes.set(index, getShape(payload));
+                } else {
+                    break;
+                }
+            } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+                    | NegativeArraySizeException e) {
+                break;
+            }
+            recordCount++;
+        }
+        return recordCount;
+    }
+
+    /**
+     *
+     * @return Maximum number of bytes used by putShape() to encode a shape.
+     */
+    private static int getMaxShapeSize(ShapeWrapper wrapper) {
+        return 9 + getMaxGeometrySize(wrapper.getShape()) + MAX_VARINT_SIZE + 16 * wrapper.getPlottedPoints().size();
+    }
+
+    /**
+     * Encodes a shape as a shape record of a .polydraw file, with the style
+     * written in place of the style index.
+     */
+    private static void putShape(ByteBuffer buffer, ShapeWrapper wrapper) {
+        buffer.putInt(wrapper.getLineColor().getRGB());
+        buffer.put((byte) wrapper.getLineType().ordinal());
+        buffer.putInt(wrapper.getLineThickness());
+
+        try {
+            putGeometry(bytes -> buffer, wrapper.getShape());
+        } catch (IOException e) {
+            // the buffer is never flushed, so nothing can fail
+            throw new IllegalStateException(e);
+        }
+
+        final List<Point2D> plottedPoints = wrapper.getPlottedPoints();
+        putVarint(buffer, plottedPoints.size());
+        for (Point2D point : plottedPoints) {
+            buffer.putDouble(point.getX());
+            buffer.putDouble(point.getY());
+        }
+    }
+
+    private static ShapeWrapper getShape(ByteBuffer buffer) throws IOException {
+        final Color color = new Color(buffer.getInt(), true);
+        final LineType lineType = LineType.values()[buffer.get()];
+        final ShapeWrapper wrapper = new ShapeWrapper(color, lineType, buffer.getInt());
+
+        final Shape shape = getGeometry(buffer);
+        if (shape != null) {
+            wrapper.setShape(shape);
+        }
+
+        final int plottedPointsCount = getVarint(buffer);
+        for (int i = 0; i < plottedPointsCount; i++) {
+            wrapper.getPlottedPoints().add(new Point2D.Double(buffer.getDouble(), buffer.getDouble()));
+        }
+        return wrapper;
+    }
+}
@@ -0,0 +1,340 @@
+package com.github.creme332.utils;
+
+import java.awt.Color;
+import java.awt.Polygon;
+import java.awt.Shape;
+import java.awt.geom.Point2D;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.github.creme332.core.ShapeFactory;
+import com.github.creme332.model.LineType;
+import com.github.creme332.model.ShapeWrapper;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Reads shapes one at a time from a JSON document produced when the canvas is
+ * exported. Unlike Gson.fromJson(), no intermediate JSON tree is built and the
+ * whole file never has to be in memory.
+ *
+ * Two versions of the format are supported:
+ * <ul>
+ * <li>version 1, an array of ShapeWrapper objects in the format of
+ * ShapeAdapter, ColorAdapter and Point2DListAdapter. Coordinates are read into
+ * buffers which are reused from one shape to the next.</li>
+ * <li>version 2, written by ShapeJsonV2Writer. Geometry is regenerated by
+ * GeometryCodec.</li>
+ * </ul>
+ * Unknown properties are ignored.
+ */
+public class ShapeJsonReader implements Closeable {
+    private final JsonReader reader;
+    private final ColorAdapter colorAdapter = new ColorAdapter();
+    private final Point2DListAdapter pointsAdapter = new Point2DListAdapter();
+    private boolean hasStarted = false;
+    private boolean hasEnded = false;
+
+    /**
+     * True if shapes array is a property of a version 2 document object.
+     */
+    private boolean hasHeader = false;
+
+    /**
+     * Style table of a version 2 document. It is null for version 1 documents,
+     * which are a plain array of shapes.
+     */
+    private List<ShapeStyle> styles = null;
+    private GeometryCodec geometryCodec;
+
+    // Buffers reused for coordinates of each shape
+    private int[] xCoordinates = new int[16];
+    private int[] yCoordinates = new int[16];
+
+    public ShapeJsonReader(Reader in) {
+        reader = new JsonReader(in);
+    }
+
+    /**
+     * Creates a reader for a plain array of version 2 shapes, such as a slice of
+     * the shapes array of a version 2 document.
+     *
+     * @param styles Style table of the document
+     */
+    ShapeJsonReader(Reader in, List<ShapeStyle> styles) {
+        this(in);
+        this.styles = styles;
+        geometryCodec = new GeometryCodec();
+    }
+
+    /**
+     *
+     * @return True if there is another shape to read.
+     * @throws IOException if JSON is malformed or cannot be read
+     */
+    public boolean hasNext() throws IOException {
+        if (!hasStarted) {
+            hasStarted = true;
+            if (styles == null && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                readHeader();
+            } else {
+                reader.beginArray();
+            }
+        }
+        if (hasEnded) {
+            return false;
+        }
+        if (reader.hasNext()) {
+            return true;
+        }
+        reader.endArray();
+        hasEnded = true;
+
+        if (hasHeader) {
+            // skip any property after shapes
+            while (reader.hasNext()) {
+                reader.nextName();
+                reader.skipValue();
+            }
+            reader.endObject();
+        }
+        return false;
+    }
+
+    /**
+     * Reads the properties of a version 2 document up to the start of the shapes
+     * array.
+     */
+    private void readHeader() throws IOException {
+        styles = new ArrayList<>();
+        geometryCodec = new GeometryCodec();
+        hasHeader = true;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "version":
+                    final int version = reader.nextInt();
+                    if (version > ShapeJsonV2Writer.VERSION) {
+                        throw new IOException("Unsupported document version: " + version);
+                    }
+                    break;
+                case "styles":
+                    readStyles();
+                    break;
+                case "shapes":
+                    reader.beginArray();
+                    return;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+
+        // document has no shapes
+        reader.endObject();
+        hasEnded = true;
+    }
+
+    private void readStyles() throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            Color lineColor = Color.BLACK;
+            LineType lineType = LineType.SOLID;
+            int lineThickness = 1;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "lineColor":
+                        lineColor = colorAdapter.read(reader);
+                        break;
+                    case "lineType":
+                        lineType = LineType.valueOf(reader.nextString());
+                        break;
+                    case "lineThickness":
+                        lineThickness = reader.nextInt();
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+
+            styles.add(new ShapeStyle(lineColor, lineType, lineThickness));
+        }
+        reader.endArray();
+    }
+
+    /**
+     *
+     * @return Style table of a version 2 document, or null for a version 1
+     *         document. It is only known once hasNext() has been called.
+     */
+    List<ShapeStyle> getStyles() {
+        return styles;
+    }
+
+    /**
+     *
+     * @return Next shape in array.
+     * @throws IOException if JSON is malformed or cannot be read
+     */
+    public ShapeWrapper next() throws IOException {
+        if (!hasNext()) {
+            throw new IllegalStateException("No shapes left to read.");
+        }
+        if (styles != null) {
+            return readVersion2Shape();
+        }
+
+        final ShapeWrapper wrapper = new ShapeWrapper(Color.BLACK, LineType.SOLID, 1);
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "shape":
+                    wrapper.setShape(readShape());
+                    break;
+                case "lineColor":
+                    wrapper.setLineColor(colorAdapter.read(reader));
+                    break;
+                case "lineType":
+                    wrapper.setLineType(LineType.valueOf(reader.nextString()));
+                    break;
+                case "lineThickness":
+                    wrapper.setLineThickness(reader.nextInt());
+                    break;
+                case "plottedPoints":
+                    wrapper.getPlottedPoints().addAll(pointsAdapter.read(reader));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        return wrapper;
+    }
+
+    private ShapeWrapper readVersion2Shape() throws IOException {
+        ShapeWrapper wrapper = null;
+        Shape shape = null;
+        List<Point2D> plottedPoints = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "style":
+                    final int style = reader.nextInt();
+                    if (style < 0 || style >= styles.size()) {
+                        throw new IOException("Invalid style index: " + style);
+                    }
+                    wrapper = styles.get(style).createWrapper();
+                    break;
+                case "geometry":
+                    shape = geometryCodec.read(reader);
+                    break;
+                case "plottedPoints":
+                    plottedPoints = pointsAdapter.read(reader);
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        if (wrapper == null) {
+            wrapper = new ShapeWrapper(Color.BLACK, LineType.SOLID, 1);
+        }
+        wrapper.setShape(shape);
+        if (plottedPoints != null) {
+            wrapper.getPlottedPoints().addAll(plottedPoints);
+        }
+        return wrapper;
+    }
+
+    private Shape readShape() throws IOException {
+        boolean isLine = false;
+        int xCount = 0;
+        int yCount = 0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            switch (name) {
+                case "xCoordinates":
+                    xCount = readIntegers(true);
+                    break;
+                case "yCoordinates":
+                    yCount = readIntegers(false);
+                    break;
+                case "isLine":
+                    // isLine was serialized as a string
+                    isLine = reader.peek() == JsonToken.STRING ? Boolean.parseBoolean(reader.nextString())
+                            : reader.nextBoolean();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        final int count = Math.min(xCount, yCount);
+        if (isLine) {
+            return ShapeFactory.createPolyline(Arrays.copyOf(xCoordinates, count), Arrays.copyOf(yCoordinates, count),
+                    count);
+        }
+        // polygon makes its own copy of the buffers
+        return new Polygon(xCoordinates, yCoordinates, count);
+    }
+
+    /**
+     * Reads an array of integers into xCoordinates or yCoordinates.
+     *
+     * @return Number of integers read
+     */
+    private int readIntegers(boolean isX) throws IOException {
+        int[] buffer = isX ? xCoordinates : yCoordinates;
+        int count = 0;
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (count == buffer.length) {
+                buffer = Arrays.copyOf(buffer, 2 * count);
+            }
+            buffer[count++] = reader.nextInt();
+        }
+        reader.endArray();
+
+        if (isX) {
+            xCoordinates = buffer;
+        } else {
+            yCoordinates = buffer;
+        }
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
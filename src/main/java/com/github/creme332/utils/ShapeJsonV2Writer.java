@@ -0,0 +1,102 @@
+package com.github.creme332.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.creme332.model.ShapeWrapper;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Writes shapes in version 2 of the JSON format:
+ *
+ * <pre>
+ * {
+ *   "version": 2,
+ *   "styles": [{"lineColor": {...}, "lineType": "SOLID", "lineThickness": 1}, ...],
+ *   "shapes": [{"style": 0, "geometry": {...}, "plottedPoints": [...]}, ...]
+ * }
+ * </pre>
+ *
+ * Each distinct style is stored once and geometries store drawing parameters
+ * instead of pixels where possible (see GeometryCodec). Version 2 documents
+ * are read by ShapeJsonReader.
+ */
+public class ShapeJsonV2Writer {
+    public static final int VERSION = 2;
+
+    private ShapeJsonV2Writer() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Writes shapes to a file. The file is created if it does not exist, and
+     * overwritten otherwise.
+     *
+     * @param shapes   Shapes to export
+     * @param filePath Path of JSON file
+     * @throws IOException if file cannot be written
+     */
+    public static void export(List<ShapeWrapper> shapes, Path filePath) throws IOException {
+        write(shapes, ShapeJsonWriter.openFile(filePath));
+    }
+
+    /**
+     * Writes a version 2 document. The writer is closed.
+     *
+     * @param shapes Shapes to export
+     * @param writer Destination of the document
+     * @throws IOException if document cannot be written
+     */
+    public static void write(List<ShapeWrapper> shapes, Writer writer) throws IOException {
+        // build style table
+        final Map<ShapeStyle, Integer> styleIndices = new HashMap<>();
+        final List<ShapeStyle> styles = new ArrayList<>();
+        for (ShapeWrapper wrapper : shapes) {
+            styleIndices.computeIfAbsent(new ShapeStyle(wrapper), style -> {
+                styles.add(style);
+                return styles.size() - 1;
+            });
+        }
+
+        final ColorAdapter colorAdapter = new ColorAdapter();
+        final Point2DListAdapter pointsAdapter = new Point2DListAdapter();
+        final GeometryCodec geometryCodec = new GeometryCodec();
+
+        try (JsonWriter out = new JsonWriter(writer)) {
+            out.beginObject();
+            out.name("version").value(VERSION);
+
+            out.name("styles").beginArray();
+            for (ShapeStyle style : styles) {
+                out.beginObject();
+                out.name("lineColor");
+                colorAdapter.write(out, style.lineColor);
+                out.name("lineType").value(style.lineType.name());
+                out.name("lineThickness").value(style.lineThickness);
+                out.endObject();
+            }
+            out.endArray();
+
+            out.name("shapes").beginArray();
+            for (ShapeWrapper wrapper : shapes) {
+                out.beginObject();
+                out.name("style").value(styleIndices.get(new ShapeStyle(wrapper)));
+                if (wrapper.getShape() != null) {
+                    out.name("geometry");
+                    geometryCodec.write(out, wrapper.getShape(), wrapper.getPlottedPoints());
+                }
+                out.name("plottedPoints");
+                pointsAdapter.write(out, wrapper.getPlottedPoints());
+                out.endObject();
+            }
+            out.endArray();
+
+            out.endObject();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.github.creme332.utils;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.github.creme332.model.ShapeWrapper;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Writes shapes one at a time as a JSON array of ShapeWrapper objects. The
+ * document is streamed to its destination, so memory usage does not depend on
+ * the number of shapes written. The output can be read back with
+ * ShapeJsonReader or Gson.
+ */
+public class ShapeJsonWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Adapter generated by Gson for ShapeWrapper. It uses the adapters declared
+     * on the fields of ShapeWrapper.
+     */
+    private static final TypeAdapter<ShapeWrapper> SHAPE_ADAPTER = new Gson().getAdapter(ShapeWrapper.class);
+
+    private final JsonWriter writer;
+
+    public ShapeJsonWriter(Writer out) throws IOException {
+        writer = new JsonWriter(out);
+        writer.beginArray();
+    }
+
+    public void write(ShapeWrapper shape) throws IOException {
+        // the reflective adapter would only see the style of a paged shape
+        if (shape instanceof PagedShapeWrapper) {
+            shape = new ShapeWrapper(shape);
+        }
+        SHAPE_ADAPTER.write(writer, shape);
+    }
+
+    /**
+     * Ends the JSON array and closes the underlying writer.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            writer.endArray();
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Writes shapes to a file. The file is created if it does not exist, and
+     * overwritten otherwise.
+     *
+     * @param shapes   Shapes to export
+     * @param filePath Path of JSON file
+     * @throws IOException if file cannot be written
+     */
+    public static void export(Iterable<ShapeWrapper> shapes, Path filePath) throws IOException {
+        try (ShapeJsonWriter writer = new ShapeJsonWriter(openFile(filePath))) {
+            for (ShapeWrapper shape : shapes) {
+                writer.write(shape);
+            }
+        }
+    }
+
+    /**
+     * Opens a buffered writer over a file channel. The file is created if it does
+     * not exist, and overwritten otherwise.
+     */
+    static Writer openFile(Path filePath) throws IOException {
+        final FileChannel channel = FileChannel.open(filePath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        // buffer characters since JsonWriter performs many small writes which are
+        // expensive to encode one at a time
+        return new BufferedWriter(
+                new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+}
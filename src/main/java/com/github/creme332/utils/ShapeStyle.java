@@ -0,0 +1,50 @@
+package com.github.creme332.utils;
+
+import java.awt.Color;
+import java.util.Objects;
+
+import com.github.creme332.model.LineType;
+import com.github.creme332.model.ShapeWrapper;
+
+/**
+ * Color, line type and thickness of a shape. Document formats store each
+ * distinct style once in a style table which shapes refer to by index.
+ */
+class ShapeStyle {
+    final Color lineColor;
+    final LineType lineType;
+    final int lineThickness;
+
+    ShapeStyle(Color lineColor, LineType lineType, int lineThickness) {
+        this.lineColor = lineColor;
+        this.lineType = lineType;
+        this.lineThickness = lineThickness;
+    }
+
+    ShapeStyle(ShapeWrapper wrapper) {
+        this(wrapper.getLineColor(), wrapper.getLineType(), wrapper.getLineThickness());
+    }
+
+    /**
+     *
+     * @return A new shape wrapper with this style and no shape.
+     */
+    ShapeWrapper createWrapper() {
+        return new ShapeWrapper(lineColor, lineType, lineThickness);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof ShapeStyle)) {
+            return false;
+        }
+        ShapeStyle other = (ShapeStyle) o;
+        return lineColor.getRGB() == other.lineColor.getRGB() && lineType == other.lineType
+                && lineThickness == other.lineThickness;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(lineColor.getRGB(), lineType, lineThickness);
+    }
+}
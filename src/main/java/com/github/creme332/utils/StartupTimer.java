@@ -0,0 +1,60 @@
+package com.github.creme332.utils;
+
+/**
+ * Measures the time taken by the application to start, from the start of main
+ * to the first time the canvas is painted.
+ *
+ * Startup times are only printed when the application is launched with
+ * -Dpolydraw.startupTiming or -Dpolydraw.startupTiming=true.
+ */
+public class StartupTimer {
+    /**
+     * System property enabling the printing of startup times.
+     */
+    public static final String PROPERTY_NAME = "polydraw.startupTiming";
+
+    /**
+     * Time at which the application started, or -1 if the timer was not started.
+     */
+    private static volatile long startTime = -1;
+
+    private static volatile boolean isFirstPaintRecorded = false;
+
+    private StartupTimer() {
+
+    }
+
+    public static void start() {
+        startTime = System.nanoTime();
+    }
+
+    /**
+     *
+     * @return Milliseconds elapsed since the application started, or -1 if the
+     *         timer was not started
+     */
+    public static long getElapsedMillis() {
+        return startTime < 0 ? -1 : (System.nanoTime() - startTime) / 1_000_000;
+    }
+
+    /**
+     *
+     * @return True if startup times should be printed
+     */
+    public static boolean isEnabled() {
+        final String value = System.getProperty(PROPERTY_NAME);
+        return value != null && (value.isEmpty() || Boolean.parseBoolean(value));
+    }
+
+    /**
+     * Prints the startup time the first time the canvas is painted, if enabled.
+     * Later calls do nothing.
+     */
+    public static void recordFirstCanvasPaint() {
+        if (isFirstPaintRecorded || startTime < 0 || !isEnabled()) {
+            return;
+        }
+        isFirstPaintRecorded = true;
+        System.out.println("Startup: first canvas paint after " + getElapsedMillis() + " ms");
+    }
+}
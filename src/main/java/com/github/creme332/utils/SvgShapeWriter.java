@@ -0,0 +1,110 @@
+package com.github.creme332.utils;
+
+import java.awt.Color;
+import java.awt.geom.Rectangle2D;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import com.github.creme332.model.LineType;
+
+/**
+ * Writes shapes to an SVG document. Each shape is a path element whose
+ * vertices are given relative to the previous one, which keeps numbers short.
+ */
+class SvgShapeWriter extends VectorShapeWriter {
+    private final Writer out;
+
+    SvgShapeWriter(OutputStream out, Rectangle2D bounds) throws IOException {
+        super(bounds, true);
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        final int width = getWidth();
+        final int height = getHeight();
+        this.out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        this.out.write("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + width + "\" height=\"" + height
+                + "\" viewBox=\"0 0 " + width + " " + height + "\">\n");
+        // shapes share the stroke properties of the canvas
+        this.out.write("<g stroke-linejoin=\"bevel\" fill-rule=\"evenodd\">\n");
+    }
+
+    @Override
+    void writePath(int count, boolean closed, Color lineColor, LineType lineType, int thickness, Color fillColor)
+            throws IOException {
+        if (count == 0) {
+            return;
+        }
+
+        out.write("<path d=\"M");
+        out.write(Integer.toString(xPoints[0]));
+        out.write(' ');
+        out.write(Integer.toString(yPoints[0]));
+        if (count > 1) {
+            out.write('l');
+            for (int i = 1; i < count; i++) {
+                if (i > 1) {
+                    out.write(' ');
+                }
+                out.write(Integer.toString(xPoints[i] - xPoints[i - 1]));
+                out.write(' ');
+                out.write(Integer.toString(yPoints[i] - yPoints[i - 1]));
+            }
+        }
+        if (closed) {
+            out.write('z');
+        }
+        out.write('"');
+
+        writeColor("stroke", lineColor);
+        out.write(" stroke-width=\"" + thickness + "\"");
+        final float[] dashArray = getDashArray(lineType);
+        if (dashArray != null) {
+            out.write(" stroke-dasharray=\"");
+            for (int i = 0; i < dashArray.length; i++) {
+                if (i > 0) {
+                    out.write(' ');
+                }
+                out.write(format(dashArray[i]));
+            }
+            out.write('"');
+        }
+
+        if (fillColor == null) {
+            out.write(" fill=\"none\"");
+        } else {
+            writeColor("fill", fillColor);
+        }
+        out.write("/>\n");
+    }
+
+    @Override
+    void writePoint(double x, double y, Color color) throws IOException {
+        out.write("<circle cx=\"" + format(x) + "\" cy=\"" + format(y) + "\" r=\"" + format(POINT_RADIUS)
+                + "\" stroke-width=\"1\"");
+        writeColor("stroke", color);
+        writeColor("fill", color);
+        out.write("/>\n");
+    }
+
+    /**
+     * Writes a color attribute, followed by an opacity attribute if the color is
+     * transparent.
+     *
+     * @param name Name of attribute, either stroke or fill
+     */
+    private void writeColor(String name, Color color) throws IOException {
+        out.write(String.format(" %s=\"#%06x\"", name, color.getRGB() & 0xffffff));
+        if (color.getAlpha() != 255) {
+            out.write(" " + name + "-opacity=\"" + format(color.getAlpha() / 255.0) + "\"");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.write("</g>\n</svg>\n");
+        out.close();
+    }
+}
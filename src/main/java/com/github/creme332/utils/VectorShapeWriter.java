@@ -0,0 +1,354 @@
+package com.github.creme332.utils;
+
+import java.awt.Color;
+import java.awt.Polygon;
+import java.awt.Shape;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import com.github.creme332.model.CanvasModel;
+import com.github.creme332.model.LineType;
+import com.github.creme332.model.ShapeWrapper;
+
+/**
+ * Writes shapes as vector graphics. Shapes are written one at a time as they
+ * are read from the model, so memory use does not depend on the number of
+ * shapes.
+ *
+ * One unit of the polydraw coordinate system is drawn as DEFAULT_CELL_SIZE
+ * units of the document, so that line thicknesses and plotted points have the
+ * same size relative to shapes as in the standard view of the canvas.
+ *
+ * Vertices of shapes are pixels, so straight edges consist of many short
+ * steps. Consecutive steps in the same direction are merged into a single
+ * segment. Lines are known to approximate a straight segment, so their steps
+ * are merged as long as the segment stays close to every pixel it replaces.
+ */
+public abstract class VectorShapeWriter implements Closeable {
+    static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Number of document units per polydraw unit.
+     */
+    static final int SCALE = CanvasModel.DEFAULT_CELL_SIZE;
+
+    /**
+     * Distance in document units between shapes and the edges of the document.
+     */
+    static final int PADDING = 20;
+
+    /**
+     * Radius of a plotted point in document units. It matches the size of points
+     * on the canvas.
+     */
+    static final double POINT_RADIUS = 7.5;
+
+    /**
+     * Maximum distance in polydraw units between a merged segment of a line and
+     * the pixels it replaces. Pixels of a rasterised segment are within half a
+     * unit of it, so a segment joining two of them is within one unit of every
+     * pixel in between.
+     */
+    private static final double LINE_TOLERANCE = 1;
+
+    /**
+     * Bounds of all shapes in polydraw space.
+     */
+    private final Rectangle2D bounds;
+
+    /**
+     * Whether the y axis of the document points downwards.
+     */
+    private final boolean flipY;
+
+    // Vertices of current shape in document space after merging
+    int[] xPoints = new int[64];
+    int[] yPoints = new int[64];
+
+    VectorShapeWriter(Rectangle2D bounds, boolean flipY) {
+        this.bounds = bounds;
+        this.flipY = flipY;
+    }
+
+    /**
+     * Writes shapes to a vector file. The format is chosen from the extension of
+     * the file, which must be .svg or .pdf. The file is created if it does not
+     * exist, and overwritten otherwise.
+     *
+     * @param shapes   Shapes to export
+     * @param filePath Path of vector file
+     * @throws IOException if file cannot be written
+     */
+    public static void export(List<ShapeWrapper> shapes, Path filePath) throws IOException {
+        final String fileName = filePath.getFileName().toString().toLowerCase(Locale.ROOT);
+        final boolean isPdf = fileName.endsWith(".pdf");
+        if (!isPdf && !fileName.endsWith(".svg")) {
+            throw new IllegalArgumentException("Vector export requires a .svg or .pdf file: " + filePath);
+        }
+
+        // bounds are read without decoding shapes of a paged document
+        Rectangle2D bounds = null;
+        for (ShapeWrapper wrapper : shapes) {
+            final Rectangle2D shapeBounds = wrapper.getBounds();
+            if (shapeBounds != null) {
+                bounds = bounds == null ? shapeBounds : bounds.createUnion(shapeBounds);
+            }
+        }
+        if (bounds == null) {
+            bounds = new Rectangle2D.Double();
+        }
+
+        // subclasses buffer the stream
+        try (OutputStream out = Channels.newOutputStream(FileChannel.open(filePath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+                VectorShapeWriter writer = isPdf ? new PdfShapeWriter(out, bounds)
+                        : new SvgShapeWriter(out, bounds)) {
+            for (ShapeWrapper wrapper : shapes) {
+                writer.write(wrapper);
+            }
+        }
+    }
+
+    /**
+     *
+     * @return Width of document in document units
+     */
+    int getWidth() {
+        return (int) Math.ceil(bounds.getWidth() * SCALE) + 2 * PADDING;
+    }
+
+    /**
+     *
+     * @return Height of document in document units
+     */
+    int getHeight() {
+        return (int) Math.ceil(bounds.getHeight() * SCALE) + 2 * PADDING;
+    }
+
+    private double toDocumentX(double x) {
+        return (x - bounds.getMinX()) * SCALE + PADDING;
+    }
+
+    private double toDocumentY(double y) {
+        return flipY ? (bounds.getMaxY() - y) * SCALE + PADDING : (y - bounds.getMinY()) * SCALE + PADDING;
+    }
+
+    /**
+     * Writes a shape and its plotted points.
+     */
+    public void write(ShapeWrapper wrapper) throws IOException {
+        final Shape shape = wrapper.getShape();
+        if (shape != null) {
+            final boolean isLine = ShapeWrapper.isLine(shape);
+            final int count = isLine ? mergeLineSteps(shape) : mergeSteps(shape);
+            writePath(count, !isLine, wrapper.getLineColor(), wrapper.getLineType(), wrapper.getLineThickness(),
+                    wrapper.getFillColor());
+        }
+
+        for (Point2D point : wrapper.getPlottedPoints()) {
+            writePoint(toDocumentX(point.getX()), toDocumentY(point.getY()), wrapper.getLineColor());
+        }
+    }
+
+    /**
+     * Writes the path formed by the first vertices of xPoints and yPoints.
+     *
+     * @param count     Number of vertices
+     * @param closed    Whether the last vertex is joined to the first
+     * @param lineColor Color of outline
+     * @param lineType  Type of outline
+     * @param thickness Thickness of outline in document units
+     * @param fillColor Color of interior, or null if the path is not filled
+     */
+    abstract void writePath(int count, boolean closed, Color lineColor, LineType lineType, int thickness,
+            Color fillColor) throws IOException;
+
+    /**
+     * Writes a filled circle of radius POINT_RADIUS.
+     *
+     * @param x     X coordinate of center in document space
+     * @param y     Y coordinate of center in document space
+     * @param color Color of point
+     */
+    abstract void writePoint(double x, double y, Color color) throws IOException;
+
+    /**
+     *
+     * @return Lengths of alternating dashes and gaps in document units, or null
+     *         for a continuous line.
+     */
+    static float[] getDashArray(LineType lineType) {
+        switch (lineType) {
+            case DASHED:
+                return new float[] { 12 };
+            case DOTTED:
+                return new float[] { 4 };
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Formats a number with at most 2 decimal places.
+     */
+    static String format(double value) {
+        final long hundredths = Math.round(value * 100);
+        if (hundredths % 100 == 0) {
+            return Long.toString(hundredths / 100);
+        }
+        return Double.toString(hundredths / 100.0);
+    }
+
+    private static int[][] getVertices(Shape shape) {
+        if (shape instanceof Polygon) {
+            final Polygon polygon = (Polygon) shape;
+            return new int[][] { polygon.xpoints, polygon.ypoints, { polygon.npoints } };
+        }
+
+        final double[][] coordinates = ShapeWrapper.getCoordinates(shape);
+        final int[][] points = new int[][] { new int[coordinates.length], new int[coordinates.length],
+                { coordinates.length } };
+        for (int i = 0; i < coordinates.length; i++) {
+            points[0][i] = (int) coordinates[i][0];
+            points[1][i] = (int) coordinates[i][1];
+        }
+        return points;
+    }
+
+    private void addVertex(int index, int x, int y) {
+        if (index == xPoints.length) {
+            xPoints = Arrays.copyOf(xPoints, 2 * index);
+            yPoints = Arrays.copyOf(yPoints, 2 * index);
+        }
+        xPoints[index] = (int) Math.round(toDocumentX(x));
+        yPoints[index] = (int) Math.round(toDocumentY(y));
+    }
+
+    /**
+     * Stores vertices of a polygon in document space, skipping every vertex that
+     * lies on the segment joining its neighbours in the same direction. Since the
+     * polygon is closed, the first and last vertices are neighbours.
+     *
+     * Repeated vertices are skipped first: a zero-length step has no direction,
+     * so it would otherwise keep both of its neighbours.
+     *
+     * @return Number of vertices stored
+     */
+    private int mergeSteps(Shape shape) {
+        final int[][] vertices = getVertices(shape);
+        final int[] x = vertices[0];
+        final int[] y = vertices[1];
+
+        // indices of vertices which differ from the previous one. Vertices of the
+        // shape itself must not be modified.
+        final int[] distinct = new int[vertices[2][0]];
+        int n = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (n == 0 || x[i] != x[distinct[n - 1]] || y[i] != y[distinct[n - 1]]) {
+                distinct[n++] = i;
+            }
+        }
+        while (n > 1 && x[distinct[n - 1]] == x[distinct[0]] && y[distinct[n - 1]] == y[distinct[0]]) {
+            n--;
+        }
+
+        int count = 0;
+        for (int k = 0; k < n; k++) {
+            final int i = distinct[k];
+            final int previous = distinct[(k + n - 1) % n];
+            final int next = distinct[(k + 1) % n];
+            final long dx1 = (long) x[i] - x[previous];
+            final long dy1 = (long) y[i] - y[previous];
+            final long dx2 = (long) x[next] - x[i];
+            final long dy2 = (long) y[next] - y[i];
+            final boolean isCollinear = dx1 * dy2 == dy1 * dx2 && dx1 * dx2 + dy1 * dy2 > 0;
+            if (!isCollinear) {
+                addVertex(count++, x[i], y[i]);
+            }
+        }
+
+        // vertices of a degenerate polygon may all be collinear
+        if (count == 0 && n > 0) {
+            addVertex(count++, x[distinct[0]], y[distinct[0]]);
+        }
+        return count;
+    }
+
+    /**
+     * Stores vertices of a line in document space. Starting from a vertex, the
+     * segment is extended to the furthest vertex such that a straight segment
+     * passes within LINE_TOLERANCE of every vertex in between. The directions
+     * which satisfy this for all vertices seen so far form an angular interval
+     * which is narrowed at each vertex, so each line is merged in linear time.
+     *
+     * @return Number of vertices stored
+     */
+    private int mergeLineSteps(Shape shape) {
+        final int[][] vertices = getVertices(shape);
+        final int[] x = vertices[0];
+        final int[] y = vertices[1];
+        final int n = vertices[2][0];
+        if (n == 0) {
+            return 0;
+        }
+
+        int count = 0;
+        int anchor = 0;
+        addVertex(count++, x[0], y[0]);
+
+        while (anchor < n - 1) {
+            // angles are measured relative to the direction of the first step
+            final double referenceAngle = Math.atan2((double) y[anchor + 1] - y[anchor],
+                    (double) x[anchor + 1] - x[anchor]);
+            double low = -Math.PI / 2;
+            double high = Math.PI / 2;
+
+            int end = anchor + 1;
+            for (int i = anchor + 1; i < n; i++) {
+                final double dx = (double) x[i] - x[anchor];
+                final double dy = (double) y[i] - y[anchor];
+                final double distance = Math.hypot(dx, dy);
+                final double angle = normalize(Math.atan2(dy, dx) - referenceAngle);
+
+                if (angle < low || angle > high) {
+                    break;
+                }
+                end = i;
+
+                if (distance > LINE_TOLERANCE) {
+                    final double halfWidth = Math.asin(LINE_TOLERANCE / distance);
+                    low = Math.max(low, angle - halfWidth);
+                    high = Math.min(high, angle + halfWidth);
+                }
+            }
+
+            addVertex(count++, x[end], y[end]);
+            anchor = end;
+        }
+        return count;
+    }
+
+    /**
+     *
+     * @return Equivalent angle in the range [-PI, PI]
+     */
+    private static double normalize(double angle) {
+        if (angle > Math.PI) {
+            return angle - 2 * Math.PI;
+        }
+        if (angle < -Math.PI) {
+            return angle + 2 * Math.PI;
+        }
+        return angle;
+    }
+}
@@ -0,0 +1,416 @@
+package com.github.creme332.view;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.List;
+
+import com.github.creme332.model.CanvasModel;
+import com.github.creme332.model.LineType;
+import com.github.creme332.model.ShapeWrapper;
+
+/**
+ * Draws the coordinate system and shapes of a canvas onto a Graphics2D. It does
+ * not depend on a Swing component so that it can also be used to render images
+ * in headless mode.
+ */
+public class CanvasRenderer {
+    /**
+     * Distance in pixels beyond the edges of the canvas within which shapes are
+     * still drawn. It accounts for thick outlines and plotted points which
+     * extend past the bounds of a shape.
+     */
+    private static final int VISIBILITY_MARGIN = 20;
+
+    private final int width;
+    private final int height;
+
+    /**
+     * Horizontal distance between left border of canvas and the polydraw origin.
+     */
+    private final int xZero;
+
+    /**
+     * Vertical distance between top border of canvas and the polydraw origin.
+     */
+    private final int yZero;
+
+    /**
+     * Distance in pixels between each unit on axes.
+     */
+    private final int cellSize;
+
+    private final AffineTransform userSpaceTransform;
+
+    private boolean guidelinesEnabled = true;
+    private boolean axesVisible = true;
+    private int labelFontSize = CanvasModel.DEFAULT_LABEL_FONT_SIZE;
+
+    /**
+     *
+     * @param width    Width of canvas in pixels
+     * @param height   Height of canvas in pixels
+     * @param xZero    Horizontal distance between left border of canvas and the
+     *                 polydraw origin
+     * @param yZero    Vertical distance between top border of canvas and the
+     *                 polydraw origin
+     * @param cellSize Distance in pixels between each unit on axes
+     */
+    public CanvasRenderer(int width, int height, int xZero, int yZero, int cellSize) {
+        this.width = width;
+        this.height = height;
+        this.xZero = xZero;
+        this.yZero = yZero;
+        this.cellSize = cellSize;
+        userSpaceTransform = CanvasModel.createUserSpaceTransform(xZero, yZero, cellSize);
+    }
+
+    /**
+     * Creates a renderer for the current view of a canvas model.
+     *
+     * @param model  Canvas model
+     * @param width  Width of canvas in pixels
+     * @param height Height of canvas in pixels
+     */
+    public static CanvasRenderer forModel(CanvasModel model, int width, int height) {
+        CanvasRenderer renderer = new CanvasRenderer(width, height, model.getXZero(), model.getYZero(),
+                model.getCellSize());
+        renderer.setGuidelinesEnabled(model.isGuidelinesEnabled());
+        renderer.setAxesVisible(model.isAxesVisible());
+        renderer.setLabelFontSize(model.getLabelFontSize());
+        return renderer;
+    }
+
+    public void setGuidelinesEnabled(boolean guidelinesEnabled) {
+        this.guidelinesEnabled = guidelinesEnabled;
+    }
+
+    public void setAxesVisible(boolean axesVisible) {
+        this.axesVisible = axesVisible;
+    }
+
+    public void setLabelFontSize(int labelFontSize) {
+        this.labelFontSize = labelFontSize;
+    }
+
+    public static void setAntiAliasing(Graphics2D g2) {
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+    }
+
+    /**
+     * Draws guidelines, axes and shapes. The background is not cleared.
+     *
+     * @param g2                 Graphics on which to draw
+     * @param shapes             Shapes to draw
+     * @param selectedShapeIndex Index of shape drawn with a thicker outline, or
+     *                           -1. An index equal to the number of shapes selects
+     *                           the preview.
+     * @param preview            Shape being drawn by the user, or null
+     */
+    public void render(Graphics2D g2, List<ShapeWrapper> shapes, int selectedShapeIndex, ShapeWrapper preview) {
+        render(g2, shapes, selectedShapeIndex, preview, null);
+    }
+
+    /**
+     * Draws guidelines, axes and shapes. The background is not cleared.
+     *
+     * @param g2                 Graphics on which to draw
+     * @param shapes             Shapes to draw
+     * @param selectedShapeIndex Index of shape drawn with a thicker outline, or
+     *                           -1. An index equal to the number of shapes selects
+     *                           the preview.
+     * @param preview            Shape being drawn by the user, or null
+     * @param previewTransform   Transformation in polydraw space applied to the
+     *                           preview, or null
+     */
+    public void render(Graphics2D g2, List<ShapeWrapper> shapes, int selectedShapeIndex, ShapeWrapper preview,
+            AffineTransform previewTransform) {
+        g2.setFont(g2.getFont().deriveFont((float) labelFontSize));
+        setAntiAliasing(g2);
+
+        if (guidelinesEnabled) {
+            drawGuidelines(g2);
+        }
+
+        if (axesVisible) {
+            drawHorizontalAxis(g2);
+            drawVerticalAxis(g2);
+        }
+
+        drawShapes(g2, shapes, selectedShapeIndex, preview, previewTransform);
+    }
+
+    private void drawHorizontalAxis(Graphics2D g2) {
+        // calculate y position of tick label
+        int labelYPos = Math.min(height - CanvasModel.TICK_PADDING_BOTTOM,
+                Math.max(CanvasModel.TICK_PADDING_TOP, yZero));
+
+        g2.setColor(Color.BLACK);
+        g2.setStroke(new BasicStroke(2)); // Set line thickness
+
+        // if axis is within canvas, draw horizontal line to represent horizontal
+        // axis
+        if (yZero >= 0 && yZero <= height)
+            g2.drawLine(0, yZero, width, yZero);
+
+        // set tick label color
+        g2.setColor(CanvasModel.labelForegroundColor);
+
+        // label center of x axis
+        g2.drawString(Integer.toString(0), xZero, labelYPos);
+
+        // label ticks on positive horizontal axis
+        int interval = getLabelInterval();
+        for (int i = interval; i <= (width - xZero) / cellSize; i += interval) {
+            int labelX = xZero + i * cellSize;
+            g2.drawString(Integer.toString(i), labelX, labelYPos);
+        }
+
+        // label ticks on negative horizontal axis
+        for (int i = -interval; i >= -xZero / cellSize; i -= interval) {
+            int labelX = xZero + i * cellSize;
+            g2.drawString(Integer.toString(i), labelX, labelYPos);
+        }
+    }
+
+    private void drawGuidelines(Graphics2D g2) {
+        int interval = getLabelInterval();
+
+        g2.setColor(Color.gray);
+        g2.setStroke(new BasicStroke(1));
+
+        // draw horizontal guidelines above x-axis
+        int lineCount = yZero / cellSize;
+        for (int i = 0; i <= lineCount; i += interval) {
+            int y1 = yZero - i * cellSize;
+            g2.drawLine(0, y1, width, y1); // draw guideline above x axis
+        }
+
+        // draw horizontal guidelines below x-axis
+        lineCount = (height - yZero) / cellSize;
+        for (int i = 0; i <= lineCount; i += interval) {
+            int y0 = yZero + i * cellSize;
+            g2.drawLine(0, y0, width, y0); // draw guideline below x axis
+        }
+
+        // draw vertical guidelines before y-axis
+        lineCount = xZero / cellSize;
+        for (int i = 0; i <= lineCount; i += interval) {
+            int x0 = xZero - i * cellSize;
+            g2.drawLine(x0, 0, x0, height); // line before y axis
+        }
+
+        // draw vertical guidelines after y-axis
+        lineCount = (width - xZero) / cellSize;
+        for (int i = 0; i <= lineCount; i += interval) {
+            int x1 = xZero + i * cellSize;
+            g2.drawLine(x1, 0, x1, height); // line after y axis
+        }
+
+    }
+
+    private int getLabelInterval() {
+        int threshold = 40;
+
+        if (cellSize >= threshold)
+            return 1;
+
+        if (cellSize >= 30)
+            return 2;
+
+        if (cellSize >= 20)
+            return 5;
+        if (cellSize >= 10)
+            return 10;
+        if (cellSize >= 6)
+            return 20;
+        if (cellSize >= 3)
+            return 60;
+        return 120;
+    }
+
+    private void drawVerticalAxis(Graphics2D g2) {
+        g2.setColor(Color.BLACK);
+        g2.setStroke(new BasicStroke(2)); // Set line thickness
+
+        int labelYPos = Math.min(width - CanvasModel.TICK_PADDING_RIGHT,
+                Math.max(CanvasModel.TICK_PADDING_LEFT, xZero));
+
+        if (xZero >= 0 || xZero <= width)
+            g2.drawLine(xZero, 0, xZero, height); // vertical axis
+
+        // set tick label color
+        g2.setColor(CanvasModel.labelForegroundColor);
+
+        // label center of vertical axis
+        g2.drawString(Integer.toString(0), labelYPos, yZero);
+
+        // label ticks on positive vertical axis
+        int interval = getLabelInterval();
+        int labelCount = yZero / cellSize;
+        for (int i = interval; i <= labelCount; i += interval) {
+            int labelY = yZero - i * cellSize;
+            g2.drawString(Integer.toString(i), labelYPos,
+                    labelY);
+        }
+
+        // label ticks on negative vertical axis
+        labelCount = (height - yZero) / cellSize;
+        for (int i = interval; i <= labelCount; i += interval) {
+            int labelY = yZero + i * cellSize;
+            String label = Integer.toString(-i);
+
+            g2.drawString(label, labelYPos, labelY);
+        }
+    }
+
+    private void drawShapes(Graphics2D g2, List<ShapeWrapper> shapes, int selectedShapeIndex,
+            ShapeWrapper preview, AffineTransform previewTransform) {
+        /**
+         * Default stroke which is used to draw plotted points
+         */
+        final Stroke defaultStroke = g2.getStroke();
+
+        final Rectangle2D visibleArea = toPolySpace(new Rectangle(-VISIBILITY_MARGIN, -VISIBILITY_MARGIN,
+                width + 2 * VISIBILITY_MARGIN, height + 2 * VISIBILITY_MARGIN));
+
+        // shapes outside the canvas are skipped without looking at their geometry
+        for (int i = 0; i < shapes.size(); i++) {
+            final ShapeWrapper wrapper = shapes.get(i);
+            if (isVisible(wrapper.getBounds(), visibleArea)) {
+                drawShape(g2, wrapper, i == selectedShapeIndex, defaultStroke, userSpaceTransform);
+            }
+        }
+
+        if (preview != null) {
+            final AffineTransform transform = new AffineTransform(userSpaceTransform);
+            if (previewTransform != null) {
+                transform.concatenate(previewTransform);
+            }
+            drawShape(g2, preview, shapes.size() == selectedShapeIndex, defaultStroke, transform);
+        }
+    }
+
+    private Rectangle2D toPolySpace(Rectangle2D rectangle) {
+        try {
+            return userSpaceTransform.createInverse().createTransformedShape(rectangle).getBounds2D();
+        } catch (NoninvertibleTransformException e) {
+            // cell size is never 0
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isVisible(Rectangle2D shapeBounds, Rectangle2D visibleArea) {
+        return shapeBounds != null && shapeBounds.getMaxX() >= visibleArea.getMinX()
+                && shapeBounds.getMinX() <= visibleArea.getMaxX() && shapeBounds.getMaxY() >= visibleArea.getMinY()
+                && shapeBounds.getMinY() <= visibleArea.getMaxY();
+    }
+
+    /**
+     *
+     * @param transform Transformation from polydraw space of the shape to user
+     *                  space
+     */
+    private void drawShape(Graphics2D g2, ShapeWrapper wrapper, boolean isSelected, Stroke defaultStroke,
+            AffineTransform transform) {
+        if (wrapper.getShape() != null) {
+            // draw shape outline
+            g2.setColor(wrapper.getLineColor());
+
+            // increase thickness of shape if user selected the shape
+            if (isSelected) {
+                g2.setStroke(getStroke(wrapper.getLineType(), wrapper.getLineThickness() + 3));
+
+            } else {
+                g2.setStroke(getStroke(wrapper.getLineType(), wrapper.getLineThickness()));
+            }
+
+            // convert shape to user space then draw it
+            Shape s1 = transform.createTransformedShape(wrapper.getShape());
+            g2.draw(s1);
+
+            // fill shape if it is not a line
+            if (!wrapper.isLine()) {
+                g2.setColor(wrapper.getFillColor());
+
+                // use custom scanfill algorithm
+                // List<Point> insidePoints = PolygonCalculator.scanFill((Polygon) wrapper.getShape());
+                // for (Point2D p : insidePoints) {
+                //     Shape point = createPointAsShape(model.toUserSpace(p));
+                //     g2.draw(point);
+                //     g2.fill(point);
+                // }
+
+                g2.fill(s1);
+            }
+        }
+
+        // display points plotted on shape by user
+        g2.setStroke(defaultStroke);
+        g2.setColor(wrapper.getLineColor());
+        for (Point2D p : wrapper.getPlottedPoints()) {
+            drawPoint(g2, p, transform);
+        }
+    }
+
+    /**
+     * Draws a point with a fixed radius irrespective of zoom level using the
+     * current color of the graphics.
+     *
+     * @param g2    Graphics on which to draw
+     * @param point Point in polydraw space
+     */
+    public void drawPoint(Graphics2D g2, Point2D point) {
+        drawPoint(g2, point, userSpaceTransform);
+    }
+
+    private static void drawPoint(Graphics2D g2, Point2D point, AffineTransform transform) {
+        Shape shape = createPointAsShape(transform.transform(point, null));
+        g2.draw(shape);
+        g2.fill(shape);
+    }
+
+    private static Stroke getStroke(LineType lineType, int thickness) {
+        switch (lineType) {
+            case SOLID:
+                // Set the stroke of the copy, not the original
+                return new BasicStroke(thickness, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL,
+                        0, new float[] { 1 }, 0);
+            case DASHED:
+                return new BasicStroke(thickness, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL,
+                        0, new float[] { 12 }, 0);
+            case DOTTED:
+                return new BasicStroke(thickness, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL,
+                        0, new float[] { 4 }, 0);
+            default:
+                return new BasicStroke(thickness, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL,
+                        0, new float[] { 1 }, 0);
+        }
+    }
+
+    /**
+     *
+     * @param mySpaceCoord
+     * @return A point with a fixed radius irrespective of zoom level
+     */
+    private static Shape createPointAsShape(Point2D mySpaceCoord) {
+        double radius = 15;
+        return new Ellipse2D.Double(
+                mySpaceCoord.getX() - radius / 2,
+                mySpaceCoord.getY() - radius / 2,
+                radius,
+                radius);
+    }
+}
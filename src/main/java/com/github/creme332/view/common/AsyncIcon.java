@@ -0,0 +1,76 @@
+package com.github.creme332.view.common;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+
+import javax.swing.Icon;
+import javax.swing.SwingUtilities;
+
+/**
+ * An icon of known size which is loaded on a background thread. A placeholder
+ * is painted until the icon is loaded, after which the components which tried
+ * to paint it are repainted.
+ */
+public class AsyncIcon implements Icon {
+    private static final Color PLACEHOLDER_COLOR = new Color(238, 238, 238);
+
+    private final int width;
+    private final int height;
+    private final CompletableFuture<? extends Icon> future;
+
+    /**
+     * Components to repaint once the icon is loaded. Only used on the event
+     * dispatch thread.
+     */
+    private final Map<Component, Boolean> waitingComponents = new WeakHashMap<>();
+
+    /**
+     *
+     * @param width  Width of icon once loaded
+     * @param height Height of icon once loaded
+     * @param future Icon being loaded
+     */
+    public AsyncIcon(int width, int height, CompletableFuture<? extends Icon> future) {
+        this.width = width;
+        this.height = height;
+        this.future = future;
+        future.whenComplete((icon, e) -> SwingUtilities.invokeLater(() -> {
+            for (Component c : waitingComponents.keySet()) {
+                c.repaint();
+            }
+            waitingComponents.clear();
+        }));
+    }
+
+    public boolean isLoaded() {
+        return future.isDone() && !future.isCompletedExceptionally();
+    }
+
+    @Override
+    public void paintIcon(Component c, Graphics g, int x, int y) {
+        if (isLoaded()) {
+            future.join().paintIcon(c, g, x, y);
+            return;
+        }
+
+        g.setColor(PLACEHOLDER_COLOR);
+        g.fillRect(x, y, width, height);
+        if (c != null && !future.isDone()) {
+            waitingComponents.put(c, Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public int getIconWidth() {
+        return width;
+    }
+
+    @Override
+    public int getIconHeight() {
+        return height;
+    }
+}
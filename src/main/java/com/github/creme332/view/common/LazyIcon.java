@@ -0,0 +1,74 @@
+package com.github.creme332.view.common;
+
+import java.awt.Component;
+import java.awt.Graphics;
+import java.util.function.Supplier;
+
+import javax.swing.Icon;
+
+/**
+ * An icon of known size which is only loaded when it is first painted. Until
+ * then, layouts can be computed without loading the icon.
+ *
+ * An icon may be loaded by any thread.
+ */
+public class LazyIcon implements Icon {
+    private final int width;
+    private final int height;
+    private final Supplier<Icon> loader;
+
+    /**
+     * Icon once loaded, or null.
+     */
+    private volatile Icon icon;
+
+    /**
+     *
+     * @param width  Width of icon once loaded
+     * @param height Height of icon once loaded
+     * @param loader Function loading the icon. It is called at most once.
+     */
+    public LazyIcon(int width, int height, Supplier<Icon> loader) {
+        this.width = width;
+        this.height = height;
+        this.loader = loader;
+    }
+
+    /**
+     * Loads the icon if it has not been loaded yet.
+     *
+     * @return Loaded icon
+     */
+    public Icon load() {
+        Icon result = icon;
+        if (result == null) {
+            synchronized (this) {
+                result = icon;
+                if (result == null) {
+                    result = loader.get();
+                    icon = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    public boolean isLoaded() {
+        return icon != null;
+    }
+
+    @Override
+    public void paintIcon(Component c, Graphics g, int x, int y) {
+        load().paintIcon(c, g, x, y);
+    }
+
+    @Override
+    public int getIconWidth() {
+        return width;
+    }
+
+    @Override
+    public int getIconHeight() {
+        return height;
+    }
+}
@@ -4,26 +4,126 @@ import java.awt.Component;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.swing.Icon;
+import javax.swing.UIManager;
 
 import com.github.weisj.jsvg.SVGDocument;
 import com.github.weisj.jsvg.attributes.ViewBox;
 
+/**
+ * An icon rendered from an SVG document.
+ *
+ * Rendering an SVG document is slow, so the icon is rasterized once at the
+ * resolution of the device and later paints only draw the image. An image is
+ * cached for each scale factor and foreground color with which the icon is
+ * painted. Cached images are discarded when the look and feel changes.
+ */
 public class SVGIcon implements Icon {
+    /**
+     * Maximum number of images cached per icon, which is enough for an icon shown
+     * on a few screens with different scale factors.
+     */
+    private static final int MAX_CACHED_IMAGES = 4;
+
+    /**
+     * Incremented to invalidate all cached images.
+     */
+    private static volatile int generation = 0;
+
+    static {
+        UIManager.addPropertyChangeListener(e -> {
+            if ("lookAndFeel".equals(e.getPropertyName())) {
+                clearCache();
+            }
+        });
+    }
+
     private final SVGDocument document;
     private final int width;
     private final int height;
 
+    private final Map<CacheKey, BufferedImage> cache = new LinkedHashMap<>(MAX_CACHED_IMAGES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CacheKey, BufferedImage> eldest) {
+            return size() > MAX_CACHED_IMAGES;
+        }
+    };
+
     public SVGIcon(SVGDocument document, int width, int height) {
         this.document = document;
         this.width = width;
         this.height = height;
     }
 
+    /**
+     * Discards the cached images of all icons, for example after the theme or
+     * the scale factor of the screen changed.
+     */
+    public static void clearCache() {
+        generation++;
+    }
+
     @Override
     public void paintIcon(Component c, Graphics g, int x, int y) {
         Graphics2D g2d = (Graphics2D) g;
+        final AffineTransform transform = g2d.getTransform();
+
+        // images cannot be drawn pixel for pixel if graphics is rotated or sheared
+        if ((transform.getType() & ~(AffineTransform.TYPE_TRANSLATION | AffineTransform.TYPE_MASK_SCALE)) != 0
+                || transform.getScaleX() <= 0 || transform.getScaleY() <= 0) {
+            render(c, g2d, x, y);
+            return;
+        }
+
+        final double scaleX = transform.getScaleX();
+        final double scaleY = transform.getScaleY();
+        final int foreground = c == null || c.getForeground() == null ? 0 : c.getForeground().getRGB();
+        final BufferedImage image = getImage(c, new CacheKey(scaleX, scaleY, foreground, generation));
+
+        // draw image in device space so that each of its pixels covers a pixel
+        final Graphics2D imageGraphics = (Graphics2D) g2d.create();
+        try {
+            imageGraphics.translate(x, y);
+            imageGraphics.scale(1 / scaleX, 1 / scaleY);
+            imageGraphics.drawImage(image, 0, 0, null);
+        } finally {
+            imageGraphics.dispose();
+        }
+    }
+
+    private synchronized BufferedImage getImage(Component c, CacheKey key) {
+        BufferedImage image = cache.get(key);
+        if (image != null) {
+            return image;
+        }
+
+        // remove images of a previous generation
+        for (Iterator<CacheKey> iterator = cache.keySet().iterator(); iterator.hasNext();) {
+            if (iterator.next().generation != key.generation) {
+                iterator.remove();
+            }
+        }
+
+        image = new BufferedImage(Math.max(1, (int) Math.ceil(width * key.scaleX)),
+                Math.max(1, (int) Math.ceil(height * key.scaleY)), BufferedImage.TYPE_INT_ARGB_PRE);
+        final Graphics2D g2d = image.createGraphics();
+        try {
+            g2d.scale(key.scaleX, key.scaleY);
+            render(c, g2d, 0, 0);
+        } finally {
+            g2d.dispose();
+        }
+        cache.put(key, image);
+        return image;
+    }
+
+    private void render(Component c, Graphics2D g2d, int x, int y) {
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         document.render(c, g2d, new ViewBox(x, y, width, height));
     }
@@ -37,4 +137,36 @@ public class SVGIcon implements Icon {
     public int getIconHeight() {
         return height;
     }
-}
\ No newline at end of file
+
+    private static class CacheKey {
+        final double scaleX;
+        final double scaleY;
+        final int foreground;
+        final int generation;
+
+        CacheKey(double scaleX, double scaleY, int foreground, int generation) {
+            this.scaleX = scaleX;
+            this.scaleY = scaleY;
+            this.foreground = foreground;
+            this.generation = generation;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            final CacheKey other = (CacheKey) obj;
+            return scaleX == other.scaleX && scaleY == other.scaleY && foreground == other.foreground
+                    && generation == other.generation;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Double.hashCode(scaleX);
+            result = 31 * result + Double.hashCode(scaleY);
+            result = 31 * result + foreground;
+            return 31 * result + generation;
+        }
+    }
+}
@@ -16,6 +16,7 @@ import javax.swing.JToolBar;
 import javax.swing.border.EmptyBorder;
 
 import com.github.creme332.model.LineType;
+import com.github.creme332.utils.IconRegistry;
 
 public class Toolbar extends JToolBar {
 
@@ -65,7 +66,7 @@ public class Toolbar extends JToolBar {
 
         // add menu items for the different line types
         for (LineType type : LineType.values()) {
-            JMenuItem menuItem = new JMenuItem(type.getDescription(), type.getIcon());
+            JMenuItem menuItem = new JMenuItem(type.getDescription(), IconRegistry.svg(type.getIconPath()));
             menuItem.setActionCommand(type.getDescription());
             lineMenu.add(menuItem);
 
@@ -114,6 +115,6 @@ public class Toolbar extends JToolBar {
     }
 
     public void displayLineIcon(LineType line) {
-        lineMenu.setIcon(line.getIcon());
+        lineMenu.setIcon(IconRegistry.svg(line.getIconPath()));
     }
 }
\ No newline at end of file
@@ -2,11 +2,11 @@ package com.github.creme332.view.tutorial;
 
 import java.awt.BorderLayout;
 import java.awt.Color;
+import java.awt.Dimension;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
 
 import javax.swing.Icon;
-import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
@@ -19,9 +19,10 @@ import javax.swing.text.StyleConstants;
 import javax.swing.text.StyleContext;
 import javax.swing.text.StyledDocument;
 
-import static com.github.creme332.utils.IconLoader.loadIcon;
+import static com.github.creme332.utils.IconLoader.loadIconAsync;
 
 import com.github.creme332.model.TutorialModel;
+import com.github.creme332.utils.exception.InvalidIconSizeException;
 import com.github.creme332.utils.exception.InvalidPathException;
 import com.github.creme332.view.common.BackButton;
 
@@ -46,14 +47,11 @@ public abstract class AbstractTutorial extends JPanel {
     protected transient Style boldLarge;
     protected transient Style imageStyle;
 
-    protected transient Icon previewIcon;
-
-    protected AbstractTutorial(TutorialModel model, Icon icon) {
+    protected AbstractTutorial(TutorialModel model) {
         setLayout(new BorderLayout());
         setBackground(Color.white);
 
         this.model = model;
-        this.previewIcon = icon;
 
         this.title = model.getTitle();
 
@@ -126,10 +124,6 @@ public abstract class AbstractTutorial extends JPanel {
         return model;
     }
 
-    public Icon getPreviewIcon() {
-        return previewIcon;
-    }
-
     /**
      * 
      * @return Title of a tutorial
@@ -143,14 +137,32 @@ public abstract class AbstractTutorial extends JPanel {
     }
 
     /**
-     * Inserts an image to the document.
+     * Inserts an image to the document. The image is decoded on a background
+     * thread and displayed once it is ready.
      * 
      * @param filename Filename relative to path defined in getImagePathPrefix().
      * @throws InvalidPathException
      * @throws BadLocationException
      */
     public void insertImage(String filename) throws InvalidPathException, BadLocationException {
-        ImageIcon icon = loadIcon(getImagePathPrefix() + filename);
+        insertIcon(loadIconAsync(getImagePathPrefix() + filename));
+    }
+
+    /**
+     * Inserts a resized image to the document. The image is decoded and resized
+     * on a background thread.
+     * 
+     * @param filename  Filename relative to path defined in getImagePathPrefix().
+     * @param dimension Size of image in pixels
+     * @throws InvalidIconSizeException
+     * @throws BadLocationException
+     */
+    public void insertImage(String filename, Dimension dimension)
+            throws InvalidIconSizeException, BadLocationException {
+        insertIcon(loadIconAsync(getImagePathPrefix() + filename, dimension));
+    }
+
+    private void insertIcon(Icon icon) throws BadLocationException {
         StyleConstants.setIcon(imageStyle, icon);
         doc.insertString(doc.getLength(), " ", imageStyle);
     }
@@ -1,7 +1,5 @@
 package com.github.creme332.view.tutorial;
 
-import static com.github.creme332.utils.IconLoader.loadSVGIcon;
-
 import javax.swing.text.BadLocationException;
 
 import com.github.creme332.model.TutorialModel;
@@ -10,11 +8,13 @@ import com.github.creme332.utils.exception.InvalidPathException;
 
 public class DrawCircleTutorial extends AbstractTutorial {
 
-    private static final TutorialModel DRAW_CIRCLE_MODEL = new TutorialModel("Draw Circle");
+    static final TutorialModel DRAW_CIRCLE_MODEL = new TutorialModel("Draw Circle");
+    static {
+        DRAW_CIRCLE_MODEL.addKeyword("bresenham");
+    }
 
     public DrawCircleTutorial() throws InvalidPathException, InvalidIconSizeException {
-        super(DRAW_CIRCLE_MODEL, loadSVGIcon("/icons/circle.svg", TutorialCard.IMAGE_DIMENSION));
-        model.addKeyword("bresenham");
+        super(DRAW_CIRCLE_MODEL);
 
         try {
             doc.insertString(doc.getLength(),
@@ -1,13 +1,8 @@
 package com.github.creme332.view.tutorial;
 
-import static com.github.creme332.utils.IconLoader.loadIcon;
-import static com.github.creme332.utils.IconLoader.loadSVGIcon;
-
 import java.awt.Dimension;
 
-import javax.swing.ImageIcon;
 import javax.swing.text.BadLocationException;
-import javax.swing.text.StyleConstants;
 
 import com.github.creme332.model.TutorialModel;
 import com.github.creme332.utils.exception.InvalidIconSizeException;
@@ -15,11 +10,13 @@ import com.github.creme332.utils.exception.InvalidPathException;
 
 public class DrawEllipseTutorial extends AbstractTutorial {
 
-    private static final TutorialModel TUTORIAL_MODEL = new TutorialModel("Draw Ellipse");
+    static final TutorialModel TUTORIAL_MODEL = new TutorialModel("Draw Ellipse");
+    static {
+        TUTORIAL_MODEL.addKeyword("ellipse");
+    }
 
     public DrawEllipseTutorial() throws InvalidPathException, InvalidIconSizeException {
-        super(TUTORIAL_MODEL, loadSVGIcon("/icons/ellipse.svg", TutorialCard.IMAGE_DIMENSION));
-        model.addKeyword("ellipse");
+        super(TUTORIAL_MODEL);
 
         try {
             // Insert text
@@ -27,9 +24,7 @@ public class DrawEllipseTutorial extends AbstractTutorial {
                     "In this tutorial you will learn how to draw an Ellipse using the Midpoint Ellipse Algorithm.\n\n",
                     regular);
 
-            ImageIcon icon = loadIcon(getImagePathPrefix() + "draw-ellipse.gif", new Dimension(1000, 593));
-            StyleConstants.setIcon(imageStyle, icon);
-            doc.insertString(doc.getLength(), " ", imageStyle);
+            insertImage("draw-ellipse.gif", new Dimension(1000, 593));
 
             doc.insertString(doc.getLength(),
                     "\n\n1. Click on the ellipse icon in the menu bar to select the ellipse drawing mode.\n",
@@ -1,7 +1,5 @@
 package com.github.creme332.view.tutorial;
 
-import static com.github.creme332.utils.IconLoader.loadSVGIcon;
-
 import javax.swing.text.BadLocationException;
 
 import com.github.creme332.model.TutorialModel;
@@ -10,12 +8,14 @@ import com.github.creme332.utils.exception.InvalidPathException;
 
 public class DrawLineTutorial extends AbstractTutorial {
 
-    private static final TutorialModel DRAW_LINE_MODEL = new TutorialModel("Draw Line");
+    static final TutorialModel DRAW_LINE_MODEL = new TutorialModel("Draw Line");
+    static {
+        DRAW_LINE_MODEL.addKeyword("bresenham");
+        DRAW_LINE_MODEL.addKeyword("dda");
+    }
 
     public DrawLineTutorial() throws InvalidPathException, InvalidIconSizeException {
-        super(DRAW_LINE_MODEL, loadSVGIcon("/icons/blue-line.svg", TutorialCard.IMAGE_DIMENSION));
-        model.addKeyword("bresenham");
-        model.addKeyword("dda");
+        super(DRAW_LINE_MODEL);
 
         try {
             doc.insertString(doc.getLength(),
@@ -1,7 +1,5 @@
 package com.github.creme332.view.tutorial;
 
-import static com.github.creme332.utils.IconLoader.loadSVGIcon;
-
 import javax.swing.text.BadLocationException;
 
 import com.github.creme332.model.TutorialModel;
@@ -9,12 +7,14 @@ import com.github.creme332.utils.exception.InvalidIconSizeException;
 import com.github.creme332.utils.exception.InvalidPathException;
 
 public class DrawPolygonTutorial extends AbstractTutorial {
-        private static final TutorialModel TUTORIAL_MODEL = new TutorialModel("Draw Polygon");
+        static final TutorialModel TUTORIAL_MODEL = new TutorialModel("Draw Polygon");
+        static {
+                TUTORIAL_MODEL.addKeyword("regular");
+                TUTORIAL_MODEL.addKeyword("irregular");
+        }
 
         public DrawPolygonTutorial() throws InvalidPathException, InvalidIconSizeException, BadLocationException {
-                super(TUTORIAL_MODEL, loadSVGIcon("/icons/regular-polygon.svg", TutorialCard.IMAGE_DIMENSION));
-                model.addKeyword("regular");
-                model.addKeyword("irregular");
+                super(TUTORIAL_MODEL);
 
                 doc.insertString(doc.getLength(),
                                 "In this tutorial you will learn how to draw regular and irregular polygons.\n\n",
@@ -1,6 +1,6 @@
 package com.github.creme332.view.tutorial;
 
-import static com.github.creme332.utils.IconLoader.loadIcon;
+import static com.github.creme332.utils.IconLoader.loadIconAsync;
 
 import java.awt.*;
 import javax.swing.*;
@@ -14,21 +14,18 @@ import org.kordamp.ikonli.swing.FontIcon;
 
 import com.github.creme332.model.TutorialModel;
 import com.github.creme332.utils.IconCellRenderer;
-import com.github.creme332.utils.IconLoader;
 import com.github.creme332.utils.exception.InvalidIconSizeException;
 import com.github.creme332.utils.exception.InvalidPathException;
 
 public class GettingStartedTutorial extends AbstractTutorial {
 
-    private static final TutorialModel GETTING_STARTED_MODEL = new TutorialModel("Getting Started");
+    static final TutorialModel GETTING_STARTED_MODEL = new TutorialModel("Getting Started");
 
     GridBagConstraints gbc = new GridBagConstraints();
     JPanel mainPanel = new JPanel(new GridBagLayout());
 
     public GettingStartedTutorial() throws InvalidPathException, InvalidIconSizeException {
-        super(GETTING_STARTED_MODEL,
-                loadIcon("/icons/icosahedron.png",
-                        IconLoader.getScaledDimension(new Dimension(512, 512), TutorialCard.IMAGE_DIMENSION)));
+        super(GETTING_STARTED_MODEL);
         // remove bodyPanel since default layout is not being used
         this.remove(bodyPanel);
 
@@ -66,7 +63,7 @@ public class GettingStartedTutorial extends AbstractTutorial {
         gbc.gridy++;
 
         // add image
-        JLabel zoomPanelImage = new JLabel(loadIcon(getImagePathPrefix() + "zoom-panel.png"));
+        JLabel zoomPanelImage = new JLabel(loadIconAsync(getImagePathPrefix() + "zoom-panel.png"));
         mainPanel.add(zoomPanelImage, gbc);
         gbc.gridy++;
 
@@ -92,7 +89,7 @@ public class GettingStartedTutorial extends AbstractTutorial {
         gbc.gridy++;
 
         // add image
-        mainPanel.add(new JLabel(loadIcon(getImagePathPrefix() + "toast.png")), gbc);
+        mainPanel.add(new JLabel(loadIconAsync(getImagePathPrefix() + "toast.png")), gbc);
         gbc.gridy++;
 
         // add description
@@ -108,7 +105,7 @@ public class GettingStartedTutorial extends AbstractTutorial {
         gbc.gridy++;
 
         // menubar image
-        mainPanel.add(new JLabel(loadIcon(getImagePathPrefix() + "menubar.png")), gbc);
+        mainPanel.add(new JLabel(loadIconAsync(getImagePathPrefix() + "menubar.png")), gbc);
         gbc.gridy++;
 
         JTextArea buttonExplanation = createParagraph(
@@ -17,15 +17,16 @@ import javax.swing.text.BadLocationException;
 import com.github.creme332.model.TutorialModel;
 import com.github.creme332.utils.exception.InvalidIconSizeException;
 import com.github.creme332.utils.exception.InvalidPathException;
-import static com.github.creme332.utils.IconLoader.loadSVGIcon;
 
 public class KeyboardTutorial extends AbstractTutorial {
 
-    private static final TutorialModel KEYBOARD_TUTORIAL_MODEL = new TutorialModel("Keyboard Shortcuts");
+    static final TutorialModel KEYBOARD_TUTORIAL_MODEL = new TutorialModel("Keyboard Shortcuts");
+    static {
+        KEYBOARD_TUTORIAL_MODEL.addKeyword("key");
+    }
 
     public KeyboardTutorial() throws InvalidPathException, InvalidIconSizeException {
-        super(KEYBOARD_TUTORIAL_MODEL, loadSVGIcon("/icons/keyboard.svg", TutorialCard.IMAGE_DIMENSION));
-        model.addKeyword("key");
+        super(KEYBOARD_TUTORIAL_MODEL);
 
         try {
             // Insert text
@@ -59,7 +60,7 @@ public class KeyboardTutorial extends AbstractTutorial {
                 { "4", "Select ellipse menu" },
                 { "5", "Select polygon menu" },
                 { "6", "Select transformations menu" },
-                { "7", "Select move menu" },
+                { "7", "Select boolean operations menu" },
                 { "8", "Select delete menu" },
 
                 { "Alt + h", "Open help center" },
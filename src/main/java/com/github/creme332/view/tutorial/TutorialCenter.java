@@ -1,5 +1,8 @@
 package com.github.creme332.view.tutorial;
 
+import static com.github.creme332.utils.IconLoader.loadIconAsync;
+import static com.github.creme332.utils.IconRegistry.svg;
+
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.text.BadLocationException;
@@ -8,19 +11,66 @@ import java.awt.*;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.formdev.flatlaf.FlatClientProperties;
 import com.formdev.flatlaf.icons.FlatSearchIcon;
+import com.github.creme332.model.TutorialModel;
+import com.github.creme332.utils.IconLoader;
 import com.github.creme332.utils.exception.InvalidIconSizeException;
 import com.github.creme332.utils.exception.InvalidPathException;
 import com.github.creme332.view.common.BackButton;
 
+/**
+ * Screen displaying a card for each tutorial. Tutorial screens are only created
+ * when they are opened, and the least recently opened screens are released
+ * once more than MAX_CACHED_SCREENS have been created.
+ */
 public class TutorialCenter extends JPanel {
+    /**
+     * Maximum number of tutorial screens kept in memory.
+     */
+    static final int MAX_CACHED_SCREENS = 2;
+
+    /**
+     * Creates a tutorial screen.
+     */
+    @FunctionalInterface
+    interface TutorialFactory {
+        AbstractTutorial create() throws InvalidPathException, InvalidIconSizeException, BadLocationException;
+    }
+
     private JButton backButton;
     private JTextField searchField;
     private ArrayList<TutorialCard> tutorialCards = new ArrayList<>();
-    private ArrayList<AbstractTutorial> tutorialScreens = new ArrayList<>();
+
+    /**
+     * Catalogue of tutorials shared by all instances. It is only filled by
+     * loadCatalogue().
+     */
+    private static final List<TutorialModel> tutorialModels = new ArrayList<>();
+    private static final List<Icon> previewIcons = new ArrayList<>();
+    private static final List<TutorialFactory> tutorialFactories = new ArrayList<>();
+
+    /**
+     * Tutorial screens which have been created, from least to most recently
+     * opened.
+     */
+    private final Map<String, AbstractTutorial> tutorialScreens = new LinkedHashMap<>(MAX_CACHED_SCREENS + 1,
+            0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, AbstractTutorial> eldest) {
+            if (size() > MAX_CACHED_SCREENS) {
+                screenContainer.remove(eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+
     JPanel gridPanel;
     /**
      * Layout used for screenContainer for swapping between tutorial center and
@@ -51,17 +101,14 @@ public class TutorialCenter extends JPanel {
     public TutorialCenter() {
         setLayout(new BorderLayout());
 
-        initTutorialScreens();
-        initTutorialCards();
+        loadCatalogue();
+        for (int i = 0; i < tutorialModels.size(); i++) {
+            tutorialCards.add(new TutorialCard(tutorialModels.get(i).getTitle(), previewIcons.get(i)));
+        }
         createTutorialListGrid();
 
         screenContainer.add(mainTutorialScreen, "tutorialCenter");
 
-        // add tutorials
-        for (AbstractTutorial screen : tutorialScreens) {
-            screenContainer.add(screen, screen.getTitle());
-        }
-
         add(screenContainer);
 
         mainTutorialScreen.addComponentListener(new ComponentAdapter() {
@@ -79,28 +126,74 @@ public class TutorialCenter extends JPanel {
         cl.show(screenContainer, tutorialName);
     }
 
-    private void initTutorialScreens() {
+    /**
+     * Shows a tutorial screen, creating it if needed.
+     * 
+     * @param index Index of tutorial
+     * @return Screen of tutorial
+     */
+    public AbstractTutorial openTutorial(int index) {
+        final String title = tutorialModels.get(index).getTitle();
+        AbstractTutorial screen = tutorialScreens.get(title);
+        if (screen == null) {
+            try {
+                screen = tutorialFactories.get(index).create();
+            } catch (InvalidPathException | InvalidIconSizeException | BadLocationException e) {
+                e.printStackTrace();
+                System.exit(ABORT);
+            }
+            screenContainer.add(screen, title);
+            tutorialScreens.put(title, screen);
+        }
+        showTutorial(title);
+        return screen;
+    }
+
+    /**
+     * Loads the models and preview icons of all tutorials, without creating their
+     * screens. This can be called from any thread, for example to load tutorials
+     * while the splash screen is displayed.
+     */
+    public static synchronized void loadCatalogue() {
+        if (!tutorialModels.isEmpty()) {
+            return;
+        }
         try {
-            tutorialScreens.add(new GettingStartedTutorial());
-            tutorialScreens.add(new DrawLineTutorial());
-            tutorialScreens.add(new DrawCircleTutorial());
-            tutorialScreens.add(new KeyboardTutorial());
-            tutorialScreens.add(new DrawEllipseTutorial());
-            tutorialScreens.add(new DrawPolygonTutorial());
-        } catch (InvalidPathException | InvalidIconSizeException | BadLocationException e) {
+            addTutorial(GettingStartedTutorial.GETTING_STARTED_MODEL,
+                    loadIconAsync("/icons/icosahedron.png",
+                            IconLoader.getScaledDimension(new Dimension(512, 512), TutorialCard.IMAGE_DIMENSION)),
+                    GettingStartedTutorial::new);
+            addTutorial(DrawLineTutorial.DRAW_LINE_MODEL,
+                    svg("/icons/blue-line.svg", TutorialCard.IMAGE_DIMENSION), DrawLineTutorial::new);
+            addTutorial(DrawCircleTutorial.DRAW_CIRCLE_MODEL,
+                    svg("/icons/circle.svg", TutorialCard.IMAGE_DIMENSION), DrawCircleTutorial::new);
+            addTutorial(KeyboardTutorial.KEYBOARD_TUTORIAL_MODEL,
+                    svg("/icons/keyboard.svg", TutorialCard.IMAGE_DIMENSION), KeyboardTutorial::new);
+            addTutorial(DrawEllipseTutorial.TUTORIAL_MODEL,
+                    svg("/icons/ellipse.svg", TutorialCard.IMAGE_DIMENSION), DrawEllipseTutorial::new);
+            addTutorial(DrawPolygonTutorial.TUTORIAL_MODEL,
+                    svg("/icons/regular-polygon.svg", TutorialCard.IMAGE_DIMENSION), DrawPolygonTutorial::new);
+        } catch (InvalidIconSizeException e) {
             e.printStackTrace();
             System.exit(ABORT);
         }
     }
 
-    private void initTutorialCards() {
-        for (AbstractTutorial screen : tutorialScreens) {
-            tutorialCards.add(new TutorialCard(screen.getTitle(), screen.getPreviewIcon()));
-        }
+    /**
+     * 
+     * @param model       Model of tutorial
+     * @param previewIcon Icon displayed on card of tutorial
+     * @param factory     Function creating the tutorial screen when it is first
+     *                    opened
+     */
+    private static void addTutorial(TutorialModel model, Icon previewIcon, TutorialFactory factory) {
+        tutorialModels.add(model);
+        previewIcons.add(previewIcon);
+        tutorialFactories.add(factory);
     }
 
     /**
-     * Must be called after initTutorialCards.
+     * Must be called after tutorial cards are created.
      */
     private void createTutorialListGrid() {
         mainTutorialScreen = new JPanel();
@@ -182,7 +275,11 @@ public class TutorialCenter extends JPanel {
         return tutorialCards;
     }
 
-    public List<AbstractTutorial> getTutorialScreens() {
-        return tutorialScreens;
+    /**
+     * 
+     * @return Models of tutorials in the same order as tutorial cards
+     */
+    public List<TutorialModel> getTutorialModels() {
+        return Collections.unmodifiableList(tutorialModels);
     }
 }
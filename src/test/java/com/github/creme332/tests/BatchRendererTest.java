@@ -0,0 +1,92 @@
+package com.github.creme332.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Polygon;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.creme332.BatchRenderer;
+import com.github.creme332.model.LineType;
+import com.github.creme332.model.ShapeWrapper;
+import com.github.creme332.utils.ShapeJsonV2Writer;
+import com.github.creme332.utils.ShapeJsonWriter;
+
+public class BatchRendererTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * A square from (100, 100) to (200, 200), far from the origin.
+     */
+    private static List<ShapeWrapper> createSquare() {
+        ShapeWrapper square = new ShapeWrapper(Color.BLUE, LineType.SOLID, 2);
+        square.setShape(new Polygon(new int[] { 100, 200, 200, 100 }, new int[] { 100, 100, 200, 200 }, 4));
+        return Arrays.asList(square);
+    }
+
+    /**
+     * Outline pixels are blended with the fill color by antialiasing.
+     */
+    private static boolean isOutline(Color color) {
+        return color.getBlue() == 255 && color.getRed() < 128 && color.getGreen() < 128;
+    }
+
+    @Test
+    public void testShapesAreFittedInImage() {
+        BatchRenderer renderer = new BatchRenderer();
+        renderer.setSize(400, 300);
+        BufferedImage image = renderer.render(createSquare());
+
+        assertEquals(400, image.getWidth());
+        assertEquals(300, image.getHeight());
+
+        // square is centred and filled with a transparent version of its color
+        Color center = new Color(image.getRGB(200, 150));
+        assertTrue(center.getBlue() > center.getRed());
+        assertNotEquals(Color.WHITE, center);
+
+        // cell size is the largest integer for which the square fits, which is 2
+        assertTrue(isOutline(new Color(image.getRGB(200, 50))));
+        assertTrue(isOutline(new Color(image.getRGB(100, 150))));
+        assertEquals(Color.WHITE, new Color(image.getRGB(200, 40)));
+        assertEquals(Color.WHITE, new Color(image.getRGB(5, 5)));
+    }
+
+    @Test
+    public void testRenderAllWritesOneImagePerFile() throws IOException {
+        Path first = folder.getRoot().toPath().resolve("first.json");
+        Path second = folder.getRoot().toPath().resolve("second.json");
+        Path invalid = folder.getRoot().toPath().resolve("invalid.json");
+        ShapeJsonWriter.export(createSquare(), first);
+        ShapeJsonV2Writer.export(createSquare(), second);
+        Files.write(invalid, "[{\"lineType\":".getBytes());
+
+        BatchRenderer renderer = new BatchRenderer();
+        renderer.setSize(200, 100);
+        renderer.setFormat("jpg");
+        renderer.setAxesVisible(true);
+
+        assertTrue(!renderer.renderAll(Arrays.asList(first, second, invalid)));
+
+        for (String name : new String[] { "first.jpg", "second.jpg" }) {
+            BufferedImage image = ImageIO.read(folder.getRoot().toPath().resolve(name).toFile());
+            assertEquals(200, image.getWidth());
+            assertEquals(100, image.getHeight());
+        }
+        assertTrue(Files.notExists(folder.getRoot().toPath().resolve("invalid.jpg")));
+    }
+}
@@ -0,0 +1,29 @@
+package com.github.creme332.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import javax.swing.UIManager;
+
+import org.junit.Test;
+
+import com.github.creme332.Bootstrap;
+
+public class BootstrapTest {
+
+    @Test
+    public void testAllTasksComplete() {
+        final Bootstrap bootstrap = Bootstrap.start();
+        bootstrap.awaitTheme();
+        assertEquals("PolydrawTheme", UIManager.getLookAndFeel().getName());
+
+        bootstrap.getInitialization().join();
+        final Map<String, Long> durations = bootstrap.getDurations();
+        assertEquals(5, durations.size());
+        assertTrue(durations.keySet().containsAll(
+                Arrays.asList("theme", "preferences", "json", "icons", "tutorials")));
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.creme332.tests.benchmark;
+
+import java.awt.Polygon;
+import java.awt.geom.Area;
+import java.util.Arrays;
+import java.util.Random;
+
+import com.github.creme332.model.calculator.BooleanOperationCalculator;
+import com.github.creme332.model.calculator.BooleanOperationCalculator.Operation;
+import com.github.creme332.model.calculator.CircleCalculator;
+import com.github.creme332.model.calculator.EllipseCalculator;
+
+/**
+ * Compares the running time of BooleanOperationCalculator with
+ * java.awt.geom.Area on pixel-dense polygons produced by the circle and ellipse
+ * calculators.
+ *
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.github.creme332.tests.benchmark.BooleanOperationBenchmark
+ */
+public class BooleanOperationBenchmark {
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int ITERATIONS = 21;
+
+    public static void main(String[] args) {
+        System.out.printf("%-12s %10s %10s %12s %12s %8s%n", "operation", "vertices", "vertices", "area (ms)",
+                "sweep (ms)", "speedup");
+
+        // pixel-dense polygons
+        for (int radius : new int[] { 1000, 2500, 5000 }) {
+            int[][] circle = new CircleCalculator().getOrderedPoints(0, 0, radius);
+            Polygon subject = new Polygon(circle[0], circle[1], circle[0].length);
+
+            int[][] ellipse = new EllipseCalculator().getOrderedPoints(radius / 2, radius / 3, radius, radius / 2);
+            Polygon clipping = new Polygon(ellipse[0], ellipse[1], ellipse[0].length);
+
+            run(subject, clipping);
+        }
+
+        // polygons without collinear edges
+        Random random = new Random(1);
+        for (int verticesCount : new int[] { 10000, 50000 }) {
+            run(createStar(random, 0, 0, verticesCount), createStar(random, 300, 200, verticesCount));
+        }
+    }
+
+    private static void run(Polygon subject, Polygon clipping) {
+        for (Operation operation : Operation.values()) {
+            double areaTime = measure(() -> computeWithArea(subject, clipping, operation));
+            double sweepTime = measure(() -> BooleanOperationCalculator.compute(subject, clipping, operation));
+
+            System.out.printf("%-12s %10d %10d %12.2f %12.2f %7.1fx%n", operation, subject.npoints,
+                    clipping.npoints, areaTime, sweepTime, areaTime / sweepTime);
+        }
+    }
+
+    /**
+     * Creates a star-shaped polygon with random radii.
+     */
+    private static Polygon createStar(Random random, int centerX, int centerY, int verticesCount) {
+        Polygon polygon = new Polygon();
+        for (int i = 0; i < verticesCount; i++) {
+            double angle = 2 * Math.PI * i / verticesCount;
+            double radius = 5000 + random.nextInt(20);
+            polygon.addPoint(centerX + (int) Math.round(radius * Math.cos(angle)),
+                    centerY + (int) Math.round(radius * Math.sin(angle)));
+        }
+        return polygon;
+    }
+
+    private static Area computeWithArea(Polygon subject, Polygon clipping, Operation operation) {
+        Area area = new Area(subject);
+        Area other = new Area(clipping);
+        switch (operation) {
+            case UNION:
+                area.add(other);
+                break;
+            case INTERSECTION:
+                area.intersect(other);
+                break;
+            case DIFFERENCE:
+                area.subtract(other);
+                break;
+            default:
+                area.exclusiveOr(other);
+                break;
+        }
+        return area;
+    }
+
+    /**
+     *
+     * @return Median running time in milliseconds. The median is less affected
+     *         than the average by garbage collections.
+     */
+    private static double measure(Runnable task) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            task.run();
+        }
+
+        final double[] times = new double[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            final long start = System.nanoTime();
+            task.run();
+            times[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(times);
+        return times[ITERATIONS / 2];
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.creme332.tests.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+
+import com.github.creme332.core.CommandIngestor;
+import com.github.creme332.core.Document;
+import com.github.creme332.model.CanvasModel;
+import com.github.creme332.model.ShapeManager;
+import com.github.creme332.view.Canvas;
+
+/**
+ * Measures the throughput of a command stream, from parsing to shapes added to
+ * the canvas. Commands are applied while they are read, as on the canvas, so
+ * the queue of the ingestor is full most of the time. The target is 100,000
+ * commands per second.
+ *
+ * The canvas is repainted whenever the shape manager changes, as done by the
+ * canvas controller. Commands are applied either one change at a time or in
+ * batches limited in time, as done by the command ingestion controller.
+ *
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.github.creme332.tests.benchmark.CommandIngestionBenchmark
+ */
+public class CommandIngestionBenchmark {
+    private static final int COMMAND_COUNT = 500_000;
+    private static final int ITERATIONS = 3;
+
+    /**
+     * Maximum time in nanoseconds of a batch, as on the canvas.
+     */
+    private static final long FRAME_BUDGET = 12_000_000;
+
+    public static void main(String[] args) throws Exception {
+        final String stream = createStream(COMMAND_COUNT);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            System.out.print("Unbatched: ");
+            run(stream, false);
+            System.out.print("Batched: ");
+            run(stream, true);
+        }
+    }
+
+    private static void run(String stream, boolean isBatched) throws InterruptedException {
+        final CanvasModel model = new CanvasModel();
+        final Canvas canvas = new Canvas(model);
+        canvas.setSize(800, 600);
+        final ShapeManager shapeManager = model.getShapeManager();
+        shapeManager.addPropertyChangeListener(e -> canvas.repaint());
+
+        final CommandIngestor ingestor = new CommandIngestor();
+        final Document document = new Document(shapeManager);
+        final Thread reader = new Thread(() -> {
+            try {
+                ingestor.read(new StringReader(stream), "benchmark");
+            } catch (IOException | InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        final long start = System.nanoTime();
+        reader.start();
+        final int[] appliedCount = { 0 };
+        while (appliedCount[0] < COMMAND_COUNT) {
+            if (isBatched) {
+                final long deadline = System.nanoTime() + FRAME_BUDGET;
+                shapeManager.runBatch(() -> {
+                    while (appliedCount[0] < COMMAND_COUNT && System.nanoTime() < deadline) {
+                        appliedCount[0] += ingestor.drain(document, 1024);
+                    }
+                });
+            } else {
+                appliedCount[0] += ingestor.drain(document, 1024);
+            }
+        }
+        final double seconds = (System.nanoTime() - start) / 1e9;
+        reader.join();
+
+        System.out.printf("%d commands in %.2f s: %.0f commands/s%n", appliedCount[0], seconds,
+                appliedCount[0] / seconds);
+    }
+
+    /**
+     * Creates a stream of short lines, small circles and translations, which is
+     * typical of generated diagrams.
+     */
+    private static String createStream(int count) {
+        final Random random = new Random(0);
+        final StringBuilder stream = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            final int x = random.nextInt(1000) - 500;
+            final int y = random.nextInt(1000) - 500;
+            switch (i % 4) {
+                case 0:
+                case 1:
+                    stream.append("line ").append(x).append(' ').append(y).append(' ')
+                            .append(x + random.nextInt(20)).append(' ').append(y + random.nextInt(20));
+                    break;
+                case 2:
+                    stream.append("circle ").append(x).append(' ').append(y).append(' ')
+                            .append(1 + random.nextInt(10));
+                    break;
+                default:
+                    stream.append("translate 1 -1");
+            }
+            stream.append('\n');
+        }
+        return stream.toString();
+    }
+}
@@ -0,0 +1,108 @@
+package com.github.creme332.tests.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.github.creme332.utils.FuzzySearching;
+import com.github.creme332.utils.SearchIndex;
+
+/**
+ * Compares the search of tutorials by keyword before and after the search
+ * index. Before, every query word was compared to every keyword with the full
+ * Levenshtein table. The catalogue is enlarged to the size expected once modes
+ * and commands can be searched too, and, as with tutorials, items share
+ * keywords from a common vocabulary.
+ *
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.github.creme332.tests.benchmark.FuzzySearchBenchmark
+ */
+public class FuzzySearchBenchmark {
+    private static final int ITEM_COUNT = 500;
+    private static final int KEYWORDS_PER_ITEM = 8;
+    private static final int VOCABULARY_SIZE = 600;
+    private static final int QUERY_COUNT = 2_000;
+    private static final int ITERATIONS = 5;
+
+    public static void main(String[] args) {
+        final Random random = new Random(0);
+        final String[] vocabulary = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = randomWord(random, 3 + random.nextInt(8));
+        }
+
+        final List<String[]> items = new ArrayList<>();
+        final SearchIndex<Integer> index = new SearchIndex<>();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            final String[] keywords = new String[KEYWORDS_PER_ITEM];
+            for (int j = 0; j < keywords.length; j++) {
+                keywords[j] = vocabulary[random.nextInt(vocabulary.length)];
+            }
+            items.add(keywords);
+            index.add(i, keywords);
+        }
+
+        final String[] queries = new String[QUERY_COUNT];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = randomWord(random, 3 + random.nextInt(8)) + " " + randomWord(random, 3 + random.nextInt(8));
+        }
+
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            long start = System.nanoTime();
+            int fullMatches = 0;
+            for (String query : queries) {
+                for (String[] keywords : items) {
+                    if (matchWithFullTable(query, keywords)) {
+                        fullMatches++;
+                    }
+                }
+            }
+            final double fullMillis = (System.nanoTime() - start) / 1e6;
+
+            start = System.nanoTime();
+            int boundedMatches = 0;
+            for (String query : queries) {
+                for (String[] keywords : items) {
+                    if (FuzzySearching.match(query, keywords)) {
+                        boundedMatches++;
+                    }
+                }
+            }
+            final double boundedMillis = (System.nanoTime() - start) / 1e6;
+
+            start = System.nanoTime();
+            int indexMatches = 0;
+            for (String query : queries) {
+                indexMatches += index.search(query).size();
+            }
+            final double indexMillis = (System.nanoTime() - start) / 1e6;
+
+            System.out.printf("full table: %.1f ms, banded: %.1f ms, index: %.1f ms (%d, %d, %d matches)%n",
+                    fullMillis, boundedMillis, indexMillis, fullMatches, boundedMatches, indexMatches);
+        }
+    }
+
+    /**
+     * Implementation of FuzzySearching.match() before the banded distance.
+     */
+    private static boolean matchWithFullTable(String searchQuery, String[] keywords) {
+        String[] criteria = searchQuery.split(" ");
+        for (String keyword : keywords) {
+            for (String criterion : criteria) {
+                if (FuzzySearching.levenshteinDistance(keyword.toLowerCase(), criterion.toLowerCase()) <= 3) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String randomWord(Random random, int length) {
+        final char[] word = new char[length];
+        for (int i = 0; i < length; i++) {
+            word[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(word);
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.creme332.tests.benchmark;
+
+import java.awt.Color;
+import java.awt.Polygon;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.creme332.model.LineType;
+import com.github.creme332.model.ShapeWrapper;
+import com.github.creme332.model.calculator.CircleCalculator;
+import com.github.creme332.utils.ParallelShapeJsonReader;
+import com.github.creme332.utils.ShapeJsonReader;
+import com.github.creme332.utils.ShapeJsonWriter;
+
+/**
+ * Compares the time taken to import a JSON document with ShapeJsonReader on a
+ * single thread and with ParallelShapeJsonReader on one thread per core.
+ * The speedup should approach the number of cores for large documents.
+ *
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.github.creme332.tests.benchmark.ParallelImportBenchmark
+ */
+public class ParallelImportBenchmark {
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int ITERATIONS = 5;
+
+    public static void main(String[] args) throws IOException {
+        System.out.printf("%d cores%n", Runtime.getRuntime().availableProcessors());
+        System.out.printf("%8s %12s %16s %16s%n", "shapes", "size (MB)", "sequential (ms)", "parallel (ms)");
+
+        for (int shapeCount : new int[] { 1000, 10000 }) {
+            Path file = Files.createTempFile("polydraw-benchmark", ".json");
+
+            try {
+                ShapeJsonWriter.export(createCircles(shapeCount), file);
+
+                double sequentialTime = measure(() -> {
+                    try (ShapeJsonReader reader = new ShapeJsonReader(
+                            Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+                        while (reader.hasNext()) {
+                            reader.next();
+                        }
+                    }
+                });
+                double parallelTime = measure(() -> ParallelShapeJsonReader.readAll(file, null));
+
+                System.out.printf("%8d %12.1f %16.1f %16.1f%n", shapeCount, Files.size(file) / 1e6,
+                        sequentialTime * 1e3, parallelTime * 1e3);
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static List<ShapeWrapper> createCircles(int count) {
+        List<ShapeWrapper> shapes = new ArrayList<>();
+        CircleCalculator calculator = new CircleCalculator();
+        for (int i = 0; i < count; i++) {
+            int[][] coordinates = calculator.getOrderedPoints(i, -i, 200 + i % 100);
+            ShapeWrapper wrapper = new ShapeWrapper(Color.BLUE, LineType.SOLID, 1);
+            wrapper.setShape(new Polygon(coordinates[0], coordinates[1], coordinates[0].length));
+            shapes.add(wrapper);
+        }
+        return shapes;
+    }
+
+    private interface Task {
+        void run() throws IOException;
+    }
+
+    /**
+     *
+     * @return Average running time in seconds.
+     */
+    private static double measure(Task task) throws IOException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            task.run();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            task.run();
+        }
+        return (System.nanoTime() - start) / 1e9 / ITERATIONS;
+    }
+}
@@ -0,0 +1,87 @@
+package com.github.creme332.tests.benchmark;
+
+import java.awt.Color;
+import java.awt.Polygon;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.creme332.model.LineType;
+import com.github.creme332.model.ShapeWrapper;
+import com.github.creme332.model.calculator.CircleCalculator;
+import com.github.creme332.utils.ShapeJsonWriter;
+import com.google.gson.Gson;
+
+/**
+ * Compares the throughput of ShapeJsonWriter with the previous export which
+ * built the whole JSON document as a string before writing it. The target for
+ * the streaming export is at least 100 MB/s on a local SSD, with a heap usage
+ * independent of the document size. Throughput is bounded by the disk on slow
+ * storage.
+ *
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.github.creme332.tests.benchmark.ShapeExportBenchmark
+ */
+public class ShapeExportBenchmark {
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int ITERATIONS = 5;
+
+    public static void main(String[] args) throws IOException {
+        System.out.printf("%8s %12s %14s %14s%n", "shapes", "size (MB)", "string (MB/s)", "stream (MB/s)");
+
+        for (int shapeCount : new int[] { 100, 1000 }) {
+            List<ShapeWrapper> shapes = createCircles(shapeCount);
+            Path file = Files.createTempFile("polydraw-benchmark", ".json");
+
+            try {
+                double stringTime = measure(() -> {
+                    try (FileWriter writer = new FileWriter(file.toFile())) {
+                        writer.write(new Gson().toJson(shapes));
+                    }
+                });
+                double streamTime = measure(() -> ShapeJsonWriter.export(shapes, file));
+
+                double size = Files.size(file) / 1e6;
+                System.out.printf("%8d %12.1f %14.1f %14.1f%n", shapeCount, size, size / stringTime,
+                        size / streamTime);
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static List<ShapeWrapper> createCircles(int count) {
+        List<ShapeWrapper> shapes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int[][] coordinates = new CircleCalculator().getOrderedPoints(i, -i, 500 + i % 100);
+            ShapeWrapper wrapper = new ShapeWrapper(Color.BLUE, LineType.SOLID, 1);
+            wrapper.setShape(new Polygon(coordinates[0], coordinates[1], coordinates[0].length));
+            shapes.add(wrapper);
+        }
+        return shapes;
+    }
+
+    private interface Task {
+        void run() throws IOException;
+    }
+
+    /**
+     *
+     * @return Average running time in seconds.
+     */
+    private static double measure(Task task) throws IOException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            task.run();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            task.run();
+        }
+        return (System.nanoTime() - start) / 1e9 / ITERATIONS;
+    }
+}
@@ -0,0 +1,95 @@
+package com.github.creme332.tests.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Color;
+import java.awt.Polygon;
+import java.awt.geom.Point2D;
+
+import org.junit.Test;
+
+import com.github.creme332.controller.canvas.ShapeDragSession;
+import com.github.creme332.model.LineType;
+import com.github.creme332.model.ShapeManager;
+import com.github.creme332.model.ShapeWrapper;
+
+public class ShapeDragSessionTest {
+
+    private static ShapeManager createSquareAtOrigin() {
+        final ShapeWrapper square = new ShapeWrapper(Color.RED, LineType.SOLID, 1);
+        square.setShape(new Polygon(new int[] { -2, 2, 2, -2 }, new int[] { -2, -2, 2, 2 }, 4));
+        square.getPlottedPoints().add(new Point2D.Double(-2, -2));
+
+        final ShapeManager shapeManager = new ShapeManager();
+        shapeManager.addShape(square);
+        return shapeManager;
+    }
+
+    @Test
+    public void testDragTranslatesShapeOnceOnFinish() {
+        final ShapeManager shapeManager = createSquareAtOrigin();
+        final ShapeDragSession session = new ShapeDragSession(shapeManager, 0);
+
+        session.dragTo(new Point2D.Double(3.5, 1));
+        final ShapeWrapper preview = shapeManager.getShapePreview();
+        session.dragTo(new Point2D.Double(10, -5.5));
+
+        // preview is not copied and its geometry is only translated when drawn
+        assertSame(preview, shapeManager.getShapePreview());
+        assertEquals(-2, ((Polygon) preview.getShape()).xpoints[0]);
+        assertEquals(10, shapeManager.getPreviewTransform().getTranslateX(), 0);
+        assertEquals(-5, shapeManager.getPreviewTransform().getTranslateY(), 0);
+
+        session.finish();
+        assertNull(shapeManager.getShapePreview());
+        assertNull(shapeManager.getPreviewTransform());
+
+        final ShapeWrapper moved = shapeManager.getShapesView().get(0);
+        assertEquals(8, ((Polygon) moved.getShape()).xpoints[0]);
+        assertEquals(-7, ((Polygon) moved.getShape()).ypoints[0]);
+        assertEquals(new Point2D.Double(8, -7), moved.getPlottedPoints().get(0));
+
+        // drag can be undone in one step
+        shapeManager.undo();
+        assertEquals(-2, ((Polygon) shapeManager.getShapesView().get(0).getShape()).xpoints[0]);
+    }
+
+    @Test
+    public void testShapeIsNotEditedIfNotMoved() {
+        final ShapeManager shapeManager = createSquareAtOrigin();
+        final ShapeDragSession session = new ShapeDragSession(shapeManager, 0);
+        session.dragTo(new Point2D.Double(0.5, 0.5));
+        session.finish();
+
+        // only the addition of the square can be undone
+        shapeManager.undo();
+        assertEquals(0, shapeManager.getShapeCount());
+    }
+
+    @Test
+    public void testShapeIsFoundAgainWhenDragEnds() {
+        final ShapeManager shapeManager = createSquareAtOrigin();
+        final ShapeWrapper other = new ShapeWrapper(Color.BLUE, LineType.SOLID, 1);
+        other.setShape(new Polygon(new int[] { 10, 12, 12 }, new int[] { 10, 10, 12 }, 3));
+        shapeManager.addShape(other);
+
+        final ShapeDragSession session = new ShapeDragSession(shapeManager, 1);
+        session.dragTo(new Point2D.Double(21, 11));
+
+        // the dragged shape moves to another index during the drag
+        shapeManager.deleteShape(0);
+        session.finish();
+
+        assertEquals(1, shapeManager.getShapeCount());
+        assertEquals(20, ((Polygon) shapeManager.getShapesView().get(0).getShape()).xpoints[0]);
+
+        // nothing is edited if the dragged shape was deleted
+        final ShapeDragSession deleted = new ShapeDragSession(shapeManager, 0);
+        deleted.dragTo(new Point2D.Double(0, 0));
+        shapeManager.deleteShape(0);
+        deleted.finish();
+        assertEquals(0, shapeManager.getShapeCount());
+    }
+}
@@ -0,0 +1,124 @@
+package com.github.creme332.tests.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.awt.Color;
+import java.awt.geom.AffineTransform;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.Test;
+
+import com.github.creme332.controller.canvas.transform.TransformAnimator;
+import com.github.creme332.core.ShapeFactory;
+import com.github.creme332.model.LineType;
+import com.github.creme332.model.ShapeManager;
+import com.github.creme332.model.ShapeWrapper;
+import com.github.creme332.utils.AnimationScheduler;
+
+public class TransformAnimatorTest {
+    private static final long MILLIS = 1_000_000;
+
+    @Test
+    public void testPreviewIsTransformedAndShapeIsCommittedOnce() throws Exception {
+        // run on event dispatch thread so that frames of the timer do not interleave
+        SwingUtilities.invokeAndWait(() -> {
+            final ShapeManager shapeManager = new ShapeManager();
+            final ShapeWrapper target = createLine();
+            shapeManager.addShape(target);
+            final ShapeWrapper preview = new ShapeWrapper(target);
+            final AtomicInteger commitCount = new AtomicInteger();
+
+            final TransformAnimator animator = new TransformAnimator(shapeManager, null, target, preview, 100_000,
+                    progress -> AffineTransform.getTranslateInstance(100 * progress, 0),
+                    shapeIndex -> commitCount.incrementAndGet());
+
+            final AnimationScheduler scheduler = AnimationScheduler.getInstance();
+            animator.start();
+            final long start = System.nanoTime();
+            assertSame(preview, shapeManager.getShapePreview());
+            assertEquals(0, shapeManager.getPreviewTransform().getTranslateX(), 1);
+
+            // late frames skip to the current time
+            scheduler.update(start + 75_000 * MILLIS);
+            assertFalse(animator.isFinished());
+            assertEquals(75, shapeManager.getPreviewTransform().getTranslateX(), 1);
+
+            scheduler.update(start + 120_000 * MILLIS);
+            scheduler.update(start + 150_000 * MILLIS);
+            assertTrue(animator.isFinished());
+            assertNull(shapeManager.getShapePreview());
+            assertNull(shapeManager.getPreviewTransform());
+            assertEquals(1, commitCount.get());
+        });
+    }
+
+    @Test
+    public void testTargetIsFoundByIdentityWhenAnimationEnds() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            final ShapeManager shapeManager = new ShapeManager();
+            final ShapeWrapper target = createLine();
+            shapeManager.addShape(createLine());
+            shapeManager.addShape(target);
+            final List<Integer> commits = new ArrayList<>();
+
+            final TransformAnimator animator = new TransformAnimator(shapeManager, null, target,
+                    new ShapeWrapper(target), 100_000, progress -> new AffineTransform(), commits::add);
+            animator.start();
+            final long start = System.nanoTime();
+            assertTrue(TransformAnimator.isAnimating(target));
+
+            // a second animation of the same shape is refused
+            final TransformAnimator overlapping = new TransformAnimator(shapeManager, null, target,
+                    new ShapeWrapper(target), 100_000, progress -> new AffineTransform(), commits::add);
+            try {
+                overlapping.start();
+                fail();
+            } catch (IllegalStateException e) {
+                // expected
+            }
+
+            // the index of the target changes during the animation
+            shapeManager.deleteShape(0);
+            AnimationScheduler.getInstance().update(start + 150_000 * MILLIS);
+
+            assertTrue(animator.isFinished());
+            assertFalse(TransformAnimator.isAnimating(target));
+            assertEquals(List.of(0), commits);
+        });
+    }
+
+    @Test
+    public void testReplacedTargetIsNotCommitted() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            final ShapeManager shapeManager = new ShapeManager();
+            final ShapeWrapper target = createLine();
+            shapeManager.addShape(target);
+            final AtomicInteger commitCount = new AtomicInteger();
+
+            new TransformAnimator(shapeManager, null, target, new ShapeWrapper(target), 100_000,
+                    progress -> new AffineTransform(), shapeIndex -> commitCount.incrementAndGet()).start();
+            final long start = System.nanoTime();
+
+            shapeManager.editShape(0, createLine());
+            AnimationScheduler.getInstance().update(start + 150_000 * MILLIS);
+
+            assertEquals(0, commitCount.get());
+            assertFalse(TransformAnimator.isAnimating(target));
+        });
+    }
+
+    private static ShapeWrapper createLine() {
+        final ShapeWrapper line = new ShapeWrapper(Color.RED, LineType.SOLID, 1);
+        line.setShape(ShapeFactory.createLine(0, 0, 10, 0));
+        return line;
+    }
+}
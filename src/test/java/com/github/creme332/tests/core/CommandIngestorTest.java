@@ -0,0 +1,108 @@
+package com.github.creme332.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Polygon;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import com.github.creme332.core.CommandIngestor;
+import com.github.creme332.core.Document;
+import com.github.creme332.core.DrawCommandParser;
+import com.github.creme332.model.LineType;
+import com.github.creme332.model.ShapeWrapper;
+
+public class CommandIngestorTest {
+
+    @Test
+    public void testCommandsAreApplied() throws Exception {
+        final String stream = String.join("\n",
+                "# a comment",
+                "style #0000ff80 dashed 2",
+                "line 0 0 10 0",
+                "",
+                "circle 0 0 5",
+                "polygon 0 0 4 0 4 4",
+                "unknown 1 2",
+                "circle 0 0",
+                "select 0 2",
+                "translate 1 2",
+                "select 1",
+                "delete");
+
+        final CommandIngestor ingestor = new CommandIngestor();
+        ingestor.read(new StringReader(stream), "test");
+        // invalid commands are skipped
+        assertEquals(8, ingestor.getPendingCount());
+
+        final Document document = new Document();
+        assertEquals(8, ingestor.drain(document, 100));
+        assertEquals(0, ingestor.getPendingCount());
+
+        assertEquals(2, document.getShapeCount());
+        final ShapeWrapper line = document.getShapes().get(0);
+        assertTrue(line.isLine());
+        assertEquals(new Color(0, 0, 255, 128), line.getLineColor());
+        assertEquals(LineType.DASHED, line.getLineType());
+        assertEquals(2, line.getLineThickness());
+        assertEquals(1, line.getShape().getBounds2D().getMinX(), 0);
+        assertEquals(11, line.getShape().getBounds2D().getMaxX(), 0);
+
+        final Polygon polygon = (Polygon) document.getShapes().get(1).getShape();
+        assertEquals(5, polygon.xpoints[2]);
+        assertEquals(6, polygon.ypoints[2]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidColor() {
+        new DrawCommandParser().parse("style blue solid 1");
+    }
+
+    @Test
+    public void testFullQueueBlocksReader() throws Exception {
+        final CommandIngestor ingestor = new CommandIngestor(2);
+        final byte[] stream = "line 0 0 1 1\nline 0 0 2 2\nline 0 0 3 3\n".getBytes(StandardCharsets.UTF_8);
+        final Thread reader = ingestor.startReading(new ByteArrayInputStream(stream), "test");
+
+        // reader waits for space in queue before queuing the last command
+        reader.join(200);
+        assertTrue(reader.isAlive());
+        assertEquals(2, ingestor.getPendingCount());
+
+        final Document document = new Document();
+        ingestor.drain(document, 1);
+        reader.join(5000);
+        assertFalse(reader.isAlive());
+        ingestor.drain(document, 10);
+        assertEquals(3, document.getShapeCount());
+    }
+
+    @Test
+    public void testLocalSocket() throws IOException, InterruptedException {
+        final CommandIngestor ingestor = new CommandIngestor();
+        try (ServerSocket serverSocket = ingestor.listen(0)) {
+            try (Socket socket = new Socket(serverSocket.getInetAddress(), serverSocket.getLocalPort());
+                    OutputStream out = socket.getOutputStream()) {
+                out.write("circle 0 0 3\ncircle 1 1 3\n".getBytes(StandardCharsets.UTF_8));
+            }
+
+            final Document document = new Document();
+            final long deadline = System.currentTimeMillis() + 5000;
+            while (document.getShapeCount() < 2 && System.currentTimeMillis() < deadline) {
+                ingestor.drain(document, 10);
+                Thread.sleep(10);
+            }
+            assertEquals(2, document.getShapeCount());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.github.creme332.tests.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Polygon;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.github.creme332.core.Document;
+import com.github.creme332.core.ShapeFactory;
+import com.github.creme332.model.LineType;
+import com.github.creme332.model.ShapeWrapper;
+
+public class DocumentTest {
+
+    @Test
+    public void testTransformsMatchShapeWrapper() {
+        final Point2D pivot = new Point2D.Double(3, 4);
+        final Document document = new Document()
+                .style(Color.BLUE, LineType.DASHED, 2)
+                .circle(0, 0, 10)
+                .rotate(Math.PI / 3, pivot)
+                .translate(5, -2);
+
+        final ShapeWrapper expected = new ShapeWrapper(Color.BLUE, LineType.DASHED, 2);
+        expected.setShape(new ShapeFactory().createCircle(0, 0, 10));
+        expected.getPlottedPoints().add(new Point2D.Double(0, 0));
+        expected.rotate(Math.PI / 3, pivot);
+        expected.translate(new Point2D.Double(5, -2));
+
+        assertEquals(1, document.getShapeCount());
+        final ShapeWrapper actual = document.getShapes().get(0);
+        assertEquals(Color.BLUE, actual.getLineColor());
+        assertEquals(LineType.DASHED, actual.getLineType());
+        assertArrayEquals(ShapeWrapper.getCoordinates(expected.getShape())[0],
+                ShapeWrapper.getCoordinates(actual.getShape())[0], 1e-9);
+        assertArrayEquals(ShapeWrapper.getCoordinates(expected.getShape())[1],
+                ShapeWrapper.getCoordinates(actual.getShape())[1], 1e-9);
+        assertEquals(expected.getPlottedPoints(), actual.getPlottedPoints());
+
+        // each transformation is undoable
+        final Polygon circle = new ShapeFactory().createCircle(0, 0, 10);
+        document.undo().undo();
+        assertArrayEquals(circle.xpoints, ((Polygon) document.getShapes().get(0).getShape()).xpoints);
+        assertEquals(0, document.getSelection().length);
+    }
+
+    @Test
+    public void testClipOnlyAffectsSelection() {
+        final Document document = new Document()
+                .line(-20, 0, 20, 0)
+                .line(0, -20, 0, 20)
+                .select(1)
+                .clip(new Rectangle2D.Double(-5, -5, 10, 10));
+
+        final Rectangle2D unclipped = document.getShapes().get(0).getShape().getBounds2D();
+        assertEquals(-20, unclipped.getMinX(), 0);
+        assertEquals(20, unclipped.getMaxX(), 0);
+
+        final Rectangle2D clipped = document.getShapes().get(1).getShape().getBounds2D();
+        assertEquals(-5, clipped.getMinY(), 0);
+        assertEquals(5, clipped.getMaxY(), 0);
+        assertTrue(document.getShapes().get(1).isLine());
+    }
+
+    @Test
+    public void testClipKeepsCenterOfCircle() {
+        final Document document = new Document()
+                .circle(0, 0, 10)
+                .polygon(new Point2D.Double(0, 0), new Point2D.Double(20, 0), new Point2D.Double(0, 20))
+                .selectAll()
+                .clip(new Rectangle2D.Double(2, -20, 30, 40));
+
+        // center of circle is outside clipping rectangle but still defines the circle
+        assertEquals(List.of(new Point2D.Double(0, 0)), document.getShapes().get(0).getPlottedPoints());
+
+        // vertices of polygon which were clipped away are removed
+        assertEquals(List.of(new Point2D.Double(20, 0)), document.getShapes().get(1).getPlottedPoints());
+    }
+
+    @Test
+    public void testMultiShapeOperationsAreUndoneInOneStep() {
+        final Document document = new Document()
+                .line(-20, 0, 20, 0)
+                .line(0, -20, 0, 20);
+        final Set<Rectangle2D> original = getBounds(document);
+
+        document.selectAll().rotate(Math.PI / 4, new Point2D.Double(0, 0)).undo();
+        assertEquals(original, getBounds(document));
+
+        document.selectAll().clip(new Rectangle2D.Double(-5, -5, 10, 10)).undo();
+        assertEquals(original, getBounds(document));
+
+        document.selectAll().delete().undo();
+        assertEquals(original, getBounds(document));
+
+        // only the drawing of both lines remains to be undone
+        document.undo().undo();
+        assertEquals(0, document.getShapeCount());
+    }
+
+    /**
+     * Undoing may reorder shapes, so shapes are compared by their bounds.
+     */
+    private static Set<Rectangle2D> getBounds(Document document) {
+        final Set<Rectangle2D> bounds = new HashSet<>();
+        for (ShapeWrapper wrapper : document.getShapes()) {
+            bounds.add(wrapper.getShape().getBounds2D());
+        }
+        return bounds;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPolygon() {
+        new Document().regularPolygon(new Point2D.Double(0, 0), new Point2D.Double(1, 0), 2);
+    }
+}
@@ -111,6 +111,29 @@ public class ShapeManagerTest {
         assertTrue(compareArrays(new ArrayList<>(), shapeManager.getShapes()));
     }
 
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testEditShapeAtInvalidIndex() {
+        shapeManager.addShape(generateRandomShape());
+        shapeManager.editShape(1, generateRandomShape());
+    }
+
+    @Test
+    public void testIndexOfFindsShapeByIdentity() {
+        final ShapeWrapper first = generateRandomShape();
+        final ShapeWrapper second = generateRandomShape();
+        shapeManager.addShape(first);
+        shapeManager.addShape(second);
+
+        assertEquals(1, shapeManager.indexOf(second));
+        shapeManager.deleteShape(0);
+        assertEquals(0, shapeManager.indexOf(second));
+
+        // a copy is a different shape
+        assertEquals(-1, shapeManager.indexOf(new ShapeWrapper(second)));
+        assertEquals(-1, shapeManager.indexOf(first));
+        assertEquals(-1, shapeManager.indexOf(null));
+    }
+
     @Test
     public void testComplexSequence() {
         ShapeWrapper shape1 = generateRandomShape();
@@ -269,4 +292,96 @@ public class ShapeManagerTest {
         assertTrue(shapeManager.isUndoPossible());
         assertTrue(compareArrays(new ArrayList<>(Arrays.asList(shape1, shape3)), shapeManager.getShapes()));
     }
+
+    @Test
+    public void testRestoreSnapshotKeepsHistory() {
+        final ShapeWrapper first = generateRandomShape();
+        final ShapeWrapper second = generateRandomShape();
+        shapeManager.addShape(first);
+        shapeManager.addShape(second);
+        shapeManager.undo();
+
+        final ShapeManager.Snapshot snapshot = shapeManager.takeSnapshot();
+        shapeManager.importShapes(new ShapeWrapper[] { generateRandomShape() });
+        assertFalse(shapeManager.isUndoPossible());
+
+        shapeManager.restoreSnapshot(snapshot);
+        assertEquals(List.of(first), shapeManager.getShapesView());
+        assertTrue(shapeManager.isUndoPossible());
+        assertTrue(shapeManager.isRedoPossible());
+
+        shapeManager.redo();
+        assertEquals(List.of(first, second), shapeManager.getShapesView());
+        shapeManager.undo();
+        shapeManager.undo();
+        assertEquals(0, shapeManager.getShapeCount());
+    }
+
+    @Test
+    public void testBatchIsSingleChange() {
+        final ShapeWrapper first = generateRandomShape();
+        final ShapeWrapper second = generateRandomShape();
+        final ShapeWrapper edited = generateRandomShape();
+        shapeManager.addShape(first);
+
+        final int[] eventCount = { 0 };
+        shapeManager.addPropertyChangeListener(e -> eventCount[0]++);
+        shapeManager.runBatch(() -> {
+            shapeManager.addShape(second);
+            shapeManager.deleteShape(0);
+            shapeManager.editShape(0, edited);
+        });
+        assertEquals(1, eventCount[0]);
+        assertEquals(List.of(edited), shapeManager.getShapesView());
+
+        // the whole batch is undone at once
+        shapeManager.undo();
+        assertEquals(List.of(first), shapeManager.getShapesView());
+        assertTrue(shapeManager.isUndoPossible());
+
+        shapeManager.redo();
+        assertEquals(List.of(edited), shapeManager.getShapesView());
+        assertFalse(shapeManager.isRedoPossible());
+        assertEquals(3, eventCount[0]);
+    }
+
+    @Test
+    public void testUndoDuringBatch() {
+        final ShapeWrapper first = generateRandomShape();
+        final ShapeWrapper second = generateRandomShape();
+        final ShapeWrapper circle = generateRandomShape();
+        shapeManager.runBatch(() -> {
+            shapeManager.addShape(first);
+            shapeManager.addShape(second);
+        });
+
+        // only the change made earlier in the batch is undone
+        shapeManager.runBatch(() -> {
+            shapeManager.addShape(circle);
+            shapeManager.undo();
+        });
+        assertEquals(List.of(first, second), shapeManager.getShapesView());
+        assertTrue(shapeManager.isRedoPossible());
+
+        shapeManager.runBatch(shapeManager::redo);
+        assertEquals(List.of(first, second, circle), shapeManager.getShapesView());
+
+        shapeManager.undo();
+        shapeManager.undo();
+        assertEquals(0, shapeManager.getShapeCount());
+    }
+
+    @Test
+    public void testResetDuringBatch() {
+        shapeManager.runBatch(() -> {
+            shapeManager.addShape(generateRandomShape());
+            shapeManager.reset();
+            shapeManager.addShape(generateRandomShape());
+        });
+        assertEquals(1, shapeManager.getShapeCount());
+
+        shapeManager.undo();
+        assertEquals(0, shapeManager.getShapeCount());
+        assertFalse(shapeManager.isUndoPossible());
+    }
 }
@@ -9,6 +9,7 @@ import java.awt.Polygon;
 import java.awt.geom.Point2D;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import com.github.creme332.model.ShapeWrapper;
 import com.github.creme332.model.LineType;
@@ -120,4 +121,35 @@ public class ShapeWrapperTest {
         assertTrue(shapeWrapper.isPointOnShape(new Point2D.Double(0, 1)));
     }
 
+    @Test
+    public void testIsPointOnShapeMatchesShapeQueries() {
+        Random random = new Random(3);
+
+        // random star-shaped polygon with many vertices
+        Polygon star = new Polygon();
+        for (int i = 0; i < 2000; i++) {
+            double angle = 2 * Math.PI * i / 2000;
+            double radius = 200 + random.nextInt(300);
+            star.addPoint((int) Math.round(radius * Math.cos(angle)), (int) Math.round(radius * Math.sin(angle)));
+        }
+        ShapeWrapper wrapper = new ShapeWrapper(Color.BLACK, LineType.SOLID, 1);
+        wrapper.setShape(star);
+
+        for (int i = 0; i < 20000; i++) {
+            Point2D point = new Point2D.Double(random.nextDouble() * 1200 - 600, random.nextDouble() * 1200 - 600);
+            boolean expected = star.contains(point) || ShapeWrapper.isPointOnShapeBorder(star, point);
+            assertEquals(point.toString(), expected, wrapper.isPointOnShape(point));
+        }
+    }
+
+    @Test
+    public void testIsPointOnShapeAfterTransformation() {
+        Point2D point = new Point2D.Double(10.5, 10.5);
+        assertFalse(originalShapeWrapper.isPointOnShape(point));
+
+        // cached geometry must be discarded when shape changes
+        originalShapeWrapper.translate(new Point2D.Double(10, 10));
+        assertTrue(originalShapeWrapper.isPointOnShape(point));
+        assertFalse(originalShapeWrapper.isPointOnShape(new Point2D.Double(0.5, 0.5)));
+    }
 }
@@ -0,0 +1,186 @@
+package com.github.creme332.tests.model.calculator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Polygon;
+import java.awt.geom.Area;
+import java.awt.geom.PathIterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.github.creme332.model.calculator.BooleanOperationCalculator;
+import com.github.creme332.model.calculator.BooleanOperationCalculator.Operation;
+import com.github.creme332.model.calculator.CircleCalculator;
+
+public class BooleanOperationCalculatorTest {
+
+    private static Polygon createRectangle(int x, int y, int width, int height) {
+        return new Polygon(new int[] { x, x + width, x + width, x }, new int[] { y, y, y + height, y + height }, 4);
+    }
+
+    /**
+     * Creates a random star-shaped polygon. Such a polygon is always simple.
+     */
+    private static Polygon createStar(Random random, int centerX, int centerY, int verticesCount) {
+        Polygon polygon = new Polygon();
+        for (int i = 0; i < verticesCount; i++) {
+            double angle = 2 * Math.PI * i / verticesCount;
+            double radius = 200 + random.nextInt(800);
+            polygon.addPoint(centerX + (int) Math.round(radius * Math.cos(angle)),
+                    centerY + (int) Math.round(radius * Math.sin(angle)));
+        }
+        return polygon;
+    }
+
+    private static Polygon createCircle(int centerX, int centerY, int radius) {
+        int[][] coordinates = new CircleCalculator().getOrderedPoints(centerX, centerY, radius);
+        return new Polygon(coordinates[0], coordinates[1], coordinates[0].length);
+    }
+
+    /**
+     * Calculates the area enclosed by the result of a boolean operation. The
+     * result is the region covered by an odd number of polygons.
+     */
+    private static double getArea(List<Polygon> polygons) {
+        Area result = new Area();
+        for (Polygon polygon : polygons) {
+            result.exclusiveOr(new Area(polygon));
+        }
+        return getArea(result);
+    }
+
+    /**
+     * Calculates the area of a shape bounded by straight lines.
+     */
+    private static double getArea(Area area) {
+        double sum = 0;
+        double[] coords = new double[6];
+        double startX = 0, startY = 0, prevX = 0, prevY = 0;
+        for (PathIterator it = area.getPathIterator(null); !it.isDone(); it.next()) {
+            int type = it.currentSegment(coords);
+            if (type == PathIterator.SEG_MOVETO) {
+                startX = prevX = coords[0];
+                startY = prevY = coords[1];
+            } else if (type == PathIterator.SEG_LINETO) {
+                sum += prevX * coords[1] - coords[0] * prevY;
+                prevX = coords[0];
+                prevY = coords[1];
+            } else if (type == PathIterator.SEG_CLOSE) {
+                sum += prevX * startY - startX * prevY;
+                prevX = startX;
+                prevY = startY;
+            }
+        }
+        return Math.abs(sum) / 2;
+    }
+
+    /**
+     * Calculates the area of the result of a boolean operation using
+     * java.awt.geom.Area.
+     */
+    private static double getExpectedArea(Polygon subject, Polygon clipping, Operation operation) {
+        Area area = new Area(subject);
+        Area other = new Area(clipping);
+        switch (operation) {
+            case UNION:
+                area.add(other);
+                break;
+            case INTERSECTION:
+                area.intersect(other);
+                break;
+            case DIFFERENCE:
+                area.subtract(other);
+                break;
+            default:
+                area.exclusiveOr(other);
+                break;
+        }
+        return getArea(area);
+    }
+
+    private static void assertMatchesArea(Polygon subject, Polygon clipping) {
+        for (Operation operation : Operation.values()) {
+            double expected = getExpectedArea(subject, clipping, operation);
+            double actual = getArea(BooleanOperationCalculator.compute(subject, clipping, operation));
+
+            // intersection points are rounded to integers
+            assertEquals(operation.toString(), expected, actual, 1 + expected * 5e-3);
+        }
+    }
+
+    @Test
+    public void testOverlappingRectangles() {
+        Polygon a = createRectangle(0, 0, 10, 10);
+        Polygon b = createRectangle(5, 5, 10, 10);
+
+        assertEquals(175, getArea(BooleanOperationCalculator.compute(a, b, Operation.UNION)), 0);
+        assertEquals(25, getArea(BooleanOperationCalculator.compute(a, b, Operation.INTERSECTION)), 0);
+        assertEquals(75, getArea(BooleanOperationCalculator.compute(a, b, Operation.DIFFERENCE)), 0);
+        assertEquals(150, getArea(BooleanOperationCalculator.compute(a, b, Operation.XOR)), 0);
+    }
+
+    @Test
+    public void testDifferenceCreatesHole() {
+        Polygon outer = createRectangle(0, 0, 10, 10);
+        Polygon inner = createRectangle(4, 4, 2, 2);
+
+        List<Polygon> result = BooleanOperationCalculator.compute(outer, inner, Operation.DIFFERENCE);
+        assertEquals(96, getArea(result), 0);
+
+        // hole is returned as a separate contour instead of being joined to the
+        // outer contour by an edge which would be visible on the canvas
+        assertEquals(2, result.size());
+        for (Polygon polygon : result) {
+            assertEquals(4, polygon.npoints);
+        }
+        assertTrue(BooleanOperationCalculator.hasHoles(result));
+
+        // a notch cut in the edge of the outer contour is not a hole
+        Polygon touching = createRectangle(0, 4, 2, 2);
+        assertFalse(BooleanOperationCalculator.hasHoles(
+                BooleanOperationCalculator.compute(outer, touching, Operation.DIFFERENCE)));
+        assertFalse(BooleanOperationCalculator.hasHoles(
+                BooleanOperationCalculator.compute(outer, inner, Operation.INTERSECTION)));
+    }
+
+    @Test
+    public void testDisjointPolygons() {
+        Polygon a = createRectangle(0, 0, 10, 10);
+        Polygon b = createRectangle(20, 20, 10, 10);
+
+        assertEquals(2, BooleanOperationCalculator.compute(a, b, Operation.UNION).size());
+        assertTrue(BooleanOperationCalculator.compute(a, b, Operation.INTERSECTION).isEmpty());
+        assertEquals(100, getArea(BooleanOperationCalculator.compute(a, b, Operation.DIFFERENCE)), 0);
+    }
+
+    @Test
+    public void testSharedEdges() {
+        Polygon a = createRectangle(0, 0, 10, 10);
+        Polygon b = createRectangle(10, 0, 10, 10);
+        Polygon c = createRectangle(0, 0, 10, 5);
+
+        assertMatchesArea(a, b);
+        assertMatchesArea(a, c);
+        assertMatchesArea(a, a);
+    }
+
+    @Test
+    public void testRandomStarPolygons() {
+        Random random = new Random(11);
+        for (int i = 0; i < 20; i++) {
+            Polygon subject = createStar(random, 0, 0, 5 + random.nextInt(60));
+            Polygon clipping = createStar(random, random.nextInt(600), random.nextInt(600), 5 + random.nextInt(60));
+            assertMatchesArea(subject, clipping);
+        }
+    }
+
+    @Test
+    public void testPixelCircles() {
+        assertMatchesArea(createCircle(0, 0, 300), createCircle(250, 100, 200));
+        assertMatchesArea(createCircle(0, 0, 300), createCircle(50, 20, 100));
+    }
+}
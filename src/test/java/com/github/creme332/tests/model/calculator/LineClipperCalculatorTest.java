@@ -1,6 +1,11 @@
 package com.github.creme332.tests.model.calculator;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
 
 import org.junit.Test;
 
@@ -43,4 +48,59 @@ public class LineClipperCalculatorTest {
         double[][] result = LineClipperCalculator.clip(0, 2, 6, 2, 1, 1, 5, 5);
         assertArrayEquals(new double[][] { { 1, 2 }, { 5, 2 } }, result);
     }
+
+    @Test
+    public void testClipBatchMatchesSingleClip() {
+        double[] segments = { 2, 2, 4, 4, 0, 0, 5, 5, -1, -1, 0, 0, 2, 0, 2, 6, 0, 2, 6, 2, 6, 6, 7, 7 };
+        int count = segments.length / 4;
+
+        for (LineClipperCalculator.Algorithm algorithm : LineClipperCalculator.Algorithm.values()) {
+            double[] out = new double[segments.length];
+            boolean[] accepted = new boolean[count];
+            int acceptedCount = LineClipperCalculator.clipBatch(segments, count, 1, 1, 5, 5, algorithm, out,
+                    accepted);
+
+            assertEquals(4, acceptedCount);
+            assertTrue(Arrays.equals(new boolean[] { true, true, false, true, true, false }, accepted));
+            assertArrayEquals(new double[] { 2, 2, 4, 4, 1, 1, 5, 5 }, Arrays.copyOfRange(out, 0, 8),
+                    1e-9);
+            assertArrayEquals(new double[] { 2, 1, 2, 5, 1, 2, 5, 2 }, Arrays.copyOfRange(out, 12, 20),
+                    1e-9);
+        }
+    }
+
+    @Test
+    public void testLiangBarskyAgreesWithCohenSutherlandOnLargeBatch() {
+        Random random = new Random(3);
+        int count = 3 * LineClipperCalculator.PARALLEL_THRESHOLD + 17;
+        double[] segments = new double[4 * count];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = random.nextInt(2001) - 1000;
+        }
+
+        double[] cohenSutherland = new double[segments.length];
+        boolean[] cohenSutherlandAccepted = new boolean[count];
+        int cohenSutherlandCount = LineClipperCalculator.clipBatch(segments, count, -300, -200, 400, 250,
+                LineClipperCalculator.Algorithm.COHEN_SUTHERLAND, cohenSutherland, cohenSutherlandAccepted);
+
+        double[] liangBarsky = new double[segments.length];
+        boolean[] liangBarskyAccepted = new boolean[count];
+        int liangBarskyCount = LineClipperCalculator.clipBatch(segments, count, -300, -200, 400, 250,
+                LineClipperCalculator.Algorithm.LIANG_BARSKY, liangBarsky, liangBarskyAccepted);
+
+        assertEquals(cohenSutherlandCount, liangBarskyCount);
+        assertTrue(Arrays.equals(cohenSutherlandAccepted, liangBarskyAccepted));
+        assertArrayEquals(cohenSutherland, liangBarsky, 1e-6);
+
+        // batch result must agree with clipping lines one at a time
+        for (int i = 0; i < count; i++) {
+            double[][] expected = LineClipperCalculator.clip(segments[4 * i], segments[4 * i + 1],
+                    segments[4 * i + 2], segments[4 * i + 3], -300, -200, 400, 250);
+            assertEquals(expected.length != 0, cohenSutherlandAccepted[i]);
+            if (expected.length != 0) {
+                assertArrayEquals(new double[] { expected[0][0], expected[0][1], expected[1][0], expected[1][1] },
+                        Arrays.copyOfRange(cohenSutherland, 4 * i, 4 * i + 4), 1e-9);
+            }
+        }
+    }
 }
@@ -0,0 +1,101 @@
+package com.github.creme332.tests.model.calculator;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Polygon;
+import java.awt.geom.Area;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Rectangle2D;
+
+import org.junit.Test;
+
+import com.github.creme332.model.calculator.PolygonClipperCalculator;
+
+public class PolygonClipperCalculatorTest {
+
+    /**
+     * Calculates the area of a polygon using the shoelace formula.
+     */
+    private static double getArea(Polygon polygon) {
+        double sum = 0;
+        for (int i = 0; i < polygon.npoints; i++) {
+            int j = (i + 1) % polygon.npoints;
+            sum += (double) polygon.xpoints[i] * polygon.ypoints[j] - (double) polygon.xpoints[j] * polygon.ypoints[i];
+        }
+        return Math.abs(sum) / 2;
+    }
+
+    /**
+     * Calculates the area of a shape bounded by straight lines.
+     */
+    private static double getArea(Area area) {
+        double sum = 0;
+        double[] coords = new double[6];
+        double startX = 0, startY = 0, prevX = 0, prevY = 0;
+        for (PathIterator it = area.getPathIterator(null); !it.isDone(); it.next()) {
+            int type = it.currentSegment(coords);
+            if (type == PathIterator.SEG_MOVETO) {
+                startX = prevX = coords[0];
+                startY = prevY = coords[1];
+            } else if (type == PathIterator.SEG_LINETO) {
+                sum += prevX * coords[1] - coords[0] * prevY;
+                prevX = coords[0];
+                prevY = coords[1];
+            } else if (type == PathIterator.SEG_CLOSE) {
+                sum += prevX * startY - startX * prevY;
+            }
+        }
+        return Math.abs(sum) / 2;
+    }
+
+    @Test
+    public void testClipSquarePartiallyInside() {
+        Polygon square = new Polygon(new int[] { 0, 4, 4, 0 }, new int[] { 0, 0, 4, 4 }, 4);
+        Polygon result = PolygonClipperCalculator.clip(square, 2, 2, 6, 6);
+
+        assertArrayEquals(new int[] { 2, 4, 4, 2 }, result.xpoints);
+        assertArrayEquals(new int[] { 2, 2, 4, 4 }, result.ypoints);
+    }
+
+    @Test
+    public void testClipPolygonInsideOrOutside() {
+        Polygon triangle = new Polygon(new int[] { 1, 3, 2 }, new int[] { 1, 1, 3 }, 3);
+
+        Polygon inside = PolygonClipperCalculator.clip(triangle, 0, 0, 5, 5);
+        assertArrayEquals(triangle.xpoints, inside.xpoints);
+        assertArrayEquals(triangle.ypoints, inside.ypoints);
+
+        assertEquals(0, PolygonClipperCalculator.clip(triangle, 10, 10, 20, 20).npoints);
+    }
+
+    @Test
+    public void testClipLargePolygon() {
+        // circle-like polygon with many vertices
+        int n = 20000;
+        int[] x = new int[n];
+        int[] y = new int[n];
+        for (int i = 0; i < n; i++) {
+            double angle = 2 * Math.PI * i / n;
+            x[i] = (int) Math.round(1000 * Math.cos(angle));
+            y[i] = (int) Math.round(1000 * Math.sin(angle));
+        }
+        Polygon circle = new Polygon(x, y, n);
+        Rectangle2D clipRect = new Rectangle2D.Double(-300, 200, 1500, 500);
+
+        Polygon result = PolygonClipperCalculator.clip(circle, clipRect.getMinX(), clipRect.getMinY(),
+                clipRect.getMaxX(), clipRect.getMaxY());
+
+        for (int i = 0; i < result.npoints; i++) {
+            // vertices may lie on the boundary of the clipping rectangle
+            assertTrue(result.xpoints[i] >= clipRect.getMinX() && result.xpoints[i] <= clipRect.getMaxX());
+            assertTrue(result.ypoints[i] >= clipRect.getMinY() && result.ypoints[i] <= clipRect.getMaxY());
+        }
+
+        Area expected = new Area(circle);
+        expected.intersect(new Area(clipRect));
+        double expectedArea = getArea(expected);
+        assertEquals(expectedArea, getArea(result), expectedArea * 1e-3);
+    }
+}
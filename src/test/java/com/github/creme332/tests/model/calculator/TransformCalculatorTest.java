@@ -0,0 +1,109 @@
+package com.github.creme332.tests.model.calculator;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Polygon;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.PathIterator;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.github.creme332.model.calculator.TransformCalculator;
+
+public class TransformCalculatorTest {
+
+    private static Polygon generateRandomPolygon(Random random, int verticesCount) {
+        int[] x = new int[verticesCount];
+        int[] y = new int[verticesCount];
+        for (int i = 0; i < verticesCount; i++) {
+            x[i] = random.nextInt(2001) - 1000;
+            y[i] = random.nextInt(2001) - 1000;
+        }
+        return new Polygon(x, y, verticesCount);
+    }
+
+    /**
+     * Transforms a polygon using java.awt.geom. This is the reference
+     * implementation that the kernel must agree with.
+     */
+    private static int[][] transformWithPathIterator(Polygon polygon, AffineTransform transform) {
+        Shape transformedShape = transform.createTransformedShape(polygon);
+        PathIterator pathIterator = transformedShape.getPathIterator(null);
+        int[] x = new int[polygon.npoints];
+        int[] y = new int[polygon.npoints];
+        double[] coordinates = new double[6];
+        int i = 0;
+        while (!pathIterator.isDone()) {
+            int segmentType = pathIterator.currentSegment(coordinates);
+            if (segmentType == PathIterator.SEG_MOVETO || segmentType == PathIterator.SEG_LINETO) {
+                x[i] = (int) coordinates[0];
+                y[i] = (int) coordinates[1];
+                i++;
+            }
+            pathIterator.next();
+        }
+        return new int[][] { x, y };
+    }
+
+    @Test
+    public void testTranslatePolygon() {
+        Polygon polygon = new Polygon(new int[] { 0, 1, 1, 0 }, new int[] { 0, 0, 1, 1 }, 4);
+        Polygon result = TransformCalculator.transformPolygon(polygon, AffineTransform.getTranslateInstance(1, 1));
+
+        assertArrayEquals(new int[] { 1, 2, 2, 1 }, result.xpoints);
+        assertArrayEquals(new int[] { 1, 1, 2, 2 }, result.ypoints);
+    }
+
+    @Test
+    public void testMatchesAffineTransformForLargePolygon() {
+        Random random = new Random(42);
+        Polygon polygon = generateRandomPolygon(random, 1003);
+
+        AffineTransform transform = new AffineTransform();
+        transform.translate(12.5, -3.25);
+        transform.rotate(Math.toRadians(37));
+        transform.shear(0.3, -0.2);
+        transform.scale(1.7, -0.6);
+
+        int[][] expected = transformWithPathIterator(polygon, transform);
+        Polygon result = TransformCalculator.transformPolygon(polygon, transform);
+
+        assertEquals(polygon.npoints, result.npoints);
+        assertArrayEquals(expected[0], result.xpoints);
+        assertArrayEquals(expected[1], result.ypoints);
+    }
+
+    @Test
+    public void testTransformInPlaceWithOffset() {
+        int[] x = { 1, 2, 3, 4, 5 };
+        int[] y = { 1, 2, 3, 4, 5 };
+        double[] matrix = TransformCalculator.toMatrix(AffineTransform.getScaleInstance(2, 3));
+
+        TransformCalculator.transform(matrix, x, y, x, y, 1, 3);
+
+        assertArrayEquals(new int[] { 1, 4, 6, 8, 5 }, x);
+        assertArrayEquals(new int[] { 1, 6, 9, 12, 5 }, y);
+    }
+
+    @Test
+    public void testTransformManyPolygons() {
+        Random random = new Random(7);
+        Polygon[] polygons = new Polygon[50];
+        for (int i = 0; i < polygons.length; i++) {
+            polygons[i] = generateRandomPolygon(random, 3 + random.nextInt(200));
+        }
+
+        AffineTransform transform = AffineTransform.getRotateInstance(Math.toRadians(-75), 10, 20);
+        Polygon[] result = TransformCalculator.transformPolygons(polygons, transform);
+
+        assertEquals(polygons.length, result.length);
+        for (int i = 0; i < polygons.length; i++) {
+            int[][] expected = transformWithPathIterator(polygons[i], transform);
+            assertArrayEquals(expected[0], result[i].xpoints);
+            assertArrayEquals(expected[1], result[i].ypoints);
+        }
+    }
+}
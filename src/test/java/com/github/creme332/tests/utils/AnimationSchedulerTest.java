@@ -0,0 +1,129 @@
+package com.github.creme332.tests.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+
+import org.junit.Test;
+
+import com.github.creme332.utils.AnimationScheduler;
+import com.github.creme332.utils.AnimationScheduler.Animation;
+import com.github.creme332.utils.AnimationScheduler.Easing;
+
+public class AnimationSchedulerTest {
+    private static final long MILLIS = 1_000_000;
+
+    /**
+     * Panel which counts layout passes.
+     */
+    private static class CountingPanel extends JPanel {
+        int revalidateCount = 0;
+
+        @Override
+        public void revalidate() {
+            revalidateCount++;
+        }
+    }
+
+    @Test
+    public void testTweenSkipsLateFramesAndFinishesOnce() throws Exception {
+        // run on event dispatch thread so that frames of the clock do not interleave
+        SwingUtilities.invokeAndWait(() -> {
+            final AnimationScheduler scheduler = AnimationScheduler.getInstance();
+            final List<Double> frames = new ArrayList<>();
+            final AtomicInteger finishCount = new AtomicInteger();
+
+            final Animation animation = scheduler.animate(100_000, Easing.LINEAR, frames::add,
+                    finishCount::incrementAndGet);
+            final long start = System.nanoTime();
+            assertEquals(1, frames.size());
+
+            scheduler.update(start + 90_000 * MILLIS);
+            assertEquals(0.9, frames.get(1), 0.01);
+            assertFalse(animation.isFinished());
+
+            scheduler.update(start + 150_000 * MILLIS);
+            scheduler.update(start + 160_000 * MILLIS);
+            assertEquals(3, frames.size());
+            assertEquals(1, frames.get(2), 0);
+            assertEquals(1, finishCount.get());
+            assertTrue(animation.isFinished());
+        });
+    }
+
+    @Test
+    public void testCancelledTaskDoesNotRun() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            final AnimationScheduler scheduler = AnimationScheduler.getInstance();
+            final AtomicInteger runCount = new AtomicInteger();
+
+            final long start = System.nanoTime();
+            final Animation cancelled = scheduler.schedule(100, runCount::incrementAndGet);
+            scheduler.schedule(100, runCount::incrementAndGet);
+            cancelled.cancel();
+
+            scheduler.update(start + 50 * MILLIS);
+            assertEquals(0, runCount.get());
+            scheduler.update(start + 200 * MILLIS);
+            assertEquals(1, runCount.get());
+        });
+    }
+
+    @Test
+    public void testFailingAnimationIsStopped() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            final AnimationScheduler scheduler = AnimationScheduler.getInstance();
+            final AtomicInteger failCount = new AtomicInteger();
+            final AtomicInteger frameCount = new AtomicInteger();
+            final AtomicInteger runCount = new AtomicInteger();
+
+            final long start = System.nanoTime();
+            final Animation failing = scheduler.animate(100, Easing.LINEAR, progress -> {
+                if (progress > 0.5) {
+                    failCount.incrementAndGet();
+                    throw new IllegalStateException("failing frame");
+                }
+            }, null);
+            final Animation other = scheduler.animate(200, Easing.LINEAR, progress -> frameCount.incrementAndGet(),
+                    null);
+            scheduler.schedule(50, runCount::incrementAndGet);
+
+            scheduler.update(start + 60 * MILLIS);
+            assertTrue(failing.isFinished());
+            assertEquals(1, failCount.get());
+            assertEquals(1, runCount.get());
+
+            // the failing animation does not run again
+            scheduler.update(start + 80 * MILLIS);
+            assertEquals(1, failCount.get());
+            assertEquals(3, frameCount.get());
+            assertFalse(other.isFinished());
+        });
+    }
+
+    @Test
+    public void testLayoutRequestsAreCoalesced() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            final AnimationScheduler scheduler = AnimationScheduler.getInstance();
+            final CountingPanel panel = new CountingPanel();
+
+            // two animations change the same panel on every frame
+            final long start = System.nanoTime();
+            scheduler.animate(1000, Easing.EASE_OUT, progress -> scheduler.requestLayout(panel), null);
+            scheduler.animate(1000, Easing.EASE_IN_OUT, progress -> scheduler.requestLayout(panel), null);
+            panel.revalidateCount = 0;
+
+            scheduler.update(start + 500 * MILLIS);
+            assertEquals(1, panel.revalidateCount);
+            scheduler.update(start + 2000 * MILLIS);
+            assertEquals(2, panel.revalidateCount);
+        });
+    }
+}
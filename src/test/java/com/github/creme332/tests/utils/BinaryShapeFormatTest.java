@@ -0,0 +1,185 @@
+package com.github.creme332.tests.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Polygon;
+import java.awt.geom.Point2D;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.creme332.controller.canvas.drawing.DrawLine;
+import com.github.creme332.model.LineType;
+import com.github.creme332.model.ShapeWrapper;
+import com.github.creme332.model.calculator.CircleCalculator;
+import com.github.creme332.utils.BinaryShapeReader;
+import com.github.creme332.utils.BinaryShapeWriter;
+import com.github.creme332.utils.ShapeFileConverter;
+import com.github.creme332.utils.ShapeJsonWriter;
+
+public class BinaryShapeFormatTest {
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("polydraw");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        for (Path file : Files.newDirectoryStream(directory)) {
+            Files.delete(file);
+        }
+        Files.delete(directory);
+    }
+
+    private static List<ShapeWrapper> createShapes() {
+        List<ShapeWrapper> shapes = new ArrayList<>();
+
+        int[][] circle = new CircleCalculator().getOrderedPoints(-30, 40, 500);
+        ShapeWrapper polygon = new ShapeWrapper(new Color(10, 20, 30, 40), LineType.DOTTED, 3);
+        polygon.setShape(new Polygon(circle[0], circle[1], circle[0].length));
+        polygon.getPlottedPoints().add(new Point2D.Double(-30, 40));
+        polygon.getPlottedPoints().add(new Point2D.Double(470.25, 40));
+        shapes.add(polygon);
+
+        ShapeWrapper line = new ShapeWrapper(Color.RED, LineType.SOLID, 1);
+        line.setShape(DrawLine.createPolyline(-100, 0, 100, 37));
+        shapes.add(line);
+
+        // shares style with first shape
+        ShapeWrapper triangle = new ShapeWrapper(new Color(10, 20, 30, 40), LineType.DOTTED, 3);
+        triangle.setShape(new Polygon(new int[] { Integer.MIN_VALUE, Integer.MAX_VALUE, 0 },
+                new int[] { 0, 0, Integer.MAX_VALUE }, 3));
+        shapes.add(triangle);
+
+        return shapes;
+    }
+
+    private static void assertShapesEqual(List<ShapeWrapper> expected, ShapeWrapper[] actual) {
+        assertEquals(expected.size(), actual.length);
+        for (int i = 0; i < actual.length; i++) {
+            assertEquals(expected.get(i).getLineColor(), actual[i].getLineColor());
+            assertEquals(expected.get(i).getLineType(), actual[i].getLineType());
+            assertEquals(expected.get(i).getLineThickness(), actual[i].getLineThickness());
+            assertEquals(expected.get(i).isLine(), actual[i].isLine());
+            assertEquals(expected.get(i).getPlottedPoints(), actual[i].getPlottedPoints());
+            assertArrayEquals(ShapeWrapper.getCoordinates(expected.get(i).getShape()),
+                    ShapeWrapper.getCoordinates(actual[i].getShape()));
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        List<ShapeWrapper> shapes = createShapes();
+        Path file = directory.resolve("shapes.polydraw");
+
+        BinaryShapeWriter.write(shapes, file);
+
+        assertShapesEqual(shapes, BinaryShapeReader.readAll(file));
+
+        // shapes can be read in any order
+        try (BinaryShapeReader reader = BinaryShapeReader.open(file)) {
+            assertEquals(3, reader.getShapeCount());
+            assertTrue(reader.readShape(1).isLine());
+        }
+    }
+
+    @Test
+    public void testTransformedLineIsNotTruncated() throws IOException {
+        ShapeWrapper line = new ShapeWrapper(Color.RED, LineType.SOLID, 1);
+        line.setShape(DrawLine.createPolyline(0, 0, 10, 3));
+        line.rotate(0.3, new Point2D.Double(0, 0));
+        List<ShapeWrapper> shapes = List.of(line);
+        Path file = directory.resolve("shapes.polydraw");
+
+        BinaryShapeWriter.write(shapes, file);
+
+        ShapeWrapper[] imported = BinaryShapeReader.readAll(file);
+        assertShapesEqual(shapes, imported);
+        assertEquals(0.955, ShapeWrapper.getCoordinates(imported[0].getShape())[1][0], 0.001);
+    }
+
+    @Test
+    public void testConversion() throws IOException {
+        List<ShapeWrapper> shapes = createShapes();
+        Path json = directory.resolve("shapes.json");
+        Path binary = directory.resolve("shapes.polydraw");
+        Path convertedJson = directory.resolve("converted.json");
+
+        ShapeJsonWriter.export(shapes, json);
+        ShapeFileConverter.jsonToBinary(json, binary);
+        ShapeFileConverter.binaryToJson(binary, convertedJson);
+
+        assertTrue(ShapeFileConverter.isBinaryFile(binary));
+        assertShapesEqual(shapes, BinaryShapeReader.readAll(binary));
+        assertEquals(Files.readString(json), Files.readString(convertedJson));
+
+        // rasterized shapes take about 2 bytes per vertex
+        assertTrue(Files.size(binary) * 3 < Files.size(json));
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidFile() throws IOException {
+        Path file = directory.resolve("invalid.polydraw");
+        Files.writeString(file, "[]");
+        BinaryShapeReader.readAll(file);
+    }
+
+    /**
+     * Overwrites bytes of a file.
+     */
+    private static void overwrite(Path file, int offset, byte... bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        buffer.position(offset);
+        buffer.put(bytes);
+        Files.write(file, buffer.array());
+    }
+
+    @Test(expected = IOException.class)
+    public void testCorruptedShapeCount() throws IOException {
+        Path file = directory.resolve("corrupted.polydraw");
+        BinaryShapeWriter.write(createShapes(), file);
+
+        // shape count of header is replaced with Integer.MAX_VALUE
+        overwrite(file, 12, (byte) 0x7F, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF);
+        BinaryShapeReader.readAll(file);
+    }
+
+    @Test(expected = IOException.class)
+    public void testCorruptedVertexCount() throws IOException {
+        Path file = directory.resolve("corrupted.polydraw");
+        BinaryShapeWriter.write(createShapes(), file);
+
+        // record of first shape follows the header, the style table and the index
+        ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(file));
+        int recordPosition = (int) header.getLong(16 + header.getInt(8) * 9);
+
+        // vertex count follows the style index and the flags of the record. It is
+        // replaced with Integer.MAX_VALUE, which must not be allocated.
+        overwrite(file, recordPosition + 2, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0x07);
+        BinaryShapeReader.readAll(file);
+    }
+
+    @Test(expected = IOException.class)
+    public void testClosedReader() throws IOException {
+        Path file = directory.resolve("shapes.polydraw");
+        BinaryShapeWriter.write(createShapes(), file);
+
+        BinaryShapeReader reader = BinaryShapeReader.open(file);
+        reader.close();
+
+        // file has been unmapped
+        reader.readShape(0);
+    }
+}
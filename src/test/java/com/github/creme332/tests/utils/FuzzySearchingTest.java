@@ -1,8 +1,13 @@
 package com.github.creme332.tests.utils;
 
 import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import org.junit.Test;
 import com.github.creme332.utils.FuzzySearching;
+import com.github.creme332.utils.SearchIndex;
 
 public class FuzzySearchingTest {
 
@@ -59,4 +64,53 @@ public class FuzzySearchingTest {
         assertTrue(FuzzySearching.match("KITTEN", keywords));
         
     }
+
+    @Test
+    public void testBoundedDistanceAgreesWithFullDistance() {
+        final Random random = new Random(0);
+        for (int i = 0; i < 2000; i++) {
+            final String str1 = randomWord(random);
+            final String str2 = randomWord(random);
+            final int maxDistance = random.nextInt(5);
+            assertEquals(Math.min(FuzzySearching.levenshteinDistance(str1, str2), maxDistance + 1),
+                    FuzzySearching.levenshteinDistance(str1, str2, maxDistance));
+        }
+    }
+
+    @Test
+    public void testSearchIndexAgreesWithMatch() {
+        final Random random = new Random(1);
+        final List<String[]> items = new ArrayList<>();
+        final SearchIndex<Integer> index = new SearchIndex<>();
+        for (int i = 0; i < 50; i++) {
+            final String[] keywords = new String[1 + random.nextInt(4)];
+            for (int j = 0; j < keywords.length; j++) {
+                keywords[j] = randomWord(random);
+            }
+            items.add(keywords);
+            index.add(i, keywords);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            final String query = randomWord(random) + " " + randomWord(random).toUpperCase();
+            final List<Integer> expected = new ArrayList<>();
+            for (int j = 0; j < items.size(); j++) {
+                if (FuzzySearching.match(query, items.get(j))) {
+                    expected.add(j);
+                }
+            }
+            assertEquals(expected, index.search(query));
+        }
+    }
+
+    /**
+     * Creates a word from a small alphabet, so that many words are similar.
+     */
+    private static String randomWord(Random random) {
+        final char[] word = new char[random.nextInt(9)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(4));
+        }
+        return new String(word);
+    }
 }
@@ -0,0 +1,75 @@
+package com.github.creme332.tests.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.awt.image.MultiResolutionImage;
+
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+
+import org.junit.Test;
+
+import com.github.creme332.utils.IconLoader;
+import com.github.creme332.utils.exception.InvalidPathException;
+
+public class IconLoaderTest {
+    private static final String PATH = "/icons/icosahedron.png";
+
+    @Test
+    public void testScaledIconsAreCached() throws Exception {
+        final ImageIcon icon = IconLoader.loadIcon(PATH, new Dimension(100, 100));
+        assertSame(icon, IconLoader.loadIcon(PATH, 100));
+        assertEquals(100, icon.getIconWidth());
+        assertEquals(100, icon.getIconHeight());
+
+        // source image is large enough for a HiDPI variant
+        assertTrue(icon.getImage() instanceof MultiResolutionImage);
+        final BufferedImage variant = (BufferedImage) ((MultiResolutionImage) icon.getImage())
+                .getResolutionVariant(200, 200);
+        assertEquals(200, variant.getWidth());
+
+        assertSame(IconLoader.loadIcon(PATH), IconLoader.loadIcon(PATH));
+    }
+
+    @Test
+    public void testScaleImageAveragesPixels() {
+        // black and white stripes of 1 pixel
+        final BufferedImage stripes = new BufferedImage(256, 256, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < 256; x += 2) {
+            for (int y = 0; y < 256; y++) {
+                stripes.setRGB(x, y, 0xffffff);
+            }
+        }
+
+        final BufferedImage scaled = IconLoader.scaleImage(stripes, 32, 32);
+        assertEquals(32, scaled.getWidth());
+        assertEquals(32, scaled.getHeight());
+
+        // stripes blend to grey instead of disappearing or becoming white
+        for (int x = 0; x < 32; x++) {
+            assertEquals(128, scaled.getRGB(x, 16) & 0xff, 2);
+        }
+    }
+
+    @Test
+    public void testAsyncIcon() throws InvalidPathException {
+        final Icon icon = IconLoader.loadIconAsync("/images/tutorials/getting-started/toast.png");
+        final ImageIcon decodedIcon = IconLoader.loadIcon("/images/tutorials/getting-started/toast.png");
+
+        // size is read from header of image if icon is not cached yet
+        assertEquals(decodedIcon.getIconWidth(), icon.getIconWidth());
+        assertEquals(decodedIcon.getIconHeight(), icon.getIconHeight());
+
+        // icon is returned directly once decoded
+        assertSame(decodedIcon, IconLoader.loadIconAsync("/images/tutorials/getting-started/toast.png"));
+    }
+
+    @Test(expected = InvalidPathException.class)
+    public void testMissingIcon() throws InvalidPathException {
+        IconLoader.loadIconAsync("/icons/missing.png");
+    }
+}
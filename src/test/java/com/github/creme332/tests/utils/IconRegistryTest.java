@@ -0,0 +1,39 @@
+package com.github.creme332.tests.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Dimension;
+
+import org.junit.Test;
+import org.kordamp.ikonli.bootstrapicons.BootstrapIcons;
+
+import com.github.creme332.utils.IconRegistry;
+import com.github.creme332.view.common.LazyIcon;
+
+public class IconRegistryTest {
+
+    @Test
+    public void testIconsAreSharedAndLoadedLazily() {
+        final LazyIcon icon = IconRegistry.svg("/icons/keyboard.svg", new Dimension(31, 17));
+        assertSame(icon, IconRegistry.svg("/icons/keyboard.svg", new Dimension(31, 17)));
+        assertNotSame(icon, IconRegistry.svg("/icons/keyboard.svg", new Dimension(17, 31)));
+
+        // size is known without loading icon
+        assertEquals(31, icon.getIconWidth());
+        assertEquals(17, icon.getIconHeight());
+        assertFalse(icon.isLoaded());
+
+        final LazyIcon fontIcon = IconRegistry.font(BootstrapIcons.BOOKMARK_STAR, 23);
+        assertEquals(23, fontIcon.getIconWidth());
+        assertFalse(fontIcon.isLoaded());
+
+        IconRegistry.preloadAll().join();
+        assertTrue(icon.isLoaded());
+        assertTrue(fontIcon.isLoaded());
+        assertSame(icon.load(), icon.load());
+    }
+}
@@ -0,0 +1,147 @@
+package com.github.creme332.tests.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Polygon;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.creme332.controller.canvas.drawing.DrawLine;
+import com.github.creme332.model.LineType;
+import com.github.creme332.model.ShapeManager;
+import com.github.creme332.model.ShapeWrapper;
+import com.github.creme332.model.calculator.CircleCalculator;
+import com.github.creme332.utils.BinaryShapeReader;
+import com.github.creme332.utils.BinaryShapeWriter;
+import com.github.creme332.utils.PagedDocument;
+
+public class PagedDocumentTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Creates a row of circles of radius 50, 200 units apart, followed by a line
+     * below them.
+     */
+    private static List<ShapeWrapper> createShapes(int circleCount) {
+        final List<ShapeWrapper> shapes = new ArrayList<>();
+        final CircleCalculator calculator = new CircleCalculator();
+        for (int i = 0; i < circleCount; i++) {
+            final int[][] circle = calculator.getOrderedPoints(200 * i, 0, 50);
+            final ShapeWrapper wrapper = new ShapeWrapper(i % 2 == 0 ? Color.RED : Color.BLUE, LineType.SOLID, 2);
+            wrapper.setShape(new Polygon(circle[0], circle[1], circle[0].length));
+            wrapper.getPlottedPoints().add(new Point2D.Double(200 * i, 0));
+            wrapper.getPlottedPoints().add(new Point2D.Double(200 * i + 50, 0));
+            shapes.add(wrapper);
+        }
+
+        final ShapeWrapper line = new ShapeWrapper(Color.GREEN, LineType.DASHED, 1);
+        line.setShape(DrawLine.createPolyline(-10, -100, 300, -80));
+        shapes.add(line);
+        return shapes;
+    }
+
+    private Path writeDocument(List<ShapeWrapper> shapes) throws IOException {
+        final Path file = folder.getRoot().toPath().resolve("document.polydraw");
+        BinaryShapeWriter.write(shapes, file);
+        return file;
+    }
+
+    @Test
+    public void testShapesAreLoadedOnDemand() throws IOException {
+        final List<ShapeWrapper> shapes = createShapes(100);
+        final PagedDocument document = PagedDocument.open(writeDocument(shapes), 1000);
+        final List<ShapeWrapper> pagedShapes = document.getShapes();
+
+        assertEquals(shapes.size(), pagedShapes.size());
+        for (int i = 0; i < shapes.size(); i++) {
+            assertEquals(shapes.get(i).getLineColor(), pagedShapes.get(i).getLineColor());
+            assertEquals(shapes.get(i).getLineType(), pagedShapes.get(i).getLineType());
+
+            Rectangle2D expected = shapes.get(i).getBounds();
+            Rectangle2D actual = pagedShapes.get(i).getBounds();
+            assertTrue(actual.contains(expected) && expected.getWidth() + 2 > actual.getWidth());
+        }
+        assertEquals(0, document.getResidentShapeCount());
+
+        // a circle has 288 vertices so at most 4 circles fit in the resident set
+        for (int i = 0; i < shapes.size(); i++) {
+            assertArrayEquals(ShapeWrapper.getCoordinates(shapes.get(i).getShape()),
+                    ShapeWrapper.getCoordinates(pagedShapes.get(i).getShape()));
+            assertEquals(shapes.get(i).getPlottedPoints(), pagedShapes.get(i).getPlottedPoints());
+            assertTrue(document.getResidentShapeCount() <= 4);
+        }
+    }
+
+    @Test
+    public void testHitTestOnlyLoadsCandidates() throws IOException {
+        final PagedDocument document = PagedDocument.open(writeDocument(createShapes(100)));
+        final ShapeManager shapeManager = new ShapeManager();
+        shapeManager.importShapes(document.getShapes().toArray(new ShapeWrapper[0]));
+
+        assertEquals(50, shapeManager.getSelectedShapeIndex(new Point2D.Double(10000, 10)));
+        assertEquals(-1, shapeManager.getSelectedShapeIndex(new Point2D.Double(10100, 10)));
+        assertEquals(1, document.getResidentShapeCount());
+
+        // shapes are decoded when copied for editing
+        final ShapeWrapper copy = shapeManager.getShapeByIndex(100);
+        copy.translate(new Point2D.Double(0, 10));
+        shapeManager.editShape(100, copy);
+        assertEquals(2, document.getResidentShapeCount());
+    }
+
+    @Test
+    public void testShapesAreCopiedOnWrite() throws IOException {
+        final List<ShapeWrapper> shapes = createShapes(10);
+        final PagedDocument document = PagedDocument.open(writeDocument(shapes), 0);
+        final ShapeWrapper paged = document.getShapes().get(0);
+
+        paged.translate(new Point2D.Double(5, 0));
+        paged.getPlottedPoints().add(new Point2D.Double(1, 2));
+
+        final ShapeWrapper expected = new ShapeWrapper(shapes.get(0));
+        expected.translate(new Point2D.Double(5, 0));
+        expected.getPlottedPoints().add(new Point2D.Double(1, 2));
+        assertArrayEquals(ShapeWrapper.getCoordinates(expected.getShape()),
+                ShapeWrapper.getCoordinates(paged.getShape()));
+        assertEquals(expected.getPlottedPoints(), paged.getPlottedPoints());
+        assertEquals(expected.getBounds(), paged.getBounds());
+
+        // other shapes are still paged
+        assertArrayEquals(ShapeWrapper.getCoordinates(shapes.get(1).getShape()),
+                ShapeWrapper.getCoordinates(document.getShapes().get(1).getShape()));
+        assertEquals(1, document.getResidentShapeCount());
+    }
+
+    @Test
+    public void testSaveOverOpenDocument() throws IOException {
+        final List<ShapeWrapper> shapes = createShapes(10);
+        final Path file = writeDocument(shapes);
+        final PagedDocument document = PagedDocument.open(file, 0);
+
+        // the mapped file is replaced rather than overwritten
+        final List<ShapeWrapper> reversed = new ArrayList<>(document.getShapes());
+        Collections.reverse(reversed);
+        BinaryShapeWriter.write(reversed, file);
+
+        final ShapeWrapper[] saved = BinaryShapeReader.readAll(file);
+        for (int i = 0; i < shapes.size(); i++) {
+            assertArrayEquals(ShapeWrapper.getCoordinates(shapes.get(i).getShape()),
+                    ShapeWrapper.getCoordinates(saved[shapes.size() - 1 - i].getShape()));
+            assertArrayEquals(ShapeWrapper.getCoordinates(shapes.get(i).getShape()),
+                    ShapeWrapper.getCoordinates(document.getShapes().get(i).getShape()));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.github.creme332.tests.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Polygon;
+import java.awt.geom.Point2D;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.AfterClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.creme332.controller.canvas.drawing.DrawLine;
+import com.github.creme332.model.LineType;
+import com.github.creme332.model.ShapeWrapper;
+import com.github.creme332.utils.ParallelShapeJsonReader;
+import com.github.creme332.utils.ShapeJsonReader;
+import com.github.creme332.utils.ShapeJsonV2Writer;
+import com.github.creme332.utils.ShapeJsonWriter;
+
+public class ParallelShapeJsonReaderTest {
+    private static final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @AfterClass
+    public static void tearDownClass() {
+        pool.shutdown();
+    }
+
+    private static List<ShapeWrapper> createShapes(int count) {
+        final Random random = new Random(5);
+        final List<ShapeWrapper> shapes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final ShapeWrapper wrapper = new ShapeWrapper(new Color(random.nextInt(8) * 30, 0, 0), LineType.SOLID, 1);
+            if (i % 5 == 0) {
+                wrapper.setShape(DrawLine.createPolyline(i, 0, i + random.nextInt(200), 300));
+            } else {
+                final int vertexCount = 3 + random.nextInt(50);
+                final int[] xPoints = new int[vertexCount];
+                final int[] yPoints = new int[vertexCount];
+                for (int j = 0; j < vertexCount; j++) {
+                    xPoints[j] = random.nextInt(10000) - 5000;
+                    yPoints[j] = random.nextInt(10000) - 5000;
+                }
+                wrapper.setShape(new Polygon(xPoints, yPoints, vertexCount));
+            }
+            wrapper.getPlottedPoints().add(new Point2D.Double(i, -i));
+            shapes.add(wrapper);
+        }
+        return shapes;
+    }
+
+    private static List<ShapeWrapper> readSequentially(String json) throws IOException {
+        final List<ShapeWrapper> shapes = new ArrayList<>();
+        try (ShapeJsonReader reader = new ShapeJsonReader(new StringReader(json))) {
+            while (reader.hasNext()) {
+                shapes.add(reader.next());
+            }
+        }
+        return shapes;
+    }
+
+    private static void assertSameShapes(List<ShapeWrapper> expected, ShapeWrapper[] actual) {
+        assertEquals(expected.size(), actual.length);
+        for (int i = 0; i < actual.length; i++) {
+            assertEquals(expected.get(i).getLineColor(), actual[i].getLineColor());
+            assertEquals(expected.get(i).isLine(), actual[i].isLine());
+            assertEquals(expected.get(i).getPlottedPoints(), actual[i].getPlottedPoints());
+            if (expected.get(i).getShape() == null) {
+                assertNull(actual[i].getShape());
+            } else {
+                assertArrayEquals(ShapeWrapper.getCoordinates(expected.get(i).getShape()),
+                        ShapeWrapper.getCoordinates(actual[i].getShape()));
+            }
+        }
+    }
+
+    @Test
+    public void testSameResultAsSequentialReader() throws IOException {
+        final List<ShapeWrapper> shapes = createShapes(2000);
+        final Path version1 = folder.newFile("version1.json").toPath();
+        final Path version2 = folder.newFile("version2.json").toPath();
+        ShapeJsonWriter.export(shapes, version1);
+        ShapeJsonV2Writer.export(shapes, version2);
+
+        for (Path file : new Path[] { version1, version2 }) {
+            final byte[] json = Files.readAllBytes(file);
+            final ShapeWrapper[] parsed = ParallelShapeJsonReader.readAll(json, pool, null);
+            assertSameShapes(readSequentially(new String(json, StandardCharsets.UTF_8)), parsed);
+        }
+    }
+
+    @Test
+    public void testUnknownPropertiesAndWhitespace() throws IOException {
+        final String json = "{ \"comment\" : \"shapes: [\\\"{\" ,\n \"version\": 2,\n"
+                + "\"styles\": [{\"lineColor\": {\"r\":1,\"g\":2,\"b\":3,\"a\":255}, \"lineType\": \"DOTTED\"}],\n"
+                + "\"shapes\" : [ {\"style\": 0, \"note\": \"]}\", \"geometry\": {\"type\": \"polygon\","
+                + " \"vertices\": [0, 0, 5, 0, 5, 5]}} ,\n\t{\"style\": 0, \"plottedPoints\": [{\"x\": 1.5, \"y\": 2}]} ],\n"
+                + "\"extra\": [[], {}] }";
+
+        final ShapeWrapper[] parsed = ParallelShapeJsonReader.readAll(json.getBytes(StandardCharsets.UTF_8), pool,
+                null);
+        assertSameShapes(readSequentially(json), parsed);
+        assertEquals(LineType.DOTTED, parsed[1].getLineType());
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncatedDocument() throws IOException {
+        final String json = "[{\"lineThickness\": 1}, {\"lineThickness\": 2";
+        ParallelShapeJsonReader.readAll(json.getBytes(StandardCharsets.UTF_8), pool, null);
+    }
+
+    @Test
+    public void testCancellation() throws IOException {
+        final Path file = folder.newFile("shapes.json").toPath();
+        ShapeJsonWriter.export(createShapes(20000), file);
+
+        // cancel once 100 shapes have been parsed
+        final AtomicInteger polls = new AtomicInteger();
+        try {
+            ParallelShapeJsonReader.readAll(file, null, () -> polls.incrementAndGet() > 100);
+        } catch (CancellationException e) {
+            // remaining shapes of each chunk are not parsed
+            assertTrue(polls.get() < 1000);
+            return;
+        }
+        throw new AssertionError("Parsing was not cancelled.");
+    }
+}
@@ -0,0 +1,176 @@
+package com.github.creme332.tests.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Polygon;
+import java.awt.geom.Point2D;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.creme332.controller.canvas.drawing.DrawLine;
+import com.github.creme332.model.LineType;
+import com.github.creme332.model.ShapeManager;
+import com.github.creme332.model.ShapeWrapper;
+import com.github.creme332.utils.ShapeJournal;
+
+public class ShapeJournalTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static ShapeWrapper createRandomShape(Random random) {
+        final int count = 3 + random.nextInt(20);
+        final int[] xPoints = new int[count];
+        final int[] yPoints = new int[count];
+        for (int i = 0; i < count; i++) {
+            xPoints[i] = random.nextInt(2000) - 1000;
+            yPoints[i] = random.nextInt(2000) - 1000;
+        }
+        ShapeWrapper wrapper = new ShapeWrapper(new Color(random.nextInt()), LineType.DASHED, 1 + random.nextInt(5));
+        wrapper.setShape(new Polygon(xPoints, yPoints, count));
+        wrapper.getPlottedPoints().add(new Point2D.Double(xPoints[0], yPoints[0]));
+        return wrapper;
+    }
+
+    /**
+     * Performs random changes on a shape manager.
+     */
+    private static void mutate(ShapeManager manager, Random random, int changeCount) {
+        for (int i = 0; i < changeCount; i++) {
+            final int choice = random.nextInt(10);
+            if (choice < 4 || manager.getShapeCount() == 0) {
+                manager.addShape(createRandomShape(random));
+            } else if (choice < 5) {
+                manager.deleteShape(random.nextInt(manager.getShapeCount()));
+            } else if (choice < 7) {
+                final int index = random.nextInt(manager.getShapeCount());
+                final ShapeWrapper copy = manager.getShapeByIndex(index);
+                copy.translate(new Point2D.Double(random.nextInt(50), random.nextInt(50)));
+                manager.editShape(index, copy);
+            } else if (choice < 9) {
+                manager.undo();
+            } else {
+                manager.redo();
+            }
+        }
+    }
+
+    private static void assertSameShapes(List<ShapeWrapper> expected, List<ShapeWrapper> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getLineColor(), actual.get(i).getLineColor());
+            assertEquals(expected.get(i).getLineThickness(), actual.get(i).getLineThickness());
+            assertEquals(expected.get(i).getPlottedPoints(), actual.get(i).getPlottedPoints());
+            assertArrayEquals(ShapeWrapper.getCoordinates(expected.get(i).getShape()),
+                    ShapeWrapper.getCoordinates(actual.get(i).getShape()));
+        }
+    }
+
+    /**
+     * Simulates a crash by closing the journal without discarding it.
+     */
+    @Test
+    public void testRecoverAfterCrash() throws IOException {
+        final Path directory = folder.getRoot().toPath();
+        final Random random = new Random(7);
+        final ShapeManager manager = new ShapeManager();
+
+        try (ShapeJournal journal = ShapeJournal.open(directory)) {
+            assertTrue(journal.getRecoveredShapes().isEmpty());
+            journal.attach(manager);
+            mutate(manager, random, 500);
+        }
+
+        final ShapeManager recoveredManager = new ShapeManager();
+        try (ShapeJournal journal = ShapeJournal.open(directory)) {
+            assertSameShapes(manager.getShapesView(), journal.getRecoveredShapes());
+
+            // changes made after recovery are recovered too
+            recoveredManager.importShapes(journal.getRecoveredShapes().toArray(new ShapeWrapper[0]));
+            journal.attach(recoveredManager);
+            mutate(recoveredManager, random, 100);
+        }
+
+        try (ShapeJournal journal = ShapeJournal.open(directory)) {
+            assertSameShapes(recoveredManager.getShapesView(), journal.getRecoveredShapes());
+        }
+    }
+
+    @Test
+    public void testTransformedLineIsRecovered() throws IOException {
+        final Path directory = folder.getRoot().toPath();
+        final ShapeManager manager = new ShapeManager();
+        final ShapeWrapper line = new ShapeWrapper(Color.RED, LineType.SOLID, 1);
+        line.setShape(DrawLine.createPolyline(0, 0, 10, 3));
+        line.rotate(0.3, new Point2D.Double(0, 0));
+
+        try (ShapeJournal journal = ShapeJournal.open(directory)) {
+            journal.attach(manager);
+            // the first line is in the snapshot and the second in the journal
+            manager.importShapes(new ShapeWrapper[] { line });
+            manager.addShape(new ShapeWrapper(line));
+        }
+
+        try (ShapeJournal journal = ShapeJournal.open(directory)) {
+            assertSameShapes(manager.getShapesView(), journal.getRecoveredShapes());
+            assertTrue(journal.getRecoveredShapes().get(1).isLine());
+        }
+    }
+
+    @Test
+    public void testTornRecordIsIgnored() throws IOException {
+        final Path directory = folder.getRoot().toPath();
+        final ShapeManager manager = new ShapeManager();
+
+        try (ShapeJournal journal = ShapeJournal.open(directory)) {
+            journal.attach(manager);
+            mutate(manager, new Random(3), 50);
+        }
+
+        // append the beginning of a record whose payload was never written
+        final File[] journals = folder.getRoot().listFiles((dir, name) -> name.endsWith(".log"));
+        assertEquals(1, journals.length);
+        try (FileChannel channel = FileChannel.open(journals[0].toPath(), StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0, 0, 1, 0, 1, 2, 3, 4, 5 }));
+        }
+
+        try (ShapeJournal journal = ShapeJournal.open(directory)) {
+            assertSameShapes(manager.getShapesView(), journal.getRecoveredShapes());
+        }
+    }
+
+    @Test
+    public void testCompactionKeepsOneGeneration() throws IOException {
+        final Path directory = folder.getRoot().toPath();
+        final Random random = new Random(11);
+        final ShapeManager manager = new ShapeManager();
+
+        try (ShapeJournal journal = ShapeJournal.open(directory)) {
+            journal.attach(manager);
+            manager.importShapes(new ShapeWrapper[] { createRandomShape(random), createRandomShape(random) });
+            mutate(manager, random, 20000);
+            journal.flush();
+
+            final String[] files = folder.getRoot().list();
+            assertEquals(2, files.length);
+        }
+
+        try (ShapeJournal journal = ShapeJournal.open(directory)) {
+            assertSameShapes(manager.getShapesView(), journal.getRecoveredShapes());
+            journal.discard();
+        }
+        assertEquals(0, folder.getRoot().list().length);
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.creme332.tests.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Polygon;
+import java.awt.geom.Point2D;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.github.creme332.controller.canvas.drawing.DrawLine;
+import com.github.creme332.model.LineType;
+import com.github.creme332.model.ShapeWrapper;
+import com.github.creme332.utils.ShapeJsonReader;
+import com.google.gson.Gson;
+
+public class ShapeJsonReaderTest {
+
+    private static List<ShapeWrapper> readAll(String json) throws IOException {
+        List<ShapeWrapper> shapes = new ArrayList<>();
+        try (ShapeJsonReader reader = new ShapeJsonReader(new StringReader(json))) {
+            while (reader.hasNext()) {
+                shapes.add(reader.next());
+            }
+        }
+        return shapes;
+    }
+
+    @Test
+    public void testReadExportedShapes() throws IOException {
+        ShapeWrapper polygon = new ShapeWrapper(new Color(10, 20, 30, 40), LineType.DASHED, 3);
+        polygon.setShape(new Polygon(new int[] { 0, 50, 20 }, new int[] { 0, 10, 40 }, 3));
+        polygon.getPlottedPoints().add(new Point2D.Double(1.5, 2));
+
+        ShapeWrapper line = new ShapeWrapper(Color.RED, LineType.SOLID, 1);
+        line.setShape(DrawLine.createPolyline(0, 0, 100, 37));
+
+        String json = new Gson().toJson(Arrays.asList(polygon, line));
+
+        ShapeWrapper[] expected = new Gson().fromJson(json, ShapeWrapper[].class);
+        List<ShapeWrapper> actual = readAll(json);
+
+        assertEquals(expected.length, actual.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].getLineColor(), actual.get(i).getLineColor());
+            assertEquals(expected[i].getLineType(), actual.get(i).getLineType());
+            assertEquals(expected[i].getLineThickness(), actual.get(i).getLineThickness());
+            assertEquals(expected[i].isLine(), actual.get(i).isLine());
+            assertEquals(expected[i].getPlottedPoints(), actual.get(i).getPlottedPoints());
+            assertArrayEquals(ShapeWrapper.getCoordinates(expected[i].getShape()),
+                    ShapeWrapper.getCoordinates(actual.get(i).getShape()));
+        }
+    }
+
+    @Test
+    public void testUnknownPropertiesAreIgnored() throws IOException {
+        String json = "[{\"id\": {\"a\": [1, 2]}, \"shape\": {\"xCoordinates\": [0, 4, 4],"
+                + " \"yCoordinates\": [0, 0, 3], \"isLine\": \"false\"}, \"lineThickness\": 2}]";
+
+        List<ShapeWrapper> shapes = readAll(json);
+
+        assertEquals(1, shapes.size());
+        assertFalse(shapes.get(0).isLine());
+        assertEquals(2, shapes.get(0).getLineThickness());
+        assertTrue(shapes.get(0).getShape().contains(3, 1));
+    }
+}
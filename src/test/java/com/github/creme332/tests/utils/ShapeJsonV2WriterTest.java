@@ -0,0 +1,162 @@
+package com.github.creme332.tests.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Polygon;
+import java.awt.geom.Point2D;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.github.creme332.controller.canvas.drawing.DrawLine;
+import com.github.creme332.core.Document;
+import com.github.creme332.model.LineType;
+import com.github.creme332.model.ShapeWrapper;
+import com.github.creme332.model.calculator.CircleCalculator;
+import com.github.creme332.model.calculator.EllipseCalculator;
+import com.github.creme332.model.calculator.LineCalculator;
+import com.github.creme332.utils.ShapeJsonReader;
+import com.github.creme332.utils.ShapeJsonV2Writer;
+import com.github.creme332.utils.ShapeJsonWriter;
+
+public class ShapeJsonV2WriterTest {
+
+    private static ShapeWrapper createWrapper(int[][] coordinates, boolean isLine, Point2D... plottedPoints) {
+        ShapeWrapper wrapper = new ShapeWrapper(isLine ? Color.RED : Color.BLUE, LineType.SOLID, 2);
+        if (isLine) {
+            wrapper.setShape(DrawLine.createPolyline(coordinates[0], coordinates[1], coordinates[0].length));
+        } else {
+            wrapper.setShape(new Polygon(coordinates[0], coordinates[1], coordinates[0].length));
+        }
+        for (Point2D point : plottedPoints) {
+            wrapper.getPlottedPoints().add(point);
+        }
+        return wrapper;
+    }
+
+    /**
+     * Creates shapes the same way as the drawing controllers.
+     */
+    private static List<ShapeWrapper> createShapes() {
+        List<ShapeWrapper> shapes = new ArrayList<>();
+        EllipseCalculator ellipseCalculator = new EllipseCalculator();
+
+        shapes.add(createWrapper(LineCalculator.bresenham(-50, 3, 200, 97), true));
+        shapes.add(createWrapper(LineCalculator.dda(0, 0, 100, 37), true));
+        shapes.add(createWrapper(new CircleCalculator().getOrderedPoints(5, -8, 300), false,
+                new Point2D.Double(5, -8), new Point2D.Double(305, -8)));
+        shapes.add(createWrapper(ellipseCalculator.getOrderedPoints(40, 60, 200, 70), false));
+
+        Point2D firstFocus = new Point2D.Double(0, 0);
+        Point2D secondFocus = new Point2D.Double(100, 80);
+        Point2D thirdPoint = new Point2D.Double(-60, 100);
+        shapes.add(createWrapper(ellipseCalculator.getOrderedPoints(firstFocus, secondFocus, thirdPoint), false,
+                firstFocus, secondFocus, thirdPoint));
+        shapes.add(createWrapper(ellipseCalculator.getOrderedPointsWithRadius(firstFocus, secondFocus, 90, 150),
+                false, firstFocus, secondFocus));
+
+        shapes.add(createWrapper(new int[][] { { 0, 10, 25, 3 }, { 0, -4, 30, 12 } }, false));
+
+        // a circle which is no longer parametric after rotation
+        ShapeWrapper rotatedCircle = createWrapper(new CircleCalculator().getOrderedPoints(0, 0, 100), false);
+        rotatedCircle.rotate(0.3, new Point2D.Double(40, 0));
+        shapes.add(rotatedCircle);
+
+        // a line with gaps between its pixels after scaling
+        ShapeWrapper scaledLine = createWrapper(LineCalculator.bresenham(0, 0, 300, 0), true);
+        scaledLine.scale(new Point2D.Double(0, 0), 2, 1);
+        shapes.add(scaledLine);
+
+        // a line with fractional coordinates after rotation
+        ShapeWrapper rotatedLine = createWrapper(LineCalculator.bresenham(0, 0, 10, 3), true);
+        rotatedLine.rotate(0.3, new Point2D.Double(0, 0));
+        shapes.add(rotatedLine);
+
+        return shapes;
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        List<ShapeWrapper> shapes = createShapes();
+        Path file = Files.createTempFile("polydraw", ".json");
+
+        try {
+            ShapeJsonV2Writer.export(shapes, file);
+
+            List<ShapeWrapper> imported = new ArrayList<>();
+            try (ShapeJsonReader reader = new ShapeJsonReader(Files.newBufferedReader(file))) {
+                while (reader.hasNext()) {
+                    imported.add(reader.next());
+                }
+            }
+
+            assertEquals(shapes.size(), imported.size());
+            for (int i = 0; i < shapes.size(); i++) {
+                assertEquals(shapes.get(i).getLineColor(), imported.get(i).getLineColor());
+                assertEquals(shapes.get(i).getLineThickness(), imported.get(i).getLineThickness());
+                assertEquals(shapes.get(i).isLine(), imported.get(i).isLine());
+                assertEquals(shapes.get(i).getPlottedPoints(), imported.get(i).getPlottedPoints());
+                assertArrayEquals("shape " + i, ShapeWrapper.getCoordinates(shapes.get(i).getShape()),
+                        ShapeWrapper.getCoordinates(imported.get(i).getShape()));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testParametersAreStored() throws IOException {
+        List<ShapeWrapper> shapes = createShapes();
+        Path version1 = Files.createTempFile("polydraw", ".json");
+        Path version2 = Files.createTempFile("polydraw", ".json");
+
+        try {
+            ShapeJsonWriter.export(shapes, version1);
+            ShapeJsonV2Writer.export(shapes, version2);
+
+            String json = new String(Files.readAllBytes(version2), StandardCharsets.UTF_8);
+            assertTrue(json.contains("\"algorithm\":\"BRESENHAM\""));
+            assertTrue(json.contains("\"algorithm\":\"DDA\""));
+            assertTrue(json.contains("\"radius\":300"));
+            assertTrue(json.contains("\"through\""));
+            assertTrue(json.contains("\"radii\":[90,150]"));
+            assertTrue(json.contains("\"runs\""));
+
+            assertTrue(Files.size(version2) * 5 < Files.size(version1));
+        } finally {
+            Files.delete(version1);
+            Files.delete(version2);
+        }
+    }
+
+    @Test
+    public void testTransformedLineIsNotTruncated() throws IOException {
+        final ShapeWrapper line = new Document().line(0, 0, 10, 3).rotate(0.3, new Point2D.Double(0, 0))
+                .getShapes().get(0);
+        final Path file = Files.createTempFile("polydraw", ".json");
+
+        try {
+            ShapeJsonV2Writer.export(List.of(line), file);
+            final ShapeWrapper imported;
+            try (ShapeJsonReader reader = new ShapeJsonReader(Files.newBufferedReader(file))) {
+                imported = reader.next();
+            }
+
+            assertTrue(imported.isLine());
+            final double[][] coordinates = ShapeWrapper.getCoordinates(imported.getShape());
+            assertEquals(0.955, coordinates[1][0], 0.001);
+            assertEquals(0.296, coordinates[1][1], 0.001);
+            assertArrayEquals(ShapeWrapper.getCoordinates(line.getShape()), coordinates);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.github.creme332.tests.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Color;
+import java.awt.Polygon;
+import java.awt.geom.Point2D;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.github.creme332.controller.canvas.drawing.DrawLine;
+import com.github.creme332.model.LineType;
+import com.github.creme332.model.ShapeWrapper;
+import com.github.creme332.utils.ShapeJsonWriter;
+import com.google.gson.Gson;
+
+public class ShapeJsonWriterTest {
+
+    private static List<ShapeWrapper> createShapes() {
+        ShapeWrapper polygon = new ShapeWrapper(new Color(10, 20, 30, 40), LineType.DOTTED, 3);
+        polygon.setShape(new Polygon(new int[] { 0, 50, 20 }, new int[] { 0, 10, 40 }, 3));
+        polygon.getPlottedPoints().add(new Point2D.Double(1.5, 2));
+
+        ShapeWrapper line = new ShapeWrapper(Color.RED, LineType.SOLID, 1);
+        line.setShape(DrawLine.createPolyline(0, 0, 100, 37));
+
+        return Arrays.asList(polygon, line);
+    }
+
+    /**
+     * The fixture was exported by the Gson adapters of the original version 1
+     * format, before they were replaced, so that this test does not compare the
+     * writer with itself.
+     */
+    @Test
+    public void testOutputMatchesVersion1Fixture() throws IOException {
+        List<ShapeWrapper> shapes = createShapes();
+
+        StringWriter out = new StringWriter();
+        try (ShapeJsonWriter writer = new ShapeJsonWriter(out)) {
+            for (ShapeWrapper shape : shapes) {
+                writer.write(shape);
+            }
+        }
+
+        final String expected;
+        try (InputStream in = ShapeJsonWriterTest.class.getResourceAsStream("/fixtures/shapes-v1.json")) {
+            expected = new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+        }
+        assertEquals(expected, out.toString());
+    }
+
+    @Test
+    public void testExportCanBeImported() throws IOException {
+        List<ShapeWrapper> shapes = createShapes();
+        Path file = Files.createTempFile("polydraw", ".json");
+        try {
+            ShapeJsonWriter.export(shapes, file);
+            ShapeWrapper[] imported = new Gson().fromJson(Files.readString(file), ShapeWrapper[].class);
+
+            assertEquals(shapes.size(), imported.length);
+            for (int i = 0; i < imported.length; i++) {
+                assertEquals(shapes.get(i).getLineColor(), imported[i].getLineColor());
+                assertEquals(shapes.get(i).getLineType(), imported[i].getLineType());
+                assertEquals(shapes.get(i).isLine(), imported[i].isLine());
+                assertEquals(shapes.get(i).getPlottedPoints(), imported[i].getPlottedPoints());
+                assertArrayEquals(ShapeWrapper.getCoordinates(shapes.get(i).getShape()),
+                        ShapeWrapper.getCoordinates(imported[i].getShape()));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
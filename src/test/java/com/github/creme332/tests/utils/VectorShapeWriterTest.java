@@ -0,0 +1,167 @@
+package com.github.creme332.tests.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Polygon;
+import java.awt.geom.Point2D;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import com.github.creme332.controller.canvas.drawing.DrawLine;
+import com.github.creme332.model.LineType;
+import com.github.creme332.model.ShapeWrapper;
+import com.github.creme332.utils.VectorShapeWriter;
+
+public class VectorShapeWriterTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Creates a 100 x 50 rectangle with a vertex at every pixel of its outline.
+     */
+    private static ShapeWrapper createPixelRectangle() {
+        final List<int[]> pixels = new ArrayList<>();
+        for (int x = 0; x < 100; x++) {
+            pixels.add(new int[] { x, 0 });
+        }
+        for (int y = 0; y < 50; y++) {
+            pixels.add(new int[] { 100, y });
+        }
+        for (int x = 100; x > 0; x--) {
+            pixels.add(new int[] { x, 50 });
+        }
+        for (int y = 50; y > 0; y--) {
+            pixels.add(new int[] { 0, y });
+        }
+
+        final Polygon polygon = new Polygon();
+        for (int[] pixel : pixels) {
+            polygon.addPoint(pixel[0], pixel[1]);
+        }
+        final ShapeWrapper wrapper = new ShapeWrapper(Color.RED, LineType.DASHED, 2);
+        wrapper.setShape(polygon);
+        wrapper.getPlottedPoints().add(new Point2D.Double(0, 0));
+        return wrapper;
+    }
+
+    private static ShapeWrapper createLine() {
+        final ShapeWrapper wrapper = new ShapeWrapper(Color.BLUE, LineType.SOLID, 1);
+        wrapper.setShape(DrawLine.createPolyline(0, 0, 100, 37));
+        return wrapper;
+    }
+
+    @Test
+    public void testSvgMergesPixelRuns() throws Exception {
+        final Path file = folder.getRoot().toPath().resolve("shapes.svg");
+        VectorShapeWriter.export(Arrays.asList(createPixelRectangle(), createLine()), file);
+
+        final Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(file.toFile());
+        final Element svg = document.getDocumentElement();
+        // 10 units per polydraw unit and 20 units of padding on each side
+        assertEquals("1040", svg.getAttribute("width"));
+        assertEquals("540", svg.getAttribute("height"));
+
+        final NodeList paths = document.getElementsByTagName("path");
+        assertEquals(2, paths.getLength());
+
+        final Element rectangle = (Element) paths.item(0);
+        assertEquals("M20 520l1000 0 0 -500 -1000 0z", rectangle.getAttribute("d"));
+        assertEquals("#ff0000", rectangle.getAttribute("stroke"));
+        assertEquals("12", rectangle.getAttribute("stroke-dasharray"));
+        assertEquals("0.2", rectangle.getAttribute("fill-opacity"));
+
+        // a rasterised line becomes a single segment
+        final Element line = (Element) paths.item(1);
+        assertEquals("M20 520l1000 -370", line.getAttribute("d"));
+        assertEquals("none", line.getAttribute("fill"));
+        assertEquals("", line.getAttribute("stroke-dasharray"));
+
+        final Element point = (Element) document.getElementsByTagName("circle").item(0);
+        assertEquals("20", point.getAttribute("cx"));
+        assertEquals("520", point.getAttribute("cy"));
+    }
+
+    @Test
+    public void testSvgSkipsRepeatedVertices() throws Exception {
+        // repeat every vertex and close the outline with the first vertex
+        final Polygon pixels = (Polygon) createPixelRectangle().getShape();
+        final Polygon polygon = new Polygon();
+        for (int i = 0; i < pixels.npoints; i++) {
+            polygon.addPoint(pixels.xpoints[i], pixels.ypoints[i]);
+            polygon.addPoint(pixels.xpoints[i], pixels.ypoints[i]);
+        }
+        polygon.addPoint(pixels.xpoints[0], pixels.ypoints[0]);
+        final ShapeWrapper wrapper = new ShapeWrapper(Color.RED, LineType.SOLID, 1);
+        wrapper.setShape(polygon);
+
+        final Path file = folder.getRoot().toPath().resolve("shapes.svg");
+        VectorShapeWriter.export(Arrays.asList(wrapper), file);
+
+        final Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(file.toFile());
+        final Element rectangle = (Element) document.getElementsByTagName("path").item(0);
+        assertEquals("M20 520l1000 0 0 -500 -1000 0z", rectangle.getAttribute("d"));
+    }
+
+    @Test
+    public void testPdfStructure() throws IOException, DataFormatException {
+        final Path file = folder.getRoot().toPath().resolve("shapes.pdf");
+        VectorShapeWriter.export(Arrays.asList(createPixelRectangle(), createLine()), file);
+
+        final byte[] bytes = Files.readAllBytes(file);
+        final String text = new String(bytes, StandardCharsets.ISO_8859_1);
+        assertTrue(text.startsWith("%PDF-1.4"));
+        assertTrue(text.endsWith("%%EOF\n"));
+
+        // every entry of cross-reference table points to its object
+        final int xrefOffset = Integer.parseInt(
+                text.substring(text.lastIndexOf("startxref\n") + 10, text.lastIndexOf("\n%%EOF")));
+        assertTrue(text.startsWith("xref\n0 7\n", xrefOffset));
+        final Matcher entries = Pattern.compile("(\\d{10}) 00000 n \n").matcher(text.substring(xrefOffset));
+        for (int i = 1; i <= 6; i++) {
+            assertTrue(entries.find());
+            assertTrue(text.startsWith(i + " 0 obj\n", Integer.parseInt(entries.group(1))));
+        }
+
+        // content stream has the length stored in object 5
+        final int streamStart = text.indexOf("stream\n") + 7;
+        final int streamEnd = text.indexOf("\nendstream");
+        final Matcher length = Pattern.compile("5 0 obj\n(\\d+)\n").matcher(text);
+        assertTrue(length.find());
+        assertEquals(streamEnd - streamStart, Integer.parseInt(length.group(1)));
+
+        final Inflater inflater = new Inflater();
+        inflater.setInput(bytes, streamStart, streamEnd - streamStart);
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+        while (!inflater.finished()) {
+            content.write(buffer, 0, inflater.inflate(buffer));
+        }
+        final String operators = content.toString(StandardCharsets.ISO_8859_1.name());
+
+        assertTrue(operators.contains("20 20 m\n1020 20 l\n1020 520 l\n20 520 l\nb*\n"));
+        assertTrue(operators.contains("[12] 0 d\n"));
+        assertTrue(operators.contains("20 20 m\n1020 390 l\nS\n"));
+        assertTrue(text.contains("/CA 1 /ca 0.2"));
+    }
+}
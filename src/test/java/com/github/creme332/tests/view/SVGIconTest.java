@@ -0,0 +1,73 @@
+package com.github.creme332.tests.view;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+import com.github.creme332.view.common.SVGIcon;
+import com.github.weisj.jsvg.SVGDocument;
+import com.github.weisj.jsvg.attributes.ViewBox;
+import com.github.weisj.jsvg.parser.SVGLoader;
+
+public class SVGIconTest {
+    private static final int SIZE = 24;
+
+    private static SVGDocument loadDocument() {
+        return new SVGLoader().load(SVGIconTest.class.getResource("/icons/circle.svg"));
+    }
+
+    private static int[] getPixels(BufferedImage image) {
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+    }
+
+    /**
+     * Paints an icon on an image with the given scale factor, as on a HiDPI
+     * screen.
+     */
+    private static BufferedImage paint(SVGIcon icon, double scale) {
+        final int size = (int) Math.ceil(SIZE * scale);
+        final BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D g2d = image.createGraphics();
+        g2d.scale(scale, scale);
+        icon.paintIcon(null, g2d, 0, 0);
+        g2d.dispose();
+        return image;
+    }
+
+    @Test
+    public void testCachedImageMatchesDocument() {
+        final SVGDocument document = loadDocument();
+        final SVGIcon icon = new SVGIcon(document, SIZE, SIZE);
+
+        for (double scale : new double[] { 1, 2 }) {
+            // render document directly at device resolution
+            final Dimension size = new Dimension((int) (SIZE * scale), (int) (SIZE * scale));
+            final BufferedImage expected = new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_ARGB);
+            final Graphics2D g2d = expected.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.scale(scale, scale);
+            document.render(null, g2d, new ViewBox(0, 0, SIZE, SIZE));
+            g2d.dispose();
+
+            final BufferedImage first = paint(icon, scale);
+            final BufferedImage second = paint(icon, scale);
+            assertEquals(size.width, first.getWidth());
+            assertArrayEquals(getPixels(first), getPixels(second));
+
+            // premultiplied cache may differ by rounding in translucent pixels
+            final int[] expectedPixels = getPixels(expected);
+            final int[] actualPixels = getPixels(first);
+            for (int i = 0; i < expectedPixels.length; i++) {
+                for (int shift = 0; shift < 32; shift += 8) {
+                    assertEquals(expectedPixels[i] >>> shift & 0xff, actualPixels[i] >>> shift & 0xff, 2);
+                }
+            }
+        }
+    }
+}
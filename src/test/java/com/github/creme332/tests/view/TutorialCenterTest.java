@@ -0,0 +1,33 @@
+package com.github.creme332.tests.view;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import com.github.creme332.view.tutorial.AbstractTutorial;
+import com.github.creme332.view.tutorial.TutorialCenter;
+
+public class TutorialCenterTest {
+
+    @Test
+    public void testScreensAreCreatedOnDemandAndReleased() {
+        final TutorialCenter center = new TutorialCenter();
+        assertEquals(center.getTutorialCards().size(), center.getTutorialModels().size());
+        assertEquals("Getting Started", center.getTutorialModels().get(0).getTitle());
+
+        final AbstractTutorial first = center.openTutorial(0);
+        assertSame(first, center.openTutorial(0));
+        assertEquals("Getting Started", first.getTitle());
+
+        // opening two other tutorials releases the least recently opened one
+        center.openTutorial(1);
+        center.openTutorial(0);
+        center.openTutorial(2);
+        assertSame(first, center.openTutorial(0));
+        center.openTutorial(1);
+        center.openTutorial(2);
+        assertNotSame(first, center.openTutorial(0));
+    }
+}